@@ -0,0 +1,137 @@
+package com.hedera.services.legacy.proto.utils;
+
+/*-
+ * ‌
+ * Hedera Services API
+ * ​
+ * Copyright (C) 2018 - 2020 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+
+import java.nio.ByteBuffer;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SignatureException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import net.i2p.crypto.eddsa.EdDSAEngine;
+import net.i2p.crypto.eddsa.EdDSAPublicKey;
+import net.i2p.crypto.eddsa.spec.EdDSANamedCurveTable;
+import net.i2p.crypto.eddsa.spec.EdDSAParameterSpec;
+import net.i2p.crypto.eddsa.spec.EdDSAPublicKeySpec;
+
+/**
+ * A bounded cache of decoded Ed25519 public keys, plus one verification engine
+ * per thread.
+ *
+ * Decoding a public key decompresses its curve point and precomputes the table
+ * for its negation that verification needs. That costs about as much as the
+ * verification itself. The same few keys (node accounts, the treasury, busy
+ * payers) sign most transactions, so each decoded key is kept, keyed by its
+ * 32 bytes. When the cache is full, the least recently used key is evicted to
+ * make room. Keys are decoded outside the cache's lock, so a lookup only holds
+ * it long enough to find (or add) one entry.
+ *
+ * @see SignatureVerifier#verifyED25519(byte[], byte[], byte[])
+ */
+public class Ed25519KeyCache {
+  /**
+   * Default bound on the number of decoded keys (each holds a few KB of tables)
+   */
+  public static final int DEFAULT_MAX_KEYS = 4_096;
+
+  private static final Ed25519KeyCache DEFAULT_INSTANCE = new Ed25519KeyCache(DEFAULT_MAX_KEYS);
+
+  private static final EdDSAParameterSpec ED_25519_SPEC =
+      EdDSANamedCurveTable.getByName(EdDSANamedCurveTable.ED_25519);
+
+  private static final ThreadLocal<EdDSAEngine> ENGINES = ThreadLocal.withInitial(() -> {
+    try {
+      return new EdDSAEngine(MessageDigest.getInstance(ED_25519_SPEC.getHashAlgorithm()));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("No " + ED_25519_SPEC.getHashAlgorithm() + " digest available!", e);
+    }
+  });
+
+  private final int maxKeys;
+  private final Map<ByteBuffer, EdDSAPublicKey> keys = new LinkedHashMap<>(16, 0.75f, true) {
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<ByteBuffer, EdDSAPublicKey> eldest) {
+      return size() > maxKeys;
+    }
+  };
+
+  public Ed25519KeyCache(int maxKeys) {
+    this.maxKeys = maxKeys;
+  }
+
+  public static Ed25519KeyCache getDefaultInstance() {
+    return DEFAULT_INSTANCE;
+  }
+
+  /**
+   * Verifies an Ed25519 signature, using this thread's engine and the cached
+   * decoding of the public key.
+   *
+   * @param pubKeyBytes the 32-byte public key
+   * @param msgBytes the data signed
+   * @param sigBytes the 64-byte signature
+   * @return true if verified, false otherwise
+   */
+  public boolean verify(byte[] pubKeyBytes, byte[] msgBytes, byte[] sigBytes)
+      throws InvalidKeyException, SignatureException {
+    EdDSAEngine engine = ENGINES.get();
+    engine.initVerify(decoded(pubKeyBytes));
+    return engine.verifyOneShot(msgBytes, sigBytes);
+  }
+
+  /**
+   * Returns the decoded form of the given public key, decoding and caching it
+   * if it is not already cached.
+   *
+   * @param pubKeyBytes the 32-byte public key
+   * @return the decoded key
+   */
+  public EdDSAPublicKey decoded(byte[] pubKeyBytes) {
+    EdDSAPublicKey key;
+    synchronized (keys) {
+      key = keys.get(ByteBuffer.wrap(pubKeyBytes));
+    }
+    if (key == null) {
+      key = new EdDSAPublicKey(new EdDSAPublicKeySpec(pubKeyBytes, ED_25519_SPEC));
+      synchronized (keys) {
+        EdDSAPublicKey raced = keys.putIfAbsent(ByteBuffer.wrap(pubKeyBytes.clone()), key);
+        if (raced != null) {
+          key = raced;
+        }
+      }
+    }
+    return key;
+  }
+
+  public int size() {
+    synchronized (keys) {
+      return keys.size();
+    }
+  }
+
+  public void clear() {
+    synchronized (keys) {
+      keys.clear();
+    }
+  }
+}
@@ -27,7 +27,6 @@ import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.security.InvalidKeyException;
 import java.security.KeyFactory;
-import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.security.NoSuchProviderException;
 import java.security.PublicKey;
@@ -37,11 +36,6 @@ import java.security.interfaces.ECPublicKey;
 import java.security.spec.InvalidKeySpecException;
 import java.security.spec.InvalidParameterSpecException;
 import java.security.spec.X509EncodedKeySpec;
-import net.i2p.crypto.eddsa.EdDSAEngine;
-import net.i2p.crypto.eddsa.EdDSAPublicKey;
-import net.i2p.crypto.eddsa.spec.EdDSANamedCurveTable;
-import net.i2p.crypto.eddsa.spec.EdDSAParameterSpec;
-import net.i2p.crypto.eddsa.spec.EdDSAPublicKeySpec;
 import org.apache.commons.codec.DecoderException;
 import org.apache.commons.codec.binary.Hex;
 import org.apache.logging.log4j.LogManager;
@@ -309,27 +303,13 @@ public class SignatureVerifier {
     byte[] msgBytes = getMsgBytes(message);
     byte[] pubKeyBytes = getPubKeyBytes(pubKeyStr);
 
-    EdDSAParameterSpec spec = EdDSANamedCurveTable.getByName(EdDSANamedCurveTable.ED_25519);
-    EdDSAPublicKeySpec pubKey = new EdDSAPublicKeySpec(pubKeyBytes, spec);
-    PublicKey vKey = new EdDSAPublicKey(pubKey);
-    Signature verifier = new EdDSAEngine(MessageDigest.getInstance(spec.getHashAlgorithm()));
-
-    verifier.initVerify(vKey);
-    verifier.update(msgBytes);
-    return verifier.verify(sigBytes);
+    return Ed25519KeyCache.getDefaultInstance().verify(pubKeyBytes, msgBytes, sigBytes);
   }
 
   public static boolean verifyED25519(byte[] pubKeyBytes, byte[] msgBytes, byte[] sigBytes)
       throws NoSuchAlgorithmException, InvalidKeyException, SignatureException, UnsupportedEncodingException, DecoderException {
 
-    EdDSAParameterSpec spec = EdDSANamedCurveTable.getByName(EdDSANamedCurveTable.ED_25519);
-    EdDSAPublicKeySpec pubKey = new EdDSAPublicKeySpec(pubKeyBytes, spec);
-    PublicKey vKey = new EdDSAPublicKey(pubKey);
-    Signature verifier = new EdDSAEngine(MessageDigest.getInstance(spec.getHashAlgorithm()));
-
-    verifier.initVerify(vKey);
-    verifier.update(msgBytes);
-    return verifier.verify(sigBytes);
+    return Ed25519KeyCache.getDefaultInstance().verify(pubKeyBytes, msgBytes, sigBytes);
   }
 
 }
@@ -0,0 +1,219 @@
+package com.hedera.services.legacy.proto.utils;
+
+/*-
+ * ‌
+ * Hedera Services API
+ * ​
+ * Copyright (C) 2018 - 2020 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import net.i2p.crypto.eddsa.EdDSAEngine;
+import net.i2p.crypto.eddsa.EdDSAPrivateKey;
+import net.i2p.crypto.eddsa.EdDSAPublicKey;
+import net.i2p.crypto.eddsa.spec.EdDSANamedCurveTable;
+import net.i2p.crypto.eddsa.spec.EdDSAParameterSpec;
+import net.i2p.crypto.eddsa.spec.EdDSAPrivateKeySpec;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.runner.JUnitPlatform;
+import org.junit.runner.RunWith;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@RunWith(JUnitPlatform.class)
+class Ed25519KeyCacheTest {
+  static final EdDSAParameterSpec SPEC = EdDSANamedCurveTable.getByName(EdDSANamedCurveTable.ED_25519);
+
+  byte[] message = "Thanks for all the fish".getBytes(StandardCharsets.UTF_8);
+
+  Ed25519KeyCache subject;
+
+  @BeforeEach
+  private void setup() {
+    subject = new Ed25519KeyCache(2);
+  }
+
+  @Test
+  public void verifiesValidAndRejectsInvalidSigs() throws Exception {
+    // setup:
+    EdDSAPrivateKey signer = keyFrom(1);
+    byte[] sig = sign(signer, message);
+    byte[] tampered = sig.clone();
+    tampered[0] ^= 1;
+
+    // expect:
+    assertTrue(subject.verify(publicKeyOf(signer), message, sig));
+    assertFalse(subject.verify(publicKeyOf(signer), message, tampered));
+    assertFalse(subject.verify(publicKeyOf(keyFrom(2)), message, sig));
+  }
+
+  @Test
+  public void decodesEachKeyOnlyOnce() {
+    // setup:
+    byte[] key = publicKeyOf(keyFrom(1));
+
+    // when:
+    EdDSAPublicKey miss = subject.decoded(key);
+    EdDSAPublicKey hit = subject.decoded(key.clone());
+
+    // then:
+    assertSame(miss, hit);
+    assertEquals(1, subject.size());
+  }
+
+  @Test
+  public void doesNotAliasCallerArray() {
+    // setup:
+    byte[] key = publicKeyOf(keyFrom(1));
+    byte[] sameKey = key.clone();
+
+    // given:
+    EdDSAPublicKey decoded = subject.decoded(key);
+
+    // when:
+    key[0] ^= 1;
+
+    // then:
+    assertSame(decoded, subject.decoded(sameKey));
+  }
+
+  @Test
+  public void evictsLeastRecentlyUsedKey() {
+    // setup:
+    byte[] a = publicKeyOf(keyFrom(1));
+    byte[] b = publicKeyOf(keyFrom(2));
+    byte[] c = publicKeyOf(keyFrom(3));
+
+    // given:
+    EdDSAPublicKey decodedA = subject.decoded(a);
+    EdDSAPublicKey decodedB = subject.decoded(b);
+    // and:
+    subject.decoded(a);
+
+    // when:
+    subject.decoded(c);
+
+    // then:
+    assertEquals(2, subject.size());
+    assertSame(decodedA, subject.decoded(a));
+    assertNotSame(decodedB, subject.decoded(b));
+  }
+
+  @Test
+  public void clearsAllKeys() {
+    // given:
+    subject.decoded(publicKeyOf(keyFrom(1)));
+
+    // when:
+    subject.clear();
+
+    // then:
+    assertEquals(0, subject.size());
+  }
+
+  @Test
+  public void verifiesConcurrentlyWithinBound() throws Exception {
+    // setup:
+    int numKeys = 8, numThreads = 8, verifiesPerThread = 200;
+    subject = new Ed25519KeyCache(numKeys / 2);
+    List<byte[]> keys = new ArrayList<>();
+    List<byte[]> sigs = new ArrayList<>();
+    for (int i = 0; i < numKeys; i++) {
+      EdDSAPrivateKey signer = keyFrom(i + 1);
+      keys.add(publicKeyOf(signer));
+      sigs.add(sign(signer, message));
+    }
+    ExecutorService threads = Executors.newFixedThreadPool(numThreads);
+
+    try {
+      // when:
+      List<Future<Integer>> results = new ArrayList<>();
+      for (int t = 0; t < numThreads; t++) {
+        int offset = t;
+        Callable<Integer> task = () -> {
+          int verified = 0;
+          for (int i = 0; i < verifiesPerThread; i++) {
+            int k = (offset + i) % numKeys;
+            int wrongK = (k + 1) % numKeys;
+            if (subject.verify(keys.get(k), message, sigs.get(k))) {
+              verified++;
+            }
+            if (subject.verify(keys.get(wrongK), message, sigs.get(k))) {
+              verified--;
+            }
+          }
+          return verified;
+        };
+        results.add(threads.submit(task));
+      }
+
+      // then:
+      for (Future<Integer> result : results) {
+        assertEquals(verifiesPerThread, result.get(1, TimeUnit.MINUTES));
+      }
+      assertTrue(subject.size() <= numKeys / 2);
+    } finally {
+      threads.shutdownNow();
+    }
+  }
+
+  @Test
+  public void signatureVerifierUsesDefaultCache() throws Exception {
+    // setup:
+    EdDSAPrivateKey signer = keyFrom(7);
+    byte[] key = publicKeyOf(signer);
+
+    // when:
+    boolean verified = SignatureVerifier.verifyED25519(key, message, sign(signer, message));
+
+    // then:
+    assertTrue(verified);
+    assertSame(
+        Ed25519KeyCache.getDefaultInstance().decoded(key),
+        Ed25519KeyCache.getDefaultInstance().decoded(key.clone()));
+  }
+
+  private static EdDSAPrivateKey keyFrom(int seedByte) {
+    byte[] seed = new byte[32];
+    seed[0] = (byte) seedByte;
+    return new EdDSAPrivateKey(new EdDSAPrivateKeySpec(seed, SPEC));
+  }
+
+  private static byte[] publicKeyOf(EdDSAPrivateKey key) {
+    return key.getAbyte();
+  }
+
+  private static byte[] sign(EdDSAPrivateKey key, byte[] message) throws Exception {
+    EdDSAEngine engine = new EdDSAEngine(MessageDigest.getInstance(SPEC.getHashAlgorithm()));
+    engine.initSign(key);
+    engine.update(message);
+    return engine.sign();
+  }
+}
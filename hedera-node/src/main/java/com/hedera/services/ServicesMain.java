@@ -25,6 +25,7 @@ import com.hedera.services.context.properties.Profile;
 import com.hedera.services.legacy.exception.InvalidTotalAccountBalanceException;
 import com.hedera.services.legacy.services.state.initialization.DefaultSystemAccountsCreator;
 import com.hedera.services.state.forensics.IssListener;
+import com.hedera.services.txns.submission.PlatformSubmissionQueue;
 import com.hedera.services.utils.JvmSystemExits;
 import com.hedera.services.utils.SystemExits;
 import com.hedera.services.utils.TimerUtils;
@@ -38,11 +39,13 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.io.File;
+import java.io.IOException;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.Locale;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 import static com.hedera.services.context.SingletonContextsManager.CONTEXTS;
@@ -61,10 +64,15 @@ public class ServicesMain implements SwirldMain {
 
 	public static final String START_INIT_MSG_PATTERN = "Using context to initialize HederaNode#%d...";
 
+	static final long PLATFORM_SUBMISSIONS_DRAIN_MS = 5_000L;
+
 	SystemExits systemExits = new JvmSystemExits();
 	Supplier<Charset> defaultCharset = Charset::defaultCharset;
+	Consumer<Thread> hookAdder = Runtime.getRuntime()::addShutdownHook;
 	ServicesContext ctx;
 
+	private boolean isExportingAccounts = false;
+
 	/**
 	 * Convenience launcher for dev env.
 	 *
@@ -150,29 +158,63 @@ public class ServicesMain implements SwirldMain {
 		log.info("Ledger state ok.");
 		loadPropertiesAndPermissions();
 		log.info("Initialized properties and permissions.");
+		initTxnPreparation();
 		startRecordStreamThread();
 		log.info("Record stream started.");
+		startPlatformSubmissionsIfBatching();
 		startNettyIfAppropriate();
 		log.info("Netty started.");
 		createSystemAccountsIfNeeded();
 		log.info("System accounts rationalized.");
+		exportAccountsIfDesired();
+		log.info("Accounts export started.");
 		createSystemFilesIfNeeded();
 		log.info("System files rationalized.");
-		exportAccountsIfDesired();
-		log.info("Accounts exported.");
+		awaitAccountsExportSnapshot();
+		log.info("Accounts captured for export.");
 		reviewRecordExpirations();
 		log.info("Record expiration reviewed.");
+		initColdAccountTierIfEnabled();
+		log.info("Cold account tier initialized.");
 		loadFeeSchedule();
 		log.info("Fee schedule loaded.");
 		sanitizeProperties();
+		enableAllocationProfilingIfRequested();
 
 		startTimerTasksIfNeeded();
+		startPrometheusStatsIfEnabled();
+	}
+
+	private void initTxnPreparation() {
+		/* The platform calls expandSignatures from many threads at once, so the
+		preparation stage must exist before the first of those calls. */
+		ctx.txnPreparation();
 	}
 
 	private void startRecordStreamThread() {
 		ctx.recordStreamThread().start();
 	}
 
+	private void startPlatformSubmissionsIfBatching() {
+		if (ctx.properties().getBooleanProperty("platform.submission.batching.enabled")) {
+			var submissions = ctx.platformSubmissions();
+			submissions.start("platform_submitter_" + ctx.id());
+			hookAdder.accept(new Thread(() -> drain(submissions)));
+			log.info("Batched platform submission started.");
+		}
+	}
+
+	private void drain(PlatformSubmissionQueue submissions) {
+		try {
+			if (!submissions.stopAndAwaitDrained(PLATFORM_SUBMISSIONS_DRAIN_MS)) {
+				log.warn("Platform submitter still had {} transactions queued at shutdown", submissions.depth());
+			}
+		} catch (InterruptedException ie) {
+			log.warn("Interrupted while draining queued platform submissions!", ie);
+			Thread.currentThread().interrupt();
+		}
+	}
+
 	private void throwIseOrLogError(IllegalStateException ise) {
 		if (ctx.properties().getBooleanProperty("hedera.exitOnNodeStartupFailure")) {
 			throw ise;
@@ -185,11 +227,25 @@ public class ServicesMain implements SwirldMain {
 		try {
 			String path = ctx.properties().getStringProperty("hedera.accountsExportPath");
 			ctx.accountsExporter().toFile(ctx.accounts(), path);
+			isExportingAccounts = true;
 		} catch (Exception e) {
 			throwIseOrLogError(new IllegalStateException("Could not export accounts!", e));
 		}
 	}
 
+	private void awaitAccountsExportSnapshot() {
+		/* The export captures the accounts off this thread, so they must not
+		change until it is done; but creating the system files does not touch them. */
+		if (isExportingAccounts) {
+			try {
+				ctx.accountsExporter().awaitSnapshot();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throwIseOrLogError(new IllegalStateException("Interrupted while exporting accounts!", e));
+			}
+		}
+	}
+
 	private void createSystemFilesIfNeeded() {
 		try {
 			ctx.systemFilesManager().createAddressBookIfMissing();
@@ -287,6 +343,22 @@ public class ServicesMain implements SwirldMain {
 		}
 	}
 
+	private void initColdAccountTierIfEnabled() {
+		if (ctx.properties().getBooleanProperty("accounts.coldTier.enabled")) {
+			ctx.tieredAccounts().demoteAll();
+		}
+	}
+
+	private void enableAllocationProfilingIfRequested() {
+		if (ctx.properties().getBooleanProperty("stats.handleAllocations.enabled")) {
+			if (ctx.stats().handleAllocations().enable()) {
+				log.info("Handle allocation profiling enabled.");
+			} else {
+				log.warn("Handle allocation profiling requested, but not supported by this JVM!");
+			}
+		}
+	}
+
 	private void reviewRecordExpirations() {
 		long consensusTimeOfLastHandledTxn =
 				Optional.ofNullable(ctx.consensusTimeOfLastHandledTxn()).map(Instant::getEpochSecond).orElse(0L);
@@ -304,6 +376,21 @@ public class ServicesMain implements SwirldMain {
 		ctx.platform().addSignedStateListener(new IssListener(ctx.issEventInfo()));
 	}
 
+	private void startPrometheusStatsIfEnabled() {
+		if (ctx.properties().getBooleanProperty("metrics.prometheus.enabled")) {
+			var host = ctx.properties().getStringProperty("metrics.prometheus.bindAddress");
+			var port = ctx.properties().getIntProperty("metrics.prometheus.port");
+			if (ctx.properties().getProfileProperty("hedera.profiles.active") == DEV) {
+				port += (int) ctx.id().getId();
+			}
+			try {
+				ctx.prometheusStats().start(host, port, "prometheus_stats_" + ctx.id());
+			} catch (IOException e) {
+				log.warn("Could not serve Prometheus stats at {}:{}!", host, port, e);
+			}
+		}
+	}
+
 	private void startTimerTasksIfNeeded() {
 		if (ctx.properties().getBooleanProperty("timer.stats.dump.started")) {
 			TimerUtils.initStatsDumpTimers(ctx.stats());
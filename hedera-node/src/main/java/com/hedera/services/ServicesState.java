@@ -25,6 +25,7 @@ import com.hedera.services.state.merkle.MerkleNetworkContext;
 import com.hedera.services.context.ServicesContext;
 import com.hedera.services.state.merkle.MerkleAccount;
 import com.hedera.services.state.merkle.MerkleTopic;
+import com.hedera.services.state.tiering.MappedColdAccountStore;
 import com.hedera.services.context.properties.StandardizedPropertySources;
 import com.hedera.services.legacy.config.PropertiesLoader;
 import com.hedera.services.state.merkle.MerkleEntityId;
@@ -32,10 +33,12 @@ import com.hedera.services.state.merkle.MerkleBlobMeta;
 import com.hedera.services.state.merkle.MerkleOptionalBlob;
 import com.hedera.services.state.submerkle.ExchangeRates;
 import com.hedera.services.state.submerkle.SequenceNumber;
+import com.hedera.services.state.initialization.ParallelSubtreeDigest;
 import com.hedera.services.utils.JvmSystemExits;
 import com.hedera.services.utils.PlatformTxnAccessor;
 import com.hedera.services.utils.SystemExits;
 import com.hederahashgraph.api.proto.java.AccountID;
+import com.hederahashgraph.api.proto.java.TransactionBody;
 import com.swirlds.common.Address;
 import com.swirlds.common.AddressBook;
 import com.swirlds.common.FastCopyable;
@@ -57,6 +60,8 @@ import javax.annotation.Nullable;
 import java.io.IOException;
 import java.time.Instant;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
@@ -64,6 +69,7 @@ import static com.hedera.services.state.merkle.MerkleNetworkContext.UNKNOWN_CONS
 import static com.hedera.services.context.SingletonContextsManager.CONTEXTS;
 import static com.hedera.services.legacy.logic.ApplicationConstants.HEDERA_START_SEQUENCE;
 import static com.hedera.services.sigs.HederaToPlatformSigOps.expandIn;
+import static com.hedera.services.sigs.HederaToPlatformSigOps.expandSpeculativelyIn;
 import static com.hedera.services.sigs.sourcing.DefaultSigBytesProvider.DEFAULT_SIG_BYTES;
 import static com.hedera.services.utils.EntityIdUtils.accountParsedFromString;
 
@@ -74,10 +80,14 @@ public class ServicesState extends AbstractMerkleInternal implements SwirldState
 	static final long RUNTIME_CONSTRUCTABLE_ID = 0x8e300b0dfdafbb1aL;
 
 	static Consumer<MerkleNode> merkleDigest = CryptoFactory.getInstance()::digestTreeSync;
+	static ParallelSubtreeDigest subtreeDigest = new ParallelSubtreeDigest(ForkJoinPool.commonPool());
 	static Supplier<AddressBook> legacyTmpBookSupplier = AddressBook::new;
 
 	NodeId nodeId = null;
 	boolean immutable = true;
+	/* If this is a copy taken while accounts were tiered, the cold store epoch it holds open. */
+	MappedColdAccountStore coldStore = null;
+	long coldStoreEpoch;
 
 	/* Order of v1 Merkle node children */
 	static class ChildIndices {
@@ -140,6 +150,10 @@ public class ServicesState extends AbstractMerkleInternal implements SwirldState
 			log.info("Init called on Services node {} WITHOUT Merkle saved state", nodeId);
 		} else {
 			log.info("Init called on Services node {} WITH Merkle saved state", nodeId);
+			subtreeDigest.digestAll(Map.<String, MerkleNode>of(
+					"accounts", accounts(),
+					"storage", storage(),
+					"topics", topics()), merkleDigest);
 			merkleDigest.accept(this);
 			printHashes();
 		}
@@ -169,6 +183,10 @@ public class ServicesState extends AbstractMerkleInternal implements SwirldState
 	) {
 		if (isConsensus) {
 			ctx.logic().incorporateConsensusTxn(transaction, consensusTime, submittingMember);
+			/* The platform signals neither the end of a consensus event nor of a round; so
+			the end of this call is the only boundary after which every handled txn is sure
+			to have its receipt, record, and record stream entry. */
+			ctx.logic().flush();
 		}
 	}
 
@@ -177,23 +195,39 @@ public class ServicesState extends AbstractMerkleInternal implements SwirldState
 		try {
 			var accessor = new PlatformTxnAccessor(platformTxn);
 			expandIn(accessor, ctx.lookupRetryingKeyOrder(), DEFAULT_SIG_BYTES);
+			if (isContractOp(accessor.getTxn())) {
+				expandSpeculativelyIn(accessor, ctx.globalDynamicProperties().maxSpeculativeContractSigs());
+			}
+			ctx.txnPreparation().prepare(accessor);
 		} catch (InvalidProtocolBufferException e) {
 			log.warn("expandSignatures called with non-gRPC txn!", e);
 		}
 	}
 
+	private static boolean isContractOp(TransactionBody txn) {
+		return txn.hasContractCall() || txn.hasContractCreateInstance();
+	}
+
 	@Override
 	public void noMoreTransactions() { }
 
 	/* --- FastCopyable --- */
 	@Override
 	public synchronized FastCopyable copy() {
-		return new ServicesState(nodeId, List.of(
+		if (ctx != null) {
+			ctx.logic().flush();
+		}
+		var copy = new ServicesState(nodeId, List.of(
 				addressBook().copy(),
 				networkCtx().copy(),
 				topics().copy(),
 				storage().copy(),
 				accounts().copy()));
+		if (ctx != null && ctx.properties().getBooleanProperty("accounts.coldTier.enabled")) {
+			copy.coldStore = ctx.coldAccountStore();
+			copy.coldStoreEpoch = copy.coldStore.openEpoch();
+		}
+		return copy;
 	}
 
 	@Override
@@ -201,6 +235,10 @@ public class ServicesState extends AbstractMerkleInternal implements SwirldState
 		storage().delete();
 		accounts().delete();
 		topics().delete();
+		if (coldStore != null) {
+			coldStore.closeEpoch(coldStoreEpoch);
+			coldStore = null;
+		}
 	}
 
 	@Override
@@ -89,7 +89,7 @@ public class AwareTransactionContext implements TransactionContext {
 		this.submittingMember = submittingMember;
 
 		otherNonThresholdFees = 0L;
-		hash = MiscUtils.sha384HashOf(accessor);
+		hash = accessor.getHash();
 		statusSoFar = UNKNOWN;
 		consensusTimestamp = asTimestamp(consensusTime);
 		recordConfig = noopRecordConfig;
@@ -81,15 +81,20 @@ import com.hedera.services.files.interceptors.FeeSchedulesManager;
 import com.hedera.services.files.interceptors.TxnAwareAuthPolicy;
 import com.hedera.services.files.interceptors.TxnAwareRatesManager;
 import com.hedera.services.files.interceptors.ValidatingCallbackInterceptor;
+import com.hedera.services.files.store.AppendableBytesStore;
 import com.hedera.services.files.store.FcBlobsBytesStore;
 import com.hedera.services.grpc.GrpcServerManager;
+import com.hedera.services.grpc.HandlerExecutor;
 import com.hedera.services.grpc.NettyGrpcServerManager;
+import com.hedera.services.grpc.SheddingInterceptor;
 import com.hedera.services.grpc.controllers.ConsensusController;
 import com.hedera.services.grpc.controllers.CryptoController;
 import com.hedera.services.grpc.controllers.FileController;
 import com.hedera.services.grpc.controllers.NetworkController;
 import com.hedera.services.keys.StandardSyncActivationCheck;
+import com.hedera.services.ledger.accounts.BackingAccounts;
 import com.hedera.services.ledger.accounts.FCMapBackingAccounts;
+import com.hedera.services.ledger.accounts.TieredBackingAccounts;
 import com.hedera.services.ledger.ids.EntityIdSource;
 import com.hedera.services.ledger.ids.SeqNoEntityIdSource;
 import com.hedera.services.ledger.properties.ChangeSummaryManager;
@@ -115,6 +120,7 @@ import static com.hedera.services.throttling.bucket.BucketConfig.namedIn;
 import com.hedera.services.txns.ProcessLogic;
 import com.hedera.services.txns.SubmissionFlow;
 import com.hedera.services.txns.TransitionLogicLookup;
+import com.hedera.services.txns.TxnPreparation;
 import com.hedera.services.txns.consensus.SubmitMessageTransitionLogic;
 import com.hedera.services.txns.consensus.TopicCreateTransitionLogic;
 import com.hedera.services.txns.consensus.TopicDeleteTransitionLogic;
@@ -123,6 +129,7 @@ import com.hedera.services.txns.crypto.CryptoCreateTransitionLogic;
 import com.hedera.services.txns.crypto.CryptoDeleteTransitionLogic;
 import com.hedera.services.txns.crypto.CryptoTransferTransitionLogic;
 import com.hedera.services.txns.crypto.CryptoUpdateTransitionLogic;
+import com.hedera.services.txns.crypto.ParallelTransferExecutor;
 import com.hedera.services.txns.diligence.CountingDuplicateClassifier;
 import com.hedera.services.txns.diligence.DuplicateClassifier;
 import com.hedera.services.txns.diligence.NodeDuplicateClassifier;
@@ -135,6 +142,7 @@ import com.hedera.services.txns.file.FileDeleteTransitionLogic;
 import com.hedera.services.txns.file.FileSysDelTransitionLogic;
 import com.hedera.services.txns.file.FileSysUndelTransitionLogic;
 import com.hedera.services.txns.file.FileUpdateTransitionLogic;
+import com.hedera.services.txns.submission.PlatformSubmissionQueue;
 import com.hedera.services.txns.submission.TxnHandlerSubmissionFlow;
 import com.hedera.services.txns.submission.TxnResponseHelper;
 import com.hedera.services.txns.validation.ContextOptionValidator;
@@ -163,6 +171,7 @@ import com.hedera.services.sigs.order.HederaSigningOrder;
 import com.hedera.services.sigs.sourcing.DefaultSigBytesProvider;
 import com.hedera.services.sigs.verification.PrecheckKeyReqs;
 import com.hedera.services.sigs.verification.PrecheckVerifier;
+import com.hedera.services.sigs.verification.CachingEd25519SyncVerifier;
 import com.hedera.services.sigs.verification.SyncVerifier;
 import com.hedera.services.state.exports.BalancesExporter;
 import com.hedera.services.state.initialization.SystemAccountsCreator;
@@ -213,8 +222,11 @@ import com.hedera.services.state.merkle.MerkleEntityId;
 import com.hedera.services.state.merkle.MerkleAccount;
 import com.hedera.services.state.merkle.MerkleBlobMeta;
 import com.hedera.services.state.merkle.MerkleOptionalBlob;
+import com.hedera.services.state.tiering.MappedColdAccountStore;
 import com.hedera.services.legacy.services.state.validation.DefaultLedgerValidator;
 import com.hedera.services.legacy.services.stats.HederaNodeStats;
+import com.hedera.services.legacy.services.stats.PrometheusExposition;
+import com.hedera.services.legacy.services.stats.PrometheusStatsServer;
 import com.hedera.services.legacy.services.utils.DefaultAccountsExporter;
 import com.hedera.services.legacy.stream.RecordStream;
 import com.swirlds.common.Address;
@@ -227,9 +239,11 @@ import org.ethereum.core.AccountState;
 import org.ethereum.datasource.Source;
 import org.ethereum.datasource.StoragePersistence;
 import org.ethereum.db.ServicesRepositoryRoot;
+import com.hedera.services.context.properties.GlobalDynamicProperties;
 import com.hedera.services.context.properties.PropertySource;
 
 import java.io.PrintStream;
+import java.nio.file.Paths;
 import java.time.Instant;
 import java.util.EnumSet;
 import java.util.HashMap;
@@ -237,7 +251,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
 import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -253,6 +269,7 @@ import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.INVALID_NODE_A
 import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.INVALID_PAYER_SIGNATURE;
 import static com.hedera.services.legacy.config.PropertiesLoader.populateAPIPropertiesWithProto;
 import static com.hedera.services.legacy.config.PropertiesLoader.populateApplicationPropertiesWithProto;
+import static com.hedera.services.grpc.RetainingServiceDefinitions.retaining;
 import static io.grpc.ServerInterceptors.intercept;
 import static java.util.stream.Collectors.toMap;
 
@@ -299,6 +316,7 @@ public class ServicesContext {
 	private AccountNumbers accountNums;
 	private SubmissionFlow submissionFlow;
 	private PropertySource properties;
+	private GlobalDynamicProperties globalDynamicProperties;
 	private EntityIdSource ids;
 	private FileController fileGrpc;
 	private AnswerFunctions answerFunctions;
@@ -320,6 +338,9 @@ public class ServicesContext {
 	private BlobStorageSource bytecodeDb;
 	private TxnAwareAuthPolicy authPolicy;
 	private TransactionHandler txns;
+	private PlatformSubmissionQueue platformSubmissions;
+	private PrometheusStatsServer prometheusStats;
+	private HandlerExecutor handlerExecutor;
 	private HederaSigningOrder keyOrder;
 	private HederaSigningOrder lookupRetryingKeyOrder;
 	private StoragePersistence storagePersistence;
@@ -328,11 +349,13 @@ public class ServicesContext {
 	private UsagePricesProvider usagePrices;
 	private Supplier<StateView> stateViews;
 	private FeeSchedulesManager feeSchedulesManager;
-	private Map<String, byte[]> blobStore;
+	private AppendableBytesStore<String> blobStore;
 	private TxnFeeChargingPolicy txnChargingPolicy;
 	private TxnAwareRatesManager exchangeRatesManager;
 	private LedgerAccountsSource accountSource;
 	private TransitionLogicLookup transitionLogic;
+	private TxnPreparation txnPreparation;
+	private ParallelTransferExecutor parallelTransfers;
 	private TransactionThrottling txnThrottling;
 	private ConsensusStatusCounts statusCounts;
 	private HfsSystemFilesManager systemFilesManager;
@@ -344,6 +367,9 @@ public class ServicesContext {
 	private SmartContractRequestHandler contracts;
 	private TxnAwareDuplicateClassifier duplicateClassifier;
 	private TxnAwareSoliditySigsVerifier soliditySigsVerifier;
+	private TieredBackingAccounts tieredAccounts;
+	private MappedColdAccountStore coldAccountStore;
+	private BackingAccounts<AccountID, MerkleAccount> backingAccounts;
 	private ValidatingCallbackInterceptor apiPermissionsReloading;
 	private ValidatingCallbackInterceptor applicationPropertiesReloading;
 	private Supplier<ServicesRepositoryRoot> newPureRepo;
@@ -393,7 +419,7 @@ public class ServicesContext {
 		return issEventInfo;
 	}
 
-	public Map<String, byte[]> blobStore() {
+	public AppendableBytesStore<String> blobStore() {
 		if (blobStore == null) {
 			blobStore = new FcBlobsBytesStore(MerkleOptionalBlob::new, storage());
 		}
@@ -433,7 +459,7 @@ public class ServicesContext {
 
 	public TxnResponseHelper txnResponseHelper() {
 		if (txnResponseHelper == null) {
-			txnResponseHelper = new TxnResponseHelper(submissionFlow(), stats());
+			txnResponseHelper = new TxnResponseHelper(submissionFlow(), stats(), handlerExecutor());
 		}
 		return txnResponseHelper;
 	}
@@ -472,7 +498,7 @@ public class ServicesContext {
 
 	public QueryResponseHelper queryResponseHelper() {
 		if (queryResponseHelper == null) {
-			queryResponseHelper = new QueryResponseHelper(answerFlow(), stats());
+			queryResponseHelper = new QueryResponseHelper(answerFlow(), stats(), handlerExecutor());
 		}
 		return queryResponseHelper;
 	}
@@ -549,7 +575,7 @@ public class ServicesContext {
 			SmartContractFeeBuilder contractFees = new SmartContractFeeBuilder();
 
 			fees = new UsageBasedFeeCalculator(
-					properties(),
+					globalDynamicProperties(),
 					exchange(),
 					usagePrices(),
 					List.of(
@@ -627,7 +653,7 @@ public class ServicesContext {
 	public HederaSigningOrder lookupRetryingKeyOrder() {
 		if (lookupRetryingKeyOrder == null) {
 			SigMetadataLookup lookups =
-					defaultAccountRetryingLookupsFor(hfs(), properties(), stats(), accounts(), topics());
+					defaultAccountRetryingLookupsFor(hfs(), globalDynamicProperties(), stats(), accounts(), topics());
 			lookupRetryingKeyOrder = new HederaSigningOrder(number(), lookups);
 		}
 		return lookupRetryingKeyOrder;
@@ -644,7 +670,10 @@ public class ServicesContext {
 		if (precheckVerifier == null) {
 			Predicate<TransactionBody> isQueryPayment = queryPaymentTestFor(nodeAccount());
 			PrecheckKeyReqs reqs = new PrecheckKeyReqs(keyOrder(), lookupRetryingKeyOrder(), isQueryPayment);
-			precheckVerifier = new PrecheckVerifier(syncVerifier(), reqs, DefaultSigBytesProvider.DEFAULT_SIG_BYTES);
+			precheckVerifier = new PrecheckVerifier(
+					new CachingEd25519SyncVerifier(syncVerifier()),
+					reqs,
+					DefaultSigBytesProvider.DEFAULT_SIG_BYTES);
 		}
 		return precheckVerifier;
 	}
@@ -677,7 +706,7 @@ public class ServicesContext {
 					ids(),
 					properties(),
 					txnCtx()::consensusTime,
-					DataMapFactory.dataMapFrom(blobStore())	,
+					DataMapFactory.dataMapFrom(blobStore()),
 					MetadataMapFactory.metaMapFrom(blobStore()));
 			hfs.register(authPolicy());
 			hfs.register(feeSchedulesManager());
@@ -709,6 +738,7 @@ public class ServicesContext {
 						var config = uncheckedParse(contents);
 						((StandardizedPropertySources)propertySources()).updateThrottlePropsFrom(config);
 						populateApplicationPropertiesWithProto(config);
+						globalDynamicProperties().reload();
 					},
 					ConfigListUtils::isConfigList
 			);
@@ -788,7 +818,7 @@ public class ServicesContext {
 			recordsHistorian = new FeePayingRecordsHistorian(
 					recordCache(),
 					fees(),
-					properties(),
+					globalDynamicProperties(),
 					txnCtx(),
 					charging(),
 					accounts(),
@@ -817,7 +847,7 @@ public class ServicesContext {
 			TransactionalLedger<AccountID, AccountProperty, MerkleAccount> delegate = new TransactionalLedger<>(
 					AccountProperty.class,
 					MerkleAccount::new,
-					new FCMapBackingAccounts(accounts()),
+					backingAccounts(),
 					new ChangeSummaryManager<>()
 			);
 			delegate.setKeyComparator(HederaLedger.ACCOUNT_ID_COMPARATOR);
@@ -826,6 +856,38 @@ public class ServicesContext {
 		return ledger;
 	}
 
+	public BackingAccounts<AccountID, MerkleAccount> backingAccounts() {
+		if (backingAccounts == null) {
+			if (properties().getBooleanProperty("accounts.coldTier.enabled")) {
+				backingAccounts = tieredAccounts();
+			} else {
+				backingAccounts = new FCMapBackingAccounts(accounts());
+			}
+		}
+		return backingAccounts;
+	}
+
+	public TieredBackingAccounts tieredAccounts() {
+		if (tieredAccounts == null) {
+			tieredAccounts = new TieredBackingAccounts(
+					accounts(),
+					coldAccountStore(),
+					properties().getIntProperty("accounts.coldTier.maxHotAccounts"),
+					stats());
+		}
+		return tieredAccounts;
+	}
+
+	public MappedColdAccountStore coldAccountStore() {
+		if (coldAccountStore == null) {
+			coldAccountStore = new MappedColdAccountStore(Paths.get(
+					properties().getStringProperty("accounts.coldTier.dir"),
+					"node" + id.getId(),
+					"accounts.mmap"));
+		}
+		return coldAccountStore;
+	}
+
 	public OptionValidator validator() {
 		if (validator == null) {
 			validator = new ContextOptionValidator(ledger(), properties(), txnCtx());
@@ -965,15 +1027,63 @@ public class ServicesContext {
 
 	public GrpcServerManager grpc() {
 		if (grpc == null) {
+			var shedding = new SheddingInterceptor(handlerExecutor(), stats());
 			grpc = new NettyGrpcServerManager(
 					Runtime.getRuntime()::addShutdownHook,
-					new NettyServerManager(),
-					List.of(filesGrpc(), freezeGrpc(), contractsGrpc(), consensusGrpc(), networkGrpc()),
-					List.of(intercept(cryptoGrpc(), new CryptoServiceInterceptor())));
+					new NettyServerManager(handlerExecutor()),
+					List.of(networkGrpc()),
+					List.of(
+							retaining(filesGrpc()),
+							retaining(intercept(freezeGrpc(), shedding)),
+							retaining(intercept(contractsGrpc(), shedding)),
+							retaining(consensusGrpc()),
+							retaining(intercept(cryptoGrpc(), new CryptoServiceInterceptor()))));
 		}
 		return grpc;
 	}
 
+	public HandlerExecutor handlerExecutor() {
+		if (handlerExecutor == null) {
+			handlerExecutor = HandlerExecutor.from(
+					properties().getStringProperty("grpc.handlers.executor"),
+					properties().getIntProperty("grpc.handlers.threads"),
+					properties().getIntProperty("grpc.handlers.maxBacklog"),
+					stats());
+		}
+		return handlerExecutor;
+	}
+
+	public TxnPreparation txnPreparation() {
+		if (txnPreparation == null) {
+			txnPreparation = new TxnPreparation(
+					transitionLogic(),
+					globalDynamicProperties(),
+					properties().getIntProperty("txns.preparation.maxPending"));
+		}
+		return txnPreparation;
+	}
+
+	public ParallelTransferExecutor parallelTransfers() {
+		if (parallelTransfers == null) {
+			int threads = properties().getIntProperty("ledger.transfers.parallel.threads");
+			AtomicInteger nextId = new AtomicInteger();
+			parallelTransfers = new ParallelTransferExecutor(
+					ParallelTransferExecutor.Mode.PARALLEL,
+					Executors.newFixedThreadPool(
+							(threads > 0) ? threads : Runtime.getRuntime().availableProcessors(),
+							task -> {
+								Thread thread = new Thread(task);
+								thread.setName("transfer-evaluator-" + nextId.getAndIncrement());
+								thread.setDaemon(true);
+								return thread;
+							}),
+					exemptions(),
+					properties(),
+					txnChargingPolicy());
+		}
+		return parallelTransfers;
+	}
+
 	public SmartContractRequestHandler contracts() {
 		if (contracts == null) {
 			contracts = new SmartContractRequestHandler(
@@ -1008,6 +1118,13 @@ public class ServicesContext {
 		return properties;
 	}
 
+	public GlobalDynamicProperties globalDynamicProperties() {
+		if (globalDynamicProperties == null) {
+			globalDynamicProperties = new GlobalDynamicProperties(properties());
+		}
+		return globalDynamicProperties;
+	}
+
 	public SystemFilesManager systemFilesManager() {
 		if (systemFilesManager == null)	{
 			systemFilesManager = new HfsSystemFilesManager(
@@ -1027,6 +1144,7 @@ public class ServicesContext {
 					config -> {
 						((StandardizedPropertySources)propertySources()).updateThrottlePropsFrom(config);
 						PropertiesLoader.populateApplicationPropertiesWithProto(config);
+						globalDynamicProperties().reload();
 					},
 					PropertiesLoader::populateAPIPropertiesWithProto);
 			/* We must force eager evaluation of the throttle construction here,
@@ -1106,10 +1224,24 @@ public class ServicesContext {
 					queryFeeCheck(),
 					bucketThrottling(),
 					stats());
+			if (properties().getBooleanProperty("platform.submission.batching.enabled")) {
+				txns.setSubmissionQueue(platformSubmissions());
+			}
 		}
 		return txns;
 	}
 
+	public PlatformSubmissionQueue platformSubmissions() {
+		if (platformSubmissions == null) {
+			platformSubmissions = new PlatformSubmissionQueue(
+					platform(),
+					stats(),
+					properties().getIntProperty("platform.submission.queueCapacity"),
+					properties().getIntProperty("platform.submission.maxBatchSize"));
+		}
+		return platformSubmissions;
+	}
+
 	public HederaNodeStats stats() {
 		if (stats == null) {
 			stats = new HederaNodeStats(platform(), id().getId(), ServicesMain.log);
@@ -1117,6 +1249,13 @@ public class ServicesContext {
 		return stats;
 	}
 
+	public PrometheusStatsServer prometheusStats() {
+		if (prometheusStats == null) {
+			prometheusStats = new PrometheusStatsServer(new PrometheusExposition(stats(), bucketThrottling()));
+		}
+		return prometheusStats;
+	}
+
 	public Console console() {
 		if (console == null) {
 			console = platform().createConsole(true);
@@ -1187,7 +1326,7 @@ public class ServicesContext {
 	public NodeDuplicateClassifier nodeDuplicateClassifier() {
 		if (nodeDuplicateClassifier == null)  {
 			Supplier<DuplicateClassifier> factory = () ->
-					new CountingDuplicateClassifier(properties(), new HashMap<>(), new PriorityBlockingQueue<>());
+					new CountingDuplicateClassifier(globalDynamicProperties(), new HashMap<>(), new PriorityBlockingQueue<>());
 			nodeDuplicateClassifier = new PerNodeDuplicateClassifier(factory, new HashMap<>());
 		}
 		return nodeDuplicateClassifier;
@@ -0,0 +1,110 @@
+package com.hedera.services.context.properties;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2020 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Provides typed access to the dynamic properties consulted on hot paths,
+ * so that callers do not pay for a {@code String}-keyed lookup, a
+ * {@link java.util.function.Supplier} call, and an unboxing cast on every
+ * transaction.
+ *
+ * The values are resolved from the given {@link PropertySource} into an
+ * immutable snapshot that is swapped in atomically by {@link #reload()};
+ * hence readers always see a mutually consistent set of values. Whoever
+ * updates the underlying source (for example, after an update to the
+ * application properties system file) must call {@link #reload()}.
+ */
+public class GlobalDynamicProperties {
+	private final PropertySource properties;
+	private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+
+	private volatile Values values;
+
+	public GlobalDynamicProperties(PropertySource properties) {
+		this.properties = properties;
+		reload();
+	}
+
+	/**
+	 * Re-resolves every dynamic property from the backing source, publishes
+	 * the new values, and then notifies any registered listeners.
+	 */
+	public void reload() {
+		values = new Values(properties);
+		listeners.forEach(Runnable::run);
+	}
+
+	/**
+	 * Registers a callback to be run after every {@link #reload()}.
+	 *
+	 * @param listener the callback
+	 */
+	public void addListener(Runnable listener) {
+		listeners.add(listener);
+	}
+
+	public int cacheRecordsTtl() {
+		return values.cacheRecordsTtl;
+	}
+
+	public int ledgerRecordsTtl() {
+		return values.ledgerRecordsTtl;
+	}
+
+	public int issResetPeriodSecs() {
+		return values.issResetPeriodSecs;
+	}
+
+	public int maxAccountLookupRetries() {
+		return values.maxAccountLookupRetries;
+	}
+
+	public int accountLookupRetryBackoffIncrementMs() {
+		return values.accountLookupRetryBackoffIncrementMs;
+	}
+
+	public int maxSpeculativeContractSigs() {
+		return values.maxSpeculativeContractSigs;
+	}
+
+	private static class Values {
+		private final int cacheRecordsTtl;
+		private final int ledgerRecordsTtl;
+		private final int issResetPeriodSecs;
+		private final int maxAccountLookupRetries;
+		private final int accountLookupRetryBackoffIncrementMs;
+		private final int maxSpeculativeContractSigs;
+
+		private Values(PropertySource properties) {
+			cacheRecordsTtl = properties.getIntProperty("cache.records.ttl");
+			ledgerRecordsTtl = properties.getIntProperty("ledger.records.ttl");
+			issResetPeriodSecs = properties.getIntProperty("iss.reset.periodSecs");
+			maxAccountLookupRetries =
+					properties.getIntProperty("validation.preConsensus.accountKey.maxLookupRetries");
+			accountLookupRetryBackoffIncrementMs =
+					properties.getIntProperty("validation.preConsensus.accountKey.retryBackoffIncrementMs");
+			maxSpeculativeContractSigs = properties.getIntProperty("contracts.speculativeSigs.maxPerTxn");
+		}
+	}
+}
@@ -168,6 +168,9 @@ public class StandardizedPropertySources implements PropertySources {
 				PRE_CONSENSUS_ACCOUNT_KEY_RETRY_BACKOFF_INCREMENT_MS;
 
 		Map<String, Supplier<Object>> source = new HashMap<>();
+		source.put("accounts.coldTier.enabled", PropertiesLoader::isAccountsColdTierEnabled);
+		source.put("accounts.coldTier.maxHotAccounts", PropertiesLoader::getAccountsColdTierMaxHotAccounts);
+		source.put("accounts.coldTier.dir", PropertiesLoader::getAccountsColdTierDir);
 		source.put("bootstrap.customKeystore.masterKey", () -> ApplicationConstants.START_ACCOUNT);
 		source.put("bootstrap.customKeystore.path", PropertiesLoader::getGenAccountPath);
 		source.put("bootstrap.feeSchedulesJson.resource", () -> ApplicationConstants.FEE_FILE_PATH);
@@ -184,6 +187,7 @@ public class StandardizedPropertySources implements PropertySources {
 		source.put("contracts.maxStorageKb", PropertiesLoader::getMaxContractStateSize);
 		source.put("contracts.defaultSendThreshold", PropertiesLoader::getDefaultContractSenderThreshold);
 		source.put("contracts.defaultReceiveThreshold", PropertiesLoader::getDefaultContractReceiverThreshold);
+		source.put("contracts.speculativeSigs.maxPerTxn", PropertiesLoader::getContractsSpeculativeSigsMaxPerTxn);
 		source.put("dev.defaultListeningNodeAccount", PropertiesLoader::getDefaultListeningNodeAccount);
 		source.put("dev.onlyDefaultNodeListens", () -> getUniqueListeningPortFlag() != 1);
 		source.put("exchangeRates.intradayChange.limitPercent", PropertiesLoader::getExchangeRateAllowedPercentage);
@@ -250,6 +254,26 @@ public class StandardizedPropertySources implements PropertySources {
 		source.put("throttling.hcs.getTopicInfo.tps", PropertiesLoader::getGetTopicInfoTps);
 		source.put("throttling.hcs.getTopicInfo.burstPeriod", PropertiesLoader::getGetTopicInfoBurstPeriod);
 
+		source.put("stats.handleAllocations.enabled", PropertiesLoader::isStatsHandleAllocationsEnabled);
+
+		source.put("platform.submission.batching.enabled", PropertiesLoader::isPlatformSubmissionBatchingEnabled);
+		source.put("platform.submission.queueCapacity", PropertiesLoader::getPlatformSubmissionQueueCapacity);
+		source.put("platform.submission.maxBatchSize", PropertiesLoader::getPlatformSubmissionMaxBatchSize);
+
+		source.put("grpc.handlers.executor", PropertiesLoader::getGrpcHandlersExecutor);
+		source.put("grpc.handlers.threads", PropertiesLoader::getGrpcHandlersThreads);
+		source.put("grpc.handlers.maxBacklog", PropertiesLoader::getGrpcHandlersMaxBacklog);
+
+		source.put("txns.preparation.maxPending", PropertiesLoader::getTxnsPreparationMaxPending);
+
+		source.put("ledger.transfers.parallel.enabled", PropertiesLoader::isLedgerTransfersParallelEnabled);
+		source.put("ledger.transfers.parallel.threads", PropertiesLoader::getLedgerTransfersParallelThreads);
+		source.put("ledger.transfers.parallel.maxBatchSize", PropertiesLoader::getLedgerTransfersParallelMaxBatchSize);
+
+		source.put("metrics.prometheus.enabled", PropertiesLoader::isMetricsPrometheusEnabled);
+		source.put("metrics.prometheus.bindAddress", PropertiesLoader::getMetricsPrometheusBindAddress);
+		source.put("metrics.prometheus.port", PropertiesLoader::getMetricsPrometheusPort);
+
 		source.put("timer.stats.dump.started", PropertiesLoader::getStartStatsDumpTimer);
 		source.put("timer.stats.dump.value", PropertiesLoader::getStatsDumpTimerValue);
 
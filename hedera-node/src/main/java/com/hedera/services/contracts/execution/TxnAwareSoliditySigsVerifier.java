@@ -27,17 +27,23 @@ import com.hedera.services.keys.SyncActivationCheck;
 import com.hedera.services.sigs.PlatformSigOps;
 import com.hedera.services.sigs.factories.BodySigningSigFactory;
 import com.hedera.services.sigs.verification.SyncVerifier;
+import com.hedera.services.utils.PlatformTxnAccessor;
 import com.hederahashgraph.api.proto.java.AccountID;
 import com.hedera.services.state.merkle.MerkleEntityId;
 import com.hedera.services.legacy.core.jproto.JKey;
+import com.swirlds.common.crypto.Signature;
+import com.swirlds.common.crypto.VerificationStatus;
 import com.swirlds.fcmap.FCMap;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Stream;
 
 import static com.hedera.services.keys.HederaKeyActivation.ONLY_IF_SIG_IS_VALID;
 import static com.hedera.services.keys.HederaKeyActivation.isActive;
+import static com.hedera.services.sigs.factories.PlatformSigFactory.varyingMaterialEquals;
 import static com.hedera.services.sigs.sourcing.DefaultSigBytesProvider.DEFAULT_SIG_BYTES;
 import static java.util.stream.Collectors.toList;
 
@@ -69,10 +75,11 @@ public class TxnAwareSoliditySigsVerifier implements SoliditySigsVerifier {
 		if (requiredKeys.isEmpty()) {
 			return true;
 		} else {
+			var accessor = txnCtx.accessor();
 			return check.allKeysAreActive(
 					requiredKeys,
-					syncVerifier,
-					txnCtx.accessor(),
+					reusingAsyncResultsFrom(accessor),
+					accessor,
 					PlatformSigOps::createEd25519PlatformSigsFrom,
 					DEFAULT_SIG_BYTES::allPartiesSigBytesFor,
 					BodySigningSigFactory::new,
@@ -81,6 +88,42 @@ public class TxnAwareSoliditySigsVerifier implements SoliditySigsVerifier {
 		}
 	}
 
+	/**
+	 * Returns a {@link SyncVerifier} that first looks for each requested sig among the
+	 * platform sigs already attached to the txn (including any speculatively expanded
+	 * ones), reusing the result of the Platform's async verification if it is known;
+	 * and only verifies the remaining sigs synchronously.
+	 */
+	private SyncVerifier reusingAsyncResultsFrom(PlatformTxnAccessor accessor) {
+		List<Signature> expanded = accessor.getPlatformTxn().getSignatures();
+		if (expanded == null || expanded.isEmpty()) {
+			return syncVerifier;
+		}
+		return sigs -> {
+			List<Signature> unknown = new ArrayList<>();
+			for (int i = 0, n = sigs.size(); i < n; i++) {
+				var verified = verifiedMatch(sigs.get(i), expanded);
+				if (verified != null) {
+					sigs.set(i, verified);
+				} else {
+					unknown.add(sigs.get(i));
+				}
+			}
+			if (!unknown.isEmpty()) {
+				syncVerifier.verifySync(unknown);
+			}
+		};
+	}
+
+	private Signature verifiedMatch(Signature sig, List<Signature> expanded) {
+		for (Signature candidate : expanded) {
+			if (candidate.getSignatureStatus() != VerificationStatus.UNKNOWN && varyingMaterialEquals(sig, candidate)) {
+				return candidate;
+			}
+		}
+		return null;
+	}
+
 	private Stream<JKey> keyRequirement(AccountID id) {
 		return Optional.ofNullable(accounts.get(MerkleEntityId.fromPojoAccountId(id)))
 				.filter(account -> !account.isSmartContract())
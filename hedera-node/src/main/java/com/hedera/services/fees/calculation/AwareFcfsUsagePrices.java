@@ -30,13 +30,13 @@ import com.hederahashgraph.api.proto.java.FeeData;
 import com.hederahashgraph.api.proto.java.FeeSchedule;
 import com.hederahashgraph.api.proto.java.HederaFunctionality;
 import com.hederahashgraph.api.proto.java.Timestamp;
-import com.hederahashgraph.api.proto.java.TimestampSeconds;
 import com.hederahashgraph.api.proto.java.TransactionBody;
 import com.hederahashgraph.api.proto.java.TransactionFeeSchedule;
 import com.hedera.services.legacy.exception.NoFeeScheduleExistsException;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.util.EnumMap;
 import java.util.Map;
 import java.util.Objects;
 
@@ -71,11 +71,7 @@ public class AwareFcfsUsagePrices implements UsagePricesProvider {
 
 	CurrentAndNextFeeSchedule feeSchedules;
 
-	Timestamp currFunctionUsagePricesExpiry;
-	Timestamp nextFunctionUsagePricesExpiry;
-
-	Map<HederaFunctionality, FeeData> currFunctionUsagePrices;
-	Map<HederaFunctionality, FeeData> nextFunctionUsagePrices;
+	private volatile CompiledSchedules compiled;
 
 	public AwareFcfsUsagePrices(HederaFs hfs, FileNumbers fileNumbers, TransactionContext txnCtx) {
 		this.hfs = hfs;
@@ -116,8 +112,7 @@ public class AwareFcfsUsagePrices implements UsagePricesProvider {
 	@Override
 	public FeeData pricesGiven(HederaFunctionality function, Timestamp at) {
 		try {
-			Map<HederaFunctionality, FeeData> functionUsagePrices = applicableUsagePrices(at);
-			FeeData usagePrices = functionUsagePrices.get(function);
+			FeeData usagePrices = compiled.pricesAt(function, at.getSeconds());
 			Objects.requireNonNull(usagePrices);
 			return usagePrices;
 		} catch (Exception ignore) {
@@ -126,36 +121,48 @@ public class AwareFcfsUsagePrices implements UsagePricesProvider {
 		return DEFAULT_USAGE_PRICES;
 	}
 
-	private Map<HederaFunctionality, FeeData> applicableUsagePrices(Timestamp at) {
-		if (onlyNextScheduleApplies(at)) {
-			return nextFunctionUsagePrices;
-		} else {
-			return currFunctionUsagePrices;
-		}
-	}
-
-	private boolean onlyNextScheduleApplies(Timestamp at) {
-		return at.getSeconds() >= currFunctionUsagePricesExpiry.getSeconds() &&
-				at.getSeconds() < nextFunctionUsagePricesExpiry.getSeconds();
-	}
-
 	public void setFeeSchedules(CurrentAndNextFeeSchedule feeSchedules) {
 		this.feeSchedules = feeSchedules;
+		this.compiled = new CompiledSchedules(feeSchedules);
+	}
 
-		currFunctionUsagePrices = functionUsagePricesFrom(feeSchedules.getCurrentFeeSchedule());
-		currFunctionUsagePricesExpiry = asTimestamp(feeSchedules.getCurrentFeeSchedule().getExpiryTime());
+	/**
+	 * The current and next schedules, indexed by {@link HederaFunctionality}; published
+	 * as a single immutable unit so a concurrent lookup never pairs the prices of one
+	 * schedule with the expiry of another.
+	 */
+	private static class CompiledSchedules {
+		private final long currExpiry;
+		private final long nextExpiry;
+		private final Map<HederaFunctionality, FeeData> currPrices;
+		private final Map<HederaFunctionality, FeeData> nextPrices;
+
+		CompiledSchedules(CurrentAndNextFeeSchedule feeSchedules) {
+			currPrices = functionUsagePricesFrom(feeSchedules.getCurrentFeeSchedule());
+			currExpiry = feeSchedules.getCurrentFeeSchedule().getExpiryTime().getSeconds();
+
+			nextPrices = functionUsagePricesFrom(feeSchedules.getNextFeeSchedule());
+			nextExpiry = feeSchedules.getNextFeeSchedule().getExpiryTime().getSeconds();
+		}
 
-		nextFunctionUsagePrices = functionUsagePricesFrom(feeSchedules.getNextFeeSchedule());
-		nextFunctionUsagePricesExpiry = asTimestamp(feeSchedules.getNextFeeSchedule().getExpiryTime());
-	}
+		FeeData pricesAt(HederaFunctionality function, long at) {
+			return onlyNextScheduleApplies(at) ? nextPrices.get(function) : currPrices.get(function);
+		}
 
-	private Timestamp asTimestamp(TimestampSeconds ts) {
-		return Timestamp.newBuilder().setSeconds(ts.getSeconds()).build();
-	}
+		private boolean onlyNextScheduleApplies(long at) {
+			return at >= currExpiry && at < nextExpiry;
+		}
 
-	private Map<HederaFunctionality, FeeData> functionUsagePricesFrom(FeeSchedule feeSchedule) {
-		return feeSchedule.getTransactionFeeScheduleList()
-				.stream()
-				.collect(toMap(TransactionFeeSchedule::getHederaFunctionality, TransactionFeeSchedule::getFeeData));
+		private static Map<HederaFunctionality, FeeData> functionUsagePricesFrom(FeeSchedule feeSchedule) {
+			return feeSchedule.getTransactionFeeScheduleList()
+					.stream()
+					.collect(toMap(
+							TransactionFeeSchedule::getHederaFunctionality,
+							TransactionFeeSchedule::getFeeData,
+							(a, b) -> {
+								throw new IllegalStateException("Duplicate prices for a single function!");
+							},
+							() -> new EnumMap<>(HederaFunctionality.class)));
+		}
 	}
 }
@@ -21,7 +21,7 @@ package com.hedera.services.fees.calculation;
  */
 
 import com.hedera.services.context.primitives.StateView;
-import com.hedera.services.context.properties.PropertySource;
+import com.hedera.services.context.properties.GlobalDynamicProperties;
 import com.hedera.services.fees.FeeCalculator;
 import com.hedera.services.fees.HbarCentExchange;
 import com.hedera.services.keys.HederaKeyTraversal;
@@ -42,7 +42,8 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 import static com.hedera.services.fees.calculation.AwareFcfsUsagePrices.DEFAULT_USAGE_PRICES;
@@ -60,14 +61,21 @@ import static com.hederahashgraph.fee.FeeBuilder.getTransactionRecordFeeInTinyCe
 public class UsageBasedFeeCalculator implements FeeCalculator {
 	private static final Logger log = LogManager.getLogger(UsageBasedFeeCalculator.class);
 
-	private final PropertySource properties;
+	private final GlobalDynamicProperties properties;
 	private final HbarCentExchange exchange;
 	private final UsagePricesProvider usagePrices;
 	private final List<TxnResourceUsageEstimator> txnUsageEstimators;
 	private final List<QueryResourceUsageEstimator> queryUsageEstimators;
 
+	/* Every estimator applies to exactly one body (or query) case, so
+	the linear search for the applicable estimator need only run once per case. */
+	private final Map<TransactionBody.DataCase, TxnResourceUsageEstimator> txnEstimatorsByCase =
+			new ConcurrentHashMap<>();
+	private final Map<Query.QueryCase, QueryResourceUsageEstimator> queryEstimatorsByCase =
+			new ConcurrentHashMap<>();
+
 	public UsageBasedFeeCalculator(
-			PropertySource properties,
+			GlobalDynamicProperties properties,
 			HbarCentExchange exchange,
 			UsagePricesProvider usagePrices,
 			List<TxnResourceUsageEstimator> txnUsageEstimators,
@@ -91,12 +99,12 @@ public class UsageBasedFeeCalculator implements FeeCalculator {
 
 	@Override
 	public long computeCachingFee(TransactionRecord record) {
-		return priceForStorage(record, properties.getIntProperty("cache.records.ttl"));
+		return priceForStorage(record, properties.cacheRecordsTtl());
 	}
 
 	@Override
 	public long computeStorageFee(TransactionRecord record) {
-		return priceForStorage(record, properties.getIntProperty("ledger.records.ttl"));
+		return priceForStorage(record, properties.ledgerRecordsTtl());
 	}
 
 	private long priceForStorage(TransactionRecord record, int ttl) {
@@ -179,25 +187,19 @@ public class UsageBasedFeeCalculator implements FeeCalculator {
 	}
 
 	private QueryResourceUsageEstimator getApplicableEstimator(Query query) {
-		Optional<QueryResourceUsageEstimator> usageEstimator = queryUsageEstimators
+		return queryEstimatorsByCase.computeIfAbsent(query.getQueryCase(), ignore -> queryUsageEstimators
 				.stream()
 				.filter(estimator -> estimator.applicableTo(query))
-				.findAny();
-		if (!usageEstimator.isPresent()) {
-			throw new IllegalArgumentException("Missing query usage estimator!");
-		}
-		return usageEstimator.get();
+				.findAny()
+				.orElseThrow(() -> new IllegalArgumentException("Missing query usage estimator!")));
 	}
 
 	private TxnResourceUsageEstimator getApplicableEstimator(TransactionBody txn) {
-		Optional<TxnResourceUsageEstimator> usageEstimator = txnUsageEstimators
+		return txnEstimatorsByCase.computeIfAbsent(txn.getDataCase(), ignore -> txnUsageEstimators
 				.stream()
 				.filter(estimator -> estimator.applicableTo(txn))
-				.findAny();
-		if (!usageEstimator.isPresent()) {
-			throw new IllegalArgumentException("Missing txn usage estimator!");
-		}
-		return usageEstimator.get();
+				.findAny()
+				.orElseThrow(() -> new IllegalArgumentException("Missing txn usage estimator!")));
 	}
 
 	private SigValueObj getSigUsage(SignedTxnAccessor accessor, JKey payerKey) {
@@ -20,6 +20,8 @@ package com.hedera.services.files;
  * ‍
  */
 
+import com.hedera.services.files.store.AppendableBytesStore;
+import com.hedera.services.files.store.AppendableBytesStoreAdapter;
 import com.hedera.services.files.store.BytesStoreAdapter;
 import com.hederahashgraph.api.proto.java.FileID;
 
@@ -47,6 +49,14 @@ public class DataMapFactory {
 				store);
 	}
 
+	public static AppendableBytesStore<FileID> dataMapFrom(AppendableBytesStore<String> store) {
+		return new AppendableBytesStoreAdapter<>(
+				FileID.class,
+				DataMapFactory::toFid,
+				DataMapFactory::toKeyString,
+				store);
+	}
+
 	static FileID toFid(String key) {
 		var matcher = LEGACY_PATH_PATTERN.matcher(key);
 		var flag = matcher.matches();
@@ -21,6 +21,7 @@ package com.hedera.services.files;
  */
 
 import com.hedera.services.context.properties.PropertySource;
+import com.hedera.services.files.store.AppendableBytesStore;
 import com.hedera.services.ledger.ids.EntityIdSource;
 import com.hedera.services.utils.EntityIdUtils;
 import com.hederahashgraph.api.proto.java.AccountID;
@@ -56,7 +57,7 @@ public class TieredHederaFs implements HederaFs {
 	private final EntityIdSource ids;
 	private final PropertySource properties;
 	private final Supplier<Instant> now;
-	private final Map<FileID, byte[]> data;
+	private final AppendableBytesStore<FileID> data;
 	private final Map<FileID, JFileInfo> metadata;
 
 	final List<FileUpdateInterceptor> updateInterceptors = new ArrayList<>();
@@ -84,7 +85,7 @@ public class TieredHederaFs implements HederaFs {
 			EntityIdSource ids,
 			PropertySource properties,
 			Supplier<Instant> now,
-			Map<FileID, byte[]> data,
+			AppendableBytesStore<FileID> data,
 			Map<FileID, JFileInfo> metadata
 	) {
 		this.ids = ids;
@@ -94,7 +95,7 @@ public class TieredHederaFs implements HederaFs {
 		this.properties = properties;
 	}
 
-	public Map<FileID, byte[]> getData() {
+	public AppendableBytesStore<FileID> getData() {
 		return data;
 	}
 
@@ -159,24 +160,28 @@ public class TieredHederaFs implements HederaFs {
 		assertUsable(id);
 		assertValid(newContents);
 
-		return uncheckedUpdate(id, newContents);
+		return uncheckedUpdate(id, newContents, () -> data.put(id, newContents));
 	}
 
 	@Override
 	public UpdateResult append(FileID id, byte[] moreContents) {
 		assertUsable(id);
-		var contents = data.get(id);
-		var newContents = ArrayUtils.addAll(contents, moreContents);
-		String idStr = EntityIdUtils.readableId(id);
+		int newLength = data.lengthOf(id) + moreContents.length;
 		log.debug(
 				"Appending {} bytes to {} :: new file will have {} bytes.",
 				moreContents.length,
-				idStr,
-				newContents.length);
+				EntityIdUtils.readableId(id),
+				newLength);
 
-		assertValid(newContents);
+		assertValid(newLength);
 
-		return uncheckedUpdate(id, newContents);
+		/* Only interceptors need the full new contents; without them an append never reads the file. */
+		if (interceptorsFor(id).isEmpty()) {
+			data.append(id, moreContents);
+			return new SimpleUpdateResult(false, true, SUCCESS);
+		}
+		var newContents = ArrayUtils.addAll(data.get(id), moreContents);
+		return uncheckedUpdate(id, newContents, () -> data.append(id, moreContents));
 	}
 
 	@Override
@@ -243,11 +248,11 @@ public class TieredHederaFs implements HederaFs {
 	}
 
 
-	private UpdateResult uncheckedUpdate(FileID id, byte[] newContents) {
+	private UpdateResult uncheckedUpdate(FileID id, byte[] newContents, Runnable write) {
 		var verdict = judge(id, (interceptor, ignore) -> interceptor.preUpdate(id, newContents));
 
 		if (verdict.getValue()) {
-			data.put(id, newContents);
+			write.run();
 			interceptorsFor(id).forEach(interceptor -> interceptor.postUpdate(id, newContents));
 		}
 		return new SimpleUpdateResult(false, verdict.getValue(), verdict.getKey());
@@ -299,7 +304,11 @@ public class TieredHederaFs implements HederaFs {
 	}
 
 	private void assertValid(byte[] data) {
-		if (data.length > properties.getIntProperty("files.maxSizeKb") * BYTES_PER_KB) {
+		assertValid(data.length);
+	}
+
+	private void assertValid(int length) {
+		if (length > properties.getIntProperty("files.maxSizeKb") * BYTES_PER_KB) {
 			throwIllegal(OVERSIZE_CONTENTS);
 		}
 	}
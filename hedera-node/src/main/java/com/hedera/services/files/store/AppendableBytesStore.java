@@ -0,0 +1,52 @@
+package com.hedera.services.files.store;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2020 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import java.util.Map;
+
+/**
+ * A {@link Map} to byte arrays that can extend the bytes mapped to a key
+ * without rewriting the bytes already stored there.
+ *
+ * @param <K> the type of key in the store
+ */
+public interface AppendableBytesStore<K> extends Map<K, byte[]> {
+	/**
+	 * Extends the bytes mapped to the given key with the given bytes; or,
+	 * if nothing is mapped to the key, maps the given bytes to it.
+	 *
+	 * @param key
+	 * 		the key whose bytes should be extended
+	 * @param moreBytes
+	 * 		the bytes to append
+	 */
+	void append(K key, byte[] moreBytes);
+
+	/**
+	 * Returns the number of bytes mapped to the given key, without
+	 * reading them; or zero, if nothing is mapped to the key.
+	 *
+	 * @param key
+	 * 		the key whose bytes should be measured
+	 * @return the number of bytes mapped to the key
+	 */
+	int lengthOf(K key);
+}
@@ -0,0 +1,55 @@
+package com.hedera.services.files.store;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2020 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import java.util.function.Function;
+
+/**
+ * A {@link BytesStoreAdapter} over an {@link AppendableBytesStore} that passes
+ * appends through to its delegate, so they keep their incremental cost.
+ *
+ * @param <K> the type of key in the adapted store
+ */
+public class AppendableBytesStoreAdapter<K> extends BytesStoreAdapter<K, byte[]> implements AppendableBytesStore<K> {
+	private final Function<K, String> fromK;
+	private final AppendableBytesStore<String> delegate;
+
+	public AppendableBytesStoreAdapter(
+			Class<K> kType,
+			Function<String, K> toK,
+			Function<K, String> fromK,
+			AppendableBytesStore<String> delegate
+	) {
+		super(kType, Function.identity(), Function.identity(), toK, fromK, delegate);
+		this.fromK = fromK;
+		this.delegate = delegate;
+	}
+
+	@Override
+	public void append(K key, byte[] moreBytes) {
+		delegate.append(fromK.apply(key), moreBytes);
+	}
+
+	@Override
+	public int lengthOf(K key) {
+		return delegate.lengthOf(fromK.apply(key));
+	}
+}
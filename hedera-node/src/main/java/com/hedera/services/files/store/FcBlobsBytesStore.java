@@ -26,6 +26,7 @@ import com.swirlds.fcmap.FCMap;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.nio.ByteBuffer;
 import java.util.AbstractMap;
 import java.util.Optional;
 import java.util.Set;
@@ -33,9 +34,25 @@ import java.util.function.Function;
 
 import static java.util.stream.Collectors.toSet;
 
-public class FcBlobsBytesStore extends AbstractMap<String, byte[]> {
+/**
+ * Stores byte arrays as {@link MerkleOptionalBlob}s in an {@link FCMap}, keyed by path.
+ *
+ * Bytes appended to an existing path are stored as a new blob (a "chunk") at the path
+ * {@code <path>#<n>}, so an append only writes the appended bytes. Chunk {@code 0} of an
+ * appended path is an index holding its number of chunks and total length; so neither
+ * appending nor reading ever probes for chunks. Since a path with no chunks is stored
+ * exactly as before, existing state needs no migration.
+ *
+ * Only HFS appends create chunks, so only file data paths (see {@code DataMapFactory})
+ * are ever checked for them; every other read, such as of contract storage or bytecode,
+ * is the single lookup it always was.
+ */
+public class FcBlobsBytesStore extends AbstractMap<String, byte[]> implements AppendableBytesStore<String> {
 	public static Logger log = LogManager.getLogger(FcBlobsBytesStore.class);
 
+	static final String CHUNK_SEPARATOR = "#";
+	static final char FILE_DATA_TYPE = 'f';
+
 	private final Function<byte[], MerkleOptionalBlob> blobFactory;
 	private final FCMap<MerkleBlobMeta, MerkleOptionalBlob> pathedBlobs;
 
@@ -51,6 +68,21 @@ public class FcBlobsBytesStore extends AbstractMap<String, byte[]> {
 		return new MerkleBlobMeta((String) key);
 	}
 
+	private MerkleBlobMeta chunkAt(Object key, int n) {
+		return new MerkleBlobMeta(key + CHUNK_SEPARATOR + n);
+	}
+
+	private boolean isChunk(String path) {
+		return path.contains(CHUNK_SEPARATOR);
+	}
+
+	/* File data paths have the form "/<realm>/f<num>". */
+	static boolean isFileDataPath(Object path) {
+		var key = (String) path;
+		int i = key.lastIndexOf('/');
+		return i >= 0 && i + 1 < key.length() && key.charAt(i + 1) == FILE_DATA_TYPE;
+	}
+
 	@Override
 	public void clear() {
 		pathedBlobs.clear();
@@ -69,9 +101,20 @@ public class FcBlobsBytesStore extends AbstractMap<String, byte[]> {
 	@Override
 	public byte[] remove(Object path) {
 		pathedBlobs.remove(at(path));
+		removeChunks(path);
 		return null;
 	}
 
+	private void removeChunks(Object path) {
+		var index = chunkIndexOf(path);
+		if (index == null) {
+			return;
+		}
+		for (int n = index.numChunks; n >= 0; n--) {
+			pathedBlobs.remove(chunkAt(path, n));
+		}
+	}
+
 	/**
 	 * Replaces the blob at the given path with the given contents.
 	 *
@@ -86,24 +129,96 @@ public class FcBlobsBytesStore extends AbstractMap<String, byte[]> {
 	 */
 	@Override
 	public byte[] put(String path, byte[] value) {
-		var meta = at(path);
+		removeChunks(path);
+		putBlob(at(path), value);
+		return null;
+	}
+
+	private void putBlob(MerkleBlobMeta meta, byte[] value) {
 		if (pathedBlobs.containsKey(meta)) {
 			var blob = pathedBlobs.getForModify(meta);
 			blob.modify(value);
-			log.debug("Modifying to {} new bytes (hash = {}) @ '{}'", value.length, blob.getHash(), path);
+			log.debug("Modifying to {} new bytes (hash = {}) @ '{}'", value.length, blob.getHash(), meta.getPath());
 			pathedBlobs.put(meta, blob);
 		} else {
 			var blob = blobFactory.apply(value);
-			log.debug("Putting {} new bytes (hash = {}) @ '{}'", value.length, blob.getHash(), path);
-			pathedBlobs.put(at(path), blob);
+			log.debug("Putting {} new bytes (hash = {}) @ '{}'", value.length, blob.getHash(), meta.getPath());
+			pathedBlobs.put(meta, blob);
 		}
-		return null;
+	}
+
+	/**
+	 * Appends the given bytes to the blob at the given path by storing them as a
+	 * new chunk, and updating the chunk index of the path; the existing blob and any
+	 * earlier chunks are left untouched.
+	 *
+	 * @param path
+	 * 		the path of the blob
+	 * @param moreBytes
+	 * 		the contents to be appended
+	 */
+	@Override
+	public void append(String path, byte[] moreBytes) {
+		var base = pathedBlobs.get(at(path));
+		if (base == null) {
+			put(path, moreBytes);
+			return;
+		}
+		if (!isFileDataPath(path)) {
+			var data = base.getData();
+			var contents = new byte[data.length + moreBytes.length];
+			System.arraycopy(data, 0, contents, 0, data.length);
+			System.arraycopy(moreBytes, 0, contents, data.length, moreBytes.length);
+			putBlob(at(path), contents);
+			return;
+		}
+		var index = Optional.ofNullable(chunkIndexOf(path))
+				.orElseGet(() -> new ChunkIndex(0, base.getData().length));
+		int n = index.numChunks + 1;
+		pathedBlobs.put(chunkAt(path, n), blobFactory.apply(moreBytes));
+		putBlob(chunkAt(path, 0), new ChunkIndex(n, index.length + moreBytes.length).toBytes());
+		log.debug("Appended {} new bytes @ '{}' as chunk {}", moreBytes.length, path, n);
+	}
+
+	@Override
+	public int lengthOf(String path) {
+		var index = chunkIndexOf(path);
+		if (index != null) {
+			return index.length;
+		}
+		var blob = pathedBlobs.get(at(path));
+		return (blob == null) ? 0 : blob.getData().length;
 	}
 
 	@Override
 	public byte[] get(Object path) {
 		return Optional.ofNullable(pathedBlobs.get(at(path)))
-				.map(MerkleOptionalBlob::getData)
+				.map(blob -> withChunks(path, blob.getData()))
+				.orElse(null);
+	}
+
+	private byte[] withChunks(Object path, byte[] base) {
+		var index = chunkIndexOf(path);
+		if (index == null) {
+			return base;
+		}
+		var contents = new byte[index.length];
+		System.arraycopy(base, 0, contents, 0, base.length);
+		int offset = base.length;
+		for (int n = 1; n <= index.numChunks; n++) {
+			var data = pathedBlobs.get(chunkAt(path, n)).getData();
+			System.arraycopy(data, 0, contents, offset, data.length);
+			offset += data.length;
+		}
+		return contents;
+	}
+
+	private ChunkIndex chunkIndexOf(Object path) {
+		if (!isFileDataPath(path)) {
+			return null;
+		}
+		return Optional.ofNullable(pathedBlobs.get(chunkAt(path, 0)))
+				.map(blob -> ChunkIndex.from(blob.getData()))
 				.orElse(null);
 	}
 
@@ -117,6 +232,14 @@ public class FcBlobsBytesStore extends AbstractMap<String, byte[]> {
 		return pathedBlobs.isEmpty();
 	}
 
+	/**
+	 * Returns the number of blobs in the store.
+	 *
+	 * <B>NOTE:</B> This method breaks the standard {@code Map} contract, since
+	 * it counts each chunk (and chunk index) of an appended file as a blob.
+	 *
+	 * @return the number of blobs
+	 */
 	@Override
 	public int size() {
 		return pathedBlobs.size();
@@ -126,7 +249,29 @@ public class FcBlobsBytesStore extends AbstractMap<String, byte[]> {
 	public Set<Entry<String, byte[]>> entrySet() {
 		return pathedBlobs.entrySet()
 				.stream()
-				.map(entry -> new SimpleEntry<>(entry.getKey().getPath(), entry.getValue().getData()))
+				.filter(entry -> !isChunk(entry.getKey().getPath()))
+				.map(entry -> new SimpleEntry<>(
+						entry.getKey().getPath(),
+						withChunks(entry.getKey().getPath(), entry.getValue().getData())))
 				.collect(toSet());
 	}
+
+	private static final class ChunkIndex {
+		private final int numChunks;
+		private final int length;
+
+		ChunkIndex(int numChunks, int length) {
+			this.numChunks = numChunks;
+			this.length = length;
+		}
+
+		static ChunkIndex from(byte[] data) {
+			var buffer = ByteBuffer.wrap(data);
+			return new ChunkIndex(buffer.getInt(), buffer.getInt());
+		}
+
+		byte[] toBytes() {
+			return ByteBuffer.allocate(2 * Integer.BYTES).putInt(numChunks).putInt(length).array();
+		}
+	}
 }
@@ -0,0 +1,227 @@
+package com.hedera.services.grpc;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2020 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.legacy.services.stats.HederaNodeStats;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The {@link Executor} on which the gRPC server runs our service handlers.
+ *
+ * In {@link Mode#DIRECT} mode, handlers run on the Netty event-loop thread
+ * that read the request, exactly as with {@code directExecutor()}. In
+ * {@link Mode#FIXED} mode they run on a fixed pool of daemon threads, and in
+ * {@link Mode#VIRTUAL} mode on a new virtual thread per task (falling back to
+ * {@link Mode#FIXED} when the JDK has no virtual threads); so that precheck
+ * work like signature verification and account lookups never stalls I/O.
+ *
+ * When not direct, every task is timed from {@link #execute(Runnable)} to the
+ * start of its run, and from there to its end. A task given while the backlog of
+ * waiting tasks is at capacity (or that the pool rejects) is never queued; instead
+ * it runs at once on the calling transport thread, during which {@link #isShedding()}
+ * is true. So the handlers, and the {@link SheddingInterceptor} for services without
+ * their own check, can consult {@link #isSaturated()} to answer {@code BUSY} without
+ * doing any real work on that thread.
+ */
+public class HandlerExecutor implements Executor {
+	private static final Logger log = LogManager.getLogger(HandlerExecutor.class);
+
+	public enum Mode {
+		DIRECT, FIXED, VIRTUAL
+	}
+
+	private final Mode mode;
+	private final int maxBacklog;
+	private final HederaNodeStats stats;
+	private final ExecutorService delegate;
+	private final AtomicInteger backlog = new AtomicInteger();
+	private final ThreadLocal<Boolean> shedding = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+	/**
+	 * Creates an executor in the given mode.
+	 *
+	 * @param mode one of {@code DIRECT}, {@code FIXED}, or {@code VIRTUAL} (case-insensitive)
+	 * @param threads the size of a fixed pool; if not positive, the number of available processors
+	 * @param maxBacklog the number of waiting tasks at which further tasks are shed
+	 * @param stats the stats to report backlog, wait, and execution times to
+	 * @return the new executor
+	 */
+	public static HandlerExecutor from(String mode, int threads, int maxBacklog, HederaNodeStats stats) {
+		Mode requested;
+		try {
+			requested = Mode.valueOf(mode.trim().toUpperCase());
+		} catch (IllegalArgumentException unknown) {
+			throw new IllegalArgumentException(String.format("Unknown gRPC handler executor mode '%s'!", mode));
+		}
+		if (requested != Mode.DIRECT && maxBacklog < 1) {
+			throw new IllegalArgumentException(String.format(
+					"Handler executor max backlog (%d) must be positive!", maxBacklog));
+		}
+		switch (requested) {
+			case DIRECT:
+				return new HandlerExecutor(Mode.DIRECT, maxBacklog, stats, null);
+			case VIRTUAL:
+				ExecutorService virtual = virtualThreadPerTaskExecutor();
+				if (virtual != null) {
+					return new HandlerExecutor(Mode.VIRTUAL, maxBacklog, stats, virtual);
+				}
+				log.warn("Virtual threads are not available in this JDK, using a fixed handler pool instead");
+				/* fall through */
+			default:
+				int n = (threads > 0) ? threads : Runtime.getRuntime().availableProcessors();
+				return new HandlerExecutor(Mode.FIXED, maxBacklog, stats, fixedPool(n, maxBacklog));
+		}
+	}
+
+	HandlerExecutor(Mode mode, int maxBacklog, HederaNodeStats stats, ExecutorService delegate) {
+		this.mode = mode;
+		this.stats = stats;
+		this.delegate = delegate;
+		this.maxBacklog = maxBacklog;
+	}
+
+	@Override
+	public void execute(Runnable task) {
+		if (delegate == null) {
+			task.run();
+			return;
+		}
+		int n = backlog.incrementAndGet();
+		if (n > maxBacklog) {
+			backlog.decrementAndGet();
+			shed(task);
+			return;
+		}
+		stats.updateHandlerBacklog(n);
+		try {
+			delegate.execute(new Timed(task, System.nanoTime()));
+		} catch (RejectedExecutionException rejected) {
+			stats.updateHandlerBacklog(backlog.decrementAndGet());
+			shed(task);
+		}
+	}
+
+	private void shed(Runnable task) {
+		boolean wasShedding = shedding.get();
+		shedding.set(Boolean.TRUE);
+		try {
+			task.run();
+		} finally {
+			shedding.set(wasShedding);
+		}
+	}
+
+	/**
+	 * Whether the current thread is running a task that was shed instead of queued.
+	 *
+	 * @return whether the running handler must answer {@code BUSY}
+	 */
+	public boolean isShedding() {
+		return shedding.get();
+	}
+
+	/**
+	 * Whether the current task was shed, or the tasks waiting for this executor have
+	 * reached the max backlog. (With virtual threads no task ever waits for a thread,
+	 * so every unfinished task counts.)
+	 *
+	 * @return whether handlers should answer {@code BUSY}
+	 */
+	public boolean isSaturated() {
+		return delegate != null && (shedding.get() || backlog.get() >= maxBacklog);
+	}
+
+	public boolean isDirect() {
+		return delegate == null;
+	}
+
+	public Mode mode() {
+		return mode;
+	}
+
+	public int backlog() {
+		return backlog.get();
+	}
+
+	public void shutdown() {
+		if (delegate != null) {
+			delegate.shutdown();
+		}
+	}
+
+	private class Timed implements Runnable {
+		private final Runnable task;
+		private final long submittedAt;
+
+		private Timed(Runnable task, long submittedAt) {
+			this.task = task;
+			this.submittedAt = submittedAt;
+		}
+
+		@Override
+		public void run() {
+			long startedAt = System.nanoTime();
+			if (mode == Mode.FIXED) {
+				stats.updateHandlerBacklog(backlog.decrementAndGet());
+			}
+			try {
+				task.run();
+			} finally {
+				if (mode == Mode.VIRTUAL) {
+					stats.updateHandlerBacklog(backlog.decrementAndGet());
+				}
+				stats.handlerTaskRan(startedAt - submittedAt, System.nanoTime() - startedAt);
+			}
+		}
+	}
+
+	private static ExecutorService fixedPool(int n, int maxBacklog) {
+		AtomicInteger nextId = new AtomicInteger();
+		return new ThreadPoolExecutor(
+				n, n,
+				0L, TimeUnit.MILLISECONDS,
+				new LinkedBlockingQueue<>(maxBacklog),
+				task -> {
+					Thread thread = new Thread(task);
+					thread.setName("grpc-handler-" + nextId.getAndIncrement());
+					thread.setDaemon(true);
+					return thread;
+				});
+	}
+
+	static ExecutorService virtualThreadPerTaskExecutor() {
+		try {
+			return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+		} catch (ReflectiveOperationException unavailable) {
+			return null;
+		}
+	}
+}
@@ -0,0 +1,86 @@
+package com.hedera.services.grpc;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2020 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.google.protobuf.CodedInputStream;
+import com.hederahashgraph.api.proto.java.Transaction;
+import io.grpc.Context;
+import io.grpc.Status;
+
+import java.io.IOException;
+
+/**
+ * A gRPC {@link Transaction} request as it arrived on the wire. Keeps the
+ * exact bytes received, and only parses them (aliasing, not copying, their
+ * {@code bytes} fields) when the handler first asks for the {@link Transaction}.
+ *
+ * While a handler given a retained request is running, {@link #bytesOf(Transaction)}
+ * returns the received bytes for that same {@link Transaction} instance, so
+ * they can be handed to the platform without serializing the request again.
+ */
+public final class RetainedTransaction {
+	static final Context.Key<RetainedTransaction> CURRENT = Context.key("retainedTransaction");
+
+	private final byte[] bytes;
+	private Transaction transaction;
+
+	RetainedTransaction(byte[] bytes) {
+		this.bytes = bytes;
+	}
+
+	/**
+	 * Returns the serialized form of the given transaction; which is the array
+	 * received from the network if the transaction is the request of the
+	 * current gRPC call, and a fresh serialization otherwise.
+	 *
+	 * <b>The returned array must not be modified.</b>
+	 *
+	 * @param transaction the transaction to serialize
+	 * @return its serialized form
+	 */
+	public static byte[] bytesOf(Transaction transaction) {
+		RetainedTransaction current = CURRENT.get();
+		if (current != null && current.transaction == transaction) {
+			return current.bytes;
+		}
+		return transaction.toByteArray();
+	}
+
+	byte[] bytes() {
+		return bytes;
+	}
+
+	Transaction transaction() {
+		if (transaction == null) {
+			try {
+				CodedInputStream input = CodedInputStream.newInstance(bytes);
+				input.enableAliasing(true);
+				transaction = Transaction.parseFrom(input);
+			} catch (IOException e) {
+				throw Status.INTERNAL
+						.withDescription("Invalid protobuf byte sequence")
+						.withCause(e)
+						.asRuntimeException();
+			}
+		}
+		return transaction;
+	}
+}
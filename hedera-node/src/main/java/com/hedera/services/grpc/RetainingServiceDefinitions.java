@@ -0,0 +1,261 @@
+package com.hedera.services.grpc;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2020 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hederahashgraph.api.proto.java.Transaction;
+import io.grpc.Attributes;
+import io.grpc.BindableService;
+import io.grpc.Context;
+import io.grpc.KnownLength;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerMethodDefinition;
+import io.grpc.ServerServiceDefinition;
+import io.grpc.ServiceDescriptor;
+import io.grpc.Status;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Rewrites gRPC service definitions so that every method taking a {@link Transaction}
+ * request reads it with {@link #TRANSACTION_MARSHALLER}. That marshaller copies the
+ * request out of Netty's pooled buffers exactly once, into a {@link RetainedTransaction};
+ * and the rewritten handler parses it lazily, running the original handler with the
+ * retained bytes in scope. Methods with any other request type are left untouched.
+ */
+public final class RetainingServiceDefinitions {
+	static final MethodDescriptor.Marshaller<RetainedTransaction> TRANSACTION_MARSHALLER =
+			new RetainingMarshaller();
+
+	private RetainingServiceDefinitions() {
+		throw new IllegalStateException("Utility class");
+	}
+
+	public static ServerServiceDefinition retaining(BindableService service) {
+		return retaining(service.bindService());
+	}
+
+	public static ServerServiceDefinition retaining(ServerServiceDefinition definition) {
+		ServiceDescriptor original = definition.getServiceDescriptor();
+		ServiceDescriptor.Builder descriptor = ServiceDescriptor.newBuilder(original.getName())
+				.setSchemaDescriptor(original.getSchemaDescriptor());
+		List<ServerMethodDefinition<?, ?>> methods = new ArrayList<>();
+		for (ServerMethodDefinition<?, ?> method : definition.getMethods()) {
+			ServerMethodDefinition<?, ?> rewritten = takesTransaction(method.getMethodDescriptor())
+					? retainingUnchecked(method)
+					: method;
+			descriptor.addMethod(rewritten.getMethodDescriptor());
+			methods.add(rewritten);
+		}
+		ServerServiceDefinition.Builder builder = ServerServiceDefinition.builder(descriptor.build());
+		methods.forEach(builder::addMethod);
+		return builder.build();
+	}
+
+	static boolean takesTransaction(MethodDescriptor<?, ?> method) {
+		MethodDescriptor.Marshaller<?> marshaller = method.getRequestMarshaller();
+		return marshaller instanceof MethodDescriptor.PrototypeMarshaller
+				&& ((MethodDescriptor.PrototypeMarshaller<?>) marshaller).getMessagePrototype() instanceof Transaction;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <RespT> ServerMethodDefinition<RetainedTransaction, RespT> retainingUnchecked(
+			ServerMethodDefinition<?, ?> method
+	) {
+		return retaining((ServerMethodDefinition<Transaction, RespT>) method);
+	}
+
+	private static <RespT> ServerMethodDefinition<RetainedTransaction, RespT> retaining(
+			ServerMethodDefinition<Transaction, RespT> method
+	) {
+		MethodDescriptor<Transaction, RespT> original = method.getMethodDescriptor();
+		MethodDescriptor<RetainedTransaction, RespT> rewritten = original
+				.toBuilder(TRANSACTION_MARSHALLER, original.getResponseMarshaller())
+				.build();
+		ServerCallHandler<Transaction, RespT> handler = method.getServerCallHandler();
+		return ServerMethodDefinition.create(
+				rewritten,
+				(call, headers) -> new RetainingListener(handler.startCall(new ParsedCall<>(call, original), headers)));
+	}
+
+	private static class RetainingMarshaller implements MethodDescriptor.Marshaller<RetainedTransaction> {
+		@Override
+		public InputStream stream(RetainedTransaction value) {
+			return new ByteArrayInputStream(value.bytes());
+		}
+
+		@Override
+		public RetainedTransaction parse(InputStream stream) {
+			try {
+				return new RetainedTransaction(readFully(stream));
+			} catch (IOException e) {
+				throw Status.INTERNAL
+						.withDescription("Unable to read transaction bytes")
+						.withCause(e)
+						.asRuntimeException();
+			}
+		}
+	}
+
+	static byte[] readFully(InputStream stream) throws IOException {
+		if (!(stream instanceof KnownLength)) {
+			return stream.readAllBytes();
+		}
+		byte[] bytes = new byte[stream.available()];
+		int n = 0;
+		while (n < bytes.length) {
+			int read = stream.read(bytes, n, bytes.length - n);
+			if (read < 0) {
+				return Arrays.copyOf(bytes, n);
+			}
+			n += read;
+		}
+		return bytes;
+	}
+
+	/**
+	 * Runs each callback of the original handler's listener with the
+	 * retained request (once received) in the current {@link Context}.
+	 */
+	private static class RetainingListener extends ServerCall.Listener<RetainedTransaction> {
+		private final ServerCall.Listener<Transaction> delegate;
+		private Context withRetained;
+
+		private RetainingListener(ServerCall.Listener<Transaction> delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public void onMessage(RetainedTransaction message) {
+			withRetained = Context.current().withValue(RetainedTransaction.CURRENT, message);
+			Context previous = withRetained.attach();
+			try {
+				delegate.onMessage(message.transaction());
+			} finally {
+				withRetained.detach(previous);
+			}
+		}
+
+		@Override
+		public void onHalfClose() {
+			run(delegate::onHalfClose);
+		}
+
+		@Override
+		public void onCancel() {
+			run(delegate::onCancel);
+		}
+
+		@Override
+		public void onComplete() {
+			run(delegate::onComplete);
+		}
+
+		@Override
+		public void onReady() {
+			run(delegate::onReady);
+		}
+
+		private void run(Runnable callback) {
+			if (withRetained == null) {
+				callback.run();
+			} else {
+				withRetained.run(callback);
+			}
+		}
+	}
+
+	/**
+	 * Presents a call whose requests are retained as one whose requests are
+	 * already parsed, under the original method descriptor.
+	 */
+	private static class ParsedCall<RespT> extends ServerCall<Transaction, RespT> {
+		private final ServerCall<RetainedTransaction, RespT> delegate;
+		private final MethodDescriptor<Transaction, RespT> method;
+
+		private ParsedCall(ServerCall<RetainedTransaction, RespT> delegate, MethodDescriptor<Transaction, RespT> method) {
+			this.delegate = delegate;
+			this.method = method;
+		}
+
+		@Override
+		public void request(int numMessages) {
+			delegate.request(numMessages);
+		}
+
+		@Override
+		public void sendHeaders(Metadata headers) {
+			delegate.sendHeaders(headers);
+		}
+
+		@Override
+		public void sendMessage(RespT message) {
+			delegate.sendMessage(message);
+		}
+
+		@Override
+		public boolean isReady() {
+			return delegate.isReady();
+		}
+
+		@Override
+		public void close(Status status, Metadata trailers) {
+			delegate.close(status, trailers);
+		}
+
+		@Override
+		public boolean isCancelled() {
+			return delegate.isCancelled();
+		}
+
+		@Override
+		public void setMessageCompression(boolean enabled) {
+			delegate.setMessageCompression(enabled);
+		}
+
+		@Override
+		public void setCompression(String compressor) {
+			delegate.setCompression(compressor);
+		}
+
+		@Override
+		public Attributes getAttributes() {
+			return delegate.getAttributes();
+		}
+
+		@Override
+		public String getAuthority() {
+			return delegate.getAuthority();
+		}
+
+		@Override
+		public MethodDescriptor<Transaction, RespT> getMethodDescriptor() {
+			return method;
+		}
+	}
+}
@@ -0,0 +1,96 @@
+package com.hedera.services.grpc;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2020 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.legacy.services.stats.HederaNodeStats;
+import com.hederahashgraph.api.proto.java.TransactionResponse;
+import io.grpc.ForwardingServerCallListener;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+
+import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.BUSY;
+
+/**
+ * Answers {@code BUSY} for a service whose handlers do not consult the
+ * {@link HandlerExecutor} themselves, whenever the call is being run as a
+ * shed task; whether the call is shed as it starts, or only when its request
+ * is complete. Methods answering with a {@link TransactionResponse} get one
+ * with precheck code {@code BUSY}, and all others the status
+ * {@code RESOURCE_EXHAUSTED}.
+ */
+public class SheddingInterceptor implements ServerInterceptor {
+	static final TransactionResponse BUSY_RESPONSE = TransactionResponse.newBuilder()
+			.setNodeTransactionPrecheckCode(BUSY)
+			.build();
+
+	private final HandlerExecutor handlers;
+	private final HederaNodeStats stats;
+
+	public SheddingInterceptor(HandlerExecutor handlers, HederaNodeStats stats) {
+		this.handlers = handlers;
+		this.stats = stats;
+	}
+
+	@Override
+	public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(
+			ServerCall<ReqT, RespT> call,
+			Metadata headers,
+			ServerCallHandler<ReqT, RespT> next
+	) {
+		if (handlers.isShedding()) {
+			answerBusy(call);
+			return new ServerCall.Listener<>() { };
+		}
+		return new ForwardingServerCallListener.SimpleForwardingServerCallListener<>(next.startCall(call, headers)) {
+			@Override
+			public void onHalfClose() {
+				if (handlers.isShedding()) {
+					answerBusy(call);
+				} else {
+					super.onHalfClose();
+				}
+			}
+		};
+	}
+
+	@SuppressWarnings("unchecked")
+	private <ReqT, RespT> void answerBusy(ServerCall<ReqT, RespT> call) {
+		stats.handlerBusy();
+		if (answersWithTxnResponse(call.getMethodDescriptor())) {
+			call.sendHeaders(new Metadata());
+			call.sendMessage((RespT) BUSY_RESPONSE);
+			call.close(Status.OK, new Metadata());
+		} else {
+			call.close(Status.RESOURCE_EXHAUSTED.withDescription("BUSY"), new Metadata());
+		}
+	}
+
+	static boolean answersWithTxnResponse(MethodDescriptor<?, ?> method) {
+		MethodDescriptor.Marshaller<?> marshaller = method.getResponseMarshaller();
+		return marshaller instanceof MethodDescriptor.PrototypeMarshaller
+				&& ((MethodDescriptor.PrototypeMarshaller<?>) marshaller).getMessagePrototype()
+						instanceof TransactionResponse;
+	}
+}
@@ -33,15 +33,16 @@ import com.hedera.services.legacy.crypto.SignatureStatus;
 import com.swirlds.common.crypto.Signature;
 import com.swirlds.common.crypto.VerificationStatus;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.BiPredicate;
 import java.util.function.Function;
 
 import static com.hedera.services.keys.DefaultActivationCharacteristics.DEFAULT_ACTIVATION_CHARACTERISTICS;
+import static com.google.protobuf.UnsafeByteOperations.unsafeWrap;
 import static com.swirlds.common.crypto.VerificationStatus.*;
 import static java.util.Arrays.copyOfRange;
-import static java.util.stream.Collectors.toMap;
 
 /**
  * Provides a static method to determine if a Hedera key is <i>active</i> relative to
@@ -164,11 +165,12 @@ public class HederaKeyActivation {
 	 * @return a supplier that produces the backing list sigs by public key.
 	 */
 	public static Function<byte[], Signature> pkToSigMapFrom(List<Signature> sigs) {
-		final Map<ByteString, Signature> pkSigs = sigs
-				.stream()
-				.collect(toMap(s -> ByteString.copyFrom(s.getExpandedPublicKeyDirect()), s -> s, (a, b) -> a));
+		final Map<ByteString, Signature> pkSigs = new HashMap<>(2 * sigs.size());
+		for (Signature sig : sigs) {
+			pkSigs.putIfAbsent(unsafeWrap(sig.getExpandedPublicKeyDirect()), sig);
+		}
 
-		return ed25519 -> pkSigs.getOrDefault(ByteString.copyFrom(ed25519), INVALID_SIG);
+		return ed25519 -> pkSigs.getOrDefault(unsafeWrap(ed25519), INVALID_SIG);
 	}
 
 	private static class InvalidSignature extends Signature {
@@ -39,13 +39,10 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.util.Comparator;
-import java.util.HashMap;
-import java.util.Map;
 
 import static com.hedera.services.ledger.properties.AccountProperty.*;
 import static com.hedera.services.utils.EntityIdUtils.readableId;
 import static java.lang.Math.min;
-import static java.util.stream.Collectors.toList;
 import static com.hedera.services.txns.validation.TransferListChecks.isNetZeroAdjustment;
 
 /**
@@ -85,7 +82,7 @@ public class HederaLedger {
 	private final ScopedDuplicateClassifier duplicateClassifier;
 	private final TransactionalLedger<AccountID, AccountProperty, MerkleAccount> ledger;
 
-	private final Map<AccountID, Long> priorBalances = new HashMap<>();
+	private final NetAdjustments netAdjustments = new NetAdjustments();
 
 	public HederaLedger(
 			EntityIdSource ids,
@@ -108,7 +105,7 @@ public class HederaLedger {
 
 	public void rollback() {
 		ledger.rollback();
-		priorBalances.clear();
+		netAdjustments.clear();
 	}
 
 	public void commit() {
@@ -116,23 +113,16 @@ public class HederaLedger {
 		historian.addNewRecords();
 		duplicateClassifier.incorporateCommitment();
 		ledger.commit();
-		priorBalances.clear();
+		netAdjustments.clear();
 	}
 
 	public TransferList netTransfersInTxn() {
 		ledger.throwIfNotInTxn();
 
-		/* Note we must sort here to ensure a deterministic order
-		* of transfers in the list (an invalid state signature
+		/* Note the adjustments are kept sorted to ensure a deterministic
+		* order of transfers in the list (an invalid state signature
 		* exception is sure to appear otherwise!) */
-		return TransferList.newBuilder().addAllAccountAmounts(
-			priorBalances.keySet().stream()
-					.sorted(ACCOUNT_ID_COMPARATOR)
-					.filter(ledger::exists)
-					.map(this::netAdjustmentInTxn)
-					.filter(aa -> aa.getAmount() != 0)
-					.collect(toList())
-		).build();
+		return netAdjustments.netTransfers();
 	}
 
 	public String currentChangeSet() {
@@ -204,6 +194,7 @@ public class HederaLedger {
 
 	public void destroy(AccountID id) {
 		ledger.destroy(id);
+		netAdjustments.forget(id);
 	}
 
 	/* -- ACCOUNT PROPERTY ACCESS -- */
@@ -305,15 +296,12 @@ public class HederaLedger {
 	}
 
 	private void setBalance(AccountID id, long newBalance) {
-		if (!priorBalances.containsKey(id)) {
-			priorBalances.put(id, isPendingCreation(id) ? 0L : getBalance(id));
+		int slot = netAdjustments.slotOf(id);
+		if (slot < 0) {
+			slot = netAdjustments.track(slot, id, isPendingCreation(id) ? 0L : getBalance(id));
 		}
 		ledger.set(id, BALANCE, newBalance);
-	}
-
-	private AccountAmount netAdjustmentInTxn(AccountID id) {
-		long adjustment = getBalance(id) - priorBalances.get(id);
-		return AccountAmount.newBuilder().setAccountID(id).setAmount(adjustment).build();
+		netAdjustments.setBalance(slot, newBalance);
 	}
 
 	public enum LedgerTxnEvictionStats {
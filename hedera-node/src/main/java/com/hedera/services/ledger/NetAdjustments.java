@@ -0,0 +1,162 @@
+package com.hedera.services.ledger;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2020 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hederahashgraph.api.proto.java.AccountAmount;
+import com.hederahashgraph.api.proto.java.AccountID;
+import com.hederahashgraph.api.proto.java.TransferList;
+
+import java.util.Arrays;
+
+import static com.hedera.services.ledger.HederaLedger.ACCOUNT_ID_COMPARATOR;
+
+/**
+ * Accumulates the net change in balance of every account touched in the current
+ * ledger transaction, as the balances are set. The accounts are kept in
+ * {@link HederaLedger#ACCOUNT_ID_COMPARATOR} order in parallel arrays with their
+ * balances before and after the transaction; so the {@link TransferList} of non-zero
+ * net adjustments can be built without sorting or re-reading any balance. That list
+ * is cached until the next change.
+ *
+ * A transaction rarely touches more than a handful of accounts, so lookups are binary
+ * searches and insertions simply shift the tail of the arrays.
+ */
+class NetAdjustments {
+	static final int INITIAL_CAPACITY = 8;
+
+	private AccountID[] ids = new AccountID[INITIAL_CAPACITY];
+	private long[] priorBalances = new long[INITIAL_CAPACITY];
+	private long[] balances = new long[INITIAL_CAPACITY];
+	private int n = 0;
+
+	private TransferList netTransfers = null;
+
+	/**
+	 * Returns the slot of the given account if it is already tracked; or, if not,
+	 * {@code -(insertion point) - 1} for use with {@link #track(int, AccountID, long)}.
+	 *
+	 * @param id the account of interest
+	 * @return its slot, or a negative encoding of where to track it
+	 */
+	int slotOf(AccountID id) {
+		int lo = 0, hi = n - 1;
+		while (lo <= hi) {
+			int mid = (lo + hi) >>> 1;
+			int cmp = ACCOUNT_ID_COMPARATOR.compare(ids[mid], id);
+			if (cmp < 0) {
+				lo = mid + 1;
+			} else if (cmp > 0) {
+				hi = mid - 1;
+			} else {
+				return mid;
+			}
+		}
+		return -(lo + 1);
+	}
+
+	/**
+	 * Starts tracking an account at the insertion point encoded by a negative
+	 * result of {@link #slotOf(AccountID)}, with no net adjustment so far.
+	 *
+	 * @param encodedSlot the negative result of {@code slotOf(id)}
+	 * @param id the account to track
+	 * @param priorBalance its balance before the transaction
+	 * @return the account's slot
+	 */
+	int track(int encodedSlot, AccountID id, long priorBalance) {
+		int i = -(encodedSlot + 1);
+		if (n == ids.length) {
+			int capacity = 2 * n;
+			ids = Arrays.copyOf(ids, capacity);
+			priorBalances = Arrays.copyOf(priorBalances, capacity);
+			balances = Arrays.copyOf(balances, capacity);
+		}
+		int tail = n - i;
+		if (tail > 0) {
+			System.arraycopy(ids, i, ids, i + 1, tail);
+			System.arraycopy(priorBalances, i, priorBalances, i + 1, tail);
+			System.arraycopy(balances, i, balances, i + 1, tail);
+		}
+		ids[i] = id;
+		priorBalances[i] = priorBalance;
+		balances[i] = priorBalance;
+		n++;
+		return i;
+	}
+
+	void setBalance(int slot, long balance) {
+		if (balances[slot] != balance) {
+			balances[slot] = balance;
+			netTransfers = null;
+		}
+	}
+
+	/**
+	 * Stops tracking the given account (e.g., because it was destroyed).
+	 *
+	 * @param id the account to forget
+	 */
+	void forget(AccountID id) {
+		int i = slotOf(id);
+		if (i >= 0) {
+			int tail = n - i - 1;
+			if (tail > 0) {
+				System.arraycopy(ids, i + 1, ids, i, tail);
+				System.arraycopy(priorBalances, i + 1, priorBalances, i, tail);
+				System.arraycopy(balances, i + 1, balances, i, tail);
+			}
+			ids[--n] = null;
+			netTransfers = null;
+		}
+	}
+
+	void clear() {
+		Arrays.fill(ids, 0, n, null);
+		n = 0;
+		netTransfers = null;
+	}
+
+	int numTracked() {
+		return n;
+	}
+
+	/**
+	 * Returns the non-zero net adjustments of all tracked accounts, in
+	 * {@link HederaLedger#ACCOUNT_ID_COMPARATOR} order.
+	 *
+	 * @return the net adjustments as a transfer list
+	 */
+	TransferList netTransfers() {
+		if (netTransfers == null) {
+			var builder = TransferList.newBuilder();
+			for (int i = 0; i < n; i++) {
+				long adjustment = balances[i] - priorBalances[i];
+				if (adjustment != 0) {
+					builder.addAccountAmounts(AccountAmount.newBuilder()
+							.setAccountID(ids[i])
+							.setAmount(adjustment));
+				}
+			}
+			netTransfers = builder.build();
+		}
+		return netTransfers;
+	}
+}
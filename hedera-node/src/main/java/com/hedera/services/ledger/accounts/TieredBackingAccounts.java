@@ -0,0 +1,162 @@
+package com.hedera.services.ledger.accounts;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2020 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.legacy.services.stats.HederaNodeStats;
+import com.hedera.services.state.merkle.MerkleAccount;
+import com.hedera.services.state.merkle.MerkleEntityId;
+import com.hedera.services.state.tiering.MappedColdAccountStore;
+import com.hederahashgraph.api.proto.java.AccountID;
+import com.swirlds.fcmap.FCMap;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static com.hedera.services.state.merkle.MerkleEntityId.fromPojoAccountId;
+import static com.hedera.services.utils.EntityIdUtils.readableId;
+
+/**
+ * Decorates a {@link FCMapBackingAccounts} so that only the most recently used
+ * accounts keep their key, memo, and proxy on the heap; the rest are demoted to a
+ * {@link MappedColdAccountStore}, and promoted again on their next access.
+ *
+ * Every account remains in the {@link FCMap}, and a cold account reads exactly like
+ * a hot one, so neither the state hash nor the saved state depends on the tiering.
+ * Before demoting, the store is periodically swept of records that no account in the
+ * map still refers to; and an account whose fields are too large for a cold record
+ * simply stays hot, counted by {@link HederaNodeStats#coldAccountTooLarge()}.
+ */
+public class TieredBackingAccounts implements BackingAccounts<AccountID, MerkleAccount> {
+	private static final Logger log = LogManager.getLogger(TieredBackingAccounts.class);
+
+	private final int maxHotAccounts;
+	private final HederaNodeStats stats;
+	private final MappedColdAccountStore coldStore;
+	private final FCMapBackingAccounts delegate;
+	private final FCMap<MerkleEntityId, MerkleAccount> accounts;
+
+	private final Map<AccountID, Boolean> hotAccounts = new LinkedHashMap<>(16, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<AccountID, Boolean> eldest) {
+			if (size() <= maxHotAccounts) {
+				return false;
+			}
+			var account = accounts.get(fromPojoAccountId(eldest.getKey()));
+			if (account != null) {
+				demote(eldest.getKey(), account);
+			}
+			return true;
+		}
+	};
+
+	public TieredBackingAccounts(
+			FCMap<MerkleEntityId, MerkleAccount> accounts,
+			MappedColdAccountStore coldStore,
+			int maxHotAccounts,
+			HederaNodeStats stats
+	) {
+		this.stats = stats;
+		this.accounts = accounts;
+		this.coldStore = coldStore;
+		this.maxHotAccounts = maxHotAccounts;
+		this.delegate = new FCMapBackingAccounts(accounts);
+	}
+
+	/**
+	 * Demotes every account in the backing map, so that only accounts
+	 * actually used after startup occupy the hot tier.
+	 */
+	public synchronized void demoteAll() {
+		int demoted = 0;
+		for (MerkleAccount account : accounts.values()) {
+			if (account.state().demoteTo(coldStore)) {
+				demoted++;
+			} else {
+				stats.coldAccountTooLarge();
+			}
+		}
+		hotAccounts.clear();
+		log.info(
+				"Demoted {} of {} accounts to the cold tier ({} too large to demote)",
+				demoted, accounts.size(), accounts.size() - demoted);
+	}
+
+	@Override
+	public synchronized MerkleAccount getUnsafeRef(AccountID id) {
+		return touched(id, delegate.getUnsafeRef(id));
+	}
+
+	@Override
+	public synchronized MerkleAccount getMutableRef(AccountID id) {
+		return touched(id, delegate.getMutableRef(id));
+	}
+
+	@Override
+	public synchronized void replace(AccountID id, MerkleAccount account) {
+		delegate.replace(id, account);
+		hotAccounts.put(id, Boolean.TRUE);
+	}
+
+	@Override
+	public synchronized void remove(AccountID id) {
+		hotAccounts.remove(id);
+		delegate.remove(id);
+	}
+
+	@Override
+	public boolean contains(AccountID id) {
+		return delegate.contains(id);
+	}
+
+	private void demote(AccountID id, MerkleAccount account) {
+		if (coldStore.isDueForSweep()) {
+			coldStore.sweep(live -> {
+				for (MerkleAccount liveAccount : accounts.values()) {
+					live.accept(liveAccount.state().coldLocation());
+				}
+			});
+		}
+		if (!account.state().demoteTo(coldStore)) {
+			stats.coldAccountTooLarge();
+			log.debug("Account {} is too large for the cold tier, so stays hot", readableId(id));
+		}
+	}
+
+	synchronized int hotCount() {
+		return hotAccounts.size();
+	}
+
+	private MerkleAccount touched(AccountID id, MerkleAccount account) {
+		if (account == null) {
+			return null;
+		}
+		long start = System.nanoTime();
+		if (account.state().promote()) {
+			stats.coldAccountPromoted(System.nanoTime() - start);
+		} else {
+			stats.hotAccountHit();
+		}
+		hotAccounts.put(id, Boolean.TRUE);
+		return account;
+	}
+}
@@ -41,6 +41,38 @@ public class AsyncPropertiesObject {
 	private static double submitMessageTps, submitMessageBurstPeriod;
 	private static double getTopicInfoTps, getTopicInfoBurstPeriod;
 
+	/* ---- Accounts Cold Tier ---- */
+	private static boolean accountsColdTierEnabled;
+	private static int accountsColdTierMaxHotAccounts;
+	private static String accountsColdTierDir;
+
+	/* ---- Handle Allocation Profiling ---- */
+	private static boolean statsHandleAllocationsEnabled;
+
+	/* ---- Speculative Contract Sigs ---- */
+	private static int contractsSpeculativeSigsMaxPerTxn;
+
+	/* ---- Platform Submission Batching ---- */
+	private static boolean platformSubmissionBatchingEnabled;
+	private static int platformSubmissionQueueCapacity;
+	private static int platformSubmissionMaxBatchSize;
+	private static String grpcHandlersExecutor;
+	private static int grpcHandlersThreads;
+	private static int grpcHandlersMaxBacklog;
+
+	/* ---- Consensus Txn Preparation ---- */
+	private static int txnsPreparationMaxPending;
+
+	/* ---- Parallel CryptoTransfers ---- */
+	private static boolean ledgerTransfersParallelEnabled;
+	private static int ledgerTransfersParallelThreads;
+	private static int ledgerTransfersParallelMaxBatchSize;
+
+	/* ---- Prometheus Stats Endpoint ---- */
+	private static boolean metricsPrometheusEnabled;
+	private static String metricsPrometheusBindAddress;
+	private static int metricsPrometheusPort;
+
 	// throttling properties - Default values are zero
 	private static int throttlingTps;
 	private static int simpletransferTps;
@@ -130,6 +162,40 @@ public class AsyncPropertiesObject {
 		getTopicInfoTps = appConfig.getDouble("throttling.hcs.getTopicInfo.tps", 1000.0);
 		getTopicInfoBurstPeriod = appConfig.getDouble("throttling.hcs.getTopicInfo.burstPeriod", 1.0);
 
+		/* ---- Accounts Cold Tier ---- */
+		accountsColdTierEnabled = appConfig.getBoolean("accounts.coldTier.enabled", false);
+		accountsColdTierMaxHotAccounts = appConfig.getInt("accounts.coldTier.maxHotAccounts", 100_000);
+		accountsColdTierDir = appConfig.getString("accounts.coldTier.dir", "data/coldAccounts");
+
+		/* ---- Handle Allocation Profiling ---- */
+		statsHandleAllocationsEnabled = appConfig.getBoolean("stats.handleAllocations.enabled", false);
+
+		/* ---- Speculative Contract Sigs ---- */
+		contractsSpeculativeSigsMaxPerTxn = appConfig.getInt("contracts.speculativeSigs.maxPerTxn", 0);
+
+		/* ---- Platform Submission Batching ---- */
+		platformSubmissionBatchingEnabled = appConfig.getBoolean("platform.submission.batching.enabled", false);
+		platformSubmissionQueueCapacity = appConfig.getInt("platform.submission.queueCapacity", 10_000);
+		platformSubmissionMaxBatchSize = appConfig.getInt("platform.submission.maxBatchSize", 256);
+
+		/* ---- gRPC Handler Executor ---- */
+		grpcHandlersExecutor = appConfig.getString("grpc.handlers.executor", "DIRECT");
+		grpcHandlersThreads = appConfig.getInt("grpc.handlers.threads", 0);
+		grpcHandlersMaxBacklog = appConfig.getInt("grpc.handlers.maxBacklog", 10_000);
+
+		/* ---- Consensus Txn Preparation ---- */
+		txnsPreparationMaxPending = appConfig.getInt("txns.preparation.maxPending", 0);
+
+		/* ---- Parallel CryptoTransfers ---- */
+		ledgerTransfersParallelEnabled = appConfig.getBoolean("ledger.transfers.parallel.enabled", false);
+		ledgerTransfersParallelThreads = appConfig.getInt("ledger.transfers.parallel.threads", 0);
+		ledgerTransfersParallelMaxBatchSize = appConfig.getInt("ledger.transfers.parallel.maxBatchSize", 256);
+
+		/* ---- Prometheus Stats Endpoint ---- */
+		metricsPrometheusEnabled = appConfig.getBoolean("metrics.prometheus.enabled", false);
+		metricsPrometheusBindAddress = appConfig.getString("metrics.prometheus.bindAddress", "127.0.0.1");
+		metricsPrometheusPort = appConfig.getInt("metrics.prometheus.port", 9464);
+
 		// throttling properties
 		throttlingTps = appConfig.getInt("throttlingTps", ApplicationConstants.ZERO);
 		simpletransferTps = appConfig.getInt("simpletransferTps", ApplicationConstants.ZERO);
@@ -228,6 +294,78 @@ public class AsyncPropertiesObject {
 		return getTopicInfoBurstPeriod;
 	}
 
+	public static boolean isAccountsColdTierEnabled() {
+		return accountsColdTierEnabled;
+	}
+
+	public static int getAccountsColdTierMaxHotAccounts() {
+		return accountsColdTierMaxHotAccounts;
+	}
+
+	public static String getAccountsColdTierDir() {
+		return accountsColdTierDir;
+	}
+
+	public static boolean isStatsHandleAllocationsEnabled() {
+		return statsHandleAllocationsEnabled;
+	}
+
+	public static int getContractsSpeculativeSigsMaxPerTxn() {
+		return contractsSpeculativeSigsMaxPerTxn;
+	}
+
+	public static boolean isPlatformSubmissionBatchingEnabled() {
+		return platformSubmissionBatchingEnabled;
+	}
+
+	public static int getPlatformSubmissionQueueCapacity() {
+		return platformSubmissionQueueCapacity;
+	}
+
+	public static int getPlatformSubmissionMaxBatchSize() {
+		return platformSubmissionMaxBatchSize;
+	}
+
+	public static String getGrpcHandlersExecutor() {
+		return grpcHandlersExecutor;
+	}
+
+	public static int getGrpcHandlersThreads() {
+		return grpcHandlersThreads;
+	}
+
+	public static int getGrpcHandlersMaxBacklog() {
+		return grpcHandlersMaxBacklog;
+	}
+
+	public static int getTxnsPreparationMaxPending() {
+		return txnsPreparationMaxPending;
+	}
+
+	public static boolean isLedgerTransfersParallelEnabled() {
+		return ledgerTransfersParallelEnabled;
+	}
+
+	public static int getLedgerTransfersParallelThreads() {
+		return ledgerTransfersParallelThreads;
+	}
+
+	public static int getLedgerTransfersParallelMaxBatchSize() {
+		return ledgerTransfersParallelMaxBatchSize;
+	}
+
+	public static boolean isMetricsPrometheusEnabled() {
+		return metricsPrometheusEnabled;
+	}
+
+	public static String getMetricsPrometheusBindAddress() {
+		return metricsPrometheusBindAddress;
+	}
+
+	public static int getMetricsPrometheusPort() {
+		return metricsPrometheusPort;
+	}
+
 	static int getThrottlingTps() {
 		return throttlingTps;
 	}
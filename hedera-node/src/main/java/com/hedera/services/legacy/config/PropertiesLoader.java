@@ -108,6 +108,78 @@ public class PropertiesLoader {
 		return AsyncPropertiesObject.getGetTopicInfoBurstPeriod();
 	}
 
+	public static boolean isAccountsColdTierEnabled() {
+		return AsyncPropertiesObject.isAccountsColdTierEnabled();
+	}
+
+	public static int getAccountsColdTierMaxHotAccounts() {
+		return AsyncPropertiesObject.getAccountsColdTierMaxHotAccounts();
+	}
+
+	public static String getAccountsColdTierDir() {
+		return AsyncPropertiesObject.getAccountsColdTierDir();
+	}
+
+	public static boolean isStatsHandleAllocationsEnabled() {
+		return AsyncPropertiesObject.isStatsHandleAllocationsEnabled();
+	}
+
+	public static int getContractsSpeculativeSigsMaxPerTxn() {
+		return AsyncPropertiesObject.getContractsSpeculativeSigsMaxPerTxn();
+	}
+
+	public static boolean isPlatformSubmissionBatchingEnabled() {
+		return AsyncPropertiesObject.isPlatformSubmissionBatchingEnabled();
+	}
+
+	public static int getPlatformSubmissionQueueCapacity() {
+		return AsyncPropertiesObject.getPlatformSubmissionQueueCapacity();
+	}
+
+	public static int getPlatformSubmissionMaxBatchSize() {
+		return AsyncPropertiesObject.getPlatformSubmissionMaxBatchSize();
+	}
+
+	public static String getGrpcHandlersExecutor() {
+		return AsyncPropertiesObject.getGrpcHandlersExecutor();
+	}
+
+	public static int getGrpcHandlersThreads() {
+		return AsyncPropertiesObject.getGrpcHandlersThreads();
+	}
+
+	public static int getGrpcHandlersMaxBacklog() {
+		return AsyncPropertiesObject.getGrpcHandlersMaxBacklog();
+	}
+
+	public static int getTxnsPreparationMaxPending() {
+		return AsyncPropertiesObject.getTxnsPreparationMaxPending();
+	}
+
+	public static boolean isLedgerTransfersParallelEnabled() {
+		return AsyncPropertiesObject.isLedgerTransfersParallelEnabled();
+	}
+
+	public static int getLedgerTransfersParallelThreads() {
+		return AsyncPropertiesObject.getLedgerTransfersParallelThreads();
+	}
+
+	public static int getLedgerTransfersParallelMaxBatchSize() {
+		return AsyncPropertiesObject.getLedgerTransfersParallelMaxBatchSize();
+	}
+
+	public static boolean isMetricsPrometheusEnabled() {
+		return AsyncPropertiesObject.isMetricsPrometheusEnabled();
+	}
+
+	public static String getMetricsPrometheusBindAddress() {
+		return AsyncPropertiesObject.getMetricsPrometheusBindAddress();
+	}
+
+	public static int getMetricsPrometheusPort() {
+		return AsyncPropertiesObject.getMetricsPrometheusPort();
+	}
+
 	public static int getTransferAccountListSize() {
 		return SyncPropertiesObject.getTransferListSizeLimit();
 	}
@@ -34,9 +34,11 @@ import com.hedera.services.records.RecordCache;
 import com.hedera.services.sigs.verification.PrecheckVerifier;
 import com.hedera.services.throttling.FunctionalityThrottling;
 import com.hedera.services.throttling.TransactionThrottling;
+import com.hedera.services.txns.submission.PlatformSubmissionQueue;
 import com.hedera.services.txns.validation.BasicPrecheck;
 import com.hedera.services.txns.validation.PureValidation;
 import com.hedera.services.txns.validation.TransferListChecks;
+import com.hedera.services.grpc.RetainedTransaction;
 import com.hedera.services.utils.SignedTxnAccessor;
 import com.hederahashgraph.api.proto.java.AccountAmount;
 import com.hederahashgraph.api.proto.java.AccountID;
@@ -93,6 +95,7 @@ import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.INVALID_TRANSA
 import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.NOT_SUPPORTED;
 import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.OK;
 import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.PAYER_ACCOUNT_NOT_FOUND;
+import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.PLATFORM_TRANSACTION_NOT_CREATED;
 import static com.hederahashgraph.api.proto.java.ResponseType.ANSWER_STATE_PROOF;
 import static com.hederahashgraph.api.proto.java.ResponseType.COST_ANSWER_STATE_PROOF;
 
@@ -125,11 +128,16 @@ public class TransactionHandler {
   private BasicPrecheck basicPrecheck;
   private QueryFeeCheck queryFeeCheck;
   private HederaNodeStats stats;
+  private PlatformSubmissionQueue submissionQueue;
 
   public void setBasicPrecheck(BasicPrecheck basicPrecheck) {
     this.basicPrecheck = basicPrecheck;
   }
 
+  public void setSubmissionQueue(PlatformSubmissionQueue submissionQueue) {
+    this.submissionQueue = submissionQueue;
+  }
+
   public void setThrottling(FunctionalityThrottling throttling) {
     this.throttling = throttling;
     this.txnThrottling = new TransactionThrottling(throttling);
@@ -604,14 +612,34 @@ public class TransactionHandler {
    *
    */
   public boolean submitTransaction(Platform platform, Transaction request, TransactionID txnId) {
-    byte[] transaction = request.toByteArray();
-    boolean created = platform.createTransaction(new com.swirlds.common.Transaction(transaction));
-    if (created) {
+    return trySubmit(platform, request, txnId) == OK;
+  }
+
+  /**
+   * Submits transaction to platform, or to the ingress queue in front of it if one is configured.
+   * Returns {@code OK} if the transaction was accepted; {@code BUSY} if the ingress queue is full;
+   * and {@code PLATFORM_TRANSACTION_NOT_CREATED} if the platform refused a direct submission.
+   *
+   * @param request       tx to be submitted
+   * @param txnId request tx id
+   */
+  public ResponseCodeEnum trySubmit(Platform platform, Transaction request, TransactionID txnId) {
+    var platformTxn = new com.swirlds.common.Transaction(RetainedTransaction.bytesOf(request));
+    if (submissionQueue != null) {
+      if (!submissionQueue.offer(platformTxn)) {
+        stats.platformSubmitBusy();
+        return BUSY;
+      }
       recordCache.addPreConsensus(txnId);
+      return OK;
+    }
+    if (platform.createTransaction(platformTxn)) {
+      recordCache.addPreConsensus(txnId);
+      return OK;
     } else {
       stats.platformTxnNotCreated();
+      return PLATFORM_TRANSACTION_NOT_CREATED;
     }
-    return created;
   }
 
   /**
@@ -20,62 +20,159 @@ package com.hedera.services.legacy.initialization;
  * ‍
  */
 
+import com.hedera.services.legacy.core.jproto.JKey;
 import com.hedera.services.state.merkle.MerkleEntityId;
 import com.hedera.services.state.merkle.MerkleAccount;
 import com.hedera.services.state.submerkle.EntityId;
 
+import java.io.BufferedWriter;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
 
 import com.swirlds.fcmap.FCMap;
 import org.apache.commons.codec.binary.Hex;
-import org.apache.commons.lang3.SerializationUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
 
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
 public class ExportExistingAccounts {
 	private static final Logger log = LogManager.getLogger(ExportExistingAccounts.class);
 
+	static int PROGRESS_REPORT_INTERVAL = 100_000;
+	static final String TMP_SUFFIX = ".tmp";
+
+	/**
+	 * Captures the exported fields of an account, so that the (comparatively slow)
+	 * JSON encoding can proceed after the account map has resumed changing.
+	 */
+	static class ExportedAccount {
+		private final long shard, realm, num;
+		private final long balance;
+		private final EntityId proxy;
+		private final long sendThreshold, receiveThreshold;
+		private final boolean receiverSigRequired;
+		private final long autoRenewSecs;
+		private final String key;
+
+		ExportedAccount(MerkleEntityId id, MerkleAccount account) {
+			shard = id.getShard();
+			realm = id.getRealm();
+			num = id.getNum();
+			balance = account.getBalance();
+			proxy = account.getProxy();
+			sendThreshold = account.getSenderThreshold();
+			receiveThreshold = account.getReceiverThreshold();
+			receiverSigRequired = account.isReceiverSigRequired();
+			autoRenewSecs = account.getAutoRenewSecs();
+			key = hexOf(account.getKey(), id);
+		}
+
+		private static String hexOf(JKey key, MerkleEntityId id) {
+			try {
+				return Hex.encodeHexString(JKey.mapJKey(key).toByteArray());
+			} catch (Exception e) {
+				log.warn("Could not export the key of account {}", id.toAbbrevString(), e);
+				return null;
+			}
+		}
+
+		@SuppressWarnings("unchecked")
+		JSONObject asJsonObject() {
+			JSONObject cryptoAccount = new JSONObject();
+			cryptoAccount.put("initialBalance", balance);
+			if (proxy != null) {
+				cryptoAccount.put("proxyAccountNum", proxy.num());
+				cryptoAccount.put("proxyRealmNum", proxy.realm());
+				cryptoAccount.put("proxyShardNum", proxy.shard());
+			} else {
+				cryptoAccount.put("proxyAccountNum", 0);
+				cryptoAccount.put("proxyRealmNum", 0);
+				cryptoAccount.put("proxyShardNum", 0);
+			}
+			cryptoAccount.put("sendRecordThreshold", sendThreshold);
+			cryptoAccount.put("receiveRecordThreshold", receiveThreshold);
+			cryptoAccount.put("receiverSigRequired", receiverSigRequired);
+			cryptoAccount.put("autoRenewPeriod", autoRenewSecs);
+			cryptoAccount.put("shardID", shard);
+			cryptoAccount.put("realmID", realm);
+			cryptoAccount.put("accountNum", num);
+			cryptoAccount.put("key", key);
+			return cryptoAccount;
+		}
+	}
+
+	static List<ExportedAccount> snapshotOf(FCMap<MerkleEntityId, MerkleAccount> accounts) {
+		List<ExportedAccount> snapshot = new ArrayList<>(accounts.size());
+		accounts.forEach((id, account) -> snapshot.add(new ExportedAccount(id, account)));
+		return snapshot;
+	}
+
 	@SuppressWarnings("unchecked")
 	static JSONArray asJsonArray(FCMap<MerkleEntityId, MerkleAccount> accounts) {
 		JSONArray accountObjArr = new JSONArray();
-		JSONObject cryptoAccount = null;
-		MerkleAccount mapValue;
-		EntityId proxyAccountID;
-		for (MerkleEntityId currKey : accounts.keySet()) {
-			try {
-				cryptoAccount = new JSONObject();
-				log.info("retrieving account info from path :: Solidity Address in getAccountDetails "
-						+ currKey.getNum());
-				mapValue = accounts.get(currKey);
-				cryptoAccount.put("initialBalance", mapValue.getBalance());
-				proxyAccountID = mapValue.getProxy();
-				if (proxyAccountID != null) {
-					cryptoAccount.put("proxyAccountNum", proxyAccountID.num());
-					cryptoAccount.put("proxyRealmNum", proxyAccountID.realm());
-					cryptoAccount.put("proxyShardNum", proxyAccountID.shard());
-				} else {
-					cryptoAccount.put("proxyAccountNum", 0);
-					cryptoAccount.put("proxyRealmNum", 0);
-					cryptoAccount.put("proxyShardNum", 0);
+		for (ExportedAccount account : snapshotOf(accounts)) {
+			accountObjArr.add(account.asJsonObject());
+		}
+		return accountObjArr;
+	}
+
+	/**
+	 * Writes the given accounts to the given {@link Writer} as a JSON array, one
+	 * account at a time; the writer is closed on return.
+	 *
+	 * @param snapshot the accounts to export
+	 * @param out the destination of the JSON
+	 * @throws IOException if the JSON cannot be written
+	 */
+	static void writeJson(List<ExportedAccount> snapshot, Writer out) throws IOException {
+		long start = System.nanoTime();
+		try (out) {
+			out.write('[');
+			for (int i = 0, n = snapshot.size(); i < n; i++) {
+				if (i > 0) {
+					out.write(',');
+				}
+				snapshot.get(i).asJsonObject().writeJSONString(out);
+				if ((i + 1) % PROGRESS_REPORT_INTERVAL == 0) {
+					log.info("Exported {} of {} accounts", i + 1, n);
 				}
-				cryptoAccount.put("sendRecordThreshold", mapValue.getSenderThreshold());
-				cryptoAccount.put("receiveRecordThreshold", mapValue.getReceiverThreshold());
-				cryptoAccount.put("receiverSigRequired", mapValue.isReceiverSigRequired());
-				cryptoAccount.put("autoRenewPeriod", mapValue.getAutoRenewSecs());
-				cryptoAccount.put("shardID", currKey.getShard());
-				cryptoAccount.put("realmID", currKey.getRealm());
-				cryptoAccount.put("accountNum", currKey.getNum());
-				String key = Hex.encodeHexString(SerializationUtils.serialize(mapValue.getKey()));
-				cryptoAccount.put("key", key);
-			} catch (Exception e) {
-				log.error("Exception occurred while fetching Accounts from Account FCMap", e);
 			}
-			accountObjArr.add(cryptoAccount);
+			out.write(']');
 		}
-		return accountObjArr;
+		log.info("Exported {} accounts in {}ms", snapshot.size(), (System.nanoTime() - start) / 1_000_000L);
+	}
+
+	/**
+	 * Opens a buffered writer for the temporary file that becomes the export file once
+	 * complete, failing fast if the path is unusable.
+	 *
+	 * @param tmpPath the temporary file location
+	 * @return the writer
+	 * @throws IOException if the file cannot be opened
+	 */
+	static Writer writerFor(Path tmpPath) throws IOException {
+		try {
+			return new BufferedWriter(new FileWriter(tmpPath.toFile()));
+		} catch (IOException e) {
+			log.error("Exception occurred while Exporting Accounts to File", e);
+			throw e;
+		}
+	}
+
+	static Path tmpPathFor(String exportAccountPath) {
+		return Paths.get(exportAccountPath + TMP_SUFFIX);
 	}
 
 	/**
@@ -84,13 +181,62 @@ public class ExportExistingAccounts {
 	 */
 	public static void exportAccounts(String exportAccountPath, FCMap<MerkleEntityId, MerkleAccount> accountMap)
 			throws IOException {
-		JSONArray accountList = asJsonArray(accountMap);
-		try (FileWriter file = new FileWriter(exportAccountPath)) {
-			file.write(accountList.toJSONString());
-			log.info("Successfully Copied JSON Object to File");
-		} catch (IOException e) {
-			log.error("Exception occurred while Exporting Accounts to File", e);
-			throw e;
+		var tmpPath = tmpPathFor(exportAccountPath);
+		try {
+			writeJson(snapshotOf(accountMap), writerFor(tmpPath));
+			Files.move(tmpPath, Paths.get(exportAccountPath), REPLACE_EXISTING, ATOMIC_MOVE);
+		} finally {
+			Files.deleteIfExists(tmpPath);
+		}
+	}
+
+	/**
+	 * Exports the accounts as in {@link #exportAccounts(String, FCMap)}, but on the given
+	 * executor; so the export file only appears, complete, once the JSON is fully written.
+	 * Failures to open the export file are still thrown immediately, while any later
+	 * failure is logged and leaves no export file behind.
+	 *
+	 * Since the accounts are captured on the executor, the caller must not change
+	 * them until the returned latch is released.
+	 *
+	 * @param exportAccountPath the export file location
+	 * @param accountMap the accounts to export
+	 * @param executor the executor to capture, encode, and write the accounts on
+	 * @return a latch released once the accounts have been captured (or failed to be)
+	 * @throws IOException if the export file cannot be opened
+	 */
+	public static CountDownLatch exportAccountsInBackground(
+			String exportAccountPath,
+			FCMap<MerkleEntityId, MerkleAccount> accountMap,
+			Executor executor
+	) throws IOException {
+		var tmpPath = tmpPathFor(exportAccountPath);
+		var out = writerFor(tmpPath);
+		var snapshotTaken = new CountDownLatch(1);
+		executor.execute(() -> {
+			try {
+				List<ExportedAccount> snapshot;
+				try {
+					snapshot = snapshotOf(accountMap);
+				} finally {
+					snapshotTaken.countDown();
+				}
+				writeJson(snapshot, out);
+				Files.move(tmpPath, Paths.get(exportAccountPath), REPLACE_EXISTING, ATOMIC_MOVE);
+			} catch (Exception e) {
+				log.error("Exception occurred while Exporting Accounts to File", e);
+				discard(out, tmpPath);
+			}
+		});
+		return snapshotTaken;
+	}
+
+	private static void discard(Writer out, Path tmpPath) {
+		try {
+			out.close();
+			Files.deleteIfExists(tmpPath);
+		} catch (Exception e) {
+			log.warn("Could not remove incomplete accounts export {}", tmpPath, e);
 		}
 	}
 }
@@ -20,6 +20,7 @@ package com.hedera.services.legacy.netty;
  * ‍
  */
 
+import com.hedera.services.grpc.HandlerExecutor;
 import com.hedera.services.legacy.config.PropertiesLoader;
 import com.hedera.services.legacy.logic.ApplicationConstants;
 import io.grpc.netty.GrpcSslContexts;
@@ -43,6 +44,12 @@ import javax.net.ssl.SSLException;
 public class NettyServerManager {
 	private static final Logger log = LogManager.getLogger(NettyServerManager.class);
 
+	private final HandlerExecutor handlers;
+
+	public NettyServerManager(HandlerExecutor handlers) {
+		this.handlers = handlers;
+	}
+
 	public NettyServerBuilder buildNettyServer(int port) throws FileNotFoundException, SSLException {
 		return buildNettyServer(port, false);
 	}
@@ -84,13 +91,21 @@ public class NettyServerManager {
 					.maxConnectionIdle(maxConnectionIdle, TimeUnit.SECONDS)
 					.maxConcurrentCallsPerConnection(maxConcurrentCalls)
 					.permitKeepAliveTime(keepAliveTime, TimeUnit.SECONDS)
-					.directExecutor()
 					.channelType(EpollServerSocketChannel.class)
 					.bossEventLoopGroup(new EpollEventLoopGroup())
 					.workerEventLoopGroup(new EpollEventLoopGroup())
 					.flowControlWindow(nettyFlowControlWindow);
 		}
 
+		if (handlers.isDirect()) {
+			if (!isDevMode) {
+				servBuilder = servBuilder.directExecutor();
+			}
+		} else {
+			log.info("Running service handlers on a " + handlers.mode() + " executor");
+			servBuilder = servBuilder.executor(handlers);
+		}
+
 		if (tlsSupport) {
 			log.info("NETTY SERVER with TLS support on port " + port);
 			File certChain = new File("hedera.crt");
@@ -99,8 +99,9 @@ public class FreezeServiceImpl extends FreezeServiceGrpc.FreezeServiceImplBase {
 				logErrorAndResponse(errorMsg, precheckResult, log, responseObserver);
 				return;
 			}
-			if (!txHandler.submitTransaction(platform, request, transactionBody.getTransactionID())) {
-				TransactionValidationUtils.logAndConstructResponseWhenCreateTxFailed(log, responseObserver);
+			ResponseCodeEnum submission = txHandler.trySubmit(platform, request, transactionBody.getTransactionID());
+			if (submission != ResponseCodeEnum.OK) {
+				TransactionValidationUtils.logAndConstructResponseWhenCreateTxFailed(log, responseObserver, submission);
 				return;
 			}
 			transactionResponse(responseObserver, new TxnValidityAndFeeReq(ResponseCodeEnum.OK));
@@ -239,9 +239,10 @@ public class SmartContractServiceImpl
     }
 
     if (ResponseCodeEnum.OK == validationCode && scheduledFee > 0) {
-      if (!txHandler.submitTransaction(platform, feePayment, body.getTransactionID())) {
+      ResponseCodeEnum submission = txHandler.trySubmit(platform, feePayment, body.getTransactionID());
+      if (submission != ResponseCodeEnum.OK) {
         TransactionValidationUtils.logAndConstructResponseWhenCreateTxFailed(log, responseObserver,
-            "contractCallLocalMethod", null);
+            "contractCallLocalMethod", null, submission);
         return;
       }
       log.debug("fee has been processed successfully..!");
@@ -401,9 +402,10 @@ public class SmartContractServiceImpl
 
     validationCode = txHandler.validateScheduledFee(HederaFunctionality.ContractGetInfo, feePayment, scheduledFee);
     if (ResponseCodeEnum.OK == validationCode && scheduledFee > 0) {
-      if (!txHandler.submitTransaction(platform, feePayment, body.getTransactionID())) {
+      ResponseCodeEnum submission = txHandler.trySubmit(platform, feePayment, body.getTransactionID());
+      if (submission != ResponseCodeEnum.OK) {
         TransactionValidationUtils.logAndConstructResponseWhenCreateTxFailed(log, responseObserver,
-            "getContractInfo", null);
+            "getContractInfo", null, submission);
         return;
       }
       log.debug("fee has been processed successfully..!");
@@ -536,9 +538,10 @@ public class SmartContractServiceImpl
 
     validationCode = txHandler.validateScheduledFee(HederaFunctionality.ContractGetBytecode, feePayment, scheduledFee);
     if (ResponseCodeEnum.OK == validationCode && scheduledFee > 0) {
-      if (!txHandler.submitTransaction(platform, feePayment, body.getTransactionID())) {
+      ResponseCodeEnum submission = txHandler.trySubmit(platform, feePayment, body.getTransactionID());
+      if (submission != ResponseCodeEnum.OK) {
         TransactionValidationUtils.logAndConstructResponseWhenCreateTxFailed(log, responseObserver,
-            "contractGetBytecode", null);
+            "contractGetBytecode", null, submission);
         return;
       }
       log.debug("fee has been processed successfully..!");
@@ -668,9 +671,10 @@ public class SmartContractServiceImpl
 
     validationCode = txHandler.validateScheduledFee(HederaFunctionality.ContractGetRecords, feePayment, scheduledFee);
     if (ResponseCodeEnum.OK == validationCode && scheduledFee > 0) {
-      if (!txHandler.submitTransaction(platform, feePayment, body.getTransactionID())) {
+      ResponseCodeEnum submission = txHandler.trySubmit(platform, feePayment, body.getTransactionID());
+      if (submission != ResponseCodeEnum.OK) {
         TransactionValidationUtils.logAndConstructResponseWhenCreateTxFailed(log, responseObserver,
-            "getTxRecordByContractID", null);
+            "getTxRecordByContractID", null, submission);
         return;
       }
       log.debug("fee has been processed successfully..!");
@@ -813,8 +817,10 @@ public class SmartContractServiceImpl
 
     }
 
-    if (!txHandler.submitTransaction(platform, request, transactionBody.getTransactionID())) {
-      TransactionValidationUtils.logAndConstructResponseWhenCreateTxFailed(log, responseObserver);
+    ResponseCodeEnum submission = txHandler.trySubmit(platform, request, transactionBody.getTransactionID());
+
+    if (submission != ResponseCodeEnum.OK) {
+      TransactionValidationUtils.logAndConstructResponseWhenCreateTxFailed(log, responseObserver, submission);
       return;
     }
     TransactionValidationUtils.transactionResponse(responseObserver,
@@ -870,8 +876,9 @@ public class SmartContractServiceImpl
       if (log.isDebugEnabled()) {
         log.debug("In systemDelete :: request : " + TextFormat.shortDebugString(body));
       }
-      if (!txHandler.submitTransaction(platform, request, body.getTransactionID())) {
-        TransactionValidationUtils.logAndConstructResponseWhenCreateTxFailed(log, responseObserver);
+      ResponseCodeEnum submission = txHandler.trySubmit(platform, request, body.getTransactionID());
+      if (submission != ResponseCodeEnum.OK) {
+        TransactionValidationUtils.logAndConstructResponseWhenCreateTxFailed(log, responseObserver, submission);
         return;
       }
       TransactionValidationUtils.transactionResponse(responseObserver, precheckResult);
@@ -907,8 +914,9 @@ public class SmartContractServiceImpl
       if (log.isDebugEnabled()) {
         log.debug("In systemUnDelete :: request : " + TextFormat.shortDebugString(body));
       }
-      if (!txHandler.submitTransaction(platform, request, body.getTransactionID())) {
-        TransactionValidationUtils.logAndConstructResponseWhenCreateTxFailed(log, responseObserver);
+      ResponseCodeEnum submission = txHandler.trySubmit(platform, request, body.getTransactionID());
+      if (submission != ResponseCodeEnum.OK) {
+        TransactionValidationUtils.logAndConstructResponseWhenCreateTxFailed(log, responseObserver, submission);
         return;
       }
       TransactionValidationUtils.transactionResponse(responseObserver, precheckResult);
@@ -23,6 +23,8 @@ package com.hedera.services.legacy.services.state;
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.google.protobuf.TextFormat;
 import com.hedera.services.context.ServicesContext;
+import com.hedera.services.legacy.services.stats.HandleStageAllocations;
+import com.hedera.services.legacy.services.stats.HandleStageLatencies;
 
 import static com.hedera.services.context.domain.trackers.IssEventStatus.ONGOING_ISS;
 import static com.hedera.services.keys.HederaKeyActivation.payerSigIsActive;
@@ -36,14 +38,19 @@ import com.hedera.services.state.submerkle.ExpirableTxnRecord;
 import com.hedera.services.legacy.crypto.SignatureStatus;
 import com.hedera.services.legacy.crypto.SignatureStatusCode;
 import com.hedera.services.legacy.utils.TransactionValidationUtils;
+import com.hedera.services.txns.PreparedTxn;
 import com.hedera.services.txns.ProcessLogic;
 import com.hedera.services.txns.TransitionLogic;
+import com.hedera.services.txns.crypto.PendingTransfer;
+import com.hedera.services.state.merkle.MerkleAccount;
 import com.hedera.services.sigs.sourcing.DefaultSigBytesProvider;
 import com.hedera.services.txns.diligence.DuplicateClassification;
 import com.hedera.services.utils.PlatformTxnAccessor;
 import com.hederahashgraph.api.proto.java.AccountID;
 import com.hederahashgraph.api.proto.java.FileID;
+import com.hederahashgraph.api.proto.java.HederaFunctionality;
 import com.hederahashgraph.api.proto.java.ResponseCodeEnum;
+import com.hederahashgraph.api.proto.java.Timestamp;
 import com.hederahashgraph.api.proto.java.TransactionBody;
 import com.hederahashgraph.api.proto.java.TransactionReceipt;
 import com.hederahashgraph.api.proto.java.TransactionRecord;
@@ -54,9 +61,21 @@ import org.apache.logging.log4j.Logger;
 
 import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import static com.hedera.services.legacy.services.stats.HandleStageLatencies.Stage.COMMIT;
+import static com.hedera.services.legacy.services.stats.HandleStageLatencies.Stage.DUPLICATE_CLASSIFICATION;
+import static com.hedera.services.legacy.services.stats.HandleStageLatencies.Stage.FEE_COMPUTATION;
+import static com.hedera.services.legacy.services.stats.HandleStageLatencies.Stage.PREPARATION;
+import static com.hedera.services.legacy.services.stats.HandleStageLatencies.Stage.RECORD_STREAMING;
+import static com.hedera.services.legacy.services.stats.HandleStageLatencies.Stage.SIG_RATIONALIZATION;
+import static com.hedera.services.legacy.services.stats.HandleStageLatencies.Stage.TRANSITION;
+import static com.hedera.services.legacy.services.stats.HandleStageLatencies.Stage.VALIDATION;
 import static com.hedera.services.sigs.Rationalization.IN_HANDLE_SUMMARY_FACTORY;
+import static com.hedera.services.state.merkle.MerkleEntityId.fromPojoAccountId;
 import static com.hedera.services.txns.diligence.DuplicateClassification.DUPLICATE;
 import static com.hedera.services.txns.diligence.DuplicateClassification.NODE_DUPLICATE;
 import static com.hedera.services.utils.EntityIdUtils.readableId;
@@ -64,6 +83,7 @@ import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.*;
 import static com.hedera.services.sigs.HederaToPlatformSigOps.rationalizeIn;
 import static java.time.ZoneOffset.UTC;
 import static java.time.temporal.ChronoUnit.SECONDS;
+import static java.util.stream.Collectors.toList;
 
 public class AwareProcessLogic implements ProcessLogic {
 	private static final Logger log = LogManager.getLogger(AwareProcessLogic.class);
@@ -77,9 +97,15 @@ public class AwareProcessLogic implements ProcessLogic {
 			INVALID_CONTRACT_ID);
 
 	private final ServicesContext ctx;
+	private final boolean deferTransfers;
+	private final int maxDeferredTransfers;
+	private final List<DeferredTransfer> deferredTransfers = new ArrayList<>();
 
 	public AwareProcessLogic(ServicesContext ctx) {
 		this.ctx = ctx;
+		this.maxDeferredTransfers = ctx.properties().getIntProperty("ledger.transfers.parallel.maxBatchSize");
+		this.deferTransfers = ctx.properties().getBooleanProperty("ledger.transfers.parallel.enabled")
+				&& maxDeferredTransfers > 1;
 	}
 
 	public static boolean inSameUtcDay(Instant now, Instant then) {
@@ -89,27 +115,101 @@ public class AwareProcessLogic implements ProcessLogic {
 	@Override
 	public void incorporateConsensusTxn(Transaction platformTxn, Instant consensusTime, long submittingMember) {
 		try {
-			PlatformTxnAccessor accessor = new PlatformTxnAccessor(platformTxn);
-			processInLedgerTxn(accessor, consensusTime, submittingMember);
+			PreparedTxn prepared = ctx.txnPreparation().take(platformTxn);
+			if (deferTransfers && prepared.accessor().getFunction() == HederaFunctionality.CryptoTransfer) {
+				defer(prepared, consensusTime, submittingMember);
+			} else {
+				flush();
+				processInLedgerTxn(prepared, consensusTime, submittingMember, null);
+			}
 		} catch (InvalidProtocolBufferException e) {
 			log.warn("Consensus platform txn was not gRPC!", e);
 		}
 	}
 
-	private void processInLedgerTxn(PlatformTxnAccessor accessor, Instant consensusTime, long submittingMember) {
+	/**
+	 * Evaluates the deferred run of CryptoTransfers concurrently, and then processes
+	 * each of them in consensus order, using its evaluation (in place of charging its
+	 * fee and doing its transfers) only if the evaluation is still exact at its turn.
+	 */
+	@Override
+	public void flush() {
+		if (deferredTransfers.isEmpty()) {
+			return;
+		}
+		List<DeferredTransfer> batch = new ArrayList<>(deferredTransfers);
+		deferredTransfers.clear();
+
+		List<PendingTransfer> evaluable = batch.stream()
+				.map(deferred -> deferred.transfer)
+				.filter(Objects::nonNull)
+				.collect(toList());
+		try {
+			ctx.parallelTransfers().evaluate(evaluable, ctx.backingAccounts());
+		} catch (Exception unexpected) {
+			log.warn("Could not evaluate {} deferred transfers, will process them as usual", evaluable.size(), unexpected);
+		}
+		for (DeferredTransfer deferred : batch) {
+			processInLedgerTxn(deferred.prepared, deferred.consensusTime, deferred.submittingMember, deferred.transfer);
+		}
+	}
+
+	private void defer(PreparedTxn prepared, Instant consensusTime, long submittingMember) {
+		deferredTransfers.add(new DeferredTransfer(
+				prepared,
+				consensusTime,
+				submittingMember,
+				pendingTransferFor(prepared.accessor())));
+		if (deferredTransfers.size() >= maxDeferredTransfers) {
+			flush();
+		}
+	}
+
+	/* The fee of a CryptoTransfer depends only on the txn, the payer's key, and the exchange
+	rates and fee schedules in effect at the txn's valid start; and no CryptoTransfer can change
+	any of these. (It must not use the active prices and rate, since those are for whatever txn
+	is in the transaction context when this one is deferred.) */
+	private PendingTransfer pendingTransferFor(PlatformTxnAccessor accessor) {
+		try {
+			MerkleAccount payer = ctx.accounts().get(fromPojoAccountId(accessor.getPayer()));
+			if (payer == null) {
+				return null;
+			}
+			Timestamp validStart = accessor.getTxn().getTransactionID().getTransactionValidStart();
+			FeeObject fee = ctx.fees().estimateFee(accessor, payer.getKey(), ctx.currentView(), validStart);
+			return new PendingTransfer(accessor, fee);
+		} catch (Exception unexpected) {
+			log.warn("Could not compute the fee of deferred transfer {}", accessor.getSignedTxn4Log(), unexpected);
+			return null;
+		}
+	}
+
+	private void processInLedgerTxn(
+			PreparedTxn prepared,
+			Instant consensusTime,
+			long submittingMember,
+			PendingTransfer evaluated
+	) {
 		boolean wasCommitted = false;
+		HandleStageLatencies latencies = ctx.stats().handleLatencies();
+		HandleStageAllocations allocations = ctx.stats().handleAllocations();
+		PlatformTxnAccessor accessor = prepared.accessor();
+		HederaFunctionality function = accessor.getFunction();
 
+		allocations.startTxn();
 		try {
 			ctx.ledger().begin();
 			ctx.txnCtx().resetFor(accessor, consensusTime, submittingMember);
-			processTxnInCtx();
+			processTxnInCtx(prepared, latencies, function, evaluated);
 		} catch (Exception unhandled) {
 			warnOf(unhandled, "txn processing");
 			ctx.txnCtx().setStatus(FAIL_INVALID);
 		} finally {
+			long start = latencies.start();
 			try {
 				ctx.ledger().commit();
 				wasCommitted = true;
+				start = latencies.record(function, COMMIT, start);
 			} catch (Exception unrecoverable) {
 				warnOf(unrecoverable, "txn commit");
 				ctx.recordCache().setFailInvalid(accessor, consensusTime);
@@ -118,16 +218,23 @@ public class AwareProcessLogic implements ProcessLogic {
 				if (wasCommitted) {
 					try {
 						addRecordToStream();
+						latencies.record(function, RECORD_STREAMING, start);
 					} catch (Exception unknown) {
 						warnOf(unknown, "record streaming");
 					}
 				}
+				allocations.endTxn(function);
 			}
 		}
 	}
 
-	private void processTxnInCtx() {
-		doProcess(ctx.txnCtx().accessor(), ctx.txnCtx().consensusTime());
+	private void processTxnInCtx(
+			PreparedTxn prepared,
+			HandleStageLatencies latencies,
+			HederaFunctionality function,
+			PendingTransfer evaluated
+	) {
+		doProcess(prepared, ctx.txnCtx().accessor(), ctx.txnCtx().consensusTime(), latencies, function, evaluated);
 	}
 
 	private void warnOf(Exception e, String context) {
@@ -150,7 +257,16 @@ public class AwareProcessLogic implements ProcessLogic {
 		addForStreaming(ctx.txnCtx().accessor().getSignedTxn(), finalRecord, ctx.txnCtx().consensusTime());
 	}
 
-	private void doProcess(PlatformTxnAccessor accessor, Instant consensusTime) {
+	private void doProcess(
+			PreparedTxn prepared,
+			PlatformTxnAccessor accessor,
+			Instant consensusTime,
+			HandleStageLatencies latencies,
+			HederaFunctionality function,
+			PendingTransfer evaluated
+	) {
+		long start = latencies.start();
+
 		/* Side-effects of advancing data-driven clock to consensus time. */
 		updateMidnightRatesIfAppropriateAt(consensusTime);
 		ctx.updateConsensusTimeOfLastHandledTxn(consensusTime);
@@ -158,21 +274,27 @@ public class AwareProcessLogic implements ProcessLogic {
 		ctx.duplicateClassifier().shiftDetectionWindow();
 
 		if (ctx.issEventInfo().status() == ONGOING_ISS) {
-			var resetPeriod = ctx.properties().getIntProperty("iss.reset.periodSecs");
+			var resetPeriod = ctx.globalDynamicProperties().issResetPeriodSecs();
 			var resetTime = ctx.issEventInfo().consensusTimeOfRecentAlert().get().plus(resetPeriod, SECONDS);
 			if (consensusTime.isAfter(resetTime)) {
 				ctx.issEventInfo().relax();
 			}
 		}
-
+		start = latencies.record(function, PREPARATION, start);
 
 		final SignatureStatus sigStatus = rationalizeWithPreConsensusSigs(accessor);
 		if (hasActivePayerSig(accessor)) {
 			ctx.txnCtx().payerSigIsKnownActive();
 		}
+		start = latencies.record(function, SIG_RATIONALIZATION, start);
+
+		FeeObject fee = (evaluated != null && ctx.txnCtx().isPayerSigKnownActive())
+				? evaluated.fee()
+				: ctx.fees().computeFee(accessor, ctx.txnCtx().activePayerKey(), ctx.currentView());
+		start = latencies.record(function, FEE_COMPUTATION, start);
 
-		FeeObject fee = ctx.fees().computeFee(accessor, ctx.txnCtx().activePayerKey(), ctx.currentView());
 		DuplicateClassification duplicity = ctx.duplicateClassifier().duplicityOfActiveTxn();
+		start = latencies.record(function, DUPLICATE_CLASSIFICATION, start);
 		if (nodeIgnoredDueDiligence(duplicity)) {
 			ctx.txnChargingPolicy().applyForIgnoredDueDiligence(ctx.charging(), fee);
 			return;
@@ -185,35 +307,31 @@ public class AwareProcessLogic implements ProcessLogic {
 			return;
 		}
 
+		if (evaluated != null && evaluated.isExactFor(ctx.ledger())) {
+			if (!evaluated.wasCharged()) {
+				useEvaluationOf(evaluated);
+				return;
+			}
+			Optional<TransitionLogic> transitionLogic = prepared.transitionLogicOr(ctx.transitionLogic());
+			if (validityAfterCharging(prepared, accessor, consensusTime, sigStatus, transitionLogic) == OK) {
+				useEvaluationOf(evaluated);
+				latencies.record(function, TRANSITION, start);
+				ctx.stats().transactionHandled(function, accessor.getTxn());
+				return;
+			}
+		}
+
 		ResponseCodeEnum chargingStatus = ctx.txnChargingPolicy().apply(ctx.charging(), fee);
 		if (chargingStatus != OK) {
 			ctx.txnCtx().setStatus(chargingStatus);
 			return;
 		}
 
-		if (SIG_RATIONALIZATION_ERRORS.contains(sigStatus.getResponseCode())) {
-			ctx.txnCtx().setStatus(sigStatus.getResponseCode());
-			return;
-		}
-
-		if (!hasActiveNonPayerEntitySigs(accessor)) {
-			ctx.txnCtx().setStatus(INVALID_SIGNATURE);
-			return;
-		}
-
-		ResponseCodeEnum metaValidity = assessPostConsensusValidity(accessor, consensusTime);
-		if (metaValidity != OK) {
-			ctx.txnCtx().setStatus(metaValidity);
-			return;
-		}
-
-		Optional<TransitionLogic> transitionLogic = ctx.transitionLogic().lookupFor(accessor.getTxn());
-		ResponseCodeEnum opValidity = transitionLogic.isPresent()
-				? transitionLogic.get().syntaxCheck().apply(accessor.getTxn())
-				: TransactionValidationUtils.validateTxSpecificBody(accessor.getTxn(), ctx.validator());
-
-		if (opValidity != OK) {
-			ctx.txnCtx().setStatus(opValidity);
+		Optional<TransitionLogic> transitionLogic = prepared.transitionLogicOr(ctx.transitionLogic());
+		ResponseCodeEnum validity = validityAfterCharging(prepared, accessor, consensusTime, sigStatus, transitionLogic);
+		start = latencies.record(function, VALIDATION, start);
+		if (validity != OK) {
+			ctx.txnCtx().setStatus(validity);
 			return;
 		}
 
@@ -227,8 +345,41 @@ public class AwareProcessLogic implements ProcessLogic {
 				log.warn("Legacy process returned null record for {}!", accessor.getTxn());
 			}
 		}
+		latencies.record(function, TRANSITION, start);
+
+		ctx.stats().transactionHandled(function, accessor.getTxn());
+	}
+
+	private ResponseCodeEnum validityAfterCharging(
+			PreparedTxn prepared,
+			PlatformTxnAccessor accessor,
+			Instant consensusTime,
+			SignatureStatus sigStatus,
+			Optional<TransitionLogic> transitionLogic
+	) {
+		if (SIG_RATIONALIZATION_ERRORS.contains(sigStatus.getResponseCode())) {
+			return sigStatus.getResponseCode();
+		}
+
+		if (!hasActiveNonPayerEntitySigs(accessor)) {
+			return INVALID_SIGNATURE;
+		}
+
+		ResponseCodeEnum metaValidity = assessPostConsensusValidity(accessor, consensusTime);
+		if (metaValidity != OK) {
+			return metaValidity;
+		}
+
+		return transitionLogic.isPresent()
+				? prepared.syntaxStatusAsOf(ctx.txnPreparation().propertiesGeneration())
+						.orElseGet(() -> transitionLogic.get().syntaxCheck().apply(accessor.getTxn()))
+				: TransactionValidationUtils.validateTxSpecificBody(accessor.getTxn(), ctx.validator());
+	}
 
-		ctx.stats().transactionHandled(accessor.getTxn());
+	private void useEvaluationOf(PendingTransfer evaluated) {
+		ctx.ledger().doTransfers(evaluated.netTransfers());
+		ctx.txnCtx().addNonThresholdFeeChargedToPayer(evaluated.feesChargedToPayer());
+		ctx.txnCtx().setStatus(evaluated.status());
 	}
 
 	private ResponseCodeEnum assessPostConsensusValidity(PlatformTxnAccessor accessor, Instant consensusTime) {
@@ -408,4 +559,23 @@ public class AwareProcessLogic implements ProcessLogic {
 		}
 		return record;
 	}
+
+	private static class DeferredTransfer {
+		private final long submittingMember;
+		private final Instant consensusTime;
+		private final PreparedTxn prepared;
+		private final PendingTransfer transfer;
+
+		private DeferredTransfer(
+				PreparedTxn prepared,
+				Instant consensusTime,
+				long submittingMember,
+				PendingTransfer transfer
+		) {
+			this.prepared = prepared;
+			this.consensusTime = consensusTime;
+			this.submittingMember = submittingMember;
+			this.transfer = transfer;
+		}
+	}
 }
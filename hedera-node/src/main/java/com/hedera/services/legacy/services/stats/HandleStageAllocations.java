@@ -0,0 +1,230 @@
+package com.hedera.services.legacy.services.stats;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2020 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.legacy.services.stats.HandleStageLatencies.Stage;
+import com.hederahashgraph.api.proto.java.HederaFunctionality;
+import com.swirlds.common.Platform;
+import com.swirlds.common.StatEntry;
+import com.swirlds.platform.StatsRunningAverage;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.LongSupplier;
+
+/**
+ * An opt-in profile of the bytes allocated by the handle thread, both for each
+ * transaction as a whole and for each {@link Stage} of {@code AwareProcessLogic},
+ * aggregated by {@link HederaFunctionality}.
+ *
+ * Samples come from {@link com.sun.management.ThreadMXBean#getThreadAllocatedBytes(long)},
+ * which is too expensive to call on every stage of every transaction by default; so
+ * all methods are no-ops until {@link #enable()} succeeds. As with
+ * {@link HandleStageLatencies}, there must be a single recording thread.
+ */
+public class HandleStageAllocations {
+	private static final double DEFAULT_HALF_LIFE = 10.0;
+
+	private static final Stage[] STAGES = Stage.values();
+	private static final HederaFunctionality[] FUNCTIONS = HederaFunctionality.values();
+
+	/* For each functionality, the (sum, count) of bytes allocated per stage, followed by the whole txn. */
+	private static final int TXN_SLOT = STAGES.length;
+	private final AtomicReferenceArray<AtomicLongArray> allocations = new AtomicReferenceArray<>(FUNCTIONS.length);
+
+	private final StatsRunningAverage avgTxnAllocBytes = new StatsRunningAverage(DEFAULT_HALF_LIFE);
+	private final StatsRunningAverage[] avgStageAllocBytes = new StatsRunningAverage[STAGES.length];
+
+	private LongSupplier allocatedBytes;
+	private volatile boolean enabled = false;
+	private long txnStartBytes;
+	private long stageStartBytes;
+
+	public HandleStageAllocations() {
+		for (int i = 0; i < STAGES.length; i++) {
+			avgStageAllocBytes[i] = new StatsRunningAverage(DEFAULT_HALF_LIFE);
+		}
+	}
+
+	/**
+	 * Turns on sampling with the JVM's per-thread allocation counters, if supported.
+	 *
+	 * @return whether sampling is now enabled
+	 */
+	public boolean enable() {
+		var threads = ManagementFactory.getThreadMXBean();
+		if (!(threads instanceof com.sun.management.ThreadMXBean)) {
+			return false;
+		}
+		var counters = (com.sun.management.ThreadMXBean)threads;
+		if (!counters.isThreadAllocatedMemorySupported()) {
+			return false;
+		}
+		counters.setThreadAllocatedMemoryEnabled(true);
+		enableWith(() -> counters.getThreadAllocatedBytes(Thread.currentThread().getId()));
+		return true;
+	}
+
+	void enableWith(LongSupplier allocatedBytes) {
+		this.allocatedBytes = allocatedBytes;
+		enabled = true;
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public void startTxn() {
+		if (enabled) {
+			txnStartBytes = stageStartBytes = allocatedBytes.getAsLong();
+		}
+	}
+
+	public void endTxn(HederaFunctionality function) {
+		if (enabled) {
+			long bytes = allocatedBytes.getAsLong() - txnStartBytes;
+			add(function, TXN_SLOT, bytes);
+			avgTxnAllocBytes.recordValue(bytes);
+		}
+	}
+
+	/**
+	 * Marks the start of a stage that does not immediately follow a recorded stage.
+	 */
+	public void startStage() {
+		if (enabled) {
+			stageStartBytes = allocatedBytes.getAsLong();
+		}
+	}
+
+	/**
+	 * Attributes the bytes allocated since the last stage boundary to the given stage,
+	 * and makes now the start of the next stage.
+	 *
+	 * @param function the functionality of the transaction being handled
+	 * @param stage the stage just completed
+	 */
+	public void endStage(HederaFunctionality function, Stage stage) {
+		if (enabled) {
+			long now = allocatedBytes.getAsLong();
+			long bytes = now - stageStartBytes;
+			add(function, stage.ordinal(), bytes);
+			avgStageAllocBytes[stage.ordinal()].recordValue(bytes);
+			stageStartBytes = now;
+		}
+	}
+
+	private void add(HederaFunctionality function, int slot, long bytes) {
+		var sums = sumsFor(function);
+		sums.lazySet(2 * slot, sums.get(2 * slot) + bytes);
+		sums.lazySet(2 * slot + 1, sums.get(2 * slot + 1) + 1);
+	}
+
+	private AtomicLongArray sumsFor(HederaFunctionality function) {
+		int ordinal = function.ordinal();
+		var sums = allocations.get(ordinal);
+		if (sums == null) {
+			sums = new AtomicLongArray(2 * (STAGES.length + 1));
+			allocations.set(ordinal, sums);
+		}
+		return sums;
+	}
+
+	public void registerStatEntries(Platform platform) {
+		platform.addAppStatEntry(new StatEntry(//
+				"app",//
+				"avgHdlTxnAllocBytes",//
+				"average bytes allocated by the handle thread per transaction (if profiling is enabled)",
+				"%,13.2f",//
+				avgTxnAllocBytes,//
+				(h) -> {
+					avgTxnAllocBytes.reset(h);
+					return avgTxnAllocBytes;
+				},//
+				avgTxnAllocBytes::reset,//
+				() -> avgTxnAllocBytes.getWeightedMean())
+		);
+		for (Stage stage : STAGES) {
+			var avg = avgStageAllocBytes[stage.ordinal()];
+			platform.addAppStatEntry(new StatEntry(//
+					"app",//
+					"avgHdl" + stage.abbrev() + "AllocBytes",//
+					"average bytes allocated in the " + stage + " stage of handling a transaction (if profiling is enabled)",
+					"%,13.2f",//
+					avg,//
+					(h) -> {
+						avg.reset(h);
+						return avg;
+					},//
+					avg::reset,//
+					() -> avg.getWeightedMean())
+			);
+		}
+	}
+
+	public double meanBytesPerTxn(HederaFunctionality function) {
+		return meanOf(function, TXN_SLOT);
+	}
+
+	public double meanBytesIn(HederaFunctionality function, Stage stage) {
+		return meanOf(function, stage.ordinal());
+	}
+
+	private double meanOf(HederaFunctionality function, int slot) {
+		var sums = allocations.get(function.ordinal());
+		if (sums == null || sums.get(2 * slot + 1) == 0) {
+			return 0.0;
+		}
+		return (double)sums.get(2 * slot) / sums.get(2 * slot + 1);
+	}
+
+	/**
+	 * Renders, for every functionality handled so far, the mean bytes allocated per
+	 * transaction and per stage reached.
+	 *
+	 * @return a human-readable table of handle allocations, or an empty string if disabled
+	 */
+	public String summary() {
+		if (!enabled) {
+			return "";
+		}
+		var sb = new StringBuilder("Handle allocations (mean bytes) since startup:");
+		for (int f = 0; f < FUNCTIONS.length; f++) {
+			var sums = allocations.get(f);
+			if (sums == null || sums.get(2 * TXN_SLOT + 1) == 0) {
+				continue;
+			}
+			var function = FUNCTIONS[f];
+			sb.append(String.format(
+					"%n  %-24s n=%-10d perTxn=%.0f",
+					function,
+					sums.get(2 * TXN_SLOT + 1),
+					meanBytesPerTxn(function)));
+			for (Stage stage : STAGES) {
+				if (sums.get(2 * stage.ordinal() + 1) > 0) {
+					sb.append(String.format("%n    %-24s %.0f", stage, meanBytesIn(function, stage)));
+				}
+			}
+		}
+		return sb.toString();
+	}
+}
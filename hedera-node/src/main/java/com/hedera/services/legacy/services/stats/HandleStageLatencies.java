@@ -0,0 +1,284 @@
+package com.hedera.services.legacy.services.stats;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2020 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hederahashgraph.api.proto.java.HederaFunctionality;
+import com.swirlds.common.Platform;
+import com.swirlds.common.StatEntry;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Tracks how long each stage of handling a consensus transaction takes, separately
+ * for every {@link HederaFunctionality}. Each (functionality, stage) pair has a
+ * log-linear histogram of nanosecond latencies with four sub-buckets per power of
+ * two, so any reported quantile is within 25% of the true value.
+ *
+ * Recording is meant to be cheap enough to leave on in production: a caller reads
+ * {@link System#nanoTime()} once per stage boundary, and each
+ * {@link #record(HederaFunctionality, Stage, long)} is a few shifts plus three
+ * ordered writes. This relies on transactions being handled by a single thread, as
+ * they are in {@code ServicesState.handleTransaction}; readers on other threads
+ * may see slightly stale counts, but never torn ones.
+ *
+ * The p50 and p99 of each stage, over all functionalities, are exported as platform
+ * stat entries and refreshed on every {@link #rollInterval()}; {@link #summary()}
+ * renders the cumulative per-functionality breakdown for the periodic stats dump.
+ */
+public class HandleStageLatencies {
+	public enum Stage {
+		PREPARATION("Prep"),
+		SIG_RATIONALIZATION("Sigs"),
+		FEE_COMPUTATION("Fees"),
+		DUPLICATE_CLASSIFICATION("Dups"),
+		VALIDATION("Checks"),
+		TRANSITION("Transition"),
+		COMMIT("Commit"),
+		RECORD_STREAMING("Stream");
+
+		private final String abbrev;
+
+		Stage(String abbrev) {
+			this.abbrev = abbrev;
+		}
+
+		String abbrev() {
+			return abbrev;
+		}
+	}
+
+	static final int NUM_BUCKETS = 256;
+	static final int SUM_SLOT = NUM_BUCKETS;
+	static final int MAX_SLOT = NUM_BUCKETS + 1;
+
+	private static final Stage[] STAGES = Stage.values();
+	private static final HederaFunctionality[] FUNCTIONS = HederaFunctionality.values();
+
+	private final HandleStageAllocations allocations;
+	private final AtomicReferenceArray<AtomicLongArray[]> histograms =
+			new AtomicReferenceArray<>(FUNCTIONS.length);
+
+	private final long[][] lastTotals = new long[STAGES.length][NUM_BUCKETS];
+	private final double[] intervalP50Micros = new double[STAGES.length];
+	private final double[] intervalP99Micros = new double[STAGES.length];
+
+	public HandleStageLatencies() {
+		this(new HandleStageAllocations());
+	}
+
+	/**
+	 * Creates latency histograms whose stage boundaries also delimit the stages of
+	 * the given allocation profile (which is only sampled if enabled).
+	 *
+	 * @param allocations the allocation profile to keep in step with
+	 */
+	public HandleStageLatencies(HandleStageAllocations allocations) {
+		this.allocations = allocations;
+	}
+
+	/**
+	 * Marks the start of a stage that does not immediately follow a recorded stage.
+	 *
+	 * @return the {@link System#nanoTime()} at which the stage began
+	 */
+	public long start() {
+		allocations.startStage();
+		return System.nanoTime();
+	}
+
+	/**
+	 * Records the time elapsed since {@code startNanos} for the given functionality
+	 * and stage, and returns the current {@link System#nanoTime()} so that callers can
+	 * chain consecutive stages without a second clock read.
+	 *
+	 * @param function the functionality of the transaction being handled
+	 * @param stage the stage just completed
+	 * @param startNanos the {@link System#nanoTime()} at which the stage began
+	 * @return the {@link System#nanoTime()} at which the stage ended
+	 */
+	public long record(HederaFunctionality function, Stage stage, long startNanos) {
+		long now = System.nanoTime();
+		var histogram = histogramsFor(function)[stage.ordinal()];
+		long nanos = Math.max(0L, now - startNanos);
+		int i = bucketOf(nanos);
+		histogram.lazySet(i, histogram.get(i) + 1);
+		histogram.lazySet(SUM_SLOT, histogram.get(SUM_SLOT) + nanos);
+		if (nanos > histogram.get(MAX_SLOT)) {
+			histogram.lazySet(MAX_SLOT, nanos);
+		}
+		allocations.endStage(function, stage);
+		return now;
+	}
+
+	private AtomicLongArray[] histogramsFor(HederaFunctionality function) {
+		int ordinal = function.ordinal();
+		var perStage = histograms.get(ordinal);
+		if (perStage == null) {
+			perStage = new AtomicLongArray[STAGES.length];
+			for (int i = 0; i < perStage.length; i++) {
+				perStage[i] = new AtomicLongArray(NUM_BUCKETS + 2);
+			}
+			histograms.set(ordinal, perStage);
+		}
+		return perStage;
+	}
+
+	public void registerStatEntries(Platform platform) {
+		for (Stage stage : STAGES) {
+			platform.addAppStatEntry(new StatEntry(//
+					"app",//
+					"hdl" + stage.abbrev() + "P50Micros",//
+					"median micros spent in the " + stage + " stage of handling a transaction",
+					"%,13.2f",//
+					null,//
+					null,//
+					null,//
+					() -> getIntervalP50Micros(stage))
+			);
+			platform.addAppStatEntry(new StatEntry(//
+					"app",//
+					"hdl" + stage.abbrev() + "P99Micros",//
+					"99th percentile micros spent in the " + stage + " stage of handling a transaction",
+					"%,13.2f",//
+					null,//
+					null,//
+					null,//
+					() -> getIntervalP99Micros(stage))
+			);
+		}
+	}
+
+	/**
+	 * Publishes the per-stage quantiles of all latencies recorded since the
+	 * previous call, as read by the platform stat entries.
+	 */
+	public synchronized void rollInterval() {
+		for (Stage stage : STAGES) {
+			int s = stage.ordinal();
+			long[] totals = totalsFor(stage);
+			long[] interval = new long[NUM_BUCKETS];
+			for (int i = 0; i < NUM_BUCKETS; i++) {
+				interval[i] = totals[i] - lastTotals[s][i];
+			}
+			lastTotals[s] = totals;
+			intervalP50Micros[s] = quantileOf(interval, 0.50) / 1_000.0;
+			intervalP99Micros[s] = quantileOf(interval, 0.99) / 1_000.0;
+		}
+	}
+
+	private long[] totalsFor(Stage stage) {
+		long[] totals = new long[NUM_BUCKETS];
+		for (int f = 0; f < FUNCTIONS.length; f++) {
+			var perStage = histograms.get(f);
+			if (perStage != null) {
+				var histogram = perStage[stage.ordinal()];
+				for (int i = 0; i < NUM_BUCKETS; i++) {
+					totals[i] += histogram.get(i);
+				}
+			}
+		}
+		return totals;
+	}
+
+	public synchronized double getIntervalP50Micros(Stage stage) {
+		return intervalP50Micros[stage.ordinal()];
+	}
+
+	public synchronized double getIntervalP99Micros(Stage stage) {
+		return intervalP99Micros[stage.ordinal()];
+	}
+
+	/**
+	 * Renders, for every functionality handled so far, the count and cumulative
+	 * mean/p50/p99/max micros of each stage it reached.
+	 *
+	 * @return a human-readable table of handle latencies
+	 */
+	public String summary() {
+		var sb = new StringBuilder("Handle latencies (micros) since startup:");
+		for (int f = 0; f < FUNCTIONS.length; f++) {
+			var perStage = histograms.get(f);
+			if (perStage == null) {
+				continue;
+			}
+			sb.append("\n  ").append(FUNCTIONS[f]);
+			for (Stage stage : STAGES) {
+				var histogram = perStage[stage.ordinal()];
+				long[] counts = new long[NUM_BUCKETS];
+				long n = 0;
+				for (int i = 0; i < NUM_BUCKETS; i++) {
+					counts[i] = histogram.get(i);
+					n += counts[i];
+				}
+				if (n == 0) {
+					continue;
+				}
+				sb.append(String.format(
+						"%n    %-24s n=%-10d mean=%-10.1f p50=%-10.1f p99=%-10.1f max=%.1f",
+						stage,
+						n,
+						histogram.get(SUM_SLOT) / (n * 1_000.0),
+						quantileOf(counts, 0.50) / 1_000.0,
+						quantileOf(counts, 0.99) / 1_000.0,
+						histogram.get(MAX_SLOT) / 1_000.0));
+			}
+		}
+		return sb.toString();
+	}
+
+	static int bucketOf(long nanos) {
+		if (nanos < 4) {
+			return (int)nanos;
+		}
+		int exp = 63 - Long.numberOfLeadingZeros(nanos);
+		int subBucket = (int)(nanos >>> (exp - 2)) & 3;
+		return 4 * (exp - 1) + subBucket;
+	}
+
+	static long upperBoundOf(int bucket) {
+		if (bucket < 4) {
+			return bucket;
+		}
+		int exp = bucket / 4 + 1;
+		long lower = (long)(4 + bucket % 4) << (exp - 2);
+		return lower + (1L << (exp - 2)) - 1;
+	}
+
+	static long quantileOf(long[] counts, double q) {
+		long n = 0;
+		for (long count : counts) {
+			n += count;
+		}
+		if (n == 0) {
+			return 0;
+		}
+		long rank = (long)Math.ceil(q * n);
+		long seen = 0;
+		for (int i = 0; i < counts.length; i++) {
+			seen += counts[i];
+			if (seen >= Math.max(1, rank)) {
+				return upperBoundOf(i);
+			}
+		}
+		return upperBoundOf(counts.length - 1);
+	}
+}
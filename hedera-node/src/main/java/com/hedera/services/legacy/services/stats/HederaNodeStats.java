@@ -24,23 +24,33 @@ import com.hedera.services.grpc.controllers.ConsensusController;
 import com.hedera.services.grpc.controllers.CryptoController;
 import com.hedera.services.grpc.controllers.FileController;
 import com.hedera.services.grpc.controllers.NetworkController;
+import com.hedera.services.legacy.services.stats.RequestCounters.Phase;
 import com.hedera.services.utils.MiscUtils;
+import com.hederahashgraph.api.proto.java.HederaFunctionality;
 import com.hederahashgraph.api.proto.java.TransactionBody;
 import com.swirlds.common.Platform;
 import com.swirlds.common.StatEntry;
 import com.swirlds.platform.StatsRunningAverage;
 import com.swirlds.platform.StatsSpeedometer;
 
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
-import java.util.Iterator;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 import org.apache.logging.log4j.Logger;
 
+import static com.hedera.services.legacy.services.stats.RequestCounters.Phase.HANDLED;
+import static com.hedera.services.legacy.services.stats.RequestCounters.Phase.RECEIVED;
+import static com.hedera.services.legacy.services.stats.RequestCounters.Phase.SUBMITTED;
+import static com.hederahashgraph.api.proto.java.HederaFunctionality.ConsensusSubmitMessage;
+
 /**
  * HederaNodeStats serves as a placeholder for all statistics in HGCApp
  */
@@ -115,9 +125,33 @@ public class HederaNodeStats {
 			"getTxRecordByContractID"
 	);
 
-	private HashMap<String, AtomicLong> countStats = new HashMap<>();
-	private HashMap<String, StatsSpeedometer> speedometerStats = new HashMap<>();
-	private HashMap<String, Long> previousCounts = new HashMap<>();
+	private static final Map<HederaFunctionality, String> handledTransactionMetrics =
+			new EnumMap<>(HederaFunctionality.class);
+	static {
+		handledTransactionMetrics.put(HederaFunctionality.CryptoCreate, CryptoController.CRYPTO_CREATE_METRIC);
+		handledTransactionMetrics.put(HederaFunctionality.CryptoUpdate, CryptoController.CRYPTO_UPDATE_METRIC);
+		handledTransactionMetrics.put(HederaFunctionality.CryptoTransfer, CryptoController.CRYPTO_TRANSFER_METRIC);
+		handledTransactionMetrics.put(HederaFunctionality.CryptoDelete, CryptoController.CRYPTO_DELETE_METRIC);
+		handledTransactionMetrics.put(HederaFunctionality.CryptoAddLiveHash, CryptoController.ADD_LIVE_HASH_METRIC);
+		handledTransactionMetrics.put(
+				HederaFunctionality.CryptoDeleteLiveHash, CryptoController.DELETE_LIVE_HASH_METRIC);
+		handledTransactionMetrics.put(HederaFunctionality.FileCreate, FileController.CREATE_FILE_METRIC);
+		handledTransactionMetrics.put(HederaFunctionality.FileUpdate, FileController.UPDATE_FILE_METRIC);
+		handledTransactionMetrics.put(HederaFunctionality.FileDelete, FileController.DELETE_FILE_METRIC);
+		handledTransactionMetrics.put(HederaFunctionality.FileAppend, FileController.APPEND_METRIC);
+		handledTransactionMetrics.put(HederaFunctionality.ContractCreate, "createContract");
+		handledTransactionMetrics.put(HederaFunctionality.ContractUpdate, "updateContract");
+		handledTransactionMetrics.put(HederaFunctionality.ContractCall, "contractCallMethod");
+		handledTransactionMetrics.put(HederaFunctionality.ContractDelete, "deleteContract");
+		handledTransactionMetrics.put(HederaFunctionality.ConsensusCreateTopic, ConsensusController.CREATE_TOPIC_METRIC);
+		handledTransactionMetrics.put(HederaFunctionality.ConsensusUpdateTopic, ConsensusController.UPDATE_TOPIC_METRIC);
+		handledTransactionMetrics.put(HederaFunctionality.ConsensusDeleteTopic, ConsensusController.DELETE_TOPIC_METRIC);
+		handledTransactionMetrics.put(
+				HederaFunctionality.ConsensusSubmitMessage, ConsensusController.SUBMIT_MESSAGE_METRIC);
+	}
+
+	private final RequestCounters requestCounters = new RequestCounters();
+	private final List<AppStat> appStats = new ArrayList<>();
 
 	private StatsSpeedometer sigVerifyAsyncPerSecond;
 	private StatsSpeedometer sigVerifySyncPerSecond;
@@ -127,59 +161,116 @@ public class HederaNodeStats {
 	private StatsRunningAverage avgHdlSubMsgSize;
 	private StatsSpeedometer acctLookupRetriesPerSecond;
 	private StatsSpeedometer platformTxnNotCreatedPerSecond;
+	private StatsSpeedometer hotAcctHitsPerSecond;
+	private StatsSpeedometer coldAcctPromotionsPerSecond;
+	private StatsRunningAverage avgColdAcctPromotionMicros;
+	private final AtomicLong coldAcctsTooLarge = new AtomicLong();
+	private StatsSpeedometer platformSubmitBusyPerSecond;
+	private StatsRunningAverage avgPlatformSubmitMicros;
+	private StatsSpeedometer handlerBusyPerSecond;
+	private StatsRunningAverage avgHandlerWaitMicros;
+	private StatsRunningAverage avgHandlerExecMicros;
+
+	private final HandleStageAllocations handleAllocations = new HandleStageAllocations();
+	private final HandleStageLatencies handleLatencies = new HandleStageLatencies(handleAllocations);
 
 	/** size of the queue from which we take records and write to RecordStream file */
 	private int recordStreamQueueSize = 0;
 
-	private void initializeOneCountStat(String request, String requestSuffix, String descriptionSuffix,
+	/** number of transactions waiting in the ingress queue to be handed to the platform */
+	private volatile int platformSubmitQueueDepth = 0;
+
+	/** number of gRPC handler tasks accepted by the handler executor but not yet started */
+	private volatile int handlerBacklog = 0;
+
+	/**
+	 * A stat registered with the platform, as seen by exporters other than the platform's own.
+	 */
+	public static class AppStat {
+		private final String name;
+		private final String description;
+		private final Supplier<Object> value;
+
+		private AppStat(String name, String description, Supplier<Object> value) {
+			this.name = name;
+			this.description = description;
+			this.value = value;
+		}
+
+		public String name() {
+			return name;
+		}
+
+		public String description() {
+			return description;
+		}
+
+		public Object value() {
+			return value.get();
+		}
+	}
+
+	private void addAppStatEntry(
+			Platform platform,
+			String name,
+			String description,
+			String format,
+			Object buffered,
+			Function<Double, Object> init,
+			Consumer<Double> reset,
+			Supplier<Object> value
+	) {
+		appStats.add(new AppStat(name, description, value));
+		platform.addAppStatEntry(new StatEntry("app", name, description, format, buffered, init, reset, value));
+	}
+
+	private void initializeOneCountStat(String stat, String description, RequestCounters.Counter counter,
 			Platform platform) {
-		countStats.put(request + requestSuffix, new AtomicLong(0));
-		previousCounts.put(request + requestSuffix, 0l);
-		platform.addAppStatEntry(new StatEntry(//
-				"app",//
-				request + requestSuffix,//
-				"number of " + request + " " + descriptionSuffix,//
+		addAppStatEntry(platform,//
+				stat,//
+				description,//
 				"%d",//
 				null,//
 				null,//
 				null,//
-				() -> getCountStat(request, requestSuffix))
+				counter::get
 		);
 	}
 
-	private void initializeOneSpeedometerStat(String request, String requestSuffix, String descriptionSuffix,
+	private void initializeOneSpeedometerStat(String stat, String description, StatsSpeedometer speedometer,
 			Platform platform) {
-		final StatsSpeedometer stat = new StatsSpeedometer(DEFAULT_HALF_LIFE);
-		speedometerStats.put(request + requestSuffix, stat);
-		platform.addAppStatEntry(new StatEntry(//
-				"app",//
-				request + requestSuffix + "/sec",//
-				"number of " + request + " " + descriptionSuffix + " per second",//
+		addAppStatEntry(platform,//
+				stat + "/sec",//
+				description + " per second",//
 				"%,13.2f",//
-				stat,//
+				speedometer,//
 				(h) -> {
-					stat.reset(h);
-					return stat;
+					speedometer.reset(h);
+					return speedometer;
 				},//
-				stat::reset,//
-				() -> getSpeedometerStat(request, requestSuffix))
+				speedometer::reset,//
+				speedometer::getCyclesPerSecond
 		);
 	}
 
+	private void initializeOneRequestStat(String request, Phase phase, String descriptionSuffix, Platform platform) {
+		var counter = requestCounters.register(request, phase, DEFAULT_HALF_LIFE);
+		var description = "number of " + request + " " + descriptionSuffix;
+		initializeOneCountStat(request + phase.suffix(), description, counter, platform);
+		initializeOneSpeedometerStat(request + phase.suffix(), description, counter.speedometer(), platform);
+	}
+
 	private void initializeInternalStats(List<String> requestsList, Platform platform) {
 		for (String request : requestsList) {
-			initializeOneCountStat(request, RECEIVED_SUFFIX, "received", platform);
-			initializeOneCountStat(request, SUBMITTED_SUFFIX, "submitted", platform);
-			initializeOneSpeedometerStat(request, RECEIVED_SUFFIX, "received", platform);
-			initializeOneSpeedometerStat(request, SUBMITTED_SUFFIX, "submitted", platform);
+			initializeOneRequestStat(request, RECEIVED, "received", platform);
+			initializeOneRequestStat(request, SUBMITTED, "submitted", platform);
 		}
 	}
 
 	private void initializeInternalStatsForTransactions(List<String> transactionsList, Platform platform) {
 		initializeInternalStats(transactionsList, platform);
 		for (String transaction : transactionsList) {
-			initializeOneCountStat(transaction, HANDLED_SUFFIX, "handled", platform);
-			initializeOneSpeedometerStat(transaction, HANDLED_SUFFIX, "handled", platform);
+			initializeOneRequestStat(transaction, HANDLED, "handled", platform);
 		}
 	}
 
@@ -191,15 +282,20 @@ public class HederaNodeStats {
 		initializeInternalStats(fileQueriesList, platform);
 		initializeInternalStatsForTransactions(smartContractTransactionsList, platform);
 		initializeInternalStats(smartContractQueriesList, platform);
-		initializeOneCountStat(THRESHOLD_RECORDS_IN_STATE, "", "Number of threshold records held in state", platform);
+		initializeOneCountStat(
+				THRESHOLD_RECORDS_IN_STATE,
+				"number of threshold records held in state",
+				requestCounters.register(THRESHOLD_RECORDS_IN_STATE, null),
+				platform);
 
 		initializeInternalStats(consensusQueryList, platform);
 		initializeInternalStatsForTransactions(consensusTransactionList, platform);
 
 		initializeInternalStats(networkQueriesList, platform);
 
-		platform.addAppStatEntry(new StatEntry(//
-				"app",//
+		handledTransactionMetrics.forEach(requestCounters::mapFunction);
+
+		addAppStatEntry(platform,//
 				"sigVerifyAsync/sec",//
 				"number of transactions received per second that were verified asynchronously via expandSignatures",
 				"%,13.6f",//
@@ -209,11 +305,10 @@ public class HederaNodeStats {
 					return sigVerifyAsyncPerSecond;
 				},//
 				null,//
-				() -> sigVerifyAsyncPerSecond.getCyclesPerSecond())
+				() -> sigVerifyAsyncPerSecond.getCyclesPerSecond()
 		);
 
-		platform.addAppStatEntry(new StatEntry(//
-				"app",//
+		addAppStatEntry(platform,//
 				"sigVerifySync/sec",//
 				"number of transactions received per second that must be verified synchronously in handleTransaction",
 				"%,13.6f",//
@@ -223,11 +318,10 @@ public class HederaNodeStats {
 					return sigVerifySyncPerSecond;
 				},//
 				null,//
-				() -> sigVerifySyncPerSecond.getCyclesPerSecond())
+				() -> sigVerifySyncPerSecond.getCyclesPerSecond()
 		);
 
-		platform.addAppStatEntry(new StatEntry(//
-				"app",//
+		addAppStatEntry(platform,//
 				"acctLookupRetries/sec",//
 				"number of times per second that an account lookup must be retried",
 				"%,13.6f",//
@@ -237,11 +331,10 @@ public class HederaNodeStats {
 					return acctLookupRetriesPerSecond;
 				},//
 				null,//
-				() -> acctLookupRetriesPerSecond.getCyclesPerSecond())
+				() -> acctLookupRetriesPerSecond.getCyclesPerSecond()
 		);
 
-		platform.addAppStatEntry(new StatEntry(//
-				"app",//
+		addAppStatEntry(platform,//
 				"avgAcctLookupRetryAttempts",//
 				"average number of retry attempts made to lookup the account number",
 				"%,13.6f",//
@@ -251,11 +344,10 @@ public class HederaNodeStats {
 					return avgAcctLookupRetryAttempts;
 				},//
 				null,//
-				() -> avgAcctLookupRetryAttempts.getWeightedMean())
+				() -> avgAcctLookupRetryAttempts.getWeightedMean()
 		);
 
-		platform.addAppStatEntry(new StatEntry(//
-				"app",//
+		addAppStatEntry(platform,//
 				"avgAcctRetryWaitMs",//
 				"average time is millis spent waiting to lookup the account number",
 				"%,13.6f",//
@@ -265,12 +357,11 @@ public class HederaNodeStats {
 					return avgAcctRetryWaitMs;
 				},//
 				null,//
-				() -> avgAcctRetryWaitMs.getWeightedMean())
+				() -> avgAcctRetryWaitMs.getWeightedMean()
 		);
 
 		avgHdlSubMsgSize = new StatsRunningAverage(DEFAULT_HALF_LIFE);
-		platform.addAppStatEntry(new StatEntry(//
-				"app",//
+		addAppStatEntry(platform,//
 				"avgHdlSubMsgSize",//
 				"average size of the handled HCS submit message transaction",
 				"%,13.6f",//
@@ -280,23 +371,21 @@ public class HederaNodeStats {
 					return avgHdlSubMsgSize;
 				},//
 				avgHdlSubMsgSize::reset,//
-				() -> getAvgHdlSubMsgSize())
+				() -> getAvgHdlSubMsgSize()
 		);
 
-		platform.addAppStatEntry(new StatEntry(//
-				"app",//
+		addAppStatEntry(platform,//
 				"recordStreamQueueSize",//
 				"size of the queue from which we take records and write to RecordStream file",
 				"%d",//
 				null,//
 				null,//
 				null,//
-				() -> getRecordStreamQueueSize())
+				() -> getRecordStreamQueueSize()
 		);
 
 		platformTxnNotCreatedPerSecond = new StatsSpeedometer(DEFAULT_HALF_LIFE);
-		platform.addAppStatEntry(new StatEntry(//
-				"app",//
+		addAppStatEntry(platform,//
 				"platformTxnNotCreated/sec",//
 				"number of platform transactions not created per second",
 				"%,13.6f",//
@@ -306,9 +395,164 @@ public class HederaNodeStats {
 					return platformTxnNotCreatedPerSecond;
 				},//
 				platformTxnNotCreatedPerSecond::reset,//
-				() -> getPlatformTxnNotCreatedPerSecond())
+				() -> getPlatformTxnNotCreatedPerSecond()
+		);
+
+		hotAcctHitsPerSecond = new StatsSpeedometer(DEFAULT_HALF_LIFE);
+		addAppStatEntry(platform,//
+				"hotAcctHits/sec",//
+				"number of ledger account accesses per second served from the hot tier",
+				"%,13.6f",//
+				hotAcctHitsPerSecond,//
+				(h) -> {
+					hotAcctHitsPerSecond.reset(h);
+					return hotAcctHitsPerSecond;
+				},//
+				hotAcctHitsPerSecond::reset,//
+				() -> getHotAcctHitsPerSecond()
+		);
+
+		coldAcctPromotionsPerSecond = new StatsSpeedometer(DEFAULT_HALF_LIFE);
+		addAppStatEntry(platform,//
+				"coldAcctPromotions/sec",//
+				"number of ledger account accesses per second that promoted an account from the cold tier",
+				"%,13.6f",//
+				coldAcctPromotionsPerSecond,//
+				(h) -> {
+					coldAcctPromotionsPerSecond.reset(h);
+					return coldAcctPromotionsPerSecond;
+				},//
+				coldAcctPromotionsPerSecond::reset,//
+				() -> getColdAcctPromotionsPerSecond()
+		);
+
+		addAppStatEntry(platform,//
+				"hotAcctHitRatio",//
+				"fraction of recent ledger account accesses served from the hot tier",
+				"%,13.6f",//
+				null,//
+				null,//
+				null,//
+				() -> getHotAcctHitRatio()
+		);
+
+		avgColdAcctPromotionMicros = new StatsRunningAverage(DEFAULT_HALF_LIFE);
+		addAppStatEntry(platform,//
+				"avgColdAcctPromotionMicros",//
+				"average time in micros taken to promote an account from the cold tier",
+				"%,13.6f",//
+				avgColdAcctPromotionMicros,//
+				(h) -> {
+					avgColdAcctPromotionMicros.reset(h);
+					return avgColdAcctPromotionMicros;
+				},//
+				avgColdAcctPromotionMicros::reset,//
+				() -> getAvgColdAcctPromotionMicros()
+		);
+
+		addAppStatEntry(platform,//
+				"coldAcctsTooLarge",//
+				"number of account demotions skipped because the account was too large for a cold record",
+				"%d",//
+				null,//
+				null,//
+				null,//
+				() -> getColdAcctsTooLarge()
+		);
+
+		addAppStatEntry(platform,//
+				"platformSubmitQueueDepth",//
+				"number of transactions waiting in the ingress queue to be handed to the platform",
+				"%d",//
+				null,//
+				null,//
+				null,//
+				() -> getPlatformSubmitQueueDepth()
+		);
+
+		platformSubmitBusyPerSecond = new StatsSpeedometer(DEFAULT_HALF_LIFE);
+		addAppStatEntry(platform,//
+				"platformSubmitBusy/sec",//
+				"number of transactions per second refused with BUSY because the ingress queue was full",
+				"%,13.6f",//
+				platformSubmitBusyPerSecond,//
+				(h) -> {
+					platformSubmitBusyPerSecond.reset(h);
+					return platformSubmitBusyPerSecond;
+				},//
+				platformSubmitBusyPerSecond::reset,//
+				() -> getPlatformSubmitBusyPerSecond()
+		);
+
+		avgPlatformSubmitMicros = new StatsRunningAverage(DEFAULT_HALF_LIFE);
+		addAppStatEntry(platform,//
+				"avgPlatformSubmitMicros",//
+				"average time in micros a transaction waits in the ingress queue before the platform accepts it",
+				"%,13.6f",//
+				avgPlatformSubmitMicros,//
+				(h) -> {
+					avgPlatformSubmitMicros.reset(h);
+					return avgPlatformSubmitMicros;
+				},//
+				avgPlatformSubmitMicros::reset,//
+				() -> getAvgPlatformSubmitMicros()
+		);
+
+		addAppStatEntry(platform,//
+				"handlerBacklog",//
+				"number of gRPC handler tasks waiting for a thread of the handler executor",
+				"%d",//
+				null,//
+				null,//
+				null,//
+				() -> getHandlerBacklog()
+		);
+
+		handlerBusyPerSecond = new StatsSpeedometer(DEFAULT_HALF_LIFE);
+		addAppStatEntry(platform,//
+				"handlerBusy/sec",//
+				"number of requests per second answered with BUSY because the handler backlog was full",
+				"%,13.6f",//
+				handlerBusyPerSecond,//
+				(h) -> {
+					handlerBusyPerSecond.reset(h);
+					return handlerBusyPerSecond;
+				},//
+				handlerBusyPerSecond::reset,//
+				() -> getHandlerBusyPerSecond()
+		);
+
+		avgHandlerWaitMicros = new StatsRunningAverage(DEFAULT_HALF_LIFE);
+		addAppStatEntry(platform,//
+				"avgHandlerWaitMicros",//
+				"average time in micros a gRPC handler task waits in the handler executor queue",
+				"%,13.6f",//
+				avgHandlerWaitMicros,//
+				(h) -> {
+					avgHandlerWaitMicros.reset(h);
+					return avgHandlerWaitMicros;
+				},//
+				avgHandlerWaitMicros::reset,//
+				() -> getAvgHandlerWaitMicros()
+		);
+
+		avgHandlerExecMicros = new StatsRunningAverage(DEFAULT_HALF_LIFE);
+		addAppStatEntry(platform,//
+				"avgHandlerExecMicros",//
+				"average time in micros a gRPC handler task runs on a thread of the handler executor",
+				"%,13.6f",//
+				avgHandlerExecMicros,//
+				(h) -> {
+					avgHandlerExecMicros.reset(h);
+					return avgHandlerExecMicros;
+				},//
+				avgHandlerExecMicros::reset,//
+				() -> getAvgHandlerExecMicros()
 		);
 
+		handleLatencies.registerStatEntries(platform);
+		handleAllocations.registerStatEntries(platform);
+
 		platform.appStatInit();
 
 		Thread updateStatsThread = new Thread() {
@@ -327,13 +571,8 @@ public class HederaNodeStats {
 
 //				log.info("Updating stats...");
 
-				for (Map.Entry<String, StatsSpeedometer> entry : speedometerStats.entrySet()) {
-					String statName = entry.getKey();
-					StatsSpeedometer stat = entry.getValue();
-					long currentCount = getCountStat(statName, "");
-					stat.update(currentCount - previousCounts.get(statName));
-					previousCounts.put(statName, currentCount);
-				}
+				requestCounters.updateSpeedometers();
+				handleLatencies.rollInterval();
 			} catch (InterruptedException e) {
 				if (log.isDebugEnabled())
 					log.debug("Interruption error when trying to sleep in HGCAppStats... ignore and continue");
@@ -343,110 +582,102 @@ public class HederaNodeStats {
 
 	/**
 	 * This method is called internally to update stats
-	 * Only RECEIVED_SUFFIX, SUBMITTED_SUFFIX and HANDLED_SUFFIX are supported
 	 *
 	 * @param requestType
-	 * @param suffix
+	 * @param phase
 	 */
-	private void updateCountStat(String requestType, String suffix) {
-		updateCountStat(requestType, suffix, (l) -> l.incrementAndGet());
-	}
-
-	private void updateCountStat(String requestType, String suffix, Consumer<AtomicLong> update) {
-		AtomicLong stat = countStats.get(requestType + suffix);
-		if (null == stat) {
+	private void updateCountStat(String requestType, Phase phase) {
+		if (!requestCounters.increment(requestType, phase)) {
 			log.debug("Stat for {} is not supported", requestType);
-		} else {
-			update.accept(stat);
 		}
 	}
 
 	public void networkQueryReceived(String type) {
-		updateCountStat(type, RECEIVED_SUFFIX);
+		updateCountStat(type, RECEIVED);
 	}
 
 	public void networkQueryAnswered(String type) {
-		updateCountStat(type, SUBMITTED_SUFFIX);
+		updateCountStat(type, SUBMITTED);
 	}
 
 	public void hcsQueryReceived(String type) {
-		updateCountStat(type, RECEIVED_SUFFIX);
+		updateCountStat(type, RECEIVED);
 	}
 
 	public void hcsQueryAnswered(String type) {
-		updateCountStat(type, SUBMITTED_SUFFIX);
+		updateCountStat(type, SUBMITTED);
 	}
 
 	public void hcsTxnReceived(String type) {
-		updateCountStat(type, RECEIVED_SUFFIX);
+		updateCountStat(type, RECEIVED);
 	}
 
 	public void hcsTxnSubmitted(String type) {
-		updateCountStat(type, SUBMITTED_SUFFIX);
+		updateCountStat(type, SUBMITTED);
 	}
 
 	public void cryptoTransactionReceived(String transactionType) {
-		updateCountStat(transactionType, RECEIVED_SUFFIX);
+		updateCountStat(transactionType, RECEIVED);
 		// Can also update stats for Crypto and/or transactions
 	}
 
 	public void cryptoTransactionSubmitted(String transactionType) {
-		updateCountStat(transactionType, SUBMITTED_SUFFIX);
+		updateCountStat(transactionType, SUBMITTED);
 		// Can also update stats for Crypto and/or transactions
 	}
 
 	public void cryptoQueryReceived(String queryType) {
-		updateCountStat(queryType, RECEIVED_SUFFIX);
+		updateCountStat(queryType, RECEIVED);
 		// Can also update stats for Crypto and/or queries
 	}
 
 	public void cryptoQuerySubmitted(String queryType) {
-		updateCountStat(queryType, SUBMITTED_SUFFIX);
+		updateCountStat(queryType, SUBMITTED);
 		// Can also update stats for Crypto and/or queries
 	}
 
 	public void fileTransactionReceived(String transactionType) {
-		updateCountStat(transactionType, RECEIVED_SUFFIX);
+		updateCountStat(transactionType, RECEIVED);
 		// Can also update stats for File and/or transactions
 	}
 
 	public void fileTransactionSubmitted(String transactionType) {
-		updateCountStat(transactionType, SUBMITTED_SUFFIX);
+		updateCountStat(transactionType, SUBMITTED);
 		// Can also update stats for File and/or transactions
 	}
 
 	public void fileQueryReceived(String queryType) {
-		updateCountStat(queryType, RECEIVED_SUFFIX);
+		updateCountStat(queryType, RECEIVED);
 		// Can also update stats for File and/or queries
 	}
 
 	public void fileQuerySubmitted(String queryType) {
-		updateCountStat(queryType, SUBMITTED_SUFFIX);
+		updateCountStat(queryType, SUBMITTED);
 		// Can also update stats for File and/or queries
 	}
 
 	public void smartContractTransactionReceived(String transactionType) {
-		updateCountStat(transactionType, RECEIVED_SUFFIX);
+		updateCountStat(transactionType, RECEIVED);
 		// Can also update stats for SmartContract and/or transactions
 	}
 
 	public void smartContractTransactionSubmitted(String transactionType) {
-		updateCountStat(transactionType, SUBMITTED_SUFFIX);
+		updateCountStat(transactionType, SUBMITTED);
 		// Can also update stats for SmartContract and/or transactions
 	}
 
 	public void smartContractQueryReceived(String queryType) {
-		updateCountStat(queryType, RECEIVED_SUFFIX);
+		updateCountStat(queryType, RECEIVED);
 		// Can also update stats for SmartContract and/or queries
 	}
 
 	public void smartContractQuerySubmitted(String queryType) {
-		updateCountStat(queryType, SUBMITTED_SUFFIX);
+		updateCountStat(queryType, SUBMITTED);
 		// Can also update stats for SmartContract and/or queries
 	}
 
 	public void transactionHandled(String transactionType) {
-		updateCountStat(transactionType, HANDLED_SUFFIX);
+		updateCountStat(transactionType, HANDLED);
 	}
 
 	public void transactionHandled(TransactionBody transaction) {
@@ -457,6 +688,22 @@ public class HederaNodeStats {
 		}
 	}
 
+	/**
+	 * Counts a handled transaction of a known functionality, without deriving
+	 * its metric name from the transaction body.
+	 *
+	 * @param function the functionality of the handled transaction
+	 * @param transaction the handled transaction
+	 */
+	public void transactionHandled(HederaFunctionality function, TransactionBody transaction) {
+		if (!requestCounters.increment(function, HANDLED)) {
+			log.debug("Stat for {} is not supported", function);
+		}
+		if (function == ConsensusSubmitMessage) {
+			avgHdlSubMsgSize.recordValue(transaction.getSerializedSize());
+		}
+	}
+
 	public void signatureVerified(final boolean async) {
 		if (async) {
 			sigVerifyAsyncPerSecond.update(1);
@@ -491,6 +738,94 @@ public class HederaNodeStats {
 		return platformTxnNotCreatedPerSecond.getCyclesPerSecond();
 	}
 
+	public void updatePlatformSubmitQueueDepth(int depth) {
+		platformSubmitQueueDepth = depth;
+	}
+
+	public int getPlatformSubmitQueueDepth() {
+		return platformSubmitQueueDepth;
+	}
+
+	public void platformSubmitBusy() {
+		platformSubmitBusyPerSecond.update(1);
+	}
+
+	public double getPlatformSubmitBusyPerSecond() {
+		return platformSubmitBusyPerSecond.getCyclesPerSecond();
+	}
+
+	public void platformSubmitted(long nanosInQueue) {
+		avgPlatformSubmitMicros.recordValue(nanosInQueue / 1_000.0);
+	}
+
+	public double getAvgPlatformSubmitMicros() {
+		return avgPlatformSubmitMicros.getWeightedMean();
+	}
+
+	public void updateHandlerBacklog(int backlog) {
+		handlerBacklog = backlog;
+	}
+
+	public int getHandlerBacklog() {
+		return handlerBacklog;
+	}
+
+	public void handlerBusy() {
+		handlerBusyPerSecond.update(1);
+	}
+
+	public double getHandlerBusyPerSecond() {
+		return handlerBusyPerSecond.getCyclesPerSecond();
+	}
+
+	public void handlerTaskRan(long nanosWaiting, long nanosRunning) {
+		avgHandlerWaitMicros.recordValue(nanosWaiting / 1_000.0);
+		avgHandlerExecMicros.recordValue(nanosRunning / 1_000.0);
+	}
+
+	public double getAvgHandlerWaitMicros() {
+		return avgHandlerWaitMicros.getWeightedMean();
+	}
+
+	public double getAvgHandlerExecMicros() {
+		return avgHandlerExecMicros.getWeightedMean();
+	}
+
+	public void hotAccountHit() {
+		hotAcctHitsPerSecond.update(1);
+	}
+
+	public void coldAccountPromoted(long nanos) {
+		coldAcctPromotionsPerSecond.update(1);
+		avgColdAcctPromotionMicros.recordValue(nanos / 1_000.0);
+	}
+
+	public double getHotAcctHitsPerSecond() {
+		return hotAcctHitsPerSecond.getCyclesPerSecond();
+	}
+
+	public double getColdAcctPromotionsPerSecond() {
+		return coldAcctPromotionsPerSecond.getCyclesPerSecond();
+	}
+
+	public double getHotAcctHitRatio() {
+		double hits = getHotAcctHitsPerSecond();
+		double accesses = hits + getColdAcctPromotionsPerSecond();
+		return (accesses == 0.0) ? 1.0 : hits / accesses;
+	}
+
+	public double getAvgColdAcctPromotionMicros() {
+		return avgColdAcctPromotionMicros.getWeightedMean();
+	}
+
+	public void coldAccountTooLarge() {
+		coldAcctsTooLarge.incrementAndGet();
+	}
+
+	public long getColdAcctsTooLarge() {
+		return coldAcctsTooLarge.get();
+	}
+
 	/**
 	 * Only RECEIVED_SUFFIX, SUBMITTED_SUFFIX and HANDLED_SUFFIX are supported
 	 *
@@ -500,7 +835,7 @@ public class HederaNodeStats {
 	 * 		on unsupported stat
 	 */
 	public long getCountStat(String requestType, String suffix) {
-		AtomicLong stat = countStats.get(requestType + suffix);
+		RequestCounters.Counter stat = requestCounters.counterFor(requestType + suffix);
 		if (null == stat) {
 			throw new IllegalArgumentException("Count stat for " + requestType + suffix + " is not supported");
 		} else {
@@ -509,23 +844,42 @@ public class HederaNodeStats {
 	}
 
 	public double getSpeedometerStat(String requestType, String suffix) {
-		StatsSpeedometer stat = speedometerStats.get(requestType + suffix);
-		if (null == stat) {
+		RequestCounters.Counter stat = requestCounters.counterFor(requestType + suffix);
+		if (null == stat || null == stat.speedometer()) {
 			throw new IllegalArgumentException("Speedometer stat for " + requestType + suffix + " is not supported");
 		} else {
-			return stat.getCyclesPerSecond();
+			return stat.speedometer().getCyclesPerSecond();
 		}
 	}
 
+	/**
+	 * Returns every stat this object has registered with the platform, in order of
+	 * registration. (Does not include the stats of the {@link HandleStageLatencies}
+	 * or {@link HandleStageAllocations}.)
+	 *
+	 * @return the registered stats
+	 */
+	public List<AppStat> appStats() {
+		return Collections.unmodifiableList(appStats);
+	}
+
+	public HandleStageLatencies handleLatencies() {
+		return handleLatencies;
+	}
+
+	public HandleStageAllocations handleAllocations() {
+		return handleAllocations;
+	}
+
 	public String dumpHederaNodeStats() {
 		StringBuffer statsSB = new StringBuffer();
-		Iterator iterator = countStats.entrySet().iterator();
-		while(iterator.hasNext()) {
-			Map.Entry statElement = (Map.Entry)iterator.next();
-			String thisStat = String.format("%s -> %s\n", statElement.getKey(), statElement.getValue().toString());
-			statsSB.append(thisStat);
-		}
+		requestCounters.countersByStat().forEach((stat, counter) ->
+				statsSB.append(String.format("%s -> %d\n", stat, counter.get())));
 		log.info(String.format("Current services stats: \n %s", statsSB.toString()) );
+		log.info(handleLatencies.summary());
+		if (handleAllocations.isEnabled()) {
+			log.info(handleAllocations.summary());
+		}
 		return statsSB.toString();
 	}
 }
@@ -0,0 +1,319 @@
+package com.hedera.services.legacy.services.stats;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2020 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+
+import com.hedera.services.legacy.services.stats.HandleStageLatencies.Stage;
+import com.hedera.services.throttling.BucketThrottling;
+import com.hedera.services.throttling.bucket.CapacityTest;
+import com.hederahashgraph.api.proto.java.HederaFunctionality;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryUsage;
+import java.lang.management.OperatingSystemMXBean;
+import java.lang.management.RuntimeMXBean;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Renders the node's statistics in the Prometheus text exposition format (version 0.0.4).
+ * It covers every {@link HederaNodeStats} app stat, the interval quantiles of each
+ * handle stage, the capacity test behind every throttled functionality, and a few JVM
+ * memory, thread, and GC figures. (An app stat whose value the platform has not yet
+ * initialized is omitted.)
+ *
+ * A scrape should cost next to nothing even at one-second intervals. So each render
+ * reuses one {@link StringBuilder} and one {@code byte[]}, both sized to the largest
+ * exposition seen so far. Metric names are sanitized as they are appended rather than
+ * cached. Renders are serialized by the instance monitor.
+ */
+public class PrometheusExposition {
+	public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+	static final int INITIAL_CAPACITY = 64 * 1024;
+	static final String PREFIX = "hedera_";
+
+	private static final Stage[] STAGES = Stage.values();
+
+	private final HederaNodeStats stats;
+	private final BucketThrottling throttling;
+	private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+	private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+	private final RuntimeMXBean runtime = ManagementFactory.getRuntimeMXBean();
+	private final OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+	private final List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans();
+
+	private final StringBuilder sb = new StringBuilder(INITIAL_CAPACITY);
+	private byte[] buffer = new byte[INITIAL_CAPACITY];
+
+	public PrometheusExposition(HederaNodeStats stats, BucketThrottling throttling) {
+		this.stats = stats;
+		this.throttling = throttling;
+	}
+
+	/**
+	 * Renders the current exposition and hands its bytes to the given sink, which must
+	 * not retain the buffer after returning.
+	 *
+	 * @param sink the consumer of the rendered bytes
+	 * @throws IOException if the sink fails
+	 */
+	public synchronized void renderTo(ExpositionSink sink) throws IOException {
+		sb.setLength(0);
+		appendAppStats();
+		appendHandleLatencies();
+		appendThrottles();
+		appendJvm();
+
+		int n = sb.length();
+		if (buffer.length < n) {
+			buffer = new byte[Math.max(n, 2 * buffer.length)];
+		}
+		for (int i = 0; i < n; i++) {
+			char c = sb.charAt(i);
+			buffer[i] = (c < 0x80) ? (byte) c : (byte) '?';
+		}
+		sink.accept(buffer, n);
+	}
+
+	/**
+	 * Convenience for tests and one-off dumps.
+	 *
+	 * @return the current exposition
+	 */
+	public String render() {
+		var out = new StringBuilder();
+		try {
+			renderTo((bytes, len) -> {
+				for (int i = 0; i < len; i++) {
+					out.append((char) bytes[i]);
+				}
+			});
+		} catch (IOException impossible) {
+			throw new IllegalStateException(impossible);
+		}
+		return out.toString();
+	}
+
+	@FunctionalInterface
+	public interface ExpositionSink {
+		void accept(byte[] bytes, int len) throws IOException;
+
+		static ExpositionSink to(OutputStream out) {
+			return (bytes, len) -> out.write(bytes, 0, len);
+		}
+	}
+
+	private void appendAppStats() {
+		for (HederaNodeStats.AppStat stat : stats.appStats()) {
+			Object value;
+			try {
+				value = stat.value();
+			} catch (RuntimeException notYetInitialized) {
+				continue;
+			}
+			if (!(value instanceof Number)) {
+				continue;
+			}
+			appendHeader(stat.name(), stat.description());
+			appendName(stat.name());
+			sb.append(' ');
+			appendValue((Number) value);
+			sb.append('\n');
+		}
+	}
+
+	private void appendHandleLatencies() {
+		var latencies = stats.handleLatencies();
+		appendHeader("handleStageMicros", "median and 99th percentile micros spent in each stage of handling");
+		for (Stage stage : STAGES) {
+			appendSample("handleStageMicros", "stage", stage.abbrev(), "quantile", "0.5",
+					latencies.getIntervalP50Micros(stage));
+			appendSample("handleStageMicros", "stage", stage.abbrev(), "quantile", "0.99",
+					latencies.getIntervalP99Micros(stage));
+		}
+	}
+
+	private void appendThrottles() {
+		Map<HederaFunctionality, CapacityTest> capacities = throttling.capacities();
+		if (capacities.isEmpty()) {
+			return;
+		}
+		appendHeader("throttleCapacityRequired", "capacity a functionality needs from its bucket per request");
+		for (Map.Entry<HederaFunctionality, CapacityTest> entry : capacities.entrySet()) {
+			var test = entry.getValue();
+			appendSample("throttleCapacityRequired", "function", entry.getKey().name(),
+					"bucket", test.getBucket().name(), test.getCapacityRequired());
+		}
+		appendHeader("throttleBucketTps", "sustained capacity per second of a functionality's primary bucket");
+		for (Map.Entry<HederaFunctionality, CapacityTest> entry : capacities.entrySet()) {
+			var bucket = entry.getValue().getBucket();
+			appendSample("throttleBucketTps", "function", entry.getKey().name(),
+					"bucket", bucket.name(), bucket.tps());
+		}
+		appendHeader("throttleBucketBurstPeriod", "burst period in seconds of a functionality's primary bucket");
+		for (Map.Entry<HederaFunctionality, CapacityTest> entry : capacities.entrySet()) {
+			var bucket = entry.getValue().getBucket();
+			appendSample("throttleBucketBurstPeriod", "function", entry.getKey().name(),
+					"bucket", bucket.name(), bucket.burstPeriod());
+		}
+	}
+
+	private void appendJvm() {
+		MemoryUsage heap = memory.getHeapMemoryUsage();
+		appendGauge("jvmHeapUsedBytes", "bytes of heap in use", heap.getUsed());
+		appendGauge("jvmHeapCommittedBytes", "bytes of heap committed", heap.getCommitted());
+		appendGauge("jvmHeapMaxBytes", "maximum bytes of heap (-1 if undefined)", heap.getMax());
+		appendGauge("jvmNonHeapUsedBytes", "bytes of non-heap memory in use",
+				memory.getNonHeapMemoryUsage().getUsed());
+		appendGauge("jvmLiveThreads", "number of live threads", threads.getThreadCount());
+		appendGauge("jvmUptimeMillis", "milliseconds since the JVM started", runtime.getUptime());
+		appendGauge("systemLoadAverage", "system load average over the last minute",
+				os.getSystemLoadAverage());
+
+		appendHeader("jvmGcCollections", "number of collections by each collector");
+		for (GarbageCollectorMXBean collector : collectors) {
+			appendSample("jvmGcCollections", "gc", collector.getName(), collector.getCollectionCount());
+		}
+		appendHeader("jvmGcMillis", "accumulated milliseconds of collection by each collector");
+		for (GarbageCollectorMXBean collector : collectors) {
+			appendSample("jvmGcMillis", "gc", collector.getName(), collector.getCollectionTime());
+		}
+	}
+
+	private void appendGauge(String name, String help, double value) {
+		appendHeader(name, help);
+		appendName(name);
+		sb.append(' ');
+		appendValue(value);
+		sb.append('\n');
+	}
+
+	private void appendSample(String name, String label, String labelValue, double value) {
+		appendName(name);
+		sb.append('{');
+		appendLabel(label, labelValue);
+		sb.append("} ");
+		appendValue(value);
+		sb.append('\n');
+	}
+
+	private void appendSample(
+			String name,
+			String label,
+			String labelValue,
+			String otherLabel,
+			String otherLabelValue,
+			double value
+	) {
+		appendName(name);
+		sb.append('{');
+		appendLabel(label, labelValue);
+		sb.append(',');
+		appendLabel(otherLabel, otherLabelValue);
+		sb.append("} ");
+		appendValue(value);
+		sb.append('\n');
+	}
+
+	private void appendHeader(String name, String help) {
+		sb.append("# HELP ");
+		appendName(name);
+		sb.append(' ');
+		for (int i = 0, n = help.length(); i < n; i++) {
+			char c = help.charAt(i);
+			if (c == '\\') {
+				sb.append("\\\\");
+			} else if (c == '\n') {
+				sb.append("\\n");
+			} else {
+				sb.append(c);
+			}
+		}
+		sb.append('\n');
+		sb.append("# TYPE ");
+		appendName(name);
+		sb.append(" gauge\n");
+	}
+
+	/**
+	 * Appends the given stat name with the common prefix, mapping each {@code '/'}
+	 * (as in {@code "cryptoTransferRcv/sec"}) to {@code "_per_"} and any other
+	 * character not allowed in a Prometheus metric name to {@code '_'}.
+	 */
+	private void appendName(String name) {
+		sb.append(PREFIX);
+		for (int i = 0, n = name.length(); i < n; i++) {
+			char c = name.charAt(i);
+			if (c == '/') {
+				sb.append("_per_");
+			} else if (isNameChar(c)) {
+				sb.append(c);
+			} else {
+				sb.append('_');
+			}
+		}
+	}
+
+	private void appendLabel(String label, String value) {
+		sb.append(label).append("=\"");
+		for (int i = 0, n = value.length(); i < n; i++) {
+			char c = value.charAt(i);
+			if (c == '\\' || c == '"') {
+				sb.append('\\').append(c);
+			} else if (c == '\n') {
+				sb.append("\\n");
+			} else {
+				sb.append(c);
+			}
+		}
+		sb.append('"');
+	}
+
+	private void appendValue(Number value) {
+		if (value instanceof Long || value instanceof Integer) {
+			sb.append(value.longValue());
+		} else {
+			appendValue(value.doubleValue());
+		}
+	}
+
+	private void appendValue(double value) {
+		if (Double.isNaN(value)) {
+			sb.append("NaN");
+		} else if (Double.isInfinite(value)) {
+			sb.append(value > 0 ? "+Inf" : "-Inf");
+		} else if (value == (long) value) {
+			sb.append((long) value);
+		} else {
+			sb.append(value);
+		}
+	}
+
+	private static boolean isNameChar(char c) {
+		return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_' || c == ':';
+	}
+}
@@ -0,0 +1,112 @@
+package com.hedera.services.legacy.services.stats;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2020 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static com.hedera.services.legacy.services.stats.PrometheusExposition.CONTENT_TYPE;
+import static com.hedera.services.legacy.services.stats.PrometheusExposition.ExpositionSink;
+
+/**
+ * Serves the {@link PrometheusExposition} of this node at {@code /metrics}, using the
+ * JDK's built-in HTTP server and a single daemon thread; so concurrent scrapes simply
+ * queue behind each other.
+ */
+public class PrometheusStatsServer {
+	private static final Logger log = LogManager.getLogger(PrometheusStatsServer.class);
+
+	static final String METRICS_PATH = "/metrics";
+
+	private final PrometheusExposition exposition;
+
+	private HttpServer server;
+	private ExecutorService executor;
+
+	public PrometheusStatsServer(PrometheusExposition exposition) {
+		this.exposition = exposition;
+	}
+
+	/**
+	 * Binds to the given interface and port (0 for any free port) and starts serving.
+	 *
+	 * @param host the interface to bind, e.g. {@code "127.0.0.1"}
+	 * @param port the port to bind
+	 * @param threadName the name of the serving thread
+	 * @throws IOException if the server cannot bind
+	 */
+	public synchronized void start(String host, int port, String threadName) throws IOException {
+		if (server != null) {
+			throw new IllegalStateException("Prometheus stats server already started!");
+		}
+		server = HttpServer.create(new InetSocketAddress(host, port), 0);
+		server.createContext(METRICS_PATH, this::serve);
+		executor = Executors.newSingleThreadExecutor(r -> {
+			var thread = new Thread(r, threadName);
+			thread.setDaemon(true);
+			return thread;
+		});
+		server.setExecutor(executor);
+		server.start();
+		log.info("Serving Prometheus stats at http://{}:{}{}", host, port(), METRICS_PATH);
+	}
+
+	public synchronized void stop() {
+		if (server != null) {
+			server.stop(0);
+			executor.shutdownNow();
+			server = null;
+		}
+	}
+
+	public synchronized int port() {
+		if (server == null) {
+			throw new IllegalStateException("Prometheus stats server not started!");
+		}
+		return server.getAddress().getPort();
+	}
+
+	void serve(HttpExchange exchange) {
+		try {
+			if (!"GET".equals(exchange.getRequestMethod())) {
+				exchange.sendResponseHeaders(405, -1);
+				return;
+			}
+			exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+			exposition.renderTo((bytes, len) -> {
+				exchange.sendResponseHeaders(200, len);
+				ExpositionSink.to(exchange.getResponseBody()).accept(bytes, len);
+			});
+		} catch (IOException e) {
+			log.warn("Could not serve Prometheus stats to {}!", exchange.getRemoteAddress(), e);
+		} finally {
+			exchange.close();
+		}
+	}
+}
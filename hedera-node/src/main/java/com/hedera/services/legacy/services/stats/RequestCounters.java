@@ -0,0 +1,205 @@
+package com.hedera.services.legacy.services.stats;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2020 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+
+import com.hederahashgraph.api.proto.java.HederaFunctionality;
+import com.swirlds.platform.StatsSpeedometer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.hedera.services.legacy.services.stats.HederaNodeStats.HANDLED_SUFFIX;
+import static com.hedera.services.legacy.services.stats.HederaNodeStats.RECEIVED_SUFFIX;
+import static com.hedera.services.legacy.services.stats.HederaNodeStats.SUBMITTED_SUFFIX;
+
+/**
+ * Counts the requests this node has received, submitted (or answered), and handled,
+ * with one {@link LongAdder} per (request type, phase) so that gRPC threads serving
+ * the same request type never contend on a single counter.
+ *
+ * All request types are registered before the registry is shared. Thereafter an
+ * increment is either an array access indexed by the {@link HederaFunctionality}
+ * ordinal and {@link Phase}, or a single lookup keyed by the request type's metric
+ * name (a constant whose hash is cached); neither allocates.
+ *
+ * Each counter may also have a {@link StatsSpeedometer}, which is fed the change in
+ * its count on every {@link #updateSpeedometers()}. Since a speedometer is not
+ * thread-safe, that method should only ever be called from a single thread.
+ */
+public class RequestCounters {
+	public enum Phase {
+		RECEIVED(RECEIVED_SUFFIX),
+		SUBMITTED(SUBMITTED_SUFFIX),
+		HANDLED(HANDLED_SUFFIX);
+
+		private final String suffix;
+
+		Phase(String suffix) {
+			this.suffix = suffix;
+		}
+
+		public String suffix() {
+			return suffix;
+		}
+	}
+
+	private static final Phase[] PHASES = Phase.values();
+	private static final HederaFunctionality[] FUNCTIONS = HederaFunctionality.values();
+
+	public static class Counter {
+		private final LongAdder count = new LongAdder();
+		private final StatsSpeedometer speedometer;
+		private long lastCount;
+
+		private Counter(StatsSpeedometer speedometer) {
+			this.speedometer = speedometer;
+		}
+
+		public void increment() {
+			count.increment();
+		}
+
+		public long get() {
+			return count.sum();
+		}
+
+		public StatsSpeedometer speedometer() {
+			return speedometer;
+		}
+	}
+
+	private final Map<String, Counter[]> countersByRequest = new LinkedHashMap<>();
+	private final Map<String, Counter> countersByStat = new LinkedHashMap<>();
+	private final Counter[][] countersByFunction = new Counter[FUNCTIONS.length][];
+	private final List<Counter> metered = new ArrayList<>();
+
+	/**
+	 * Registers a counter for the given request type and phase, with a speedometer
+	 * if a half-life is given.
+	 *
+	 * @param request the metric name of the request type
+	 * @param phase the phase to count
+	 * @param halfLife the half-life of the counter's speedometer, or {@code null} for none
+	 * @return the new counter
+	 */
+	public Counter register(String request, Phase phase, Double halfLife) {
+		var counter = register(request + phase.suffix(), halfLife);
+		countersByRequest.computeIfAbsent(request, ignore -> new Counter[PHASES.length])[phase.ordinal()] = counter;
+		return counter;
+	}
+
+	/**
+	 * Registers a counter under a stat name that is not a request type and phase.
+	 *
+	 * @param stat the name of the stat
+	 * @param halfLife the half-life of the counter's speedometer, or {@code null} for none
+	 * @return the new counter
+	 */
+	public Counter register(String stat, Double halfLife) {
+		var counter = new Counter((halfLife == null) ? null : new StatsSpeedometer(halfLife));
+		countersByStat.put(stat, counter);
+		if (halfLife != null) {
+			metered.add(counter);
+		}
+		return counter;
+	}
+
+	/**
+	 * Makes the counters of an already-registered request type also reachable
+	 * by the given functionality.
+	 *
+	 * @param function the functionality
+	 * @param request the metric name of its request type
+	 */
+	public void mapFunction(HederaFunctionality function, String request) {
+		var counters = countersByRequest.get(request);
+		if (counters == null) {
+			throw new IllegalArgumentException("No counters registered for '" + request + "'");
+		}
+		countersByFunction[function.ordinal()] = counters;
+	}
+
+	/**
+	 * Increments the counter for the given request type and phase.
+	 *
+	 * @param request the metric name of the request type
+	 * @param phase the phase reached
+	 * @return whether such a counter was registered
+	 */
+	public boolean increment(String request, Phase phase) {
+		return incrementIn(countersByRequest.get(request), phase);
+	}
+
+	/**
+	 * Increments the counter for the given functionality and phase.
+	 *
+	 * @param function the functionality
+	 * @param phase the phase reached
+	 * @return whether such a counter was registered
+	 */
+	public boolean increment(HederaFunctionality function, Phase phase) {
+		return incrementIn(countersByFunction[function.ordinal()], phase);
+	}
+
+	private boolean incrementIn(Counter[] counters, Phase phase) {
+		if (counters == null) {
+			return false;
+		}
+		var counter = counters[phase.ordinal()];
+		if (counter == null) {
+			return false;
+		}
+		counter.increment();
+		return true;
+	}
+
+	/**
+	 * Returns the counter registered under the given stat name, if any.
+	 *
+	 * @param stat the name of the stat, e.g. {@code "cryptoTransferRcv"}
+	 * @return the counter, or {@code null} if none is registered
+	 */
+	public Counter counterFor(String stat) {
+		return countersByStat.get(stat);
+	}
+
+	/**
+	 * Feeds every speedometer the number of increments to its counter since the
+	 * previous call.
+	 */
+	public void updateSpeedometers() {
+		for (int i = 0, n = metered.size(); i < n; i++) {
+			var counter = metered.get(i);
+			long current = counter.get();
+			counter.speedometer.update(current - counter.lastCount);
+			counter.lastCount = current;
+		}
+	}
+
+	public Map<String, Counter> countersByStat() {
+		return Collections.unmodifiableMap(countersByStat);
+	}
+}
@@ -26,9 +26,33 @@ import com.hedera.services.state.exports.AccountsExporter;
 import com.hedera.services.state.merkle.MerkleAccount;
 import com.swirlds.fcmap.FCMap;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+
 public class DefaultAccountsExporter implements AccountsExporter {
+	private final Executor executor;
+
+	private volatile CountDownLatch pendingSnapshot = new CountDownLatch(0);
+
+	public DefaultAccountsExporter() {
+		this(task -> {
+			var exporter = new Thread(task, "accounts-export");
+			exporter.setDaemon(true);
+			exporter.start();
+		});
+	}
+
+	public DefaultAccountsExporter(Executor executor) {
+		this.executor = executor;
+	}
+
 	@Override
 	public void toFile(FCMap<MerkleEntityId, MerkleAccount> accounts, String path) throws Exception {
-		ExportExistingAccounts.exportAccounts(path, accounts);
+		pendingSnapshot = ExportExistingAccounts.exportAccountsInBackground(path, accounts, executor);
+	}
+
+	@Override
+	public void awaitSnapshot() throws InterruptedException {
+		pendingSnapshot.await();
 	}
 }
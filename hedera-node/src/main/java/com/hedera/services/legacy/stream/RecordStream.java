@@ -29,7 +29,6 @@ import com.hedera.services.legacy.services.stats.HederaNodeStats;
 import com.hedera.services.legacy.config.PropertiesLoader;
 import com.swirlds.common.Platform;
 import org.apache.commons.codec.binary.Hex;
-import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.commons.lang3.tuple.Triple;
@@ -42,6 +41,7 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.security.MessageDigest;
@@ -203,21 +203,13 @@ public class RecordStream implements Runnable {
 	}
 
 	private void fileHashCheck(String fileName) {
-		byte[] array;
 		try {
-			array = Files.readAllBytes(Paths.get(fileName));
-			mdForContent.reset();
-			md.reset();
-
 			// Check the hash calculation to do h[i] = hash(p[i-1] || h[i-1] || hash(c[i-1])) where
 			// h[i] is the hash of the current file
 			// p[i-1] is the contents in the file before the previousHash
 			// h[i-1] is the previousHash
 			// c[i-1] is the contents of the file after previousHash
-
-			byte[] prevHashBytes = Arrays.copyOfRange(array, 0, 57);
-			byte[] fileContentHash = mdForContent.digest(Arrays.copyOfRange(array, 57, array.length));
-			byte[] fileHash = md.digest(ArrayUtils.addAll(prevHashBytes, fileContentHash));
+			byte[] fileHash = RecordStreamVerifier.hashesOf(Paths.get(fileName)).hash();
 
 			if(log.isDebugEnabled()){
     			log.debug("Hash from stream record file " + Hex.encodeHexString(prevFileHash));
@@ -227,7 +219,7 @@ public class RecordStream implements Runnable {
 			if (!Arrays.equals(prevFileHash, fileHash)) {
 				log.error("Error Exception, hash does not match ");
 			}
-		} catch (IOException e) {
+		} catch (UncheckedIOException e) {
 			log.error("Exception {}", ExceptionUtils.getStackTrace(e));
 		}
 
@@ -0,0 +1,205 @@
+package com.hedera.services.legacy.stream;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2020 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.hederahashgraph.api.proto.java.Transaction;
+import com.hederahashgraph.api.proto.java.TransactionRecord;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static com.hedera.services.legacy.stream.RecordStream.RECORD_FORMAT_VERSION;
+import static com.hedera.services.legacy.stream.RecordStream.TYPE_PREV_HASH;
+import static com.hedera.services.legacy.stream.RecordStream.TYPE_RECORD;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Reads the signed transactions and their records back out of the {@code .rcd}
+ * files written by {@link RecordStream}. Each file is memory-mapped and its entries
+ * are parsed one at a time as the returned stream is consumed, so a day of record
+ * files can be traversed without holding more than one entry on the heap.
+ */
+public class RecordStreamReader {
+	static final int PREV_HASH_LEN = 48;
+	static final String RECORD_FILE_SUFFIX = ".rcd";
+
+	RecordStreamReader() {
+		throw new IllegalStateException("Utility Class");
+	}
+
+	public static class Entry {
+		private final byte[] signedTxnBytes;
+		private final Transaction signedTxn;
+		private final TransactionRecord record;
+
+		public Entry(Transaction signedTxn, TransactionRecord record) {
+			this(signedTxn.toByteArray(), signedTxn, record);
+		}
+
+		public Entry(byte[] signedTxnBytes, Transaction signedTxn, TransactionRecord record) {
+			this.signedTxnBytes = signedTxnBytes;
+			this.signedTxn = signedTxn;
+			this.record = record;
+		}
+
+		/**
+		 * Gets the signed transaction exactly as it was written to the stream (which
+		 * is exactly as it was submitted to the platform).
+		 *
+		 * @return the streamed bytes of the signed transaction
+		 */
+		public byte[] signedTxnBytes() {
+			return signedTxnBytes;
+		}
+
+		public Transaction signedTxn() {
+			return signedTxn;
+		}
+
+		public TransactionRecord record() {
+			return record;
+		}
+	}
+
+	/**
+	 * Lists the record files in the given directory in chronological order. (Their
+	 * names are consensus timestamps, which do not sort lexicographically in general
+	 * since {@link Instant#toString()} omits trailing zeros from the fraction.)
+	 *
+	 * @param dir a record stream directory such as {@code recordStreams/record0.0.3}
+	 * @return the paths of its record files, oldest first
+	 */
+	public static List<Path> recordFilesIn(Path dir) {
+		try (Stream<Path> files = Files.list(dir)) {
+			return files
+					.filter(path -> path.getFileName().toString().endsWith(RECORD_FILE_SUFFIX))
+					.sorted(Comparator.comparing(RecordStreamReader::timestampOf))
+					.collect(toList());
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	static Instant timestampOf(Path recordFile) {
+		var name = recordFile.getFileName().toString();
+		return Instant.parse(name.substring(0, name.length() - RECORD_FILE_SUFFIX.length()).replace("_", ":"));
+	}
+
+	public static Stream<Entry> entriesIn(List<Path> recordFiles) {
+		return recordFiles.stream().flatMap(RecordStreamReader::entriesOf);
+	}
+
+	public static Stream<Entry> entriesOf(Path recordFile) {
+		ByteBuffer contents;
+		try (FileChannel channel = FileChannel.open(recordFile, READ)) {
+			contents = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		skipHeader(recordFile, contents);
+		return StreamSupport.stream(
+				Spliterators.spliteratorUnknownSize(new EntryIterator(recordFile, contents), Spliterator.ORDERED),
+				false);
+	}
+
+	private static void skipHeader(Path recordFile, ByteBuffer contents) {
+		int formatVersion = contents.getInt();
+		if (formatVersion != RECORD_FORMAT_VERSION) {
+			throw new IllegalArgumentException(String.format(
+					"Record file '%s' has format version %d, not %d!",
+					recordFile, formatVersion, RECORD_FORMAT_VERSION));
+		}
+		/* The HAPI version is informational. */
+		contents.getInt();
+		if (contents.get() != TYPE_PREV_HASH) {
+			throw new IllegalArgumentException(String.format(
+					"Record file '%s' does not begin with the previous file hash!", recordFile));
+		}
+		contents.position(contents.position() + PREV_HASH_LEN);
+	}
+
+	private static class EntryIterator implements Iterator<Entry> {
+		private final Path recordFile;
+		private final ByteBuffer contents;
+
+		EntryIterator(Path recordFile, ByteBuffer contents) {
+			this.recordFile = recordFile;
+			this.contents = contents;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return contents.hasRemaining();
+		}
+
+		@Override
+		public Entry next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			byte type = contents.get();
+			if (type != TYPE_RECORD) {
+				throw new IllegalArgumentException(String.format(
+						"Record file '%s' has unexpected type %d at offset %d!",
+						recordFile, type, contents.position() - 1));
+			}
+			try {
+				var signedTxnBytes = nextLengthPrefixedBytes();
+				var signedTxn = Transaction.parseFrom(signedTxnBytes);
+				var record = TransactionRecord.parseFrom(nextLengthPrefixed());
+				return new Entry(signedTxnBytes, signedTxn, record);
+			} catch (InvalidProtocolBufferException e) {
+				throw new IllegalArgumentException(String.format(
+						"Record file '%s' has a malformed entry before offset %d!",
+						recordFile, contents.position()), e);
+			}
+		}
+
+		private byte[] nextLengthPrefixedBytes() {
+			var bytes = new byte[contents.getInt()];
+			contents.get(bytes);
+			return bytes;
+		}
+
+		private ByteBuffer nextLengthPrefixed() {
+			int len = contents.getInt();
+			var bytes = contents.slice();
+			bytes.limit(len);
+			contents.position(contents.position() + len);
+			return bytes;
+		}
+	}
+}
@@ -0,0 +1,215 @@
+package com.hedera.services.legacy.stream;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2020 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.ServicesState;
+import com.hedera.services.exceptions.UnknownHederaFunctionality;
+import com.hedera.services.records.AccountRecordsHistorian;
+import com.hedera.services.state.submerkle.ExpirableTxnRecord;
+import com.hedera.services.txns.ProcessLogic;
+import com.hedera.services.utils.SignedTxnAccessor;
+import com.hederahashgraph.api.proto.java.AccountID;
+import com.hederahashgraph.api.proto.java.HederaFunctionality;
+import com.hederahashgraph.api.proto.java.Timestamp;
+import com.hederahashgraph.api.proto.java.TransactionRecord;
+import com.swirlds.common.AddressBook;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static com.hedera.services.utils.EntityIdUtils.accountParsedFromString;
+import static com.hedera.services.utils.EntityIdUtils.readableId;
+import static com.hedera.services.utils.MiscUtils.functionalityOfTxn;
+
+/**
+ * Replays recorded consensus transactions through a node's {@link ProcessLogic}, so
+ * that handle throughput can be measured offline against real traffic. Each replayed
+ * transaction is handled at its recorded consensus time, as if submitted by the
+ * member whose account it designates; and the record it produces is compared with
+ * the record that was streamed the first time around.
+ *
+ * As on the platform, each transaction is created from its streamed bytes and has its
+ * signatures expanded by the {@link ServicesState} before it is handled; only the
+ * handling itself is timed.
+ *
+ * The state being replayed against should be the one that preceded the first
+ * recorded transaction, or most records will (correctly) be reported as mismatched.
+ */
+public class RecordStreamReplay {
+	private static final Logger log = LogManager.getLogger(RecordStreamReplay.class);
+
+	static final int DEFAULT_MISMATCHES_TO_LOG = 10;
+
+	private final ProcessLogic logic;
+	private final ServicesState state;
+	private final AccountRecordsHistorian historian;
+	private final Map<AccountID, Long> members = new HashMap<>();
+
+	private int mismatchesToLog = DEFAULT_MISMATCHES_TO_LOG;
+
+	public RecordStreamReplay(
+			ProcessLogic logic,
+			ServicesState state,
+			AccountRecordsHistorian historian,
+			AddressBook addressBook
+	) {
+		this.logic = logic;
+		this.state = state;
+		this.historian = historian;
+		for (int i = 0; i < addressBook.getSize(); i++) {
+			members.put(accountParsedFromString(addressBook.getAddress(i).getMemo()), (long)i);
+		}
+	}
+
+	public RecordStreamReplay logUpToMismatches(int n) {
+		this.mismatchesToLog = n;
+		return this;
+	}
+
+	/**
+	 * Handles every given entry in order, and summarizes the throughput and fidelity.
+	 *
+	 * @param entries the recorded transactions, in consensus order
+	 * @return the summary of the replay
+	 */
+	public Summary replay(Stream<RecordStreamReader.Entry> entries) {
+		var summary = new Summary();
+		long start = System.nanoTime();
+		entries.forEach(entry -> replay(entry, summary));
+		summary.elapsedNanos = System.nanoTime() - start;
+		return summary;
+	}
+
+	private void replay(RecordStreamReader.Entry entry, Summary summary) {
+		var signedTxn = entry.signedTxn();
+		var expected = entry.record();
+		var function = HederaFunctionality.NONE;
+		try {
+			var accessor = new SignedTxnAccessor(signedTxn);
+			function = functionalityOf(accessor);
+			var platformTxn = new com.swirlds.common.Transaction(entry.signedTxnBytes());
+			long member = members.getOrDefault(accessor.getTxn().getNodeAccountID(), 0L);
+			state.expandSignatures(platformTxn);
+
+			long start = System.nanoTime();
+			logic.incorporateConsensusTxn(platformTxn, instantOf(expected.getConsensusTimestamp()), member);
+			summary.handled(function, System.nanoTime() - start);
+
+			var actual = historian.lastCreatedRecord().map(ExpirableTxnRecord::asGrpc);
+			if (!isReplayOf(expected, actual)) {
+				summary.mismatched(function);
+				if (summary.numMismatched <= mismatchesToLog) {
+					log.warn("Replayed {} from {} did not reproduce its record!\n  Expected :: {}\n  Actual   :: {}",
+							function,
+							readableId(accessor.getPayer()),
+							expected,
+							actual.map(Object::toString).orElse("<none>"));
+				}
+			}
+		} catch (Exception e) {
+			summary.mismatched(function);
+			log.warn("Could not replay recorded transaction {}!", signedTxn, e);
+		}
+	}
+
+	private boolean isReplayOf(TransactionRecord expected, Optional<TransactionRecord> actual) {
+		return actual.isPresent() && expected.equals(actual.get());
+	}
+
+	private HederaFunctionality functionalityOf(SignedTxnAccessor accessor) {
+		try {
+			return functionalityOfTxn(accessor.getTxn());
+		} catch (UnknownHederaFunctionality ignore) {
+			return HederaFunctionality.NONE;
+		}
+	}
+
+	private static Instant instantOf(Timestamp timestamp) {
+		return Instant.ofEpochSecond(timestamp.getSeconds(), timestamp.getNanos());
+	}
+
+	public static class Summary {
+		private long numHandled;
+		private long numMismatched;
+		private long elapsedNanos;
+		private final Map<HederaFunctionality, long[]> byFunction = new EnumMap<>(HederaFunctionality.class);
+
+		private static final int COUNT = 0;
+		private static final int NANOS = 1;
+		private static final int MISMATCHED = 2;
+
+		void handled(HederaFunctionality function, long nanos) {
+			numHandled++;
+			long[] stats = statsFor(function);
+			stats[COUNT]++;
+			stats[NANOS] += nanos;
+		}
+
+		void mismatched(HederaFunctionality function) {
+			numMismatched++;
+			statsFor(function)[MISMATCHED]++;
+		}
+
+		private long[] statsFor(HederaFunctionality function) {
+			return byFunction.computeIfAbsent(function, ignore -> new long[3]);
+		}
+
+		public long numHandled() {
+			return numHandled;
+		}
+
+		public long numMismatched() {
+			return numMismatched;
+		}
+
+		public long numHandled(HederaFunctionality function) {
+			return byFunction.getOrDefault(function, new long[3])[COUNT];
+		}
+
+		public long numMismatched(HederaFunctionality function) {
+			return byFunction.getOrDefault(function, new long[3])[MISMATCHED];
+		}
+
+		public double tps() {
+			return (elapsedNanos == 0) ? 0.0 : numHandled * 1_000_000_000.0 / elapsedNanos;
+		}
+
+		@Override
+		public String toString() {
+			var sb = new StringBuilder(String.format(
+					"Replayed %d txns in %.3fs (%.1f TPS), %d records mismatched",
+					numHandled, elapsedNanos / 1_000_000_000.0, tps(), numMismatched));
+			byFunction.forEach((function, stats) -> sb.append(String.format(
+					"%n  %-24s n=%-10d meanHandleMicros=%-10.1f mismatched=%d",
+					function,
+					stats[COUNT],
+					(stats[COUNT] == 0) ? 0.0 : stats[NANOS] / (stats[COUNT] * 1_000.0),
+					stats[MISMATCHED])));
+			return sb.toString();
+		}
+	}
+}
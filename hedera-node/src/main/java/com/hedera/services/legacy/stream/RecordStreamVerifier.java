@@ -0,0 +1,328 @@
+package com.hedera.services.legacy.stream;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2020 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import org.apache.commons.codec.DecoderException;
+import org.apache.commons.codec.binary.Hex;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.hedera.services.legacy.stream.RecordStream.TYPE_FILE_HASH;
+import static com.hedera.services.legacy.stream.RecordStream.TYPE_SIGNATURE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Verifies a sequence of {@code .rcd} record files: that each file's running hash
+ * matches the previous-file hash embedded in its successor, and that each
+ * {@code _sig} file attests to the hash of its record file (with a valid signature,
+ * if the signing node's public key is known).
+ *
+ * The file hashes are independent of each other, so they are computed in parallel
+ * from memory-mapped files; only the final stitching of the hash chain is serial.
+ */
+public class RecordStreamVerifier {
+	private static final Logger log = LogManager.getLogger(RecordStreamVerifier.class);
+
+	/* Format version, HAPI version, TYPE_PREV_HASH, and the previous file hash. */
+	static final int HASHED_PREFIX_LEN = 4 + 4 + 1 + RecordStreamReader.PREV_HASH_LEN;
+	static final String SIG_FILE_SUFFIX = "_sig";
+	static final String SIG_ALGORITHM = "SHA384withRSA";
+
+	private static final byte[] EMPTY_HASH = new byte[RecordStreamReader.PREV_HASH_LEN];
+
+	private final int parallelism;
+	private final Optional<PublicKey> sigKey;
+
+	public RecordStreamVerifier(int parallelism, Optional<PublicKey> sigKey) {
+		this.parallelism = parallelism;
+		this.sigKey = sigKey;
+	}
+
+	public static class FileHashes {
+		private final byte[] prevHash;
+		private final byte[] hash;
+		private final long size;
+
+		FileHashes(byte[] prevHash, byte[] hash, long size) {
+			this.prevHash = prevHash;
+			this.hash = hash;
+			this.size = size;
+		}
+
+		public byte[] prevHash() {
+			return prevHash;
+		}
+
+		public byte[] hash() {
+			return hash;
+		}
+
+		public long size() {
+			return size;
+		}
+	}
+
+	/**
+	 * Computes the running hash of a record file exactly as {@link RecordStream} does
+	 * when closing it; that is, the SHA-384 of the file's hashed prefix followed by
+	 * the SHA-384 of the remainder of the file.
+	 *
+	 * @param recordFile the record file to hash
+	 * @return the embedded previous-file hash and the computed hash of this file
+	 */
+	public static FileHashes hashesOf(Path recordFile) {
+		try (FileChannel channel = FileChannel.open(recordFile, READ)) {
+			long size = channel.size();
+			if (size < HASHED_PREFIX_LEN) {
+				throw new IllegalArgumentException(String.format(
+						"Record file '%s' is too short (%d bytes) to have a hash!", recordFile, size));
+			}
+			ByteBuffer contents = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+
+			byte[] prefix = new byte[HASHED_PREFIX_LEN];
+			contents.get(prefix);
+			var contentDigest = sha384();
+			contentDigest.update(contents);
+
+			var fileDigest = sha384();
+			fileDigest.update(prefix);
+			fileDigest.update(contentDigest.digest());
+			return new FileHashes(
+					Arrays.copyOfRange(prefix, HASHED_PREFIX_LEN - EMPTY_HASH.length, HASHED_PREFIX_LEN),
+					fileDigest.digest(),
+					size);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private static MessageDigest sha384() {
+		try {
+			return MessageDigest.getInstance("SHA-384");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	public static class Report {
+		private final List<String> problems = new ArrayList<>();
+		private int numFiles;
+		private int numSigFiles;
+		private long numBytes;
+		private long elapsedNanos;
+
+		public boolean isValid() {
+			return problems.isEmpty();
+		}
+
+		public List<String> problems() {
+			return problems;
+		}
+
+		public int numFiles() {
+			return numFiles;
+		}
+
+		public int numSigFiles() {
+			return numSigFiles;
+		}
+
+		@Override
+		public String toString() {
+			double secs = elapsedNanos / 1_000_000_000.0;
+			return String.format(
+					"Verified %d record files (%d signed, %.1f MB) in %.3fs (%.1f files/s, %.1f MB/s) :: %s",
+					numFiles,
+					numSigFiles,
+					numBytes / 1_000_000.0,
+					secs,
+					(secs == 0.0) ? 0.0 : numFiles / secs,
+					(secs == 0.0) ? 0.0 : numBytes / 1_000_000.0 / secs,
+					isValid() ? "VALID" : (problems.size() + " problems"));
+		}
+	}
+
+	/**
+	 * Hashes the given record files in parallel, checks their signature files, and
+	 * then checks that they form an unbroken hash chain in the given order.
+	 *
+	 * @param recordFiles the record files, oldest first
+	 * @return a report of the throughput and any problems found
+	 */
+	public Report verify(List<Path> recordFiles) {
+		var report = new Report();
+		long start = System.nanoTime();
+
+		List<FileHashes> hashes = inParallel(recordFiles.stream()
+				.map(file -> (Callable<FileHashes>) () -> hashAndCheckSig(file, report))
+				.collect(toList()));
+		for (int i = 0; i < hashes.size(); i++) {
+			report.numFiles++;
+			report.numBytes += hashes.get(i).size();
+			if (i > 0) {
+				checkLink(recordFiles.get(i - 1), hashes.get(i - 1), recordFiles.get(i), hashes.get(i), report);
+			}
+		}
+
+		report.elapsedNanos = System.nanoTime() - start;
+		return report;
+	}
+
+	private <T> List<T> inParallel(List<Callable<T>> tasks) {
+		var executor = Executors.newFixedThreadPool(parallelism);
+		try {
+			List<T> results = new ArrayList<>();
+			for (Future<T> future : executor.invokeAll(tasks)) {
+				results.add(future.get());
+			}
+			return results;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		} catch (ExecutionException e) {
+			throw (e.getCause() instanceof RuntimeException)
+					? (RuntimeException) e.getCause()
+					: new IllegalStateException(e.getCause());
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	private FileHashes hashAndCheckSig(Path recordFile, Report report) {
+		var hashes = hashesOf(recordFile);
+		var sigFile = recordFile.resolveSibling(recordFile.getFileName() + SIG_FILE_SUFFIX);
+		if (Files.exists(sigFile)) {
+			checkSig(recordFile, hashes.hash(), sigFile, report);
+		}
+		return hashes;
+	}
+
+	private void checkSig(Path recordFile, byte[] hash, Path sigFile, Report report) {
+		try {
+			var contents = ByteBuffer.wrap(Files.readAllBytes(sigFile));
+			byte[] signedHash = new byte[EMPTY_HASH.length];
+			if (contents.get() != TYPE_FILE_HASH) {
+				problem(report, "Signature file '%s' does not begin with a file hash!", sigFile);
+				return;
+			}
+			contents.get(signedHash);
+			if (contents.get() != TYPE_SIGNATURE) {
+				problem(report, "Signature file '%s' has no signature after its file hash!", sigFile);
+				return;
+			}
+			byte[] sig = new byte[contents.getInt()];
+			contents.get(sig);
+
+			synchronized (report) {
+				report.numSigFiles++;
+			}
+			if (!Arrays.equals(hash, signedHash)) {
+				problem(report, "Signature file '%s' is for hash %s, but '%s' has hash %s!",
+						sigFile, Hex.encodeHexString(signedHash), recordFile, Hex.encodeHexString(hash));
+			} else if (sigKey.isPresent() && !isValidSig(signedHash, sig, sigKey.get())) {
+				problem(report, "Signature file '%s' has an invalid signature!", sigFile);
+			}
+		} catch (IOException | RuntimeException e) {
+			problem(report, "Signature file '%s' could not be read (%s)!", sigFile, e);
+		}
+	}
+
+	private boolean isValidSig(byte[] data, byte[] sig, PublicKey key) {
+		try {
+			var verifier = Signature.getInstance(SIG_ALGORITHM);
+			verifier.initVerify(key);
+			verifier.update(data);
+			return verifier.verify(sig);
+		} catch (GeneralSecurityException e) {
+			log.warn("Could not verify signature with {}!", key, e);
+			return false;
+		}
+	}
+
+	private void checkLink(Path prevFile, FileHashes prev, Path file, FileHashes cur, Report report) {
+		if (Arrays.equals(EMPTY_HASH, cur.prevHash())) {
+			problem(report, "Record file '%s' has an EMPTY previous-file hash instead of the hash of '%s'!",
+					file, prevFile);
+		} else if (!Arrays.equals(prev.hash(), cur.prevHash())) {
+			problem(report, "Record file '%s' does not chain to '%s' (expected %s, found %s)!",
+					file, prevFile, Hex.encodeHexString(prev.hash()), Hex.encodeHexString(cur.prevHash()));
+		}
+	}
+
+	private void problem(Report report, String tpl, Object... args) {
+		var problem = String.format(tpl, args);
+		log.warn(problem);
+		synchronized (report) {
+			report.problems.add(problem);
+		}
+	}
+
+	static PublicKey rsaKeyFromHex(String x509Hex) throws DecoderException, GeneralSecurityException {
+		return KeyFactory.getInstance("RSA").generatePublic(new X509EncodedKeySpec(Hex.decodeHex(x509Hex)));
+	}
+
+	/**
+	 * Verifies a directory of record files from the command line, exiting with status
+	 * 0 only if all checks passed.
+	 *
+	 * Usage: {@code RecordStreamVerifier <recordStreamDir> [parallelism] [x509HexRsaSigKey]}
+	 *
+	 * @param args the command-line arguments
+	 */
+	public static void main(String... args) throws Exception {
+		if (args.length < 1) {
+			System.err.println("Usage: RecordStreamVerifier <recordStreamDir> [parallelism] [x509HexRsaSigKey]");
+			System.exit(1);
+		}
+		int parallelism = (args.length > 1)
+				? Integer.parseInt(args[1])
+				: Runtime.getRuntime().availableProcessors();
+		Optional<PublicKey> sigKey = (args.length > 2) ? Optional.of(rsaKeyFromHex(args[2])) : Optional.empty();
+
+		var recordFiles = RecordStreamReader.recordFilesIn(Path.of(args[0]));
+		var report = new RecordStreamVerifier(parallelism, sigKey).verify(recordFiles);
+		System.out.println(report);
+		System.exit(report.isValid() ? 0 : 2);
+	}
+}
@@ -46,6 +46,7 @@ import com.hederahashgraph.api.proto.java.TransactionResponse;
 import com.hederahashgraph.builder.RequestBuilder;
 import com.hedera.services.state.merkle.MerkleEntityId;
 import com.hedera.services.context.domain.process.TxnValidityAndFeeReq;
+import com.hedera.services.grpc.RetainedTransaction;
 import com.hedera.services.legacy.logic.ProtectedEntities;
 import com.swirlds.common.Platform;
 import com.swirlds.fcmap.FCMap;
@@ -111,7 +112,7 @@ public class TransactionValidationUtils {
 	}
 
 	public static boolean validateTxSize(Transaction transaction) {
-		return transaction.toByteArray().length <= Platform.getTransactionMaxBytes();
+		return RetainedTransaction.bytesOf(transaction).length <= Platform.getTransactionMaxBytes();
 	}
 
 	public static boolean validateQueryHeader(QueryHeader queryHeader, boolean hasPayment) {
@@ -311,7 +312,17 @@ public class TransactionValidationUtils {
 			String methodMsg,
 			AccountID accountID
 	) {
-		ResponseCodeEnum responseCode = ResponseCodeEnum.PLATFORM_TRANSACTION_NOT_CREATED;
+		logAndConstructResponseWhenCreateTxFailed(
+				log, responseObserver, methodMsg, accountID, ResponseCodeEnum.PLATFORM_TRANSACTION_NOT_CREATED);
+	}
+
+	public static void logAndConstructResponseWhenCreateTxFailed(
+			Logger log,
+			StreamObserver<Response> responseObserver,
+			String methodMsg,
+			AccountID accountID,
+			ResponseCodeEnum responseCode
+	) {
 		if (methodMsg.startsWith("getBySolidityID")) {
 			TransactionValidationUtils.constructGetBySolidityIDErrorResponse(responseObserver,
 					responseCode, 0);
@@ -337,7 +348,15 @@ public class TransactionValidationUtils {
 			Logger log,
 			StreamObserver<TransactionResponse> responseObserver
 	) {
-		TxnValidityAndFeeReq responseCode = new TxnValidityAndFeeReq(ResponseCodeEnum.PLATFORM_TRANSACTION_NOT_CREATED);
-		transactionResponse(responseObserver, responseCode);
+		logAndConstructResponseWhenCreateTxFailed(
+				log, responseObserver, ResponseCodeEnum.PLATFORM_TRANSACTION_NOT_CREATED);
+	}
+
+	public static void logAndConstructResponseWhenCreateTxFailed(
+			Logger log,
+			StreamObserver<TransactionResponse> responseObserver,
+			ResponseCodeEnum responseCode
+	) {
+		transactionResponse(responseObserver, new TxnValidityAndFeeReq(responseCode));
 	}
 }
@@ -20,6 +20,7 @@ package com.hedera.services.queries.answering;
  * ‍
  */
 
+import com.hedera.services.grpc.HandlerExecutor;
 import com.hedera.services.queries.AnswerFlow;
 import com.hedera.services.queries.AnswerService;
 import com.hederahashgraph.api.proto.java.Query;
@@ -32,6 +33,7 @@ import org.apache.logging.log4j.Marker;
 import org.apache.logging.log4j.MarkerManager;
 
 import static com.hedera.services.context.primitives.StateView.EMPTY_VIEW;
+import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.BUSY;
 import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.FAIL_INVALID;
 import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.OK;
 
@@ -41,10 +43,12 @@ public class QueryResponseHelper {
 
 	private final AnswerFlow answerFlow;
 	private final HederaNodeStats stats;
+	private final HandlerExecutor handlers;
 
-	public QueryResponseHelper(AnswerFlow answerFlow, HederaNodeStats stats) {
+	public QueryResponseHelper(AnswerFlow answerFlow, HederaNodeStats stats, HandlerExecutor handlers) {
 		this.answerFlow = answerFlow;
 		this.stats = stats;
+		this.handlers = handlers;
 	}
 
 	public void respondToNetwork(
@@ -116,11 +120,16 @@ public class QueryResponseHelper {
 		Response response;
 		incReceivedCount.run();
 
-		try {
-			response = answerFlow.satisfyUsing(answer, query);
-		} catch (Exception surprising) {
-			log.warn("Query flow unable to satisfy query {}!", query, surprising);
-			response = answer.responseGiven(query, EMPTY_VIEW, FAIL_INVALID, 0L);
+		if (handlers.isSaturated()) {
+			stats.handlerBusy();
+			response = answer.responseGiven(query, EMPTY_VIEW, BUSY, 0L);
+		} else {
+			try {
+				response = answerFlow.satisfyUsing(answer, query);
+			} catch (Exception surprising) {
+				log.warn("Query flow unable to satisfy query {}!", query, surprising);
+				response = answer.responseGiven(query, EMPTY_VIEW, FAIL_INVALID, 0L);
+			}
 		}
 
 		observer.onNext(response);
@@ -44,7 +44,6 @@ import java.util.function.Supplier;
 
 import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.BUSY;
 import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.OK;
-import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.PLATFORM_TRANSACTION_NOT_CREATED;
 import static com.hederahashgraph.api.proto.java.ResponseType.ANSWER_ONLY;
 import static com.hedera.services.legacy.handler.TransactionHandler.IS_THROTTLE_EXEMPT;
 
@@ -109,8 +108,9 @@ public class ServiceAnswerFlow implements AnswerFlow {
 			if (validity != OK) {
 				return service.responseGiven(query, view, validity, cost);
 			}
-			if (!legacyHandler.submitTransaction(platform, accessor.getSignedTxn(), accessor.getTxnId())) {
-				return service.responseGiven(query, view, PLATFORM_TRANSACTION_NOT_CREATED, cost);
+			validity = legacyHandler.trySubmit(platform, accessor.getSignedTxn(), accessor.getTxnId());
+			if (validity != OK) {
+				return service.responseGiven(query, view, validity, cost);
 			}
 		}
 
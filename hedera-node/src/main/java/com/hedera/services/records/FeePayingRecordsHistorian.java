@@ -22,7 +22,7 @@ package com.hedera.services.records;
 
 import com.google.common.base.Stopwatch;
 import com.hedera.services.context.TransactionContext;
-import com.hedera.services.context.properties.PropertySource;
+import com.hedera.services.context.properties.GlobalDynamicProperties;
 import com.hedera.services.fees.FeeCalculator;
 import com.hedera.services.fees.charging.ItemizableFeeCharging;
 
@@ -70,7 +70,7 @@ public class FeePayingRecordsHistorian implements AccountRecordsHistorian {
 
 	private final RecordCache recordCache;
 	private final FeeCalculator fees;
-	private final PropertySource properties;
+	private final GlobalDynamicProperties properties;
 	private final TransactionContext txnCtx;
 	private final ItemizableFeeCharging feeCharging;
 	private final FCMap<MerkleEntityId, MerkleAccount> accounts;
@@ -80,7 +80,7 @@ public class FeePayingRecordsHistorian implements AccountRecordsHistorian {
 	public FeePayingRecordsHistorian(
 			RecordCache recordCache,
 			FeeCalculator fees,
-			PropertySource properties,
+			GlobalDynamicProperties properties,
 			TransactionContext txnCtx,
 			ItemizableFeeCharging feeCharging,
 			FCMap<MerkleEntityId, MerkleAccount> accounts,
@@ -124,7 +124,7 @@ public class FeePayingRecordsHistorian implements AccountRecordsHistorian {
 		}
 		addNonThreshXQualifiers(record, qualifiers);
 
-		int accountTtl = properties.getIntProperty("ledger.records.ttl");
+		int accountTtl = properties.ledgerRecordsTtl();
 		long accountRecordExpiry = txnCtx.consensusTime().getEpochSecond() + accountTtl;
 		lastCreatedRecord = asExpirableRecord(record, accountRecordExpiry);
 		log.debug("Last created record updated to: {}", record);
@@ -32,7 +32,6 @@ import java.time.Instant;
 import java.util.Optional;
 
 import static com.hedera.services.utils.MiscUtils.asTimestamp;
-import static com.hedera.services.utils.MiscUtils.sha384HashOf;
 import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.FAIL_INVALID;
 import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.UNKNOWN;
 
@@ -69,7 +68,7 @@ public class RecordCache {
 				.setTransactionID(txnId)
 				.setReceipt(TransactionReceipt.newBuilder().setStatus(FAIL_INVALID))
 				.setMemo(accessor.getTxn().getMemo())
-				.setTransactionHash(sha384HashOf(accessor))
+				.setTransactionHash(accessor.getHash())
 				.setConsensusTimestamp(asTimestamp(consensusTimestamp));
 		delegate.put(txnId, Optional.of(ExpirableTxnRecord.fromGprc(record.build())));
 	}
@@ -30,6 +30,9 @@ import com.hedera.services.sigs.sourcing.PubKeyToSigBytes;
 import com.hedera.services.sigs.sourcing.PubKeyToSigBytesProvider;
 import com.hedera.services.sigs.verification.SyncVerifier;
 import com.hedera.services.utils.PlatformTxnAccessor;
+import com.google.protobuf.ByteString;
+import com.hederahashgraph.api.proto.java.SignatureMap;
+import com.hederahashgraph.api.proto.java.SignaturePair;
 import com.hederahashgraph.api.proto.java.Transaction;
 import com.hederahashgraph.api.proto.java.TransactionBody;
 import com.hedera.services.legacy.crypto.SignatureStatus;
@@ -38,9 +41,15 @@ import com.swirlds.common.crypto.VerificationStatus;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 
+import static com.google.protobuf.UnsafeByteOperations.unsafeWrap;
+import static com.hedera.services.legacy.core.jproto.JEd25519Key.ED25519_BYTE_LENGTH;
 import static com.hedera.services.sigs.PlatformSigOps.*;
 import static com.hedera.services.sigs.utils.StatusUtils.successFor;
 import static com.hedera.services.legacy.crypto.SignatureStatusCode.SUCCESS;
@@ -71,6 +80,9 @@ import static com.hedera.services.legacy.crypto.SignatureStatusCode.SUCCESS;
  * The behavior on exceptional conditions varies a bit between {@code expandIn} and
  * {@code rationalizeIn}, and is given in detail below.
  *
+ * <p>For smart contract txns, {@code expandSpeculativelyIn} may also run after
+ * {@code expandIn} to let the Platform verify sigs that only <i>might</i> be needed.
+ *
  * @author Michael Tinker
  * @see JKey
  */
@@ -80,6 +92,8 @@ public class HederaToPlatformSigOps {
 	public final static SigStatusOrderResultFactory PRE_HANDLE_SUMMARY_FACTORY =
 			new SigStatusOrderResultFactory(false);
 
+	static final int ED25519_SIG_BYTE_LENGTH = 64;
+
 	private HederaToPlatformSigOps(){
 		throw new IllegalStateException("Utility Class");
 	}
@@ -148,6 +162,57 @@ public class HederaToPlatformSigOps {
 		return new Rationalization(txnAccessor, syncVerifier, keyOrderer, sigsProvider).execute();
 	}
 
+	/**
+	 * Append to the {@link Signature} list on the accessible platform txn a platform sig
+	 * for each well-formed Ed25519 pair in the gRPC txn's {@link SignatureMap}---that is,
+	 * each pair whose prefix is a complete public key---that does not already have a sig
+	 * in the list, up to the given maximum. The Platform then verifies these sigs
+	 * asynchronously along with those from {@code expandIn}.
+	 *
+	 * <p>This is useful for smart contract txns, whose EVM execution may only discover
+	 * mid-handle that some account requires a signature; when a speculative sig for
+	 * its key is present and already verified, no synchronous verification is needed.
+	 * Because the extra sigs follow the sigs from {@code expandIn}, they do not affect
+	 * {@code rationalizeIn}.
+	 *
+	 * @param txnAccessor the accessor for the platform txn.
+	 * @param maxSigs the maximum number of speculative sigs to append.
+	 * @return the number of sigs appended.
+	 */
+	public static int expandSpeculativelyIn(PlatformTxnAccessor txnAccessor, int maxSigs) {
+		List<SignaturePair> pairs = txnAccessor.getSignedTxn().getSigMap().getSigPairList();
+		if (maxSigs <= 0 || pairs.isEmpty()) {
+			return 0;
+		}
+
+		Set<ByteString> expandedKeys = new HashSet<>();
+		List<Signature> present = txnAccessor.getPlatformTxn().getSignatures();
+		if (present != null) {
+			for (Signature sig : present) {
+				expandedKeys.add(unsafeWrap(sig.getExpandedPublicKeyDirect()));
+			}
+		}
+
+		TxnScopedPlatformSigFactory sigFactory = new BodySigningSigFactory(txnAccessor.getTxnBytes());
+		List<Signature> speculative = new ArrayList<>();
+		for (SignaturePair pair : pairs) {
+			if (speculative.size() == maxSigs) {
+				break;
+			}
+			ByteString pubKey = pair.getPubKeyPrefix();
+			ByteString sig = pair.getEd25519();
+			if (pubKey.size() == ED25519_BYTE_LENGTH
+					&& sig.size() == ED25519_SIG_BYTE_LENGTH
+					&& expandedKeys.add(pubKey)) {
+				speculative.add(sigFactory.create(pubKey, sig));
+			}
+		}
+		if (!speculative.isEmpty()) {
+			txnAccessor.getPlatformTxn().addAll(speculative.toArray(new Signature[0]));
+		}
+		return speculative.size();
+	}
+
 	private static class Expansion {
 		private final PlatformTxnAccessor txnAccessor;
 		private final HederaSigningOrder keyOrderer;
@@ -21,7 +21,7 @@ package com.hedera.services.sigs.metadata;
  */
 
 import com.hedera.services.state.merkle.MerkleTopic;
-import com.hedera.services.context.properties.PropertySource;
+import com.hedera.services.context.properties.GlobalDynamicProperties;
 import com.hedera.services.files.HederaFs;
 import com.hedera.services.sigs.metadata.lookups.AccountSigMetaLookup;
 import com.hedera.services.sigs.metadata.lookups.ContractSigMetaLookup;
@@ -89,7 +89,7 @@ public class DelegatingSigMetadataLookup implements SigMetadataLookup {
 
 	public static DelegatingSigMetadataLookup defaultAccountRetryingLookupsFor(
 			HederaFs hfs,
-			PropertySource properties,
+			GlobalDynamicProperties properties,
 			HederaNodeStats stats,
 			FCMap<MerkleEntityId, MerkleAccount> accounts,
 			FCMap<MerkleEntityId, MerkleTopic> topics
@@ -20,7 +20,7 @@ package com.hedera.services.sigs.metadata.lookups;
  * ‍
  */
 
-import com.hedera.services.context.properties.PropertySource;
+import com.hedera.services.context.properties.GlobalDynamicProperties;
 import com.hedera.services.sigs.metadata.AccountSigningMetadata;
 import com.hedera.services.utils.Pause;
 import com.hederahashgraph.api.proto.java.AccountID;
@@ -53,7 +53,7 @@ public class RetryingFCMapAccountLookup extends DefaultFCMapAccountLookup {
 
 	private int maxRetries;
 	private int retryWaitIncrementMs;
-	private Optional<PropertySource> properties;
+	private Optional<GlobalDynamicProperties> properties;
 	final private Pause pause;
 	final private HederaNodeStats stats;
 
@@ -74,7 +74,7 @@ public class RetryingFCMapAccountLookup extends DefaultFCMapAccountLookup {
 
 	public RetryingFCMapAccountLookup(
 			Pause pause,
-			PropertySource properties,
+			GlobalDynamicProperties properties,
 			HederaNodeStats stats,
 			FCMap<MerkleEntityId, MerkleAccount> accounts
 	) {
@@ -97,10 +97,10 @@ public class RetryingFCMapAccountLookup extends DefaultFCMapAccountLookup {
 	@Override
 	public AccountSigningMetadata lookup(AccountID id) throws Exception {
 		maxRetries = properties
-				.map(p -> p.getIntProperty("validation.preConsensus.accountKey.maxLookupRetries"))
+				.map(GlobalDynamicProperties::maxAccountLookupRetries)
 				.orElse(maxRetries);
 		retryWaitIncrementMs = properties
-				.map(p -> p.getIntProperty("validation.preConsensus.accountKey.retryBackoffIncrementMs"))
+				.map(GlobalDynamicProperties::accountLookupRetryBackoffIncrementMs)
 				.orElse(retryWaitIncrementMs);
 
 		final long lookupStart = System.nanoTime();
@@ -66,7 +66,7 @@ public interface PubKeyToSigBytes {
 	 * @return a source of raw signatures that encapsulates this mapping.
 	 */
 	static PubKeyToSigBytes from(SignatureMap sigMap) {
-		return new SigMapPubKeyToSigBytes(sigMap);
+		return SigMapPubKeyToSigBytes.of(sigMap);
 	}
 
 	/**
@@ -0,0 +1,243 @@
+package com.hedera.services.sigs.sourcing;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2020 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.google.protobuf.ByteString;
+import com.hedera.services.legacy.exception.KeyPrefixMismatchException;
+import com.hederahashgraph.api.proto.java.SignatureMap;
+import com.hederahashgraph.api.proto.java.SignaturePair;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A path-compressed byte-wise prefix trie over the public key prefixes of a
+ * {@link SignatureMap}, built once per map so that finding the unique
+ * {@link SignaturePair} whose prefix begins a given public key costs a single walk
+ * of at most the key's length, with no copying of prefixes. Any two prefixes that
+ * both begin the key must lie on that walk, so ambiguity is detected along the way.
+ *
+ * Each edge is labelled by a range of the prefix that created it, and nodes exist
+ * only where a prefix ends or two prefixes diverge; so a map with {@code n} pairs
+ * needs at most {@code 2n} nodes, however long its prefixes are.
+ *
+ * As with a linear scan of the map, a key shorter than any prefix in the map is
+ * rejected outright, whether or not that prefix could otherwise match it.
+ *
+ * The index never changes once built, and may be shared freely.
+ */
+final class SigMapPrefixIndex {
+	static final int NO_PAIR = -1;
+	private static final int AMBIGUOUS = -2;
+
+	private final Node root = new Node(ByteString.EMPTY, 0, 0);
+	private final List<SignaturePair> pairs;
+	private int maxPrefixLength = 0;
+
+	SigMapPrefixIndex(SignatureMap sigMap) {
+		pairs = sigMap.getSigPairList();
+		for (int i = 0, n = pairs.size(); i < n; i++) {
+			ByteString prefix = pairs.get(i).getPubKeyPrefix();
+			maxPrefixLength = Math.max(maxPrefixLength, prefix.size());
+			insert(prefix, i);
+		}
+	}
+
+	/**
+	 * Returns the index in the backing map of the unique signature pair whose
+	 * prefix begins the given public key, or {@link #NO_PAIR} if there is none.
+	 *
+	 * @param pubKey the public key to match
+	 * @return the index of the matching pair, if any
+	 * @throws KeyPrefixMismatchException if more than one pair matches
+	 * @throws ArrayIndexOutOfBoundsException if some prefix is longer than the key
+	 */
+	int pairIndexFor(byte[] pubKey) throws KeyPrefixMismatchException {
+		if (pubKey.length < maxPrefixLength) {
+			throw new ArrayIndexOutOfBoundsException(String.format(
+					"Public key has %d bytes, but source signature map has a %d-byte prefix!",
+					pubKey.length, maxPrefixLength));
+		}
+		int match = NO_PAIR;
+		Node node = root;
+		int i = 0;
+		while (true) {
+			if (node.pair != NO_PAIR) {
+				if (match != NO_PAIR || node.pair == AMBIGUOUS) {
+					throw new KeyPrefixMismatchException("Source signature map is ambiguous for given public key!");
+				}
+				match = node.pair;
+			}
+			Node kid = (i < pubKey.length) ? node.child(pubKey[i]) : null;
+			if (kid == null || !kid.labelBegins(pubKey, i)) {
+				return match;
+			}
+			i += kid.labelLength();
+			node = kid;
+		}
+	}
+
+	/**
+	 * Returns a new copy of the signature bytes in the pair at the given index.
+	 *
+	 * @param i the index of the pair in the backing map
+	 * @return the pair's signature bytes
+	 */
+	byte[] sigBytesAt(int i) {
+		SignaturePair sp = pairs.get(i);
+		if (sp.getRSA3072() != ByteString.EMPTY) {
+			return sp.getRSA3072().toByteArray();
+		} else if (sp.getECDSA384() != ByteString.EMPTY) {
+			return sp.getECDSA384().toByteArray();
+		} else {
+			return sp.getEd25519().toByteArray();
+		}
+	}
+
+	private void insert(ByteString prefix, int i) {
+		Node node = root;
+		int j = 0;
+		int n = prefix.size();
+		while (j < n) {
+			Node kid = node.child(prefix.byteAt(j));
+			if (kid == null) {
+				kid = new Node(prefix, j, n);
+				node.addChild(kid);
+				node = kid;
+				break;
+			}
+			int common = kid.commonLength(prefix, j);
+			if (common < kid.labelLength()) {
+				Node mid = new Node(kid.source, kid.from, kid.from + common);
+				kid.from += common;
+				mid.addChild(kid);
+				node.replaceChild(mid);
+				kid = mid;
+			}
+			j += common;
+			node = kid;
+		}
+		node.pair = (node.pair == NO_PAIR) ? i : AMBIGUOUS;
+	}
+
+	/**
+	 * Children are kept in small parallel arrays scanned linearly, since real
+	 * signature maps branch only a few ways per byte; a node that grows past
+	 * {@code DENSE_THRESHOLD} children switches to direct indexing by byte value.
+	 * Every child is keyed by the first byte of its label.
+	 */
+	private static final class Node {
+		private static final int DENSE_THRESHOLD = 16;
+		private static final byte[] NO_LABELS = new byte[0];
+		private static final Node[] NO_KIDS = new Node[0];
+
+		private final ByteString source;
+		private int from;
+		private final int to;
+
+		private int pair = NO_PAIR;
+		private int numKids = 0;
+		private byte[] labels = NO_LABELS;
+		private Node[] kids = NO_KIDS;
+		private Node[] dense;
+
+		private Node(ByteString source, int from, int to) {
+			this.source = source;
+			this.from = from;
+			this.to = to;
+		}
+
+		private int labelLength() {
+			return to - from;
+		}
+
+		private boolean labelBegins(byte[] key, int offset) {
+			int len = to - from;
+			if (offset + len > key.length) {
+				return false;
+			}
+			for (int k = 0; k < len; k++) {
+				if (source.byteAt(from + k) != key[offset + k]) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		private int commonLength(ByteString prefix, int offset) {
+			int max = Math.min(to - from, prefix.size() - offset);
+			int k = 0;
+			while (k < max && source.byteAt(from + k) == prefix.byteAt(offset + k)) {
+				k++;
+			}
+			return k;
+		}
+
+		private Node child(byte b) {
+			if (dense != null) {
+				return dense[b & 0xff];
+			}
+			for (int i = 0; i < numKids; i++) {
+				if (labels[i] == b) {
+					return kids[i];
+				}
+			}
+			return null;
+		}
+
+		private void replaceChild(Node kid) {
+			byte b = kid.source.byteAt(kid.from);
+			if (dense != null) {
+				dense[b & 0xff] = kid;
+				return;
+			}
+			for (int i = 0; i < numKids; i++) {
+				if (labels[i] == b) {
+					kids[i] = kid;
+					return;
+				}
+			}
+		}
+
+		private void addChild(Node kid) {
+			byte b = kid.source.byteAt(kid.from);
+			if (dense != null) {
+				dense[b & 0xff] = kid;
+			} else if (numKids == DENSE_THRESHOLD) {
+				dense = new Node[256];
+				for (int i = 0; i < numKids; i++) {
+					dense[labels[i] & 0xff] = kids[i];
+				}
+				dense[b & 0xff] = kid;
+				labels = NO_LABELS;
+				kids = NO_KIDS;
+			} else {
+				if (numKids == labels.length) {
+					int capacity = Math.max(2, 2 * numKids);
+					labels = Arrays.copyOf(labels, capacity);
+					kids = Arrays.copyOf(kids, capacity);
+				}
+				labels[numKids] = b;
+				kids[numKids++] = kid;
+			}
+		}
+	}
+}
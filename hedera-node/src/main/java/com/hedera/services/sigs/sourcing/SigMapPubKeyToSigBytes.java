@@ -20,13 +20,10 @@ package com.hedera.services.sigs.sourcing;
  * ‍
  */
 
-import com.google.protobuf.ByteString;
 import com.hederahashgraph.api.proto.java.SignatureMap;
-import com.hederahashgraph.api.proto.java.SignaturePair;
 import com.hedera.services.legacy.exception.KeyPrefixMismatchException;
-import java.util.Arrays;
-import java.util.List;
-import static java.util.stream.Collectors.toList;
+
+import static com.hedera.services.sigs.sourcing.SigMapPrefixIndex.NO_PAIR;
 
 /**
  * A source of cryptographic signatures backed by a {@link SignatureMap} instance.
@@ -43,38 +40,33 @@ import static java.util.stream.Collectors.toList;
  * @author Michael Tinker
  */
 public class SigMapPubKeyToSigBytes implements PubKeyToSigBytes {
-	private final SignatureMap sigMap;
 	private static final byte[] EMPTY_SIG = {};
 
+	/* The payer and other parties' sigs of a txn are sourced from its one map in turn,
+	on the same thread; so remembering the last map seen per thread means its index is
+	built just once. */
+	private static final ThreadLocal<SigMapPubKeyToSigBytes> LAST_USED = new ThreadLocal<>();
+
+	private final SignatureMap sigMap;
+	private final SigMapPrefixIndex index;
+
 	SigMapPubKeyToSigBytes(SignatureMap sigMap) {
 		this.sigMap = sigMap;
+		this.index = new SigMapPrefixIndex(sigMap);
 	}
 
-	@Override
-	public byte[] sigBytesFor(byte[] pubKey) throws KeyPrefixMismatchException {
-		List<byte[]> matchingSigs = sigMap.getSigPairList()
-				.stream()
-				.filter(sp -> beginsWith(pubKey, sp.getPubKeyPrefix().toByteArray()))
-				.map(this::sigBytesFor)
-				.collect(toList());
-		if (matchingSigs.size() > 1) {
-			throw new KeyPrefixMismatchException("Source signature map is ambiguous for given public key!");
-		}
-		return matchingSigs.isEmpty() ? EMPTY_SIG : matchingSigs.get(0);
-	}
-
-	private byte[] sigBytesFor(SignaturePair sp) {
-		if (sp.getRSA3072() != ByteString.EMPTY) {
-			return sp.getRSA3072().toByteArray();
-		} else if (sp.getECDSA384() != ByteString.EMPTY) {
-			return sp.getECDSA384().toByteArray();
-		} else {
-			return sp.getEd25519().toByteArray();
+	static SigMapPubKeyToSigBytes of(SignatureMap sigMap) {
+		var lastUsed = LAST_USED.get();
+		if (lastUsed == null || lastUsed.sigMap != sigMap) {
+			lastUsed = new SigMapPubKeyToSigBytes(sigMap);
+			LAST_USED.set(lastUsed);
 		}
+		return lastUsed;
 	}
 
-	private boolean beginsWith(byte[] pubKey, byte[] prefix) {
-		int n = prefix.length;
-		return Arrays.equals(prefix, 0, n, pubKey, 0, n);
+	@Override
+	public byte[] sigBytesFor(byte[] pubKey) throws KeyPrefixMismatchException {
+		int i = index.pairIndexFor(pubKey);
+		return (i == NO_PAIR) ? EMPTY_SIG : index.sigBytesAt(i);
 	}
 }
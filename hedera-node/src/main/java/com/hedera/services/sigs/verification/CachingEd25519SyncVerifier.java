@@ -0,0 +1,112 @@
+package com.hedera.services.sigs.verification;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2020 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.legacy.proto.utils.SignatureVerifier;
+import com.swirlds.common.crypto.Signature;
+import com.swirlds.common.crypto.VerificationStatus;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.swirlds.common.crypto.SignatureType.ED25519;
+import static com.swirlds.common.crypto.VerificationStatus.INVALID;
+import static com.swirlds.common.crypto.VerificationStatus.VALID;
+
+/**
+ * A {@link SyncVerifier} that checks Ed25519 signatures on the calling thread with
+ * {@link SignatureVerifier#verifyED25519(byte[], byte[], byte[])}, so that the
+ * decoded public keys of repeat signers are re-used from the shared
+ * {@link com.hedera.services.legacy.proto.utils.Ed25519KeyCache}. Any other
+ * kind of signature is left to the given fallback verifier.
+ *
+ * Each verified signature is replaced in the list by a copy whose status is known.
+ */
+public class CachingEd25519SyncVerifier implements SyncVerifier {
+	private static final Logger log = LogManager.getLogger(CachingEd25519SyncVerifier.class);
+
+	private final SyncVerifier fallback;
+
+	public CachingEd25519SyncVerifier(SyncVerifier fallback) {
+		this.fallback = fallback;
+	}
+
+	@Override
+	public void verifySync(List<Signature> unknownSigs) {
+		List<Signature> others = null;
+		List<Integer> otherIndices = null;
+		for (int i = 0, n = unknownSigs.size(); i < n; i++) {
+			Signature sig = unknownSigs.get(i);
+			if (sig.getSignatureType() == ED25519) {
+				unknownSigs.set(i, new SigWithKnownStatus(sig, verify(sig) ? VALID : INVALID));
+			} else {
+				if (others == null) {
+					others = new ArrayList<>();
+					otherIndices = new ArrayList<>();
+				}
+				others.add(sig);
+				otherIndices.add(i);
+			}
+		}
+		if (others != null) {
+			fallback.verifySync(others);
+			for (int j = 0, n = others.size(); j < n; j++) {
+				unknownSigs.set(otherIndices.get(j), others.get(j));
+			}
+		}
+	}
+
+	private boolean verify(Signature sig) {
+		byte[] contents = sig.getContentsDirect();
+		byte[] expandedKey = sig.getExpandedPublicKeyDirect();
+		byte[] keySource = (expandedKey != null) ? expandedKey : contents;
+		try {
+			return SignatureVerifier.verifyED25519(
+					slice(keySource, sig.getPublicKeyOffset(), sig.getPublicKeyLength()),
+					slice(contents, sig.getMessageOffset(), sig.getMessageLength()),
+					slice(contents, sig.getSignatureOffset(), sig.getSignatureLength()));
+		} catch (Exception malformed) {
+			log.debug("Treating malformed Ed25519 signature as invalid", malformed);
+			return false;
+		}
+	}
+
+	private static byte[] slice(byte[] source, int offset, int length) {
+		return (offset == 0 && length == source.length) ? source : Arrays.copyOfRange(source, offset, offset + length);
+	}
+
+	private static class SigWithKnownStatus extends Signature {
+		private final VerificationStatus status;
+
+		private SigWithKnownStatus(Signature verified, VerificationStatus status) {
+			super(verified);
+			this.status = status;
+		}
+
+		@Override
+		public VerificationStatus getSignatureStatus() {
+			return status;
+		}
+	}
+}
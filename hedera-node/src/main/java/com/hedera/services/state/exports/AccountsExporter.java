@@ -26,4 +26,12 @@ import com.swirlds.fcmap.FCMap;
 
 public interface AccountsExporter {
 	void toFile(FCMap<MerkleEntityId, MerkleAccount> accounts, String path) throws Exception;
+
+	/**
+	 * Blocks until the accounts given to the last {@link #toFile(FCMap, String)} call
+	 * may change without affecting its export.
+	 *
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	default void awaitSnapshot() throws InterruptedException { }
 }
@@ -0,0 +1,132 @@
+package com.hedera.services.state.initialization;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2020 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.swirlds.common.merkle.MerkleInternal;
+import com.swirlds.common.merkle.MerkleNode;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Digests independent subtrees of the state concurrently on a {@link ForkJoinPool},
+ * so that hashing a large saved state at startup is spread over all the pool's threads.
+ *
+ * <p>Each named subtree (e.g. an {@code FCMap}) is itself split below its top level:
+ * starting from its root, unhashed internal nodes are replaced by their children until
+ * the subtree has about {@link #PARTS_PER_THREAD} parts per pool thread, or only leaves
+ * are left to split. The parts are hashed as separate fork-join tasks, after which a
+ * digest of the subtree root only has to hash the internal nodes above them. So one
+ * large map (usually the accounts) no longer bounds the total time.
+ */
+public class ParallelSubtreeDigest {
+	private static final Logger log = LogManager.getLogger(ParallelSubtreeDigest.class);
+
+	static final int PARTS_PER_THREAD = 4;
+
+	private final ForkJoinPool pool;
+
+	public ParallelSubtreeDigest(ForkJoinPool pool) {
+		this.pool = pool;
+	}
+
+	/**
+	 * Uses the given digest to hash each named subtree that does not already
+	 * have a hash, logging the time spent on each; returns when all are hashed.
+	 *
+	 * <p>The digest must skip nodes that already have a hash, as
+	 * {@code CryptoFactory.getInstance()::digestTreeSync} does.
+	 *
+	 * @param subtrees
+	 * 		the subtrees to hash, by name
+	 * @param digest
+	 * 		the (synchronous) digest to apply to each subtree
+	 */
+	public void digestAll(Map<String, MerkleNode> subtrees, Consumer<MerkleNode> digest) {
+		long start = System.nanoTime();
+		var tasks = new ArrayList<ForkJoinTask<?>>();
+		subtrees.forEach((name, subtree) -> tasks.add(pool.submit(() -> digestTimed(name, subtree, digest))));
+		tasks.forEach(ForkJoinTask::join);
+		log.info("Hashed {} subtrees in {}ms", subtrees.size(), NANOSECONDS.toMillis(System.nanoTime() - start));
+	}
+
+	private void digestTimed(String name, MerkleNode subtree, Consumer<MerkleNode> digest) {
+		if (subtree.getHash() != null) {
+			log.info("  - The {} subtree is already hashed, skipping it", name);
+			return;
+		}
+		long start = System.nanoTime();
+		var parts = partsOf(subtree, pool.getParallelism() * PARTS_PER_THREAD);
+		log.info("  - Hashing the {} subtree in {} parts...", name, parts.size());
+		if (parts.size() > 1) {
+			var tasks = new ArrayList<ForkJoinTask<?>>();
+			for (MerkleNode part : parts) {
+				tasks.add(ForkJoinTask.adapt(() -> digest.accept(part)));
+			}
+			ForkJoinTask.invokeAll(tasks);
+		}
+		digest.accept(subtree);
+		log.info("  - ...hashed the {} subtree in {}ms", name, NANOSECONDS.toMillis(System.nanoTime() - start));
+	}
+
+	/**
+	 * Splits the given unhashed subtree, breadth-first, into at least the target number
+	 * of unhashed parts whose union covers every unhashed node except those above them;
+	 * or into as many parts as it has once only leaves are left to split.
+	 *
+	 * @param root
+	 * 		the subtree to split
+	 * @param target
+	 * 		the number of parts wanted
+	 * @return the unhashed parts
+	 */
+	static List<MerkleNode> partsOf(MerkleNode root, int target) {
+		Deque<MerkleNode> splittable = new ArrayDeque<>();
+		List<MerkleNode> parts = new ArrayList<>();
+		splittable.add(root);
+		while (!splittable.isEmpty() && parts.size() + splittable.size() < target) {
+			var node = splittable.poll();
+			if (node.isLeaf() || !(node instanceof MerkleInternal)) {
+				parts.add(node);
+				continue;
+			}
+			var internal = (MerkleInternal) node;
+			for (int i = 0, n = internal.getNumberOfChildren(); i < n; i++) {
+				MerkleNode child = internal.getChild(i);
+				if (child != null && child.getHash() == null) {
+					splittable.add(child);
+				}
+			}
+		}
+		parts.addAll(splittable);
+		return parts;
+	}
+}
@@ -24,6 +24,7 @@ import com.google.common.base.MoreObjects;
 import com.hedera.services.state.serdes.DomainSerdes;
 import com.hedera.services.state.submerkle.EntityId;
 import com.hedera.services.legacy.core.jproto.JKey;
+import com.hedera.services.state.tiering.MappedColdAccountStore;
 import com.hedera.services.utils.MiscUtils;
 import com.swirlds.common.io.SerializableDataInputStream;
 import com.swirlds.common.io.SerializableDataOutputStream;
@@ -32,12 +33,15 @@ import com.swirlds.common.merkle.utility.AbstractMerkleNode;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.Objects;
 import java.util.Optional;
 
 import static com.hedera.services.context.properties.StandardizedPropertySources.MAX_MEMO_UTF8_BYTES;
 import static com.hedera.services.legacy.core.jproto.JKey.equalUpToDecodability;
+import static com.hedera.services.state.tiering.MappedColdAccountStore.NO_LOCATION;
 
 public class MerkleAccountState extends AbstractMerkleNode implements MerkleLeaf {
 	private static final Logger log = LogManager.getLogger(MerkleAccountState.class);
@@ -49,17 +53,20 @@ public class MerkleAccountState extends AbstractMerkleNode implements MerkleLeaf
 
 	public static final String DEFAULT_MEMO = "";
 
-	private JKey key;
 	private long expiry;
 	private long balance;
 	private long autoRenewSecs;
 	private long senderThreshold;
 	private long receiverThreshold;
-	private String memo = DEFAULT_MEMO;
 	private boolean deleted;
 	private boolean smartContract;
 	private boolean receiverSigRequired;
-	private EntityId proxy;
+	/* The key, memo, and proxy are swapped as a unit, so that a thread reading
+	an account never observes it half-way through a move between tiers. While the
+	account is cold they are null, and only the location of their record remains;
+	while it is hot, the location (if any) names a record that still matches them. */
+	private volatile RefFields refs = new RefFields(null, DEFAULT_MEMO, null);
+	private volatile long coldLocation = NO_LOCATION;
 
 	public MerkleAccountState() { }
 
@@ -76,17 +83,29 @@ public class MerkleAccountState extends AbstractMerkleNode implements MerkleLeaf
 			boolean receiverSigRequired,
 			EntityId proxy
 	) {
-		this.key = key;
 		this.expiry = expiry;
 		this.balance = balance;
 		this.autoRenewSecs = autoRenewSecs;
 		this.senderThreshold = senderThreshold;
 		this.receiverThreshold = receiverThreshold;
-		this.memo = Optional.ofNullable(memo).orElse(DEFAULT_MEMO);
 		this.deleted = deleted;
 		this.smartContract = smartContract;
 		this.receiverSigRequired = receiverSigRequired;
-		this.proxy = proxy;
+		this.refs = new RefFields(key, Optional.ofNullable(memo).orElse(DEFAULT_MEMO), proxy);
+	}
+
+	private MerkleAccountState(MerkleAccountState that) {
+		this.expiry = that.expiry;
+		this.balance = that.balance;
+		this.autoRenewSecs = that.autoRenewSecs;
+		this.senderThreshold = that.senderThreshold;
+		this.receiverThreshold = that.receiverThreshold;
+		this.deleted = that.deleted;
+		this.smartContract = that.smartContract;
+		this.receiverSigRequired = that.receiverSigRequired;
+		/* Read the refs first, since the location is always set before they are cleared. */
+		this.refs = that.refs;
+		this.coldLocation = that.coldLocation;
 	}
 
 	/* --- MerkleLeaf --- */
@@ -102,48 +121,106 @@ public class MerkleAccountState extends AbstractMerkleNode implements MerkleLeaf
 
 	@Override
 	public void deserialize(SerializableDataInputStream in, int version) throws IOException {
-		key = serdes.readNullable(in, serdes::deserializeKey);
+		var key = serdes.readNullable(in, serdes::deserializeKey);
 		expiry = in.readLong();
 		balance = in.readLong();
 		autoRenewSecs = in.readLong();
 		senderThreshold = in.readLong();
 		receiverThreshold = in.readLong();
-		memo = in.readNormalisedString(MAX_MEMO_UTF8_BYTES);
+		var memo = in.readNormalisedString(MAX_MEMO_UTF8_BYTES);
 		deleted = in.readBoolean();
 		smartContract = in.readBoolean();
 		receiverSigRequired = in.readBoolean();
-		proxy = serdes.readNullableSerializable(in);
+		EntityId proxy = serdes.readNullableSerializable(in);
+		refs = new RefFields(key, memo, proxy);
 	}
 
 	@Override
 	public void serialize(SerializableDataOutputStream out) throws IOException {
-		serdes.writeNullable(key, out, serdes::serializeKey);
+		var current = hotRefs();
+		serdes.writeNullable(current.key, out, serdes::serializeKey);
 		out.writeLong(expiry);
 		out.writeLong(balance);
 		out.writeLong(autoRenewSecs);
 		out.writeLong(senderThreshold);
 		out.writeLong(receiverThreshold);
-		out.writeNormalisedString(memo);
+		out.writeNormalisedString(current.memo);
 		out.writeBoolean(deleted);
 		out.writeBoolean(smartContract);
 		out.writeBoolean(receiverSigRequired);
-		serdes.writeNullableSerializable(proxy, out);
+		serdes.writeNullableSerializable(current.proxy, out);
 	}
 
 	/* --- Copyable --- */
 	public MerkleAccountState copy() {
-		return new MerkleAccountState(
-				key,
-				expiry,
-				balance,
-				autoRenewSecs,
-				senderThreshold,
-				receiverThreshold,
-				memo,
-				deleted,
-				smartContract,
-				receiverSigRequired,
-				proxy);
+		return new MerkleAccountState(this);
+	}
+
+	/* --- Tiering --- */
+	/**
+	 * Moves the key, memo, and proxy of this account to the given cold store, leaving
+	 * only its fixed-width fields and the location of their record on the heap. If these
+	 * fields have not changed since they were last written to the same store, the existing
+	 * record is reused.
+	 *
+	 * @param store the cold store to demote to
+	 * @return whether the account is now cold
+	 */
+	public boolean demoteTo(MappedColdAccountStore store) {
+		var current = refs;
+		if (current == null) {
+			return true;
+		}
+		if (!store.owns(coldLocation)) {
+			long location = store.append(current.encode());
+			if (location == NO_LOCATION) {
+				return false;
+			}
+			coldLocation = location;
+		}
+		refs = null;
+		return true;
+	}
+
+	/**
+	 * Restores the key, memo, and proxy of this account to the heap, remembering
+	 * where they came from in case the account is demoted again unchanged.
+	 *
+	 * @return whether the account was cold
+	 */
+	public boolean promote() {
+		if (refs != null) {
+			return false;
+		}
+		refs = RefFields.decode(coldLocation);
+		return true;
+	}
+
+	public boolean isCold() {
+		return refs == null;
+	}
+
+	/**
+	 * Returns the location of the cold record holding this account's key, memo, and
+	 * proxy; or {@link MappedColdAccountStore#NO_LOCATION} if there is none.
+	 */
+	public long coldLocation() {
+		return coldLocation;
+	}
+
+	private RefFields hotRefs() {
+		var current = refs;
+		if (current != null) {
+			return current;
+		}
+		/* A setter clears the location only after replacing the refs. */
+		long location = coldLocation;
+		return (location != NO_LOCATION) ? RefFields.decode(location) : refs;
+	}
+
+	private void setRefs(RefFields changed) {
+		refs = changed;
+		coldLocation = NO_LOCATION;
 	}
 
 	@Override
@@ -156,56 +233,60 @@ public class MerkleAccountState extends AbstractMerkleNode implements MerkleLeaf
 		}
 
 		var that = (MerkleAccountState) o;
+		var theseRefs = this.hotRefs();
+		var thoseRefs = that.hotRefs();
 
 		return this.expiry == that.expiry &&
 				this.balance == that.balance &&
 				this.autoRenewSecs == that.autoRenewSecs &&
 				this.senderThreshold == that.senderThreshold &&
 				this.receiverThreshold == that.receiverThreshold &&
-				Objects.equals(this.memo, that.memo) &&
+				Objects.equals(theseRefs.memo, thoseRefs.memo) &&
 				this.deleted == that.deleted &&
 				this.smartContract == that.smartContract &&
 				this.receiverSigRequired == that.receiverSigRequired &&
-				Objects.equals(this.proxy, that.proxy) &&
-				equalUpToDecodability(this.key, that.key);
+				Objects.equals(theseRefs.proxy, thoseRefs.proxy) &&
+				equalUpToDecodability(theseRefs.key, thoseRefs.key);
 	}
 
 	@Override
 	public int hashCode() {
+		var current = hotRefs();
 		return Objects.hash(
-				key,
+				current.key,
 				expiry,
 				balance,
 				autoRenewSecs,
 				senderThreshold,
 				receiverThreshold,
-				memo,
+				current.memo,
 				deleted,
 				smartContract,
 				receiverSigRequired,
-				proxy);
+				current.proxy);
 	}
 
 	/* --- Bean --- */
 	@Override
 	public String toString() {
+		var current = hotRefs();
 		return MoreObjects.toStringHelper(this)
-				.add("key", MiscUtils.describe(key))
+				.add("key", MiscUtils.describe(current.key))
 				.add("expiry", expiry)
 				.add("balance", balance)
 				.add("autoRenewSecs", autoRenewSecs)
 				.add("senderThreshold", senderThreshold)
 				.add("receiverThreshold", receiverThreshold)
-				.add("memo", memo)
+				.add("memo", current.memo)
 				.add("deleted", deleted)
 				.add("smartContract", smartContract)
 				.add("receiverSigRequired", receiverSigRequired)
-				.add("proxy", proxy)
+				.add("proxy", current.proxy)
 				.toString();
 	}
 
 	public JKey key() {
-		return key;
+		return hotRefs().key;
 	}
 
 	public long expiry() {
@@ -229,7 +310,7 @@ public class MerkleAccountState extends AbstractMerkleNode implements MerkleLeaf
 	}
 
 	public String memo() {
-		return memo;
+		return hotRefs().memo;
 	}
 
 	public boolean isDeleted() {
@@ -245,11 +326,12 @@ public class MerkleAccountState extends AbstractMerkleNode implements MerkleLeaf
 	}
 
 	public EntityId proxy() {
-		return proxy;
+		return hotRefs().proxy;
 	}
 
 	public void setKey(JKey key) {
-		this.key = key;
+		var current = hotRefs();
+		setRefs(new RefFields(key, current.memo, current.proxy));
 	}
 
 	public void setExpiry(long expiry) {
@@ -273,7 +355,8 @@ public class MerkleAccountState extends AbstractMerkleNode implements MerkleLeaf
 	}
 
 	public void setMemo(String memo) {
-		this.memo = memo;
+		var current = hotRefs();
+		setRefs(new RefFields(current.key, memo, current.proxy));
 	}
 
 	public void setDeleted(boolean deleted) {
@@ -289,6 +372,54 @@ public class MerkleAccountState extends AbstractMerkleNode implements MerkleLeaf
 	}
 
 	public void setProxy(EntityId proxy) {
-		this.proxy = proxy;
+		var current = hotRefs();
+		setRefs(new RefFields(current.key, current.memo, proxy));
+	}
+
+	/**
+	 * The reference-typed fields of an account, as held on the heap while it is hot.
+	 */
+	private static final class RefFields {
+		private final JKey key;
+		private final String memo;
+		private final EntityId proxy;
+
+		RefFields(JKey key, String memo, EntityId proxy) {
+			this.key = key;
+			this.memo = memo;
+			this.proxy = proxy;
+		}
+
+		byte[] encode() {
+			var baos = new ByteArrayOutputStream();
+			try (var out = new SerializableDataOutputStream(baos)) {
+				serdes.writeNullable(key, out, serdes::serializeKey);
+				out.writeNormalisedString(memo);
+				out.writeBoolean(proxy != null);
+				if (proxy != null) {
+					proxy.serialize(out);
+				}
+			} catch (IOException e) {
+				throw new IllegalStateException("Unable to encode account fields for the cold tier!", e);
+			}
+			return baos.toByteArray();
+		}
+
+		static RefFields decode(long location) {
+			var record = MappedColdAccountStore.read(location);
+			try (var in = new SerializableDataInputStream(new ByteArrayInputStream(record))) {
+				var key = serdes.readNullable(in, serdes::deserializeKey);
+				var memo = in.readNormalisedString(MAX_MEMO_UTF8_BYTES);
+				EntityId proxy = null;
+				if (in.readBoolean()) {
+					proxy = new EntityId();
+					proxy.deserialize(in, proxy.getVersion());
+				}
+				return new RefFields(key, memo, proxy);
+			} catch (IOException e) {
+				throw new IllegalStateException(
+						String.format("Unable to decode account fields from cold location %d!", location), e);
+			}
+		}
 	}
 }
@@ -79,6 +79,8 @@ public class ExpirableTxnRecord implements FCQueueElement<ExpirableTxnRecord> {
 	private SolidityFnResult contractCreateResult;
 	private TxnReceipt receipt;
 
+	private volatile TransactionRecord grpc;
+
 	@Deprecated
 	public static class Provider implements SerializedObjectProvider<ExpirableTxnRecord> {
 		@Override
@@ -252,6 +254,7 @@ public class ExpirableTxnRecord implements FCQueueElement<ExpirableTxnRecord> {
 		contractCallResult = serdes.readNullableSerializable(in);
 		contractCreateResult = serdes.readNullableSerializable(in);
 		expiry = in.readLong();
+		grpc = null;
 	}
 
 	@Override
@@ -381,7 +384,24 @@ public class ExpirableTxnRecord implements FCQueueElement<ExpirableTxnRecord> {
 				.collect(toList());
 	}
 
+	/**
+	 * Returns the gRPC form of this record, building it on first use. Since every
+	 * field in the gRPC form is fixed once the record is constructed or deserialized,
+	 * the built message (which also memoizes its serialized size) can be shared by
+	 * the record stream, the record cache, and all subsequent record queries.
+	 *
+	 * @return the gRPC form of this record
+	 */
 	public TransactionRecord asGrpc() {
+		var result = grpc;
+		if (result == null) {
+			result = newGrpc();
+			grpc = result;
+		}
+		return result;
+	}
+
+	private TransactionRecord newGrpc() {
 		var grpc = TransactionRecord.newBuilder();
 
 		grpc.setTransactionFee(fee);
@@ -0,0 +1,352 @@
+package com.hedera.services.state.tiering;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2020 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+import static java.nio.channels.FileChannel.MapMode.READ_WRITE;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * A node-local, memory-mapped store of fixed-size records, used to hold the
+ * reference-typed fields of accounts that have been demoted to the cold tier.
+ *
+ * Each record occupies {@link #RECORD_BYTES} bytes; its first four bytes are the
+ * length of the payload that follows. A record is named by a <i>location</i> that
+ * packs the id of its store together with its slot, so a cold account needs only
+ * this one primitive on the heap to find its fields again.
+ *
+ * Records no longer referenced by the working state are found by a {@link #sweep(Consumer)};
+ * but since an immutable copy of the state may still read them, their slots are only
+ * reused after every state copy opened before the sweep has been closed (see
+ * {@link #openEpoch()}). Trailing segments left without records are unmapped, and
+ * cut from the end of the file.
+ *
+ * The file is not truncated on open, but its existing contents are ignored, since
+ * every account deserialized from a saved state begins life in the hot tier. It is
+ * locked for the lifetime of the store, so two nodes can never share one file.
+ *
+ * Writes are serialized on the store's monitor, but reads are safe from any thread.
+ */
+public class MappedColdAccountStore {
+	private static final Logger log = LogManager.getLogger(MappedColdAccountStore.class);
+
+	public static final long NO_LOCATION = -1L;
+	public static final int RECORD_BYTES = 256;
+	public static final int MAX_PAYLOAD_BYTES = RECORD_BYTES - Integer.BYTES;
+
+	static final int RECORDS_PER_SEGMENT = 1 << 16;
+	static final long SEGMENT_BYTES = (long) RECORDS_PER_SEGMENT * RECORD_BYTES;
+	static final int SLOT_BITS = 48;
+	static final long SLOT_MASK = (1L << SLOT_BITS) - 1;
+	static final int MAX_OPEN_STORES = 1 << 8;
+
+	private static final AtomicReferenceArray<MappedColdAccountStore> openStores =
+			new AtomicReferenceArray<>(MAX_OPEN_STORES);
+
+	private final int id;
+	private final Path path;
+	private final FileChannel channel;
+	private final FileLock lock;
+
+	private volatile int nextSlot = 0;
+	private volatile MappedByteBuffer[] segments = new MappedByteBuffer[0];
+
+	/* Slot bookkeeping; only touched while holding this store's monitor. */
+	private final BitSet free = new BitSet();
+	private final TreeSet<Long> openEpochs = new TreeSet<>();
+	private final Deque<RetiredSlots> quarantined = new ArrayDeque<>();
+	private int[] liveRecords = new int[0];
+	private int lowestFree = 0;
+	private long epochsOpened = 0L;
+	private long appendsSinceSweep = 0L;
+	private long liveAfterSweep = 0L;
+
+	public MappedColdAccountStore(Path path) {
+		this.path = path;
+		try {
+			Files.createDirectories(path.toAbsolutePath().getParent());
+			channel = FileChannel.open(path, CREATE, READ, WRITE);
+		} catch (IOException e) {
+			throw new IllegalStateException(String.format("Cannot open cold account store '%s'!", path), e);
+		}
+		lock = lockOrClose(channel, path);
+		id = register(this);
+		log.info("Cold account tier will be mapped from '{}'", path);
+	}
+
+	/**
+	 * Reads the payload of the record at the given location, in whichever
+	 * open store it belongs to.
+	 *
+	 * @param location a location previously returned by {@link #append(byte[])}
+	 * @return the stored payload
+	 */
+	public static byte[] read(long location) {
+		var store = (location < 0) ? null : openStores.get((int) (location >>> SLOT_BITS));
+		if (store == null) {
+			throw new IllegalArgumentException(String.format("No open cold account store for location %d!", location));
+		}
+		return store.readSlot((int) (location & SLOT_MASK));
+	}
+
+	/**
+	 * Writes the given payload to a free slot, if it fits; preferring the lowest
+	 * reclaimed slot, so that trailing segments can empty out.
+	 *
+	 * @param payload the bytes to store
+	 * @return the location of the new record, or {@link #NO_LOCATION} if the payload is too large
+	 */
+	public synchronized long append(byte[] payload) {
+		if (payload.length > MAX_PAYLOAD_BYTES) {
+			return NO_LOCATION;
+		}
+		int slot = free.nextSetBit(lowestFree);
+		if (slot < 0) {
+			slot = nextSlot;
+			if (slot / RECORDS_PER_SEGMENT == segments.length) {
+				mapSegment(segments.length);
+			}
+		} else {
+			free.clear(slot);
+		}
+		lowestFree = slot + 1;
+
+		var record = recordAt(slot);
+		record.putInt(payload.length);
+		record.put(payload);
+		liveRecords[slot / RECORDS_PER_SEGMENT]++;
+		appendsSinceSweep++;
+		if (slot == nextSlot) {
+			nextSlot = slot + 1;
+		}
+		return ((long) id << SLOT_BITS) | slot;
+	}
+
+	public boolean owns(long location) {
+		return location >= 0 && (location >>> SLOT_BITS) == id;
+	}
+
+	/**
+	 * Marks the start of a state copy that may read any record currently in the
+	 * store; records retired from now on keep their slots until it is closed.
+	 *
+	 * @return the epoch to close when the copy is released
+	 */
+	public synchronized long openEpoch() {
+		openEpochs.add(++epochsOpened);
+		return epochsOpened;
+	}
+
+	public synchronized void closeEpoch(long epoch) {
+		if (openEpochs.remove(epoch)) {
+			reclaim();
+		}
+	}
+
+	/**
+	 * Indicates if enough records were appended since the last sweep to make another
+	 * worthwhile; that is, at least as many as were live after it, so that sweeping
+	 * costs amortized constant time per append.
+	 */
+	public synchronized boolean isDueForSweep() {
+		return appendsSinceSweep >= Math.max(RECORDS_PER_SEGMENT, liveAfterSweep);
+	}
+
+	/**
+	 * Retires every record whose location is not reported by the given enumeration
+	 * of the working state, and reclaims any retired slots that are now safe to reuse.
+	 *
+	 * @param liveLocations reports the location of every record the working state still uses
+	 * @return the number of records retired
+	 */
+	public synchronized int sweep(Consumer<LongConsumer> liveLocations) {
+		var unused = new BitSet(nextSlot);
+		unused.set(0, nextSlot);
+		unused.andNot(free);
+		for (var retired : quarantined) {
+			for (int slot : retired.slots) {
+				unused.clear(slot);
+			}
+		}
+		liveLocations.accept(location -> {
+			if (owns(location)) {
+				unused.clear((int) (location & SLOT_MASK));
+			}
+		});
+
+		int numRetired = unused.cardinality();
+		if (numRetired > 0) {
+			quarantined.add(new RetiredSlots(epochsOpened, unused.stream().toArray()));
+		}
+		appendsSinceSweep = 0L;
+		liveAfterSweep = recordsInUse() - numRetired;
+		reclaim();
+		log.debug("Swept {} unused records from cold account store '{}'", numRetired, path);
+		return numRetired;
+	}
+
+	/**
+	 * Counts the records that are still readable, including those retired but not
+	 * yet reclaimed.
+	 */
+	public synchronized long recordsInUse() {
+		return Arrays.stream(liveRecords).asLongStream().sum();
+	}
+
+	public int segmentsMapped() {
+		return segments.length;
+	}
+
+	public synchronized void close() {
+		openStores.compareAndSet(id, this, null);
+		segments = new MappedByteBuffer[0];
+		try {
+			lock.release();
+			channel.close();
+		} catch (IOException e) {
+			log.warn("Unable to close cold account store cleanly", e);
+		}
+	}
+
+	private void reclaim() {
+		long oldestOpen = openEpochs.isEmpty() ? Long.MAX_VALUE : openEpochs.first();
+		while (!quarantined.isEmpty() && quarantined.peek().epoch < oldestOpen) {
+			for (int slot : quarantined.poll().slots) {
+				free.set(slot);
+				liveRecords[slot / RECORDS_PER_SEGMENT]--;
+				lowestFree = Math.min(lowestFree, slot);
+			}
+		}
+		unmapEmptyTrailingSegments();
+	}
+
+	private void unmapEmptyTrailingSegments() {
+		int keep = segments.length;
+		while (keep > 0 && liveRecords[keep - 1] == 0) {
+			keep--;
+		}
+		if (keep == segments.length) {
+			return;
+		}
+		int newNextSlot = keep * RECORDS_PER_SEGMENT;
+		free.clear(newNextSlot, Math.max(newNextSlot, nextSlot));
+		nextSlot = Math.min(nextSlot, newNextSlot);
+		/* Once unreachable, the dropped buffers are unmapped by their cleaners. */
+		segments = Arrays.copyOf(segments, keep);
+		liveRecords = Arrays.copyOf(liveRecords, keep);
+		try {
+			channel.truncate(keep * SEGMENT_BYTES);
+		} catch (IOException e) {
+			log.warn("Unable to shrink cold account store '{}'", path, e);
+		}
+	}
+
+	private byte[] readSlot(int slot) {
+		if (slot >= nextSlot) {
+			throw new IllegalArgumentException(String.format("No cold account record in slot %d!", slot));
+		}
+		var record = recordAt(slot);
+		var payload = new byte[record.getInt()];
+		record.get(payload);
+		return payload;
+	}
+
+	private ByteBuffer recordAt(int slot) {
+		var record = segments[slot / RECORDS_PER_SEGMENT].duplicate();
+		record.position((slot % RECORDS_PER_SEGMENT) * RECORD_BYTES);
+		return record;
+	}
+
+	private void mapSegment(int segment) {
+		try {
+			var mapped = channel.map(READ_WRITE, segment * SEGMENT_BYTES, SEGMENT_BYTES);
+			liveRecords = Arrays.copyOf(liveRecords, segment + 1);
+			var grown = Arrays.copyOf(segments, segment + 1);
+			grown[segment] = mapped;
+			segments = grown;
+		} catch (IOException e) {
+			throw new IllegalStateException(String.format("Cannot map cold account segment %d!", segment), e);
+		}
+	}
+
+	private static FileLock lockOrClose(FileChannel channel, Path path) {
+		FileLock lock = null;
+		try {
+			lock = channel.tryLock();
+		} catch (IOException | OverlappingFileLockException ignore) {
+			/* Reported below. */
+		}
+		if (lock == null) {
+			closeQuietly(channel);
+			throw new IllegalStateException(String.format("Cold account store '%s' is already in use!", path));
+		}
+		return lock;
+	}
+
+	private static int register(MappedColdAccountStore store) {
+		for (int i = 0; i < MAX_OPEN_STORES; i++) {
+			if (openStores.compareAndSet(i, null, store)) {
+				return i;
+			}
+		}
+		closeQuietly(store.channel);
+		throw new IllegalStateException(String.format("Cannot open more than %d cold account stores!", MAX_OPEN_STORES));
+	}
+
+	private static void closeQuietly(FileChannel channel) {
+		try {
+			channel.close();
+		} catch (IOException ignore) {
+			/* Already failing. */
+		}
+	}
+
+	private static final class RetiredSlots {
+		private final long epoch;
+		private final int[] slots;
+
+		RetiredSlots(long epoch, int[] slots) {
+			this.epoch = epoch;
+			this.slots = slots;
+		}
+	}
+}
@@ -88,6 +88,15 @@ public class BucketThrottling implements FunctionalityThrottling {
 		}
 	}
 
+	/**
+	 * Returns a read-only view of the capacity test currently in force for each functionality.
+	 *
+	 * @return the capacity tests by functionality
+	 */
+	public Map<HederaFunctionality, CapacityTest> capacities() {
+		return Collections.unmodifiableMap(capacities);
+	}
+
 	public void rebuild() {
 		var throttleProps = getThrottleProps.apply(properties, book.getSize());
 		var config = getBuckets.apply(throttleProps);
@@ -66,6 +66,14 @@ public class BucketThrottle {
 		return name;
 	}
 
+	public double tps() {
+		return primary.getTps();
+	}
+
+	public double burstPeriod() {
+		return primary.getBurstPeriod();
+	}
+
 	@Override
 	public String toString() {
 		var helper = MoreObjects.toStringHelper("Bucket");
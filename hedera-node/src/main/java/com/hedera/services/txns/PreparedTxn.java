@@ -0,0 +1,89 @@
+package com.hedera.services.txns;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2020 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.utils.PlatformTxnAccessor;
+import com.hederahashgraph.api.proto.java.ResponseCodeEnum;
+
+import java.util.Optional;
+
+/**
+ * The result of preparing a consensus txn for handling: its accessor (with
+ * hash and functionality already computed); the {@link TransitionLogic} that
+ * applies to it; and, if that logic has a state-independent syntax check, the
+ * status of the check as of a given generation of the dynamic properties.
+ *
+ * @see TxnPreparation
+ */
+public class PreparedTxn {
+	private final PlatformTxnAccessor accessor;
+	private final Optional<TransitionLogic> transitionLogic;
+	private final ResponseCodeEnum syntaxStatus;
+	private final long propertiesGeneration;
+
+	PreparedTxn(
+			PlatformTxnAccessor accessor,
+			Optional<TransitionLogic> transitionLogic,
+			ResponseCodeEnum syntaxStatus,
+			long propertiesGeneration
+	) {
+		this.accessor = accessor;
+		this.syntaxStatus = syntaxStatus;
+		this.transitionLogic = transitionLogic;
+		this.propertiesGeneration = propertiesGeneration;
+	}
+
+	static PreparedTxn unprepared(PlatformTxnAccessor accessor) {
+		return new PreparedTxn(accessor, null, null, -1L);
+	}
+
+	public PlatformTxnAccessor accessor() {
+		return accessor;
+	}
+
+	public boolean isPrepared() {
+		return transitionLogic != null;
+	}
+
+	/**
+	 * Returns the transition logic that applies to the txn; looking it up now
+	 * if the txn was not prepared.
+	 *
+	 * @param lookup the lookup to use if the txn was not prepared
+	 * @return the applicable transition logic, if any
+	 */
+	public Optional<TransitionLogic> transitionLogicOr(TransitionLogicLookup lookup) {
+		return (transitionLogic != null) ? transitionLogic : lookup.lookupFor(accessor.getTxn());
+	}
+
+	/**
+	 * Returns the status of the txn's syntax check, if it was evaluated during
+	 * preparation and the dynamic properties have not changed since.
+	 *
+	 * @param currentGeneration the current generation of the dynamic properties
+	 * @return the syntax check status, if still valid
+	 */
+	public Optional<ResponseCodeEnum> syntaxStatusAsOf(long currentGeneration) {
+		return (syntaxStatus != null && propertiesGeneration == currentGeneration)
+				? Optional.of(syntaxStatus)
+				: Optional.empty();
+	}
+}
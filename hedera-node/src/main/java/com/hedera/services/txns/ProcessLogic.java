@@ -45,4 +45,10 @@ public interface ProcessLogic {
 	 * @param submittingMember the id of the member that submitted the txn
 	 */
 	void incorporateConsensusTxn(Transaction platformTxn, Instant consensusTime, long submittingMember);
+
+	/**
+	 * Finishes incorporating any consensus transactions whose processing was
+	 * deferred, so that the state reflects every transaction given so far.
+	 */
+	default void flush() { }
 }
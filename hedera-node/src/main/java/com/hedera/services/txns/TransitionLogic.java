@@ -70,4 +70,15 @@ public interface TransitionLogic {
 	 * @return a syntax check functional.
 	 */
 	Function<TransactionBody, ResponseCodeEnum> syntaxCheck();
+
+	/**
+	 * Indicates whether the syntax check depends only on the txn and the
+	 * dynamic properties; so that it may be evaluated before consensus, off
+	 * the handle thread, and re-used unless the properties change meanwhile.
+	 *
+	 * @return whether the syntax check is independent of the state.
+	 */
+	default boolean hasStateIndependentSyntaxCheck() {
+		return false;
+	}
 }
@@ -0,0 +1,144 @@
+package com.hedera.services.txns;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2020 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.hedera.services.context.properties.GlobalDynamicProperties;
+import com.hedera.services.utils.PlatformTxnAccessor;
+import com.hederahashgraph.api.proto.java.ResponseCodeEnum;
+import com.swirlds.common.Transaction;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Does the state-independent work of handling a consensus txn ahead of time,
+ * on whichever platform thread calls {@code expandSignatures}; so that the
+ * handle thread only has to do the work that depends on the evolving state.
+ *
+ * A prepared txn is keyed by the identity of its platform txn until the
+ * handle thread {@link #take(Transaction)}s it. At most {@code maxPending}
+ * txns are kept; past that, the oldest are dropped first (say, because they
+ * were in events that never reached consensus), and the handle thread will
+ * simply do the work itself for any of them it later meets. With a
+ * {@code maxPending} of zero, nothing is kept.
+ *
+ * Since the syntax checks of some transition logic consult the dynamic
+ * properties, every prepared syntax check is tagged with the generation of
+ * the properties it saw, and only re-used if no reload has happened since.
+ */
+public class TxnPreparation {
+	private static final Logger log = LogManager.getLogger(TxnPreparation.class);
+
+	private final int maxPending;
+	private final TransitionLogicLookup lookup;
+	private final AtomicLong propertiesGeneration = new AtomicLong();
+	private final Map<Identity, PreparedTxn> prepared = Collections.synchronizedMap(new LinkedHashMap<>() {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Identity, PreparedTxn> eldest) {
+			return size() > maxPending;
+		}
+	});
+
+	public TxnPreparation(TransitionLogicLookup lookup, GlobalDynamicProperties dynamicProperties, int maxPending) {
+		this.lookup = lookup;
+		this.maxPending = maxPending;
+		dynamicProperties.addListener(propertiesGeneration::incrementAndGet);
+	}
+
+	/**
+	 * Completes the preparation of the given (already parsed) txn, and keeps the
+	 * result for the handle thread.
+	 *
+	 * @param accessor the accessor of the platform txn to prepare
+	 */
+	public void prepare(PlatformTxnAccessor accessor) {
+		if (maxPending < 1) {
+			return;
+		}
+		long generation = propertiesGeneration.get();
+		accessor.getHash();
+		accessor.getFunction();
+
+		Optional<TransitionLogic> transitionLogic;
+		ResponseCodeEnum syntaxStatus = null;
+		try {
+			transitionLogic = lookup.lookupFor(accessor.getTxn());
+			if (transitionLogic.isPresent() && transitionLogic.get().hasStateIndependentSyntaxCheck()) {
+				syntaxStatus = transitionLogic.get().syntaxCheck().apply(accessor.getTxn());
+			}
+		} catch (Exception unexpected) {
+			/* Leave it to the handle thread to meet the same failure. */
+			log.debug("Could not prepare {}", accessor.getSignedTxn4Log(), unexpected);
+			return;
+		}
+
+		prepared.put(
+				new Identity(accessor.getPlatformTxn()),
+				new PreparedTxn(accessor, transitionLogic, syntaxStatus, generation));
+	}
+
+	/**
+	 * Returns the preparation of the given platform txn, if it was prepared;
+	 * or else an unprepared wrapper of a newly parsed accessor.
+	 *
+	 * @param platformTxn the consensus txn to handle
+	 * @return its preparation
+	 * @throws InvalidProtocolBufferException if the txn is not a gRPC txn
+	 */
+	public PreparedTxn take(Transaction platformTxn) throws InvalidProtocolBufferException {
+		PreparedTxn preparation = (maxPending < 1) ? null : prepared.remove(new Identity(platformTxn));
+		return (preparation != null)
+				? preparation
+				: PreparedTxn.unprepared(new PlatformTxnAccessor(platformTxn));
+	}
+
+	public long propertiesGeneration() {
+		return propertiesGeneration.get();
+	}
+
+	int numPending() {
+		return prepared.size();
+	}
+
+	private static class Identity {
+		private final Transaction platformTxn;
+
+		private Identity(Transaction platformTxn) {
+			this.platformTxn = platformTxn;
+		}
+
+		@Override
+		public int hashCode() {
+			return System.identityHashCode(platformTxn);
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			return o instanceof Identity && ((Identity) o).platformTxn == platformTxn;
+		}
+	}
+}
@@ -116,4 +116,9 @@ public class SubmitMessageTransitionLogic implements TransitionLogic {
 	public Function<TransactionBody, ResponseCodeEnum> syntaxCheck() {
 		return SYNTAX_RUBBER_STAMP;
 	}
+
+	@Override
+	public boolean hasStateIndependentSyntaxCheck() {
+		return true;
+	}
 }
@@ -69,20 +69,23 @@ public class CryptoTransferTransitionLogic implements TransitionLogic {
 
 	@Override
 	public void doStateTransition() {
-		try {
-			CryptoTransferTransactionBody op = txnCtx.accessor().getTxn().getCryptoTransfer();
+		CryptoTransferTransactionBody op = txnCtx.accessor().getTxn().getCryptoTransfer();
 
-			ledger.doTransfers(op.getTransfers());
+		txnCtx.setStatus(transferIn(ledger, op.getTransfers()));
+	}
 
-			txnCtx.setStatus(SUCCESS);
+	static ResponseCodeEnum transferIn(HederaLedger ledger, TransferList transfers) {
+		try {
+			ledger.doTransfers(transfers);
+			return SUCCESS;
 		} catch (MissingAccountException mae) {
-			txnCtx.setStatus(ACCOUNT_ID_DOES_NOT_EXIST);
+			return ACCOUNT_ID_DOES_NOT_EXIST;
 		} catch (DeletedAccountException aide) {
-			txnCtx.setStatus(ACCOUNT_DELETED);
+			return ACCOUNT_DELETED;
 		} catch (InsufficientFundsException ife) {
-			txnCtx.setStatus(INSUFFICIENT_ACCOUNT_BALANCE);
+			return INSUFFICIENT_ACCOUNT_BALANCE;
 		} catch (Exception e) {
-			txnCtx.setStatus(FAIL_INVALID);
+			return FAIL_INVALID;
 		}
 	}
 
@@ -96,6 +99,11 @@ public class CryptoTransferTransitionLogic implements TransitionLogic {
 		return SYNTAX_CHECK;
 	}
 
+	@Override
+	public boolean hasStateIndependentSyntaxCheck() {
+		return true;
+	}
+
 	private ResponseCodeEnum validate(TransactionBody cryptoTransferTxn) {
 		CryptoTransferTransactionBody op = cryptoTransferTxn.getCryptoTransfer();
 		TransferList accountAmounts = op.getTransfers();
@@ -0,0 +1,286 @@
+package com.hedera.services.txns.crypto;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2020 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+
+import com.hedera.services.context.properties.PropertySource;
+import com.hedera.services.fees.FeeExemptions;
+import com.hedera.services.fees.charging.ItemizableFeeCharging;
+import com.hedera.services.fees.charging.TxnFeeChargingPolicy;
+import com.hedera.services.ledger.HederaLedger;
+import com.hedera.services.ledger.TransactionalLedger;
+import com.hedera.services.ledger.accounts.BackingAccounts;
+import com.hedera.services.ledger.properties.AccountProperty;
+import com.hedera.services.ledger.properties.ChangeSummaryManager;
+import com.hedera.services.state.merkle.MerkleAccount;
+import com.hederahashgraph.api.proto.java.AccountAmount;
+import com.hederahashgraph.api.proto.java.AccountID;
+import com.hederahashgraph.api.proto.java.ResponseCodeEnum;
+import com.hederahashgraph.api.proto.java.TransferList;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static com.hedera.services.ledger.HederaLedger.ACCOUNT_ID_COMPARATOR;
+import static com.hedera.services.ledger.ids.ExceptionalEntityIdSource.NOOP_ID_SOURCE;
+import static com.hedera.services.records.NoopRecordsHistorian.NOOP_RECORDS_HISTORIAN;
+import static com.hedera.services.txns.crypto.CryptoTransferTransitionLogic.transferIn;
+import static com.hedera.services.txns.diligence.NoopDuplicateClassifier.NOOP_DUPLICATE_CLASSIFIER;
+import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.OK;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Evaluates the ledger effects of a batch of consecutive CryptoTransfers (that is,
+ * charging each its fee per the {@link TxnFeeChargingPolicy}, and then doing its
+ * transfers), without changing any accounts; the handle pipeline then uses each
+ * evaluation in place of charging and transferring, if the evaluation is still
+ * exact when the transfer's turn comes (see {@link PendingTransfer#isExactFor}).
+ *
+ * The accounts the batch can touch are first copied into a {@link TransferSnapshot}
+ * on the calling thread. In {@link Mode#SERIAL} mode the transfers are then simply
+ * evaluated one after the other, in consensus order. In {@link Mode#PARALLEL} mode
+ * they are split into the waves of a {@link TransferSchedule}; the transfers in a
+ * wave are evaluated concurrently, each in an isolated ledger over the snapshot,
+ * and the snapshot is advanced by their net transfers before the next wave starts.
+ * Hence both modes give each transfer that stays inside its footprint the same evaluation.
+ *
+ * A transfer whose evaluation strayed outside its {@link TransferFootprint} is
+ * evaluated again, alone, after the rest of its wave. A transfer that cannot be
+ * evaluated at all (say, because its worker failed) is left unevaluated, and so is
+ * handled just as if there were no executor.
+ *
+ * Records are not part of these effects, and neither are the checks the
+ * handle pipeline makes before charging fees (signatures, duplicates, node
+ * due diligence).
+ */
+public class ParallelTransferExecutor {
+	private static final Logger log = LogManager.getLogger(ParallelTransferExecutor.class);
+
+	public enum Mode {
+		SERIAL, PARALLEL
+	}
+
+	private final Mode mode;
+	private final ExecutorService workers;
+	private final FeeExemptions exemptions;
+	private final PropertySource properties;
+	private final TxnFeeChargingPolicy chargingPolicy;
+
+	public ParallelTransferExecutor(
+			Mode mode,
+			ExecutorService workers,
+			FeeExemptions exemptions,
+			PropertySource properties,
+			TxnFeeChargingPolicy chargingPolicy
+	) {
+		this.mode = mode;
+		this.workers = workers;
+		this.exemptions = exemptions;
+		this.properties = properties;
+		this.chargingPolicy = chargingPolicy;
+	}
+
+	/**
+	 * Evaluates the given transfers against the given accounts, which are only
+	 * read, and only from the calling thread.
+	 *
+	 * @param batch the transfers to evaluate, in consensus order
+	 * @param accounts the accounts they will be handled against
+	 */
+	public void evaluate(List<PendingTransfer> batch, BackingAccounts<AccountID, MerkleAccount> accounts) {
+		AccountID funding = properties.getAccountProperty("ledger.funding.account");
+		List<TransferFootprint> footprints = batch.stream()
+				.map(transfer -> TransferFootprint.of(transfer.accessor(), funding))
+				.collect(toList());
+		TransferSnapshot snapshot = TransferSnapshot.of(accounts, footprints);
+
+		for (List<Integer> wave : wavesOf(footprints)) {
+			List<Evaluation> evaluations = (wave.size() == 1)
+					? Collections.singletonList(evaluateInIsolation(batch.get(wave.get(0)), snapshot))
+					: evaluateConcurrently(wave, batch, snapshot);
+			List<Integer> strays = new ArrayList<>();
+			for (int i = 0, n = wave.size(); i < n; i++) {
+				int index = wave.get(i);
+				Evaluation evaluation = evaluations.get(i);
+				if (evaluation != null && footprints.get(index).permits(evaluation.netTransfers.getAccountAmountsList())) {
+					resolve(batch.get(index), evaluation, debitedBalancesIn(snapshot, footprints.get(index), evaluation));
+				} else {
+					strays.add(index);
+				}
+			}
+			advance(snapshot, wave, batch);
+			for (int index : strays) {
+				reevaluateAfterWave(batch.get(index), footprints.get(index), snapshot);
+			}
+		}
+	}
+
+	/* A transfer that strayed outside its footprint (say, by leaving the node to pay the
+	network fee) may have raced with the other transfers in its wave; so it is evaluated
+	again, alone, once their effects are in the snapshot. Whether this evaluation is still
+	exact at its turn in consensus order is checked then, as for any other. */
+	private void reevaluateAfterWave(PendingTransfer transfer, TransferFootprint footprint, TransferSnapshot snapshot) {
+		Evaluation evaluation = evaluateInIsolation(transfer, snapshot);
+		if (evaluation != null) {
+			resolve(transfer, evaluation, debitedBalancesIn(snapshot, footprint, evaluation));
+			snapshot.advanceBy(evaluation.netTransfers);
+		}
+	}
+
+	private void advance(TransferSnapshot snapshot, List<Integer> wave, List<PendingTransfer> batch) {
+		for (int index : wave) {
+			PendingTransfer transfer = batch.get(index);
+			if (transfer.isEvaluated()) {
+				snapshot.advanceBy(transfer.netTransfers());
+			}
+		}
+	}
+
+	private void resolve(PendingTransfer transfer, Evaluation evaluation, Map<AccountID, Long> debitedBalancesSeen) {
+		transfer.resolve(
+				evaluation.status,
+				evaluation.netTransfers,
+				evaluation.wasCharged,
+				evaluation.feesChargedToPayer,
+				debitedBalancesSeen);
+	}
+
+	private List<List<Integer>> wavesOf(List<TransferFootprint> footprints) {
+		if (mode == Mode.SERIAL) {
+			return IntStream.range(0, footprints.size()).mapToObj(List::of).collect(toList());
+		}
+		return TransferSchedule.wavesOf(footprints);
+	}
+
+	private Map<AccountID, Long> debitedBalancesIn(
+			TransferSnapshot snapshot,
+			TransferFootprint footprint,
+			Evaluation evaluation
+	) {
+		Map<AccountID, Long> balances = new HashMap<>();
+		footprint.debited().forEach(id -> balances.put(id, snapshot.balanceOf(id)));
+		for (AccountAmount adjustment : evaluation.netTransfers.getAccountAmountsList()) {
+			if (adjustment.getAmount() < 0) {
+				balances.put(adjustment.getAccountID(), snapshot.balanceOf(adjustment.getAccountID()));
+			}
+		}
+		return balances;
+	}
+
+	private List<Evaluation> evaluateConcurrently(
+			List<Integer> wave,
+			List<PendingTransfer> batch,
+			TransferSnapshot snapshot
+	) {
+		List<Callable<Evaluation>> tasks = wave.stream()
+				.map(index -> (Callable<Evaluation>) () -> evaluateInIsolation(batch.get(index), snapshot))
+				.collect(toList());
+		List<Evaluation> evaluations = new ArrayList<>(tasks.size());
+		try {
+			for (Future<Evaluation> evaluation : workers.invokeAll(tasks)) {
+				evaluations.add(outcomeOf(evaluation));
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		while (evaluations.size() < tasks.size()) {
+			evaluations.add(null);
+		}
+		return evaluations;
+	}
+
+	private Evaluation outcomeOf(Future<Evaluation> evaluation) throws InterruptedException {
+		try {
+			return evaluation.get();
+		} catch (ExecutionException e) {
+			log.warn("Could not evaluate a transfer, will handle it as usual", e.getCause());
+			return null;
+		}
+	}
+
+	private Evaluation evaluateInIsolation(PendingTransfer transfer, TransferSnapshot snapshot) {
+		TransferSnapshot.View view = snapshot.view();
+		HederaLedger isolated = ledgerOver(view);
+		ItemizableFeeCharging charging = new ItemizableFeeCharging(exemptions, properties);
+		charging.setLedger(isolated);
+		charging.resetFor(transfer.accessor());
+
+		isolated.begin();
+		try {
+			ResponseCodeEnum chargingStatus = chargingPolicy.apply(charging, transfer.fee());
+			ResponseCodeEnum status = (chargingStatus == OK)
+					? transferIn(isolated, transfer.accessor().getTxn().getCryptoTransfer().getTransfers())
+					: chargingStatus;
+			if (view.readOutside()) {
+				return null;
+			}
+			return new Evaluation(
+					status,
+					isolated.netTransfersInTxn(),
+					chargingStatus == OK,
+					charging.totalNonThresholdFeesChargedToPayer());
+		} catch (Exception unexpected) {
+			log.warn("Could not evaluate a transfer, will handle it as usual", unexpected);
+			return null;
+		} finally {
+			isolated.rollback();
+		}
+	}
+
+	private static HederaLedger ledgerOver(BackingAccounts<AccountID, MerkleAccount> accounts) {
+		TransactionalLedger<AccountID, AccountProperty, MerkleAccount> delegate = new TransactionalLedger<>(
+				AccountProperty.class,
+				MerkleAccount::new,
+				accounts,
+				new ChangeSummaryManager<>());
+		delegate.setKeyComparator(ACCOUNT_ID_COMPARATOR);
+		return new HederaLedger(NOOP_ID_SOURCE, NOOP_RECORDS_HISTORIAN, NOOP_DUPLICATE_CLASSIFIER, delegate);
+	}
+
+	private static class Evaluation {
+		private final ResponseCodeEnum status;
+		private final TransferList netTransfers;
+		private final boolean wasCharged;
+		private final long feesChargedToPayer;
+
+		private Evaluation(
+				ResponseCodeEnum status,
+				TransferList netTransfers,
+				boolean wasCharged,
+				long feesChargedToPayer
+		) {
+			this.status = status;
+			this.netTransfers = netTransfers;
+			this.wasCharged = wasCharged;
+			this.feesChargedToPayer = feesChargedToPayer;
+		}
+	}
+}
@@ -0,0 +1,137 @@
+package com.hedera.services.txns.crypto;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2020 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.ledger.HederaLedger;
+import com.hedera.services.utils.SignedTxnAccessor;
+import com.hederahashgraph.api.proto.java.AccountID;
+import com.hederahashgraph.api.proto.java.ResponseCodeEnum;
+import com.hederahashgraph.api.proto.java.TransferList;
+import com.hederahashgraph.fee.FeeObject;
+
+import java.util.Map;
+
+import static com.hedera.services.txns.crypto.TransferSnapshot.NO_ACCOUNT;
+
+/**
+ * A CryptoTransfer (with the fee it is to be charged) waiting to be evaluated
+ * by a {@link ParallelTransferExecutor}; and, once evaluated, the outcome it
+ * will have if the balances of the accounts it can debit are still the ones
+ * the evaluation saw.
+ */
+public class PendingTransfer {
+	private final FeeObject fee;
+	private final SignedTxnAccessor accessor;
+
+	private boolean wasCharged;
+	private long feesChargedToPayer;
+	private ResponseCodeEnum status;
+	private TransferList netTransfers;
+	private Map<AccountID, Long> debitedBalancesSeen;
+
+	public PendingTransfer(SignedTxnAccessor accessor, FeeObject fee) {
+		this.fee = fee;
+		this.accessor = accessor;
+	}
+
+	public SignedTxnAccessor accessor() {
+		return accessor;
+	}
+
+	public FeeObject fee() {
+		return fee;
+	}
+
+	/**
+	 * Returns the final status of the transfer, or {@code null} if it has no
+	 * usable evaluation.
+	 *
+	 * @return the status
+	 */
+	public ResponseCodeEnum status() {
+		return status;
+	}
+
+	/**
+	 * Returns the net changes to account balances made by the transfer (including
+	 * its fees), or {@code null} if it has no usable evaluation.
+	 *
+	 * @return the net transfers
+	 */
+	public TransferList netTransfers() {
+		return netTransfers;
+	}
+
+	/**
+	 * Indicates whether the payer could be charged the fee (so that the transfers
+	 * themselves were attempted).
+	 *
+	 * @return whether the fee was charged
+	 */
+	public boolean wasCharged() {
+		return wasCharged;
+	}
+
+	public long feesChargedToPayer() {
+		return feesChargedToPayer;
+	}
+
+	public boolean isEvaluated() {
+		return status != null;
+	}
+
+	/**
+	 * Checks if the evaluation of this transfer is still exact for the given ledger;
+	 * that is, if every account the transfer can debit has the balance (or is missing,
+	 * just as) the evaluation saw. The outcome of a transfer depends on nothing else
+	 * that the transfers and records of a batch can change.
+	 *
+	 * @param ledger the ledger the transfer is about to be handled in
+	 * @return whether the evaluation can be used in its place
+	 */
+	public boolean isExactFor(HederaLedger ledger) {
+		if (!isEvaluated()) {
+			return false;
+		}
+		for (Map.Entry<AccountID, Long> seen : debitedBalancesSeen.entrySet()) {
+			AccountID id = seen.getKey();
+			long balance = ledger.exists(id) ? ledger.getBalance(id) : NO_ACCOUNT;
+			if (balance != seen.getValue()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	void resolve(
+			ResponseCodeEnum status,
+			TransferList netTransfers,
+			boolean wasCharged,
+			long feesChargedToPayer,
+			Map<AccountID, Long> debitedBalancesSeen
+	) {
+		this.status = status;
+		this.netTransfers = netTransfers;
+		this.wasCharged = wasCharged;
+		this.feesChargedToPayer = feesChargedToPayer;
+		this.debitedBalancesSeen = debitedBalancesSeen;
+	}
+}
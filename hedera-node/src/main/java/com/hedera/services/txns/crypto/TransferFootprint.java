@@ -0,0 +1,116 @@
+package com.hedera.services.txns.crypto;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2020 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+
+import com.hedera.services.utils.SignedTxnAccessor;
+import com.hederahashgraph.api.proto.java.AccountAmount;
+import com.hederahashgraph.api.proto.java.AccountID;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Summarizes the accounts whose balances a CryptoTransfer can change, split
+ * into the accounts it can <i>debit</i> (the payer, and every account with a
+ * negative amount in the transfer list) and the accounts it only expects to
+ * <i>credit</i> (the node, the funding account, and every other account in
+ * the transfer list).
+ *
+ * Whether a credit succeeds does not depend on the balance of the credited
+ * account, and credits to the same account commute (the total supply of hbar
+ * is far too small for them to overflow); so two transfers can only
+ * interfere if one of them debits an account that the other touches at all.
+ * (Transfers never change any other property of an account, such as its key
+ * or whether it is deleted, that the outcome of a transfer could depend on.)
+ */
+public class TransferFootprint {
+	private final Set<AccountID> debited = new HashSet<>();
+	private final Set<AccountID> credited = new HashSet<>();
+
+	TransferFootprint(AccountID payer, AccountID node, AccountID funding, Iterable<AccountAmount> adjustments) {
+		debited.add(payer);
+		for (AccountAmount adjustment : adjustments) {
+			if (adjustment.getAmount() < 0) {
+				debited.add(adjustment.getAccountID());
+			}
+		}
+		creditIfNotDebited(node);
+		creditIfNotDebited(funding);
+		for (AccountAmount adjustment : adjustments) {
+			creditIfNotDebited(adjustment.getAccountID());
+		}
+	}
+
+	public static TransferFootprint of(SignedTxnAccessor accessor, AccountID funding) {
+		return new TransferFootprint(
+				accessor.getPayer(),
+				accessor.getTxn().getNodeAccountID(),
+				funding,
+				accessor.getTxn().getCryptoTransfer().getTransfers().getAccountAmountsList());
+	}
+
+	public Set<AccountID> debited() {
+		return debited;
+	}
+
+	public Set<AccountID> credited() {
+		return credited;
+	}
+
+	public boolean conflictsWith(TransferFootprint that) {
+		return touchesAnyOf(that.debited) || that.touchesAnyOf(this.debited);
+	}
+
+	/**
+	 * Checks if the given net adjustments stayed within this footprint; that is,
+	 * if they only touched accounts in the footprint, and only debited accounts
+	 * that it allows to be debited. (For example, a payer that cannot afford the
+	 * network fee leaves the node to pay it, which debits the node.)
+	 *
+	 * @param netAdjustments the net adjustments actually made by the transfer
+	 * @return whether they respected this footprint
+	 */
+	public boolean permits(Iterable<AccountAmount> netAdjustments) {
+		for (AccountAmount adjustment : netAdjustments) {
+			AccountID id = adjustment.getAccountID();
+			if (!debited.contains(id) && (adjustment.getAmount() < 0 || !credited.contains(id))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private boolean touchesAnyOf(Set<AccountID> ids) {
+		for (AccountID id : ids) {
+			if (debited.contains(id) || credited.contains(id)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void creditIfNotDebited(AccountID id) {
+		if (!debited.contains(id)) {
+			credited.add(id);
+		}
+	}
+}
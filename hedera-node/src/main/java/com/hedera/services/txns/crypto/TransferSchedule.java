@@ -0,0 +1,84 @@
+package com.hedera.services.txns.crypto;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2020 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+
+import com.hederahashgraph.api.proto.java.AccountID;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Splits a sequence of transfers (in consensus order) into <i>waves</i>, such
+ * that no two transfers in the same wave have conflicting {@link TransferFootprint}s,
+ * and every transfer is in a later wave than any earlier transfer it conflicts
+ * with. Each transfer is put in the first wave that satisfies these conditions.
+ *
+ * Hence the transfers in a wave can be evaluated concurrently against the state
+ * left by the previous waves; and committing their results in consensus order
+ * gives the same state as evaluating every transfer serially.
+ */
+public class TransferSchedule {
+	private TransferSchedule() {
+		throw new IllegalStateException("Utility class");
+	}
+
+	/**
+	 * Returns the waves for the given footprints, as lists of their indices
+	 * in increasing (that is, consensus) order.
+	 *
+	 * @param footprints the footprints of the transfers, in consensus order
+	 * @return the indices of the transfers in each wave
+	 */
+	public static List<List<Integer>> wavesOf(List<TransferFootprint> footprints) {
+		List<List<Integer>> waves = new ArrayList<>();
+		Map<AccountID, Integer> lastDebitWave = new HashMap<>();
+		Map<AccountID, Integer> lastTouchWave = new HashMap<>();
+
+		for (int i = 0, n = footprints.size(); i < n; i++) {
+			TransferFootprint footprint = footprints.get(i);
+
+			int wave = 0;
+			for (AccountID id : footprint.debited()) {
+				wave = Math.max(wave, lastTouchWave.getOrDefault(id, -1) + 1);
+			}
+			for (AccountID id : footprint.credited()) {
+				wave = Math.max(wave, lastDebitWave.getOrDefault(id, -1) + 1);
+			}
+
+			if (wave == waves.size()) {
+				waves.add(new ArrayList<>());
+			}
+			waves.get(wave).add(i);
+
+			for (AccountID id : footprint.debited()) {
+				lastDebitWave.merge(id, wave, Math::max);
+				lastTouchWave.merge(id, wave, Math::max);
+			}
+			for (AccountID id : footprint.credited()) {
+				lastTouchWave.merge(id, wave, Math::max);
+			}
+		}
+		return waves;
+	}
+}
@@ -0,0 +1,165 @@
+package com.hedera.services.txns.crypto;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2020 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.legacy.exception.NegativeAccountBalanceException;
+import com.hedera.services.ledger.accounts.BackingAccounts;
+import com.hedera.services.state.merkle.MerkleAccount;
+import com.hederahashgraph.api.proto.java.AccountAmount;
+import com.hederahashgraph.api.proto.java.AccountID;
+import com.hederahashgraph.api.proto.java.TransferList;
+import com.swirlds.fcqueue.FCQueue;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.hedera.services.state.submerkle.ExpirableTxnRecord.LEGACY_PROVIDER;
+
+/**
+ * A private copy of the accounts that a batch of CryptoTransfers can touch,
+ * taken from the live accounts on the thread coordinating the batch, so that
+ * the transfers in a wave can be evaluated concurrently without ever reading
+ * the live accounts (which are neither safe for concurrent reads, nor in
+ * general unchanged by a read).
+ *
+ * Each evaluation reads the snapshot through its own read-only {@link View};
+ * between waves, the coordinating thread advances the snapshot by the net
+ * transfers of the wave just evaluated.
+ */
+class TransferSnapshot {
+	static final long NO_ACCOUNT = -1L;
+
+	private final Map<AccountID, MerkleAccount> accounts;
+
+	private TransferSnapshot(Map<AccountID, MerkleAccount> accounts) {
+		this.accounts = accounts;
+	}
+
+	static TransferSnapshot of(BackingAccounts<AccountID, MerkleAccount> live, List<TransferFootprint> footprints) {
+		Map<AccountID, MerkleAccount> accounts = new HashMap<>();
+		for (TransferFootprint footprint : footprints) {
+			copyInto(accounts, live, footprint.debited());
+			copyInto(accounts, live, footprint.credited());
+		}
+		return new TransferSnapshot(accounts);
+	}
+
+	/* A missing account is kept as a null value, so its absence is part of the snapshot. */
+	private static void copyInto(
+			Map<AccountID, MerkleAccount> accounts,
+			BackingAccounts<AccountID, MerkleAccount> live,
+			Iterable<AccountID> ids
+	) {
+		for (AccountID id : ids) {
+			if (!accounts.containsKey(id)) {
+				accounts.put(id, live.contains(id) ? copyOf(live.getUnsafeRef(id)) : null);
+			}
+		}
+	}
+
+	/**
+	 * Returns the balance of the given account in this snapshot, or {@link #NO_ACCOUNT}
+	 * if the account did not exist.
+	 *
+	 * @param id the account of interest, which must be in the snapshot
+	 * @return its balance
+	 */
+	long balanceOf(AccountID id) {
+		MerkleAccount account = accounts.get(id);
+		return (account == null) ? NO_ACCOUNT : account.getBalance();
+	}
+
+	/**
+	 * Applies the given net transfers to this snapshot. Must not be called while
+	 * any evaluation is reading it.
+	 *
+	 * @param netTransfers the changes to apply
+	 */
+	void advanceBy(TransferList netTransfers) {
+		try {
+			for (AccountAmount adjustment : netTransfers.getAccountAmountsList()) {
+				MerkleAccount account = accounts.get(adjustment.getAccountID());
+				account.setBalance(account.getBalance() + adjustment.getAmount());
+			}
+		} catch (NegativeAccountBalanceException impossible) {
+			throw new IllegalStateException(impossible);
+		}
+	}
+
+	View view() {
+		return new View();
+	}
+
+	/**
+	 * The accounts in the snapshot, as seen by a single evaluation. Ids outside the
+	 * snapshot read as missing, and mark the view as having read outside it (which means the
+	 * evaluation must not be used).
+	 */
+	class View implements BackingAccounts<AccountID, MerkleAccount> {
+		private boolean readOutside = false;
+
+		boolean readOutside() {
+			return readOutside;
+		}
+
+		@Override
+		public MerkleAccount getUnsafeRef(AccountID id) {
+			return inSnapshot(id) ? accounts.get(id) : null;
+		}
+
+		@Override
+		public MerkleAccount getMutableRef(AccountID id) {
+			MerkleAccount account = getUnsafeRef(id);
+			return (account == null) ? null : copyOf(account);
+		}
+
+		@Override
+		public void replace(AccountID id, MerkleAccount account) {
+			throw new UnsupportedOperationException("Snapshot is read-only!");
+		}
+
+		@Override
+		public void remove(AccountID id) {
+			throw new UnsupportedOperationException("Snapshot is read-only!");
+		}
+
+		@Override
+		public boolean contains(AccountID id) {
+			return inSnapshot(id) && accounts.get(id) != null;
+		}
+
+		private boolean inSnapshot(AccountID id) {
+			if (!accounts.containsKey(id)) {
+				readOutside = true;
+				return false;
+			}
+			return true;
+		}
+	}
+
+	private static MerkleAccount copyOf(MerkleAccount account) {
+		return new MerkleAccount(List.of(
+				account.state().copy(),
+				new FCQueue<>(LEGACY_PROVIDER),
+				new FCQueue<>(LEGACY_PROVIDER)));
+	}
+}
@@ -20,7 +20,7 @@ package com.hedera.services.txns.diligence;
  * ‍
  */
 
-import com.hedera.services.context.properties.PropertySource;
+import com.hedera.services.context.properties.GlobalDynamicProperties;
 import com.hederahashgraph.api.proto.java.TransactionID;
 
 import java.util.Map;
@@ -34,13 +34,13 @@ import java.util.concurrent.BlockingQueue;
  * @author Michael Tinker
  */
 public class CountingDuplicateClassifier implements DuplicateClassifier {
-	private final PropertySource properties;
+	private final GlobalDynamicProperties properties;
 
 	final Map<TransactionID, Integer> observedCounts;
 	final BlockingQueue<DuplicateIdHorizon> horizons;
 
 	public CountingDuplicateClassifier(
-			PropertySource properties,
+			GlobalDynamicProperties properties,
 			Map<TransactionID, Integer> observedCounts,
 			BlockingQueue<DuplicateIdHorizon> horizons
 	) {
@@ -51,7 +51,7 @@ public class CountingDuplicateClassifier implements DuplicateClassifier {
 
 	@Override
 	public void observe(TransactionID txnId, long at) {
-		int ttl = properties.getIntProperty("cache.records.ttl");
+		int ttl = properties.cacheRecordsTtl();
 		horizons.offer(new DuplicateIdHorizon(at + ttl, txnId));
 		observedCounts.merge(txnId, 1, Math::addExact);
 	}
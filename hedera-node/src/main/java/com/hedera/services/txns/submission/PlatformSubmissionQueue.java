@@ -0,0 +1,211 @@
+package com.hedera.services.txns.submission;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2020 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.legacy.services.stats.HederaNodeStats;
+import com.swirlds.common.Platform;
+import com.swirlds.common.Transaction;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Decouples the gRPC threads that accept transactions from the platform's
+ * {@link Platform#createTransaction(Transaction)}. Ingress threads only
+ * {@link #offer(Transaction)} a transaction onto a bounded, lock-free queue;
+ * a single submitter thread drains the queue in batches of up to
+ * {@code maxBatchSize} and hands each transaction to the platform in
+ * arrival order, backing off and retrying whenever the platform is
+ * temporarily unable to accept it.
+ *
+ * When the queue is at capacity, {@link #offer(Transaction)} fails fast so
+ * the caller can answer {@code BUSY} instead of blocking a gRPC thread. Once
+ * {@link #stop()} is called, new offers are refused the same way, and the
+ * submitter drains everything already accepted before it exits; except that
+ * a transaction the platform still refuses after backing off to the longest
+ * delay is dropped, so the drain cannot retry forever.
+ */
+public class PlatformSubmissionQueue {
+	private static final Logger log = LogManager.getLogger(PlatformSubmissionQueue.class);
+
+	static final long IDLE_PARK_NANOS = 1_000_000L;
+	static final long MIN_BACKOFF_NANOS = 50_000L;
+	static final long MAX_BACKOFF_NANOS = 10_000_000L;
+
+	private final int capacity;
+	private final Platform platform;
+	private final HederaNodeStats stats;
+	private final Pending[] batch;
+	private final Queue<Pending> pending = new ConcurrentLinkedQueue<>();
+	private final AtomicInteger depth = new AtomicInteger();
+	private final AtomicBoolean idle = new AtomicBoolean();
+
+	private volatile boolean running = false;
+	private volatile boolean stopped = false;
+	private volatile Thread submitter;
+
+	public PlatformSubmissionQueue(Platform platform, HederaNodeStats stats, int capacity, int maxBatchSize) {
+		if (capacity < 1 || maxBatchSize < 1) {
+			throw new IllegalArgumentException(String.format(
+					"Queue capacity (%d) and max batch size (%d) must both be positive!", capacity, maxBatchSize));
+		}
+		this.stats = stats;
+		this.platform = platform;
+		this.capacity = capacity;
+		this.batch = new Pending[maxBatchSize];
+	}
+
+	/**
+	 * Enqueues the given transaction for submission to the platform, unless
+	 * the queue is already at capacity or has been stopped.
+	 *
+	 * @param txn the platform transaction to submit
+	 * @return whether the transaction was accepted for submission
+	 */
+	public boolean offer(Transaction txn) {
+		/* Claim a slot before checking for a stop, so the submitter cannot exit
+		while this txn is on its way into the queue. */
+		int n = depth.incrementAndGet();
+		if (n > capacity || stopped) {
+			depth.decrementAndGet();
+			return false;
+		}
+		stats.updatePlatformSubmitQueueDepth(n);
+		pending.add(new Pending(txn, System.nanoTime()));
+		if (idle.get() && idle.compareAndSet(true, false)) {
+			LockSupport.unpark(submitter);
+		}
+		return true;
+	}
+
+	public int depth() {
+		return depth.get();
+	}
+
+	public int capacity() {
+		return capacity;
+	}
+
+	public synchronized void start(String name) {
+		if (running || stopped) {
+			return;
+		}
+		running = true;
+		submitter = new Thread(this::submitUntilStopped);
+		submitter.setName(name);
+		submitter.setDaemon(true);
+		submitter.start();
+	}
+
+	/**
+	 * Refuses all further offers, and lets the submitter exit once it has handed
+	 * every already-accepted transaction to the platform.
+	 */
+	public synchronized void stop() {
+		stopped = true;
+		if (submitter != null) {
+			LockSupport.unpark(submitter);
+		}
+	}
+
+	/**
+	 * Stops the queue and waits up to the given number of millis for the
+	 * submitter to drain it.
+	 *
+	 * @param millis the longest to wait for the submitter
+	 * @return whether the queue was drained in time
+	 */
+	public boolean stopAndAwaitDrained(long millis) throws InterruptedException {
+		stop();
+		var finishing = submitter;
+		if (finishing != null) {
+			finishing.join(millis);
+		}
+		return depth.get() == 0;
+	}
+
+	private void submitUntilStopped() {
+		while (true) {
+			if (drainBatch() == 0) {
+				if (stopped && depth.get() == 0) {
+					break;
+				}
+				idle.set(true);
+				if (pending.isEmpty() && !stopped) {
+					LockSupport.parkNanos(IDLE_PARK_NANOS);
+				}
+				idle.set(false);
+			}
+		}
+		log.info("Platform submitter drained its queue and stopped");
+	}
+
+	/**
+	 * Moves up to {@code maxBatchSize} queued transactions to the platform.
+	 * Must only be called from a single thread at a time.
+	 *
+	 * @return the number of transactions removed from the queue
+	 */
+	int drainBatch() {
+		int n = 0;
+		Pending next;
+		while (n < batch.length && (next = pending.poll()) != null) {
+			batch[n++] = next;
+		}
+		for (int i = 0; i < n; i++) {
+			submitWithBackoff(batch[i]);
+			batch[i] = null;
+		}
+		if (n > 0) {
+			stats.updatePlatformSubmitQueueDepth(depth.addAndGet(-n));
+		}
+		return n;
+	}
+
+	private void submitWithBackoff(Pending next) {
+		long backoff = MIN_BACKOFF_NANOS;
+		while (!platform.createTransaction(next.txn)) {
+			stats.platformTxnNotCreated();
+			if (!running || (stopped && backoff == MAX_BACKOFF_NANOS)) {
+				log.warn("Dropping a queued transaction the platform would not accept before shutdown");
+				return;
+			}
+			LockSupport.parkNanos(backoff);
+			backoff = Math.min(2 * backoff, MAX_BACKOFF_NANOS);
+		}
+		stats.platformSubmitted(System.nanoTime() - next.enqueuedAt);
+	}
+
+	private static class Pending {
+		private final Transaction txn;
+		private final long enqueuedAt;
+
+		private Pending(Transaction txn, long enqueuedAt) {
+			this.txn = txn;
+			this.enqueuedAt = enqueuedAt;
+		}
+	}
+}
@@ -91,10 +91,7 @@ public class TxnHandlerSubmissionFlow implements SubmissionFlow {
 	}
 
 	private TransactionResponse submitTransaction(SignedTxnAccessor accessor) {
-		if (!legacyTxnHandler.submitTransaction(platform, accessor.getSignedTxn(), accessor.getTxnId())) {
-			return responseWith(PLATFORM_TRANSACTION_NOT_CREATED);
-		}
-		return responseWith(OK);
+		return responseWith(legacyTxnHandler.trySubmit(platform, accessor.getSignedTxn(), accessor.getTxnId()));
 	}
 
 	private TxnValidityAndFeeReq metaValidityOf(SignedTxnAccessor accessor) {
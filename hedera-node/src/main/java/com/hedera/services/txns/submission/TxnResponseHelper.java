@@ -20,6 +20,7 @@ package com.hedera.services.txns.submission;
  * ‍
  */
 
+import com.hedera.services.grpc.HandlerExecutor;
 import com.hedera.services.queries.answering.QueryResponseHelper;
 import com.hedera.services.txns.SubmissionFlow;
 import com.hedera.services.utils.SignedTxnAccessor;
@@ -30,6 +31,7 @@ import io.grpc.stub.StreamObserver;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.BUSY;
 import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.FAIL_INVALID;
 import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.OK;
 
@@ -39,12 +41,17 @@ public class TxnResponseHelper {
 	static final TransactionResponse FAIL_INVALID_RESPONSE = TransactionResponse.newBuilder()
 			.setNodeTransactionPrecheckCode(FAIL_INVALID)
 			.build();
+	static final TransactionResponse BUSY_RESPONSE = TransactionResponse.newBuilder()
+			.setNodeTransactionPrecheckCode(BUSY)
+			.build();
 
 	private final SubmissionFlow submissionFlow;
 	private final HederaNodeStats stats;
+	private final HandlerExecutor handlers;
 
-	public TxnResponseHelper(SubmissionFlow submissionFlow, HederaNodeStats stats) {
+	public TxnResponseHelper(SubmissionFlow submissionFlow, HederaNodeStats stats, HandlerExecutor handlers) {
 		this.stats = stats;
+		this.handlers = handlers;
 		this.submissionFlow = submissionFlow;
 	}
 
@@ -93,12 +100,17 @@ public class TxnResponseHelper {
 		incReceivedCount.run();
 		TransactionResponse response;
 
-		try {
-			response = submissionFlow.submit(signedTxn);
-		} catch (Exception surprising) {
-			SignedTxnAccessor accessor = SignedTxnAccessor.uncheckedFrom(signedTxn);
-			log.warn("Submission flow unable to submit {}!", accessor.getSignedTxn4Log(), surprising);
-			response = FAIL_INVALID_RESPONSE;
+		if (handlers.isSaturated()) {
+			stats.handlerBusy();
+			response = BUSY_RESPONSE;
+		} else {
+			try {
+				response = submissionFlow.submit(signedTxn);
+			} catch (Exception surprising) {
+				SignedTxnAccessor accessor = SignedTxnAccessor.uncheckedFrom(signedTxn);
+				log.warn("Submission flow unable to submit {}!", accessor.getSignedTxn4Log(), surprising);
+				response = FAIL_INVALID_RESPONSE;
+			}
 		}
 
 		observer.onNext(response);
@@ -20,7 +20,10 @@ package com.hedera.services.utils;
  * ‍
  */
 
+import com.google.protobuf.ByteString;
 import com.google.protobuf.InvalidProtocolBufferException;
+import com.hedera.services.exceptions.UnknownHederaFunctionality;
+import com.hederahashgraph.api.proto.java.HederaFunctionality;
 import com.hederahashgraph.api.proto.java.Transaction;
 import com.hederahashgraph.api.proto.java.TransactionBody;
 import com.hederahashgraph.api.proto.java.TransactionID;
@@ -36,6 +39,9 @@ import com.hederahashgraph.api.proto.java.TransactionID;
 public class PlatformTxnAccessor extends SignedTxnAccessor {
 	private final com.swirlds.common.Transaction platformTxn;
 
+	private ByteString hash;
+	private HederaFunctionality function;
+
 	public PlatformTxnAccessor(com.swirlds.common.Transaction platformTxn) throws InvalidProtocolBufferException {
 		super(platformTxn.getContents());
 		this.platformTxn = platformTxn;
@@ -59,4 +65,33 @@ public class PlatformTxnAccessor extends SignedTxnAccessor {
 	public com.swirlds.common.Transaction getPlatformTxn() {
 		return platformTxn;
 	}
+
+	/**
+	 * Returns the SHA-384 hash of the gRPC txn, computing it on first use.
+	 *
+	 * @return the txn hash.
+	 */
+	public ByteString getHash() {
+		if (hash == null) {
+			hash = MiscUtils.sha384HashOf(this);
+		}
+		return hash;
+	}
+
+	/**
+	 * Returns the functionality of the gRPC txn, computing it on first use;
+	 * or {@link HederaFunctionality#NONE} if it is not recognized.
+	 *
+	 * @return the txn functionality.
+	 */
+	public HederaFunctionality getFunction() {
+		if (function == null) {
+			try {
+				function = MiscUtils.functionalityOfTxn(getTxn());
+			} catch (UnknownHederaFunctionality ignore) {
+				function = HederaFunctionality.NONE;
+			}
+		}
+		return function;
+	}
 }
@@ -49,7 +49,11 @@ public class SignedTxnAccessor {
 	}
 
 	public SignedTxnAccessor(byte[] signedTxnBytes) throws InvalidProtocolBufferException {
-		signedTxn = Transaction.parseFrom(signedTxnBytes);
+		this(Transaction.parseFrom(signedTxnBytes));
+	}
+
+	public SignedTxnAccessor(Transaction signedTxn) throws InvalidProtocolBufferException {
+		this.signedTxn = signedTxn;
 		if (signedTxn.hasBody()) {
 			txn = signedTxn.getBody();
 			txnBytes = txn.toByteArray();
@@ -60,10 +64,6 @@ public class SignedTxnAccessor {
 		txnId = txn.getTransactionID();
 	}
 
-	public SignedTxnAccessor(Transaction signedTxn) throws InvalidProtocolBufferException {
-		this(signedTxn.toByteArray());
-	}
-
 	public Transaction getSignedTxn4Log() {
 		if (signedTxn4Log == null) {
 			try {
@@ -28,9 +28,12 @@ import com.hedera.services.context.properties.PropertySource;
 import com.hedera.services.context.properties.PropertySources;
 import com.hedera.services.fees.FeeCalculator;
 import com.hedera.services.grpc.GrpcServerManager;
+import com.hedera.services.ledger.accounts.TieredBackingAccounts;
 import com.hedera.services.legacy.exception.InvalidTotalAccountBalanceException;
 import com.hedera.services.legacy.services.state.initialization.DefaultSystemAccountsCreator;
+import com.hedera.services.legacy.services.stats.HandleStageAllocations;
 import com.hedera.services.legacy.services.stats.HederaNodeStats;
+import com.hedera.services.legacy.services.stats.PrometheusStatsServer;
 import com.hedera.services.legacy.stream.RecordStream;
 import com.hedera.services.records.AccountRecordsHistorian;
 import com.hedera.services.state.exports.AccountsExporter;
@@ -40,6 +43,7 @@ import com.hedera.services.state.initialization.SystemAccountsCreator;
 import com.hedera.services.state.initialization.SystemFilesManager;
 import com.hedera.services.state.migration.StateMigrations;
 import com.hedera.services.state.validation.LedgerValidator;
+import com.hedera.services.txns.submission.PlatformSubmissionQueue;
 import com.hedera.services.utils.Pause;
 import com.hedera.services.utils.SystemExits;
 import com.hedera.services.utils.TimerUtils;
@@ -60,15 +64,20 @@ import org.junit.platform.runner.JUnitPlatform;
 import org.junit.runner.RunWith;
 import org.mockito.InOrder;
 
+import java.io.IOException;
 import java.io.PrintStream;
 import java.nio.charset.StandardCharsets;
 import java.time.Instant;
+import java.util.ArrayList;
 
 import static com.hedera.services.context.SingletonContextsManager.CONTEXTS;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.BDDMockito.any;
+import static org.mockito.BDDMockito.argThat;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.inOrder;
 import static org.mockito.BDDMockito.intThat;
@@ -112,6 +121,7 @@ public class ServicesMainTest {
 	SystemAccountsCreator systemAccountsCreator;
 	CurrentPlatformStatus platformStatus;
 	AccountRecordsHistorian recordsHistorian;
+	TieredBackingAccounts tieredAccounts;
 
 	@BeforeEach
 	private void setup() {
@@ -132,6 +142,7 @@ public class ServicesMainTest {
 		stateMigrations = mock(StateMigrations.class);
 		balancesExporter = mock(BalancesExporter.class);
 		recordsHistorian = mock(AccountRecordsHistorian.class);
+		tieredAccounts = mock(TieredBackingAccounts.class);
 		ledgerValidator = mock(LedgerValidator.class);
 		accountsExporter = mock(AccountsExporter.class);
 		propertySanitizer = mock(PropertySanitizer.class);
@@ -166,6 +177,7 @@ public class ServicesMainTest {
 		given(ctx.stateMigrations()).willReturn(stateMigrations);
 		given(ctx.propertySanitizer()).willReturn(propertySanitizer);
 		given(ctx.recordsHistorian()).willReturn(recordsHistorian);
+		given(ctx.tieredAccounts()).willReturn(tieredAccounts);
 		given(ctx.systemFilesManager()).willReturn(systemFilesManager);
 		given(ctx.systemAccountsCreator()).willReturn(systemAccountsCreator);
 		given(ctx.accountsExporter()).willReturn(accountsExporter);
@@ -178,6 +190,7 @@ public class ServicesMainTest {
 		subject = new ServicesMain();
 		subject.systemExits = systemExits;
 		subject.defaultCharset = () -> StandardCharsets.UTF_8;
+		subject.hookAdder = ignore -> {};
 		CONTEXTS.store(ctx);
 	}
 
@@ -338,6 +351,153 @@ public class ServicesMainTest {
 		TimerUtils.stopStatsDumpTimer();
 	}
 
+	@Test
+	public void demotesAllAccountsIfColdTierEnabled() {
+		given(properties.getBooleanProperty("accounts.coldTier.enabled")).willReturn(true);
+
+		// when:
+		subject.init(null, new NodeId(false, NODE_ID));
+
+		// then:
+		verify(tieredAccounts).demoteAll();
+	}
+
+	@Test
+	public void leavesAccountsHotIfColdTierDisabled() {
+		// when:
+		subject.init(null, new NodeId(false, NODE_ID));
+
+		// then:
+		verifyNoInteractions(tieredAccounts);
+	}
+
+	@Test
+	public void startsPlatformSubmitterIfBatching() {
+		// setup:
+		var submissions = mock(PlatformSubmissionQueue.class);
+
+		given(ctx.platformSubmissions()).willReturn(submissions);
+		given(properties.getBooleanProperty("platform.submission.batching.enabled")).willReturn(true);
+
+		// when:
+		subject.init(null, new NodeId(false, NODE_ID));
+
+		// then:
+		verify(submissions).start(argThat(name -> name.startsWith("platform_submitter_")));
+	}
+
+	@Test
+	public void drainsPlatformSubmitterOnShutdown() throws Exception {
+		// setup:
+		var submissions = mock(PlatformSubmissionQueue.class);
+		var hooks = new ArrayList<Thread>();
+		subject.hookAdder = hooks::add;
+
+		given(ctx.platformSubmissions()).willReturn(submissions);
+		given(properties.getBooleanProperty("platform.submission.batching.enabled")).willReturn(true);
+		given(submissions.stopAndAwaitDrained(ServicesMain.PLATFORM_SUBMISSIONS_DRAIN_MS)).willReturn(false);
+
+		// when:
+		subject.init(null, new NodeId(false, NODE_ID));
+		// and:
+		assertEquals(1, hooks.size());
+		hooks.get(0).run();
+
+		// then:
+		verify(submissions).stopAndAwaitDrained(ServicesMain.PLATFORM_SUBMISSIONS_DRAIN_MS);
+		verify(submissions).depth();
+	}
+
+	@Test
+	public void submitsDirectlyByDefault() {
+		// when:
+		subject.init(null, new NodeId(false, NODE_ID));
+
+		// then:
+		verify(ctx, never()).platformSubmissions();
+	}
+
+	@Test
+	public void servesPrometheusStatsIfEnabled() throws Exception {
+		// setup:
+		var prometheusStats = mock(PrometheusStatsServer.class);
+		Address address = mock(Address.class);
+
+		given(ctx.prometheusStats()).willReturn(prometheusStats);
+		given(properties.getBooleanProperty("metrics.prometheus.enabled")).willReturn(true);
+		given(properties.getStringProperty("metrics.prometheus.bindAddress")).willReturn("127.0.0.1");
+		given(properties.getIntProperty("metrics.prometheus.port")).willReturn(9464);
+		given(properties.getProfileProperty("hedera.profiles.active")).willReturn(Profile.DEV);
+		given(address.getMemo()).willReturn("0.0.3");
+		given(addressBook.getAddress(NODE_ID)).willReturn(address);
+		given(properties.getStringProperty("dev.defaultListeningNodeAccount")).willReturn("0.0.3");
+		given(properties.getBooleanProperty("dev.onlyDefaultNodeListens")).willReturn(true);
+
+		// when:
+		subject.init(null, new NodeId(false, NODE_ID));
+
+		// then:
+		verify(prometheusStats).start(
+				argThat("127.0.0.1"::equals),
+				intThat(port -> port == 9464 + NODE_ID),
+				argThat(name -> name.startsWith("prometheus_stats_")));
+	}
+
+	@Test
+	public void logsIfPrometheusStatsCannotBind() throws Exception {
+		// setup:
+		var prometheusStats = mock(PrometheusStatsServer.class);
+
+		given(ctx.prometheusStats()).willReturn(prometheusStats);
+		given(properties.getBooleanProperty("metrics.prometheus.enabled")).willReturn(true);
+		given(properties.getStringProperty("metrics.prometheus.bindAddress")).willReturn("127.0.0.1");
+		given(properties.getIntProperty("metrics.prometheus.port")).willReturn(9464);
+		given(properties.getProfileProperty("hedera.profiles.active")).willReturn(Profile.PROD);
+		willThrow(IOException.class).given(prometheusStats).start(any(), anyInt(), any());
+
+		// when:
+		assertDoesNotThrow(() -> subject.init(null, new NodeId(false, NODE_ID)));
+
+		// then:
+		verify(prometheusStats).start(
+				argThat("127.0.0.1"::equals),
+				intThat(port -> port == 9464),
+				any());
+	}
+
+	@Test
+	public void servesNoPrometheusStatsByDefault() {
+		// when:
+		subject.init(null, new NodeId(false, NODE_ID));
+
+		// then:
+		verify(ctx, never()).prometheusStats();
+	}
+
+	@Test
+	public void enablesAllocationProfilingIfRequested() {
+		// setup:
+		var allocations = mock(HandleStageAllocations.class);
+
+		given(stats.handleAllocations()).willReturn(allocations);
+		given(properties.getBooleanProperty("stats.handleAllocations.enabled")).willReturn(true);
+
+		// when:
+		subject.init(null, new NodeId(false, NODE_ID));
+
+		// then:
+		verify(allocations).enable();
+	}
+
+	@Test
+	public void leavesAllocationProfilingOffByDefault() {
+		// when:
+		subject.init(null, new NodeId(false, NODE_ID));
+
+		// then:
+		verify(stats, never()).handleAllocations();
+	}
+
 	@Test
 	public void runsOnDefaultPortInProduction() {
 		given(properties.getIntProperty("grpc.port")).willReturn(50211);
@@ -496,6 +656,23 @@ public class ServicesMainTest {
 		verify(accountsExporter).toFile(accounts, PATH);
 	}
 
+	@Test
+	public void awaitsAccountsExportSnapshotBeforeReviewingRecords() throws Exception {
+		given(properties.getStringProperty("hedera.accountsExportPath")).willReturn(PATH);
+		given(ledgerValidator.hasExpectedTotalBalance(accounts)).willReturn(true);
+		// and:
+		InOrder inOrder = inOrder(accountsExporter, systemFilesManager, recordsHistorian);
+
+		// when:
+		subject.init(null, new NodeId(false, NODE_ID));
+
+		// then:
+		inOrder.verify(accountsExporter).toFile(accounts, PATH);
+		inOrder.verify(systemFilesManager).createAddressBookIfMissing();
+		inOrder.verify(accountsExporter).awaitSnapshot();
+		inOrder.verify(recordsHistorian).reviewExistingRecords(33L);
+	}
+
 	@Test
 	public void rethrowsAccountsExportFailureAsIse() {
 		given(properties.getStringProperty("hedera.accountsExportPath")).willReturn(PATH);
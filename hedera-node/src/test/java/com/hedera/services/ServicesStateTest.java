@@ -25,17 +25,23 @@ import com.hedera.services.state.merkle.MerkleNetworkContext;
 import com.hedera.services.context.ServicesContext;
 import com.hedera.services.state.merkle.MerkleAccount;
 import com.hedera.services.state.merkle.MerkleTopic;
+import com.hedera.services.state.tiering.MappedColdAccountStore;
+import com.hedera.services.context.properties.GlobalDynamicProperties;
+import com.hedera.services.context.properties.PropertySource;
 import com.hedera.services.context.properties.PropertySources;
 import com.hedera.services.legacy.logic.ApplicationConstants;
 import com.hedera.services.sigs.order.HederaSigningOrder;
 import com.hedera.services.sigs.order.SigningOrderResult;
 import com.hedera.services.txns.ProcessLogic;
+import com.hedera.services.txns.TxnPreparation;
 import com.hedera.services.utils.SystemExits;
 import com.hedera.test.factories.txns.PlatformTxnFactory;
 import com.hedera.test.utils.IdUtils;
 import com.hederahashgraph.api.proto.java.AccountID;
+import com.hederahashgraph.api.proto.java.ContractCallTransactionBody;
 import com.hederahashgraph.api.proto.java.SignatureMap;
 import com.hederahashgraph.api.proto.java.SignaturePair;
+import com.hederahashgraph.api.proto.java.TransactionBody;
 import com.hedera.services.state.merkle.MerkleEntityId;
 import com.hedera.services.state.merkle.MerkleBlobMeta;
 import com.hedera.services.state.merkle.MerkleOptionalBlob;
@@ -75,6 +81,7 @@ import java.util.function.Consumer;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.BDDMockito.*;
@@ -92,6 +99,7 @@ class ServicesStateTest {
 	ProcessLogic logic;
 	PropertySources propertySources;
 	ServicesContext ctx;
+	PropertySource properties;
 	FCMap<MerkleEntityId, MerkleTopic> topics;
 	FCMap<MerkleEntityId, MerkleAccount> accounts;
 	FCMap<MerkleBlobMeta, MerkleOptionalBlob> storage;
@@ -106,6 +114,7 @@ class ServicesStateTest {
 	SerializableDataInputStream in;
 	SerializableDataOutputStream out;
 	SystemExits systemExits;
+	TxnPreparation txnPreparation;
 
 	ServicesState subject;
 
@@ -128,8 +137,11 @@ class ServicesStateTest {
 
 		logic = mock(ProcessLogic.class);
 		ctx = mock(ServicesContext.class);
+		properties = mock(PropertySource.class);
 		given(ctx.id()).willReturn(self);
 		given(ctx.logic()).willReturn(logic);
+		txnPreparation = mock(TxnPreparation.class);
+		given(ctx.txnPreparation()).willReturn(txnPreparation);
 
 		topics = mock(FCMap.class);
 		storage = mock(FCMap.class);
@@ -212,6 +224,33 @@ class ServicesStateTest {
 		assertDoesNotThrow(() -> subject.expandSignatures(platformTxn));
 	}
 
+	@Test
+	public void hashesSubtreesBeforeFullSavedState() {
+		// setup:
+		InOrder inOrder = inOrder(mockDigest);
+
+		// and:
+		subject.setChild(ServicesState.ChildIndices.TOPICS, topics);
+		subject.setChild(ServicesState.ChildIndices.STORAGE, storage);
+		subject.setChild(ServicesState.ChildIndices.ACCOUNTS, accounts);
+		subject.setChild(ServicesState.ChildIndices.ADDRESS_BOOK, book);
+		subject.setChild(ServicesState.ChildIndices.NETWORK_CTX, networkCtx);
+
+		// when:
+		subject.init(platform, book);
+
+		// then:
+		verify(mockDigest).accept(accounts);
+		verify(mockDigest).accept(storage);
+		verify(mockDigest).accept(topics);
+		// and:
+		inOrder.verify(mockDigest, times(3)).accept(argThat(node -> node != subject));
+		inOrder.verify(mockDigest).accept(subject);
+
+		// cleanup:
+		ServicesState.merkleDigest = CryptoFactory.getInstance()::digestTreeSync;
+	}
+
 	@Test
 	public void logsNonNullHashesFromSavedState() {
 		// setup:
@@ -311,6 +350,74 @@ class ServicesStateTest {
 		assertEquals(accountsCopy, copy.accounts());
 	}
 
+	@Test
+	public void copyHoldsColdStoreEpochUntilDeleted() {
+		// setup:
+		var coldStore = mock(MappedColdAccountStore.class);
+		given(coldStore.openEpoch()).willReturn(3L);
+		given(ctx.properties()).willReturn(properties);
+		given(ctx.coldAccountStore()).willReturn(coldStore);
+		given(properties.getBooleanProperty("accounts.coldTier.enabled")).willReturn(true);
+		// and:
+		subject.setChild(ServicesState.ChildIndices.TOPICS, topics);
+		subject.setChild(ServicesState.ChildIndices.STORAGE, storage);
+		subject.setChild(ServicesState.ChildIndices.ACCOUNTS, accounts);
+		subject.setChild(ServicesState.ChildIndices.ADDRESS_BOOK, book);
+		subject.setChild(ServicesState.ChildIndices.NETWORK_CTX, networkCtx);
+		subject.ctx = ctx;
+
+		// when:
+		ServicesState copy = (ServicesState) subject.copy();
+		// and:
+		copy.delete();
+		copy.delete();
+
+		// then:
+		verify(coldStore).openEpoch();
+		verify(coldStore, times(1)).closeEpoch(3L);
+	}
+
+	@Test
+	public void copyOpensNoEpochIfColdTierDisabled() {
+		// setup:
+		given(ctx.properties()).willReturn(properties);
+		// and:
+		subject.setChild(ServicesState.ChildIndices.TOPICS, topics);
+		subject.setChild(ServicesState.ChildIndices.STORAGE, storage);
+		subject.setChild(ServicesState.ChildIndices.ACCOUNTS, accounts);
+		subject.setChild(ServicesState.ChildIndices.ADDRESS_BOOK, book);
+		subject.setChild(ServicesState.ChildIndices.NETWORK_CTX, networkCtx);
+		subject.ctx = ctx;
+
+		// when:
+		ServicesState copy = (ServicesState) subject.copy();
+
+		// then:
+		assertNull(copy.coldStore);
+		verify(ctx, never()).coldAccountStore();
+	}
+
+	@Test
+	public void copyFlushesDeferredTxnsFirst() {
+		// setup:
+		given(ctx.properties()).willReturn(properties);
+		InOrder inOrder = inOrder(logic, accounts);
+		// and:
+		subject.setChild(ServicesState.ChildIndices.TOPICS, topics);
+		subject.setChild(ServicesState.ChildIndices.STORAGE, storage);
+		subject.setChild(ServicesState.ChildIndices.ACCOUNTS, accounts);
+		subject.setChild(ServicesState.ChildIndices.ADDRESS_BOOK, book);
+		subject.setChild(ServicesState.ChildIndices.NETWORK_CTX, networkCtx);
+		subject.ctx = ctx;
+
+		// when:
+		subject.copy();
+
+		// then:
+		inOrder.verify(logic).flush();
+		inOrder.verify(accounts).copy();
+	}
+
 	@Test
 	public void noMoreIsANoop() {
 		// expect:
@@ -423,6 +530,7 @@ class ServicesStateTest {
 
 		// then:
 		verify(logic, never()).incorporateConsensusTxn(platformTxn, now, 1);
+		verify(logic, never()).flush();
 	}
 
 	@Test
@@ -438,6 +546,21 @@ class ServicesStateTest {
 		verify(logic).incorporateConsensusTxn(platformTxn, now, 1);
 	}
 
+	@Test
+	public void flushesDeferredTxnsBeforeReturning() {
+		// setup:
+		subject.ctx = ctx;
+		InOrder inOrder = inOrder(logic);
+
+		// when:
+		subject.handleTransaction(
+				1, true, now, now, platformTxn, null);
+
+		// then:
+		inOrder.verify(logic).incorporateConsensusTxn(platformTxn, now, 1);
+		inOrder.verify(logic).flush();
+	}
+
 	@Test
 	public void expandsSigs() {
 		// setup:
@@ -469,6 +592,53 @@ class ServicesStateTest {
 		// then:
 		assertEquals(1, platformTxn.getSignatures().size());
 		assertEquals(mockPk, ByteString.copyFrom(platformTxn.getSignatures().get(0).getExpandedPublicKeyDirect()));
+		// and:
+		verify(txnPreparation).prepare(argThat(accessor -> accessor.getPlatformTxn() == platformTxn));
+	}
+
+	@Test
+	public void speculativelyExpandsContractSigs() {
+		// setup:
+		ByteString payerPk = ByteString.copyFrom(new byte[32]);
+		ByteString otherPk = ByteString.copyFrom(new byte[] { (byte)1 }).concat(ByteString.copyFrom(new byte[31]));
+		ByteString wellFormedSig = ByteString.copyFrom(new byte[64]);
+		com.hederahashgraph.api.proto.java.Transaction signedTxn =
+				com.hederahashgraph.api.proto.java.Transaction.newBuilder()
+						.setBodyBytes(TransactionBody.newBuilder()
+								.setContractCall(ContractCallTransactionBody.getDefaultInstance())
+								.build()
+								.toByteString())
+						.setSigMap(SignatureMap.newBuilder()
+								.addSigPair(SignaturePair.newBuilder()
+										.setPubKeyPrefix(payerPk)
+										.setEd25519(wellFormedSig))
+								.addSigPair(SignaturePair.newBuilder()
+										.setPubKeyPrefix(otherPk)
+										.setEd25519(wellFormedSig)))
+						.build();
+		platformTxn = PlatformTxnFactory.from(signedTxn);
+		SigningOrderResult<SignatureStatus> payerOrderResult =
+				new SigningOrderResult<>(List.of(new JEd25519Key(payerPk.toByteArray())));
+		SigningOrderResult<SignatureStatus> otherOrderResult = new SigningOrderResult<>(EMPTY_LIST);
+		HederaSigningOrder keyOrderer = mock(HederaSigningOrder.class);
+		GlobalDynamicProperties dynamicProperties = mock(GlobalDynamicProperties.class);
+
+		given(keyOrderer.keysForPayer(any(), any())).willReturn((SigningOrderResult) payerOrderResult);
+		given(keyOrderer.keysForOtherParties(any(), any())).willReturn((SigningOrderResult) otherOrderResult);
+		given(ctx.lookupRetryingKeyOrder()).willReturn(keyOrderer);
+		given(dynamicProperties.maxSpeculativeContractSigs()).willReturn(10);
+		given(ctx.globalDynamicProperties()).willReturn(dynamicProperties);
+
+		// and:
+		subject.ctx = ctx;
+
+		// when:
+		subject.expandSignatures(platformTxn);
+
+		// then:
+		assertEquals(2, platformTxn.getSignatures().size());
+		assertEquals(payerPk, ByteString.copyFrom(platformTxn.getSignatures().get(0).getExpandedPublicKeyDirect()));
+		assertEquals(otherPk, ByteString.copyFrom(platformTxn.getSignatures().get(1).getExpandedPublicKeyDirect()));
 	}
 
 	@AfterEach
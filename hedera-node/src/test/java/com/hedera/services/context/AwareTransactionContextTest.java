@@ -150,6 +150,7 @@ public class AwareTransactionContextTest {
 		given(accessor.getTxn()).willReturn(txn);
 		given(accessor.getSignedTxn()).willReturn(signedTxn);
 		given(accessor.getPayer()).willReturn(payer);
+		given(accessor.getHash()).willReturn(hash);
 
 		subject = new AwareTransactionContext(ctx);
 		subject.resetFor(accessor, now, memberId);
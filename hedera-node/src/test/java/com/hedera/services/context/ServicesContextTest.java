@@ -30,6 +30,7 @@ import com.hedera.services.state.merkle.MerkleTopic;
 import com.hedera.services.context.domain.trackers.ConsensusStatusCounts;
 import com.hedera.services.context.domain.trackers.IssEventInfo;
 import com.hedera.services.context.primitives.StateView;
+import com.hedera.services.context.properties.GlobalDynamicProperties;
 import com.hedera.services.context.properties.PropertySource;
 import com.hedera.services.context.properties.PropertySources;
 import com.hedera.services.contracts.execution.SolidityLifecycle;
@@ -45,12 +46,14 @@ import com.hedera.services.files.interceptors.TxnAwareAuthPolicy;
 import com.hedera.services.files.interceptors.TxnAwareRatesManager;
 import com.hedera.services.files.interceptors.ValidatingCallbackInterceptor;
 import com.hedera.services.files.store.FcBlobsBytesStore;
+import com.hedera.services.grpc.HandlerExecutor;
 import com.hedera.services.grpc.NettyGrpcServerManager;
 import com.hedera.services.grpc.controllers.ConsensusController;
 import com.hedera.services.grpc.controllers.CryptoController;
 import com.hedera.services.grpc.controllers.FileController;
 import com.hedera.services.grpc.controllers.NetworkController;
 import com.hedera.services.ledger.HederaLedger;
+import com.hedera.services.ledger.accounts.FCMapBackingAccounts;
 import com.hedera.services.ledger.ids.SeqNoEntityIdSource;
 import com.hedera.services.state.merkle.MerkleEntityId;
 import com.hedera.services.state.merkle.MerkleBlobMeta;
@@ -65,8 +68,11 @@ import com.hedera.services.state.submerkle.SequenceNumber;
 import com.hedera.services.throttling.BucketThrottling;
 import com.hedera.services.throttling.TransactionThrottling;
 import com.hedera.services.txns.TransitionLogicLookup;
+import com.hedera.services.txns.TxnPreparation;
+import com.hedera.services.txns.crypto.ParallelTransferExecutor;
 import com.hedera.services.txns.diligence.PerNodeDuplicateClassifier;
 import com.hedera.services.txns.diligence.TxnAwareDuplicateClassifier;
+import com.hedera.services.txns.submission.PlatformSubmissionQueue;
 import com.hedera.services.txns.submission.TxnHandlerSubmissionFlow;
 import com.hedera.services.txns.submission.TxnResponseHelper;
 import com.hedera.services.txns.validation.ContextOptionValidator;
@@ -98,6 +104,7 @@ import com.hedera.services.legacy.services.state.export.DefaultBalancesExporter;
 import com.hedera.services.legacy.services.state.initialization.DefaultSystemAccountsCreator;
 import com.hedera.services.legacy.services.state.validation.DefaultLedgerValidator;
 import com.hedera.services.legacy.services.stats.HederaNodeStats;
+import com.hedera.services.legacy.services.stats.PrometheusStatsServer;
 import com.hedera.services.legacy.services.utils.DefaultAccountsExporter;
 import com.hedera.services.legacy.stream.RecordStream;
 import com.swirlds.common.Address;
@@ -270,6 +277,11 @@ public class ServicesContextTest {
 		given(book.getAddress(1L)).willReturn(address);
 		given(state.addressBook()).willReturn(book);
 		given(properties.getStringProperty("hedera.recordStream.logDir")).willReturn("src/main/resources");
+		given(properties.getIntProperty("platform.submission.queueCapacity")).willReturn(10_000);
+		given(properties.getIntProperty("platform.submission.maxBatchSize")).willReturn(256);
+		given(properties.getStringProperty("grpc.handlers.executor")).willReturn("DIRECT");
+		given(properties.getIntProperty("grpc.handlers.maxBacklog")).willReturn(10_000);
+		given(properties.getIntProperty("txns.preparation.maxPending")).willReturn(10_000);
 		GlobalFlag.getInstance().setPlatformStatus(PlatformStatus.DISCONNECTED);
 
 		// given:
@@ -287,11 +299,13 @@ public class ServicesContextTest {
 		assertThat(ctx.fees(), instanceOf(UsageBasedFeeCalculator.class));
 		assertThat(ctx.grpc(), instanceOf(NettyGrpcServerManager.class));
 		assertThat(ctx.ledger(), instanceOf(HederaLedger.class));
+		assertThat(ctx.backingAccounts(), instanceOf(FCMapBackingAccounts.class));
 		assertThat(ctx.txnCtx(), instanceOf(AwareTransactionContext.class));
 		assertThat(ctx.keyOrder(), instanceOf(HederaSigningOrder.class));
 		assertThat(ctx.validator(), instanceOf(ContextOptionValidator.class));
 		assertThat(ctx.hcsAnswers(), instanceOf(HcsAnswers.class));
 		assertThat(ctx.issEventInfo(), instanceOf(IssEventInfo.class));
+		assertThat(ctx.globalDynamicProperties(), instanceOf(GlobalDynamicProperties.class));
 		assertThat(ctx.cryptoGrpc(), instanceOf(CryptoController.class));
 		assertThat(ctx.answerFlow(), instanceOf(ServiceAnswerFlow.class));
 		assertThat(ctx.recordCache(), instanceOf(RecordCache.class));
@@ -346,7 +360,12 @@ public class ServicesContextTest {
 		// and expect legacy:
 		assertThat(ctx.exchange(), instanceOf(DefaultHbarCentExchange.class));
 		assertThat(ctx.txns(), instanceOf(TransactionHandler.class));
+		assertThat(ctx.platformSubmissions(), instanceOf(PlatformSubmissionQueue.class));
 		assertThat(ctx.stats(), instanceOf(HederaNodeStats.class));
+		assertThat(ctx.prometheusStats(), instanceOf(PrometheusStatsServer.class));
+		assertThat(ctx.handlerExecutor(), instanceOf(HandlerExecutor.class));
+		assertThat(ctx.txnPreparation(), instanceOf(TxnPreparation.class));
+		assertThat(ctx.parallelTransfers(), instanceOf(ParallelTransferExecutor.class));
 		assertThat(ctx.contracts(), instanceOf(SmartContractRequestHandler.class));
 		assertThat(ctx.freezeGrpc(), instanceOf(FreezeServiceImpl.class));
 		assertThat(ctx.contractsGrpc(), instanceOf(SmartContractServiceImpl.class));
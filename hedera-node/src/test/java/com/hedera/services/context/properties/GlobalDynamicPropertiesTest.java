@@ -0,0 +1,112 @@
+package com.hedera.services.context.properties;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2020 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.runner.JUnitPlatform;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.BDDMockito.*;
+
+@RunWith(JUnitPlatform.class)
+class GlobalDynamicPropertiesTest {
+	PropertySource properties;
+
+	GlobalDynamicProperties subject;
+
+	@BeforeEach
+	private void setup() {
+		properties = mock(PropertySource.class);
+		givenPropsWithSeed(1);
+
+		subject = new GlobalDynamicProperties(properties);
+	}
+
+	@Test
+	public void resolvesValuesOnConstruction() {
+		// expect:
+		assertEquals(1, subject.cacheRecordsTtl());
+		assertEquals(2, subject.ledgerRecordsTtl());
+		assertEquals(3, subject.issResetPeriodSecs());
+		assertEquals(4, subject.maxAccountLookupRetries());
+		assertEquals(5, subject.accountLookupRetryBackoffIncrementMs());
+		assertEquals(6, subject.maxSpeculativeContractSigs());
+	}
+
+	@Test
+	public void doesntConsultSourceUntilReloaded() {
+		// given:
+		givenPropsWithSeed(10);
+
+		// when:
+		subject.cacheRecordsTtl();
+		subject.ledgerRecordsTtl();
+
+		// then:
+		verify(properties, times(1)).getIntProperty("cache.records.ttl");
+		verify(properties, times(1)).getIntProperty("ledger.records.ttl");
+		// and:
+		assertEquals(1, subject.cacheRecordsTtl());
+	}
+
+	@Test
+	public void reloadPicksUpNewValuesAndNotifiesListeners() {
+		// setup:
+		AtomicInteger notifications = new AtomicInteger();
+		AtomicInteger ttlSeenByListener = new AtomicInteger();
+
+		// given:
+		subject.addListener(() -> {
+			notifications.incrementAndGet();
+			ttlSeenByListener.set(subject.cacheRecordsTtl());
+		});
+		// and:
+		givenPropsWithSeed(10);
+
+		// when:
+		subject.reload();
+
+		// then:
+		assertEquals(1, notifications.get());
+		assertEquals(10, ttlSeenByListener.get());
+		// and:
+		assertEquals(10, subject.cacheRecordsTtl());
+		assertEquals(11, subject.ledgerRecordsTtl());
+		assertEquals(12, subject.issResetPeriodSecs());
+		assertEquals(13, subject.maxAccountLookupRetries());
+		assertEquals(14, subject.accountLookupRetryBackoffIncrementMs());
+		assertEquals(15, subject.maxSpeculativeContractSigs());
+	}
+
+	private void givenPropsWithSeed(int i) {
+		given(properties.getIntProperty("cache.records.ttl")).willReturn(i);
+		given(properties.getIntProperty("ledger.records.ttl")).willReturn(i + 1);
+		given(properties.getIntProperty("iss.reset.periodSecs")).willReturn(i + 2);
+		given(properties.getIntProperty("validation.preConsensus.accountKey.maxLookupRetries")).willReturn(i + 3);
+		given(properties.getIntProperty("validation.preConsensus.accountKey.retryBackoffIncrementMs"))
+				.willReturn(i + 4);
+		given(properties.getIntProperty("contracts.speculativeSigs.maxPerTxn")).willReturn(i + 5);
+	}
+}
@@ -30,13 +30,17 @@ import com.hedera.test.utils.IdUtils;
 import com.hederahashgraph.api.proto.java.AccountID;
 import com.hedera.services.state.merkle.MerkleEntityId;
 import com.hedera.services.legacy.core.jproto.JKey;
+import com.swirlds.common.crypto.Signature;
+import com.swirlds.common.crypto.VerificationStatus;
 import com.swirlds.fcmap.FCMap;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.platform.runner.JUnitPlatform;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 
@@ -51,6 +55,7 @@ class TxnAwareSoliditySigsVerifierTest {
 	Set<AccountID> touched;
 	SyncVerifier syncVerifier;
 	PlatformTxnAccessor accessor;
+	com.swirlds.common.Transaction platformTxn;
 	JKey expectedKey;
 
 	MerkleAccount sigReqAccount, noSigReqAccount, contract;
@@ -75,7 +80,9 @@ class TxnAwareSoliditySigsVerifierTest {
 		noSigReqAccount = mock(MerkleAccount.class);
 		given(noSigReqAccount.isReceiverSigRequired()).willReturn(false);
 
+		platformTxn = mock(com.swirlds.common.Transaction.class);
 		accessor = mock(PlatformTxnAccessor.class);
+		given(accessor.getPlatformTxn()).willReturn(platformTxn);
 		txnCtx = mock(TransactionContext.class);
 		given(txnCtx.accessor()).willReturn(accessor);
 		given(txnCtx.activePayer()).willReturn(payer);
@@ -152,4 +159,53 @@ class TxnAwareSoliditySigsVerifierTest {
 		// then:
 		Assertions.assertTrue(flag);
 	}
+
+	@Test
+	public void usesSyncVerifierDirectlyWithoutExpandedSigs() {
+		// setup:
+		ArgumentCaptor<SyncVerifier> captor = ArgumentCaptor.forClass(SyncVerifier.class);
+		touched = Set.of(payer, sigRequired);
+
+		// when:
+		subject.allRequiredKeysAreActive(touched);
+
+		// then:
+		verify(areActive).allKeysAreActive(any(), captor.capture(), any(), any(), any(), any(), any(), any());
+		Assertions.assertSame(syncVerifier, captor.getValue());
+	}
+
+	@Test
+	public void reusesKnownAsyncResultsAndSyncVerifiesTheRest() {
+		// setup:
+		ArgumentCaptor<SyncVerifier> captor = ArgumentCaptor.forClass(SyncVerifier.class);
+		Signature verified = sigWith("pkA", "sigA", VerificationStatus.VALID);
+		Signature pending = sigWith("pkB", "sigB", VerificationStatus.UNKNOWN);
+		Signature a = sigWith("pkA", "sigA", VerificationStatus.UNKNOWN);
+		Signature b = sigWith("pkB", "sigB", VerificationStatus.UNKNOWN);
+		Signature c = sigWith("pkC", "sigC", VerificationStatus.UNKNOWN);
+		List<Signature> requested = new ArrayList<>(List.of(a, b, c));
+		touched = Set.of(payer, sigRequired);
+
+		given(platformTxn.getSignatures()).willReturn(List.of(verified, pending));
+
+		// when:
+		subject.allRequiredKeysAreActive(touched);
+		// and:
+		verify(areActive).allKeysAreActive(any(), captor.capture(), any(), any(), any(), any(), any(), any());
+		captor.getValue().verifySync(requested);
+
+		// then:
+		Assertions.assertEquals(List.of(verified, b, c), requested);
+		verify(syncVerifier).verifySync(List.of(b, c));
+	}
+
+	private Signature sigWith(String pk, String sig, VerificationStatus status) {
+		Signature mockSig = mock(Signature.class);
+		given(mockSig.getExpandedPublicKeyDirect()).willReturn(pk.getBytes());
+		given(mockSig.getContentsDirect()).willReturn(sig.getBytes());
+		given(mockSig.getSignatureOffset()).willReturn(0);
+		given(mockSig.getSignatureLength()).willReturn(sig.length());
+		given(mockSig.getSignatureStatus()).willReturn(status);
+		return mockSig;
+	}
 }
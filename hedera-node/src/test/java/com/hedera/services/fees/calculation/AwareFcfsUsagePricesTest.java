@@ -226,6 +226,52 @@ class AwareFcfsUsagePricesTest {
 		assertEquals(expectedFeeSchedules, subject.feeSchedules);
 	}
 
+	@Test
+	public void compiledPricesMatchEveryScheduledFunction() throws Exception {
+		// setup:
+		byte[] bytes = Files.toByteArray(new File(JsonToProtoSerdeTest.R4_FEE_SCHEDULE_REPR_PATH));
+		CurrentAndNextFeeSchedule r4Schedules = CurrentAndNextFeeSchedule.parseFrom(bytes);
+		Timestamp at = Timestamp.newBuilder()
+				.setSeconds(r4Schedules.getCurrentFeeSchedule().getExpiryTime().getSeconds() - 1)
+				.build();
+
+		given(hfs.cat(schedules)).willReturn(bytes);
+
+		// when:
+		subject.loadPriceSchedules();
+
+		// then:
+		for (TransactionFeeSchedule scheduled : r4Schedules.getCurrentFeeSchedule().getTransactionFeeScheduleList()) {
+			assertEquals(scheduled.getFeeData(), subject.pricesGiven(scheduled.getHederaFunctionality(), at));
+		}
+	}
+
+	@Test
+	public void replacesCompiledSchedulesOnUpdate() throws Exception {
+		// setup:
+		Timestamp at = Timestamp.newBuilder()
+				.setSeconds(currentExpiry - 1)
+				.build();
+
+		// given:
+		subject.loadPriceSchedules();
+
+		// when:
+		subject.setFeeSchedules(feeSchedules.toBuilder()
+				.setCurrentFeeSchedule(nextFeeSchedule.toBuilder()
+						.setExpiryTime(TimestampSeconds.newBuilder().setSeconds(currentExpiry)))
+				.build());
+
+		// then:
+		assertEquals(nextCryptoTransferUsagePrices, subject.pricesGiven(CryptoTransfer, at));
+	}
+
+	@Test
+	public void usesDefaultPricesBeforeSchedulesLoaded() {
+		// expect:
+		assertEquals(DEFAULT_USAGE_PRICES, subject.pricesGiven(CryptoTransfer, Timestamp.getDefaultInstance()));
+	}
+
 	@Test
 	public void throwsNfseOnBadScheduleInFcfs() {
 		given(hfs.exists(schedules)).willReturn(false);
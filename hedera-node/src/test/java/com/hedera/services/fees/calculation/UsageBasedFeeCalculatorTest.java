@@ -21,7 +21,7 @@ package com.hedera.services.fees.calculation;
  */
 
 import com.hedera.services.context.primitives.StateView;
-import com.hedera.services.context.properties.PropertySource;
+import com.hedera.services.context.properties.GlobalDynamicProperties;
 import com.hedera.services.fees.HbarCentExchange;
 import com.hedera.services.utils.SignedTxnAccessor;
 import com.hedera.test.factories.keys.KeyTree;
@@ -88,7 +88,7 @@ class UsageBasedFeeCalculatorTest {
 					asAccount("3.4.5"), -50))
 			.build();
 
-	PropertySource properties;
+	GlobalDynamicProperties properties;
 	UsageBasedFeeCalculator subject;
 	/* Has nine simple keys. */
 	KeyTree complexKey = TxnHandlingScenario.COMPLEX_KEY_ACCOUNT_KT;
@@ -100,6 +100,7 @@ class UsageBasedFeeCalculatorTest {
 	private void setup() throws Throwable {
 		view = mock(StateView.class);
 		query = mock(Query.class);
+		given(query.getQueryCase()).willReturn(Query.QueryCase.CRYPTOGETINFO);
 		payerKey = complexKey.asJKey();
 		exchange = mock(HbarCentExchange.class);
 		signedTxn = newSignedCryptoCreate()
@@ -113,7 +114,7 @@ class UsageBasedFeeCalculatorTest {
 		incorrectOpEstimator = mock(TxnResourceUsageEstimator.class);
 		correctQueryEstimator = mock(QueryResourceUsageEstimator.class);
 		incorrectQueryEstimator = mock(QueryResourceUsageEstimator.class);
-		properties = mock(PropertySource.class);
+		properties = mock(GlobalDynamicProperties.class);
 
 		subject = new UsageBasedFeeCalculator(
 				properties,
@@ -147,7 +148,7 @@ class UsageBasedFeeCalculatorTest {
 
 		given(exchange.activeRate()).willReturn(currentRate);
 		given(usagePrices.activePrices()).willReturn(mockFeeData);
-		given(properties.getIntProperty("ledger.records.ttl")).willReturn(ttl);
+		given(properties.ledgerRecordsTtl()).willReturn(ttl);
 		// and:
 		long shouldBe = expectedPriceForStorage(record, ttl);
 
@@ -165,7 +166,7 @@ class UsageBasedFeeCalculatorTest {
 
 		given(exchange.activeRate()).willReturn(currentRate);
 		given(usagePrices.activePrices()).willReturn(mockFeeData);
-		given(properties.getIntProperty("cache.records.ttl")).willReturn(ttl);
+		given(properties.cacheRecordsTtl()).willReturn(ttl);
 		// and:
 		long shouldBe = expectedPriceForStorage(record, ttl);
 
@@ -256,6 +257,26 @@ class UsageBasedFeeCalculatorTest {
 		assertEquals(fees.getServiceFee(), expectedFees.getServiceFee());
 	}
 
+	@Test
+	public void resolvesApplicableEstimatorsOncePerCase() throws Exception {
+		given(correctOpEstimator.applicableTo(accessor.getTxn())).willReturn(true);
+		given(correctQueryEstimator.applicableTo(query)).willReturn(true);
+		given(correctOpEstimator.usageGiven(any(), any(), any())).willReturn(resourceUsage);
+		given(correctQueryEstimator.usageGiven(query, view)).willReturn(resourceUsage);
+		given(exchange.activeRate()).willReturn(currentRate);
+		given(exchange.rate(at)).willReturn(currentRate);
+
+		// when:
+		subject.computeFee(accessor, payerKey, view);
+		subject.computeFee(accessor, payerKey, view);
+		subject.computePayment(query, currentPrices, view, at);
+		subject.computePayment(query, currentPrices, view, at);
+
+		// then:
+		verify(correctOpEstimator, times(1)).applicableTo(accessor.getTxn());
+		verify(correctQueryEstimator, times(1)).applicableTo(query);
+	}
+
 	@Test
 	public void invokesOpDelegateAsExpectedForEstimate() throws Exception {
 		// setup:
@@ -21,6 +21,7 @@ package com.hedera.services.files;
  */
 
 import com.hedera.services.fees.calculation.FeeCalcUtils;
+import com.hedera.services.files.store.AppendableBytesStore;
 import com.hedera.test.utils.IdUtils;
 import org.junit.jupiter.api.Test;
 import org.junit.platform.runner.JUnitPlatform;
@@ -35,6 +36,8 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static com.hedera.services.files.DataMapFactory.*;
+import static org.mockito.BDDMockito.mock;
+import static org.mockito.BDDMockito.verify;
 
 @RunWith(JUnitPlatform.class)
 class DataMapFactoryTest {
@@ -113,4 +116,21 @@ class DataMapFactoryTest {
 		dataMap.clear();
 		assertTrue(dataMap.isEmpty());
 	}
+
+	@Test
+	public void appendableProductPassesAppendsThrough() {
+		// setup:
+		AppendableBytesStore<String> delegate = mock(AppendableBytesStore.class);
+		var fid = IdUtils.asFile("0.2.3");
+		var moreData = "MORE".getBytes();
+
+		// given:
+		var dataMap = dataMapFrom(delegate);
+
+		// when:
+		dataMap.append(fid, moreData);
+
+		// then:
+		verify(delegate).append(asLegacyPath("0.2.3"), moreData);
+	}
 }
@@ -21,6 +21,7 @@ package com.hedera.services.files;
  */
 
 import com.hedera.services.context.properties.PropertySource;
+import com.hedera.services.files.store.AppendableBytesStore;
 import com.hedera.services.ledger.ids.EntityIdSource;
 import com.hedera.test.factories.scenarios.TxnHandlingScenario;
 import com.hedera.test.utils.IdUtils;
@@ -36,6 +37,7 @@ import org.junit.runner.RunWith;
 
 import java.time.Instant;
 import java.util.AbstractMap;
+import java.util.Arrays;
 import java.util.Map;
 import java.util.OptionalInt;
 import java.util.function.Supplier;
@@ -73,7 +75,7 @@ class TieredHederaFsTest {
 	EntityIdSource ids;
 	PropertySource properties;
 	Supplier<Instant> clock;
-	Map<FileID, byte[]> data;
+	AppendableBytesStore<FileID> data;
 	Map<FileID, JFileInfo> metadata;
 
 	TieredHederaFs subject;
@@ -94,7 +96,7 @@ class TieredHederaFsTest {
 		given(highInterceptor.priorityForCandidate(any())).willReturn(OptionalInt.of(Integer.MIN_VALUE));
 
 		ids = mock(EntityIdSource.class);
-		data = mock(Map.class);
+		data = mock(AppendableBytesStore.class);
 		metadata = mock(Map.class);
 
 		clock = mock(Supplier.class);
@@ -132,11 +134,9 @@ class TieredHederaFsTest {
 		assertEquals(SUCCESS, result.outcome());
 		assertTrue(result.fileReplaced());
 		// and:
-		verify(data).put(
-				argThat(fid::equals),
-				argThat(bytes -> new String(bytes).equals(
-						new String(origContents) + new String(moreContents)
-				)));
+		verify(data).append(fid, moreContents);
+		verify(data, never()).put(any(), any());
+		verify(data, never()).get(fid);
 	}
 
 	@Test
@@ -207,6 +207,34 @@ class TieredHederaFsTest {
 		inOrder.verify(lowInterceptor).postUpdate(fid, newContents);
 	}
 
+	@Test
+	public void interceptorsSeeFullContentsOnAppend() {
+		// setup:
+		byte[] fullContents = (new String(origContents) + new String(moreContents)).getBytes();
+
+		given(lowInterceptor.preUpdate(argThat(fid::equals), argThat(bytes -> Arrays.equals(fullContents, bytes))))
+				.willReturn(new AbstractMap.SimpleEntry<>(ResponseCodeEnum.OK, true));
+		given(highInterceptor.preUpdate(argThat(fid::equals), argThat(bytes -> Arrays.equals(fullContents, bytes))))
+				.willReturn(new AbstractMap.SimpleEntry<>(ResponseCodeEnum.OK, true));
+		// and:
+		subject.register(lowInterceptor);
+		subject.register(highInterceptor);
+		// and:
+		given(metadata.containsKey(fid)).willReturn(true);
+		given(metadata.get(fid)).willReturn(livingAttr);
+		given(data.get(fid)).willReturn(origContents);
+
+		// when:
+		var result = subject.append(fid, moreContents);
+
+		// then:
+		assertEquals(ResponseCodeEnum.OK, result.outcome());
+		assertTrue(result.fileReplaced());
+		// and:
+		verify(data).append(fid, moreContents);
+		verify(lowInterceptor).postUpdate(argThat(fid::equals), argThat(bytes -> Arrays.equals(fullContents, bytes)));
+	}
+
 	@Test
 	public void shortCircuitsIfInterceptorRejects() {
 		given(highInterceptor.preUpdate(fid, newContents))
@@ -240,7 +268,7 @@ class TieredHederaFsTest {
 
 		given(metadata.containsKey(fid)).willReturn(true);
 		given(metadata.get(fid)).willReturn(livingAttr);
-		given(data.get(fid)).willReturn(stretchContents);
+		given(data.lengthOf(fid)).willReturn(stretchContents.length);
 		// and:
 		given(properties.getIntProperty("files.maxSizeKb")).willReturn(1);
 
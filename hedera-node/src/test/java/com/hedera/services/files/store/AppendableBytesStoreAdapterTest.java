@@ -0,0 +1,77 @@
+package com.hedera.services.files.store;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2020 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.runner.JUnitPlatform;
+import org.junit.runner.RunWith;
+
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.mock;
+import static org.mockito.BDDMockito.verify;
+
+@RunWith(JUnitPlatform.class)
+class AppendableBytesStoreAdapterTest {
+	private final Function<Integer, String> fromInteger = i -> "path-" + i;
+	private final Function<String, Integer> toInteger = s -> Integer.parseInt(s.substring("path-".length()));
+
+	AppendableBytesStore<String> delegate;
+	AppendableBytesStoreAdapter<Integer> subject;
+
+	@BeforeEach
+	private void setup() {
+		delegate = mock(AppendableBytesStore.class);
+
+		subject = new AppendableBytesStoreAdapter<>(Integer.class, toInteger, fromInteger, delegate);
+	}
+
+	@Test
+	public void passesAppendToDelegate() {
+		// given:
+		var moreBytes = "MORE".getBytes();
+
+		// when:
+		subject.append(1, moreBytes);
+
+		// then:
+		verify(delegate).append("path-1", moreBytes);
+	}
+
+	@Test
+	public void readsThroughDelegate() {
+		given(delegate.get("path-2")).willReturn("SOME".getBytes());
+
+		// expect:
+		assertEquals("SOME", new String(subject.get(2)));
+	}
+
+	@Test
+	public void measuresThroughDelegate() {
+		given(delegate.lengthOf("path-3")).willReturn(42);
+
+		// expect:
+		assertEquals(42, subject.lengthOf(3));
+	}
+}
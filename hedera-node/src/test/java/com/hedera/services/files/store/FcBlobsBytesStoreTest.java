@@ -29,6 +29,7 @@ import org.junit.platform.runner.JUnitPlatform;
 import org.junit.runner.RunWith;
 import org.mockito.ArgumentCaptor;
 
+import java.nio.ByteBuffer;
 import java.util.AbstractMap;
 import java.util.Arrays;
 import java.util.Comparator;
@@ -46,12 +47,14 @@ import static org.mockito.BDDMockito.any;
 import static org.mockito.BDDMockito.argThat;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.mock;
+import static org.mockito.BDDMockito.never;
+import static org.mockito.BDDMockito.times;
 import static org.mockito.BDDMockito.verify;
 
 @RunWith(JUnitPlatform.class)
 class FcBlobsBytesStoreTest {
 	byte[] aData = "BlobA".getBytes(), bData = "BlobB".getBytes();
-	MerkleBlobMeta pathA = new MerkleBlobMeta("pathA"), pathB = new MerkleBlobMeta("pathB");
+	MerkleBlobMeta pathA = new MerkleBlobMeta("/0/f1001"), pathB = new MerkleBlobMeta("/0/s1002");
 
 	MerkleOptionalBlob blobA, blobB;
 	Function<byte[], MerkleOptionalBlob> blobFactory;
@@ -221,10 +224,213 @@ class FcBlobsBytesStoreTest {
 						.sorted(Comparator.comparing(Entry::getKey))
 						.map(entry -> String.format("%s->%s", entry.getKey(), new String(entry.getValue())))
 						.collect(Collectors.joining(", ")),
-				"pathA->BlobA, pathB->BlobB"
+				"/0/f1001->BlobA, /0/s1002->BlobB"
 		);
 	}
 
+	@Test
+	public void firstAppendIndexesChunkWithoutTouchingExtantBlob() {
+		// setup:
+		var index = mock(MerkleOptionalBlob.class);
+		given(blobFactory.apply(any())).willReturn(blobB).willReturn(index);
+
+		given(pathedBlobs.get(pathA)).willReturn(blobA);
+
+		// when:
+		subject.append(pathA.getPath(), bData);
+
+		// then:
+		verify(pathedBlobs).put(chunkOf(pathA, 1), blobB);
+		verify(blobFactory).apply(argThat((byte[] bytes) -> Arrays.equals(bytes, indexOf(1, 10))));
+		verify(pathedBlobs).put(chunkOf(pathA, 0), index);
+		verify(pathedBlobs, never()).getForModify(pathA);
+		verify(blobA, never()).modify(any());
+	}
+
+	@Test
+	public void laterAppendsUseIndexInsteadOfProbing() {
+		// setup:
+		var index = mock(MerkleOptionalBlob.class);
+		given(index.getData()).willReturn(indexOf(2, 15));
+
+		given(pathedBlobs.get(pathA)).willReturn(blobA);
+		given(pathedBlobs.get(chunkOf(pathA, 0))).willReturn(index);
+		given(pathedBlobs.containsKey(chunkOf(pathA, 0))).willReturn(true);
+		given(pathedBlobs.getForModify(chunkOf(pathA, 0))).willReturn(index);
+
+		// when:
+		subject.append(pathA.getPath(), bData);
+
+		// then:
+		verify(pathedBlobs).put(chunkOf(pathA, 3), blobA);
+		verify(index).modify(argThat((byte[] bytes) -> Arrays.equals(bytes, indexOf(3, 20))));
+		verify(pathedBlobs, never()).containsKey(chunkOf(pathA, 1));
+		verify(pathedBlobs, never()).get(chunkOf(pathA, 1));
+		verify(blobA, never()).getData();
+	}
+
+	@Test
+	public void appendToMissingBlobIsPut() {
+		given(pathedBlobs.containsKey(pathA)).willReturn(false);
+
+		// when:
+		subject.append(pathA.getPath(), aData);
+
+		// then:
+		verify(pathedBlobs).put(pathA, blobA);
+	}
+
+	@Test
+	public void lengthUsesIndexIfPresent() {
+		// setup:
+		var index = mock(MerkleOptionalBlob.class);
+		given(index.getData()).willReturn(indexOf(2, 15));
+
+		given(pathedBlobs.get(pathA)).willReturn(blobA);
+		given(pathedBlobs.get(pathB)).willReturn(blobB);
+		given(pathedBlobs.get(chunkOf(pathA, 0))).willReturn(index);
+
+		// expect:
+		assertEquals(15, subject.lengthOf(pathA.getPath()));
+		assertEquals(5, subject.lengthOf(pathB.getPath()));
+		assertEquals(0, subject.lengthOf("missing"));
+	}
+
+	@Test
+	public void getConcatenatesIndexedChunksInOrder() {
+		givenIndexedChunksOfA();
+
+		// when:
+		byte[] contents = subject.get(pathA.getPath());
+
+		// then:
+		assertEquals("BlobABlobBBlobA", new String(contents));
+		verify(pathedBlobs, never()).get(chunkOf(pathA, 3));
+	}
+
+	@Test
+	public void putAndRemoveDropIndexedChunks() {
+		givenIndexedChunksOfA();
+
+		// when:
+		subject.put(pathA.getPath(), aData);
+		subject.remove(pathA.getPath());
+
+		// then:
+		verify(pathedBlobs, times(2)).remove(chunkOf(pathA, 0));
+		verify(pathedBlobs, times(2)).remove(chunkOf(pathA, 1));
+		verify(pathedBlobs, times(2)).remove(chunkOf(pathA, 2));
+		verify(pathedBlobs, never()).remove(chunkOf(pathA, 3));
+		verify(pathedBlobs).remove(pathA);
+	}
+
+	@Test
+	public void entrySetHidesChunks() {
+		// setup:
+		givenIndexedChunksOfA();
+		Set<Entry<MerkleBlobMeta, MerkleOptionalBlob>> blobEntries = Set.of(
+				new AbstractMap.SimpleEntry<>(pathA, blobA),
+				new AbstractMap.SimpleEntry<>(chunkOf(pathA, 1), blobB),
+				new AbstractMap.SimpleEntry<>(chunkOf(pathA, 2), blobA));
+
+		given(pathedBlobs.entrySet()).willReturn(blobEntries);
+
+		// when:
+		Set<Entry<String, byte[]>> entries = subject.entrySet();
+
+		// then:
+		assertEquals(1, entries.size());
+		var entry = entries.iterator().next();
+		assertEquals("/0/f1001", entry.getKey());
+		assertEquals("BlobABlobBBlobA", new String(entry.getValue()));
+	}
+
+	@Test
+	public void appendsAndReadsBackFromRealMap() {
+		// setup:
+		FCMap<MerkleBlobMeta, MerkleOptionalBlob> blobs = new FCMap<>(new MerkleBlobMeta.Provider(), new MerkleOptionalBlob.Provider());
+		subject = new FcBlobsBytesStore(MerkleOptionalBlob::new, blobs);
+
+		// when:
+		subject.put("/0/f1001", "A".getBytes());
+		subject.append("/0/f1001", "BC".getBytes());
+		subject.append("/0/f1001", "D".getBytes());
+
+		// then:
+		assertEquals("ABCD", new String(subject.get("/0/f1001")));
+		assertEquals(4, subject.lengthOf("/0/f1001"));
+		assertEquals(4, subject.size());
+
+		// and when:
+		subject.put("/0/f1001", "E".getBytes());
+
+		// then:
+		assertEquals("E", new String(subject.get("/0/f1001")));
+		assertEquals(1, blobs.size());
+	}
+
+	@Test
+	public void readsOfStorageAndBytecodeAreSingleLookups() {
+		// setup:
+		var storage = new MerkleBlobMeta("/0/d1003");
+
+		given(pathedBlobs.get(pathB)).willReturn(blobB);
+		given(pathedBlobs.get(storage)).willReturn(blobA);
+
+		// when:
+		subject.get(pathB.getPath());
+		subject.get(storage.getPath());
+
+		// then:
+		verify(pathedBlobs, times(2)).get(any());
+		verify(pathedBlobs, never()).get(chunkOf(pathB, 0));
+		verify(pathedBlobs, never()).get(chunkOf(storage, 0));
+	}
+
+	@Test
+	public void appendToOtherThanFileDataRewritesBlob() {
+		given(pathedBlobs.get(pathB)).willReturn(blobB);
+		given(pathedBlobs.containsKey(pathB)).willReturn(true);
+		given(pathedBlobs.getForModify(pathB)).willReturn(blobB);
+
+		// when:
+		subject.append(pathB.getPath(), aData);
+
+		// then:
+		verify(blobB).modify(argThat((byte[] bytes) -> "BlobBBlobA".equals(new String(bytes))));
+		verify(pathedBlobs).put(pathB, blobB);
+		verify(pathedBlobs, never()).get(chunkOf(pathB, 0));
+		verify(pathedBlobs, never()).put(argThat(meta -> meta.getPath().contains("#")), any());
+	}
+
+	@Test
+	public void recognizesOnlyFileDataPaths() {
+		// expect:
+		assertTrue(FcBlobsBytesStore.isFileDataPath("/0/f1001"));
+		assertFalse(FcBlobsBytesStore.isFileDataPath("/0/k1001"));
+		assertFalse(FcBlobsBytesStore.isFileDataPath("/0/s1001"));
+		assertFalse(FcBlobsBytesStore.isFileDataPath("/0/d1001"));
+		assertFalse(FcBlobsBytesStore.isFileDataPath("/0/"));
+		assertFalse(FcBlobsBytesStore.isFileDataPath("path"));
+	}
+
+	private void givenIndexedChunksOfA() {
+		var index = mock(MerkleOptionalBlob.class);
+		given(index.getData()).willReturn(indexOf(2, 15));
+		given(pathedBlobs.get(pathA)).willReturn(blobA);
+		given(pathedBlobs.get(chunkOf(pathA, 0))).willReturn(index);
+		given(pathedBlobs.get(chunkOf(pathA, 1))).willReturn(blobB);
+		given(pathedBlobs.get(chunkOf(pathA, 2))).willReturn(blobA);
+	}
+
+	private byte[] indexOf(int numChunks, int length) {
+		return ByteBuffer.allocate(8).putInt(numChunks).putInt(length).array();
+	}
+
+	private MerkleBlobMeta chunkOf(MerkleBlobMeta base, int n) {
+		return new MerkleBlobMeta(base.getPath() + FcBlobsBytesStore.CHUNK_SEPARATOR + n);
+	}
+
 	private void givenMockBlobs() {
 		blobA = mock(MerkleOptionalBlob.class);
 		blobB = mock(MerkleOptionalBlob.class);
@@ -0,0 +1,217 @@
+package com.hedera.services.grpc;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2020 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.legacy.services.stats.HederaNodeStats;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.runner.JUnitPlatform;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.hedera.services.grpc.HandlerExecutor.Mode.DIRECT;
+import static com.hedera.services.grpc.HandlerExecutor.Mode.FIXED;
+import static com.hedera.services.grpc.HandlerExecutor.Mode.VIRTUAL;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.BDDMockito.*;
+
+@RunWith(JUnitPlatform.class)
+class HandlerExecutorTest {
+	HederaNodeStats stats;
+
+	HandlerExecutor subject;
+
+	@BeforeEach
+	private void setup() {
+		stats = mock(HederaNodeStats.class);
+	}
+
+	@AfterEach
+	private void cleanup() {
+		if (subject != null) {
+			subject.shutdown();
+		}
+	}
+
+	@Test
+	public void directRunsOnCallingThreadWithoutStats() {
+		// setup:
+		AtomicReference<Thread> runner = new AtomicReference<>();
+
+		// given:
+		subject = HandlerExecutor.from("direct", 4, 1, stats);
+
+		// when:
+		subject.execute(() -> runner.set(Thread.currentThread()));
+
+		// then:
+		assertEquals(DIRECT, subject.mode());
+		assertTrue(subject.isDirect());
+		assertFalse(subject.isSaturated());
+		assertSame(Thread.currentThread(), runner.get());
+		verifyNoInteractions(stats);
+	}
+
+	@Test
+	public void rejectsUnknownMode() {
+		// expect:
+		assertThrows(IllegalArgumentException.class, () -> HandlerExecutor.from("elastic", 4, 1, stats));
+	}
+
+	@Test
+	public void rejectsNonPositiveBacklogUnlessDirect() {
+		// expect:
+		assertThrows(IllegalArgumentException.class, () -> HandlerExecutor.from("FIXED", 4, 0, stats));
+		assertTrue(HandlerExecutor.from("DIRECT", 4, 0, stats).isDirect());
+	}
+
+	@Test
+	public void fixedSaturatesWhileTasksWaitAndTimesEachTask() throws InterruptedException {
+		// setup:
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		CountDownLatch done = new CountDownLatch(2);
+		AtomicReference<Thread> runner = new AtomicReference<>();
+
+		// given:
+		subject = HandlerExecutor.from("FIXED", 1, 1, stats);
+
+		// when:
+		subject.execute(() -> {
+			runner.set(Thread.currentThread());
+			started.countDown();
+			awaitQuietly(release);
+			done.countDown();
+		});
+		assertTrue(started.await(5, TimeUnit.SECONDS));
+		// and:
+		subject.execute(done::countDown);
+
+		// then:
+		assertEquals(FIXED, subject.mode());
+		assertFalse(subject.isDirect());
+		assertEquals(1, subject.backlog());
+		assertTrue(subject.isSaturated());
+		assertNotSame(Thread.currentThread(), runner.get());
+		assertTrue(runner.get().isDaemon());
+
+		// and when:
+		release.countDown();
+		assertTrue(done.await(5, TimeUnit.SECONDS));
+
+		// then:
+		verify(stats, timeout(5_000).times(2)).handlerTaskRan(longThat(l -> l >= 0), longThat(l -> l >= 0));
+		assertEquals(0, subject.backlog());
+		assertFalse(subject.isSaturated());
+		verify(stats, times(2)).updateHandlerBacklog(1);
+	}
+
+	@Test
+	public void shedsTaskOnCallingThreadInsteadOfQueueingPastMaxBacklog() throws InterruptedException {
+		// setup:
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicReference<Thread> runner = new AtomicReference<>();
+		AtomicReference<Boolean> sawShedding = new AtomicReference<>();
+		AtomicReference<Boolean> sawSaturated = new AtomicReference<>();
+
+		// given:
+		subject = HandlerExecutor.from("FIXED", 1, 1, stats);
+		subject.execute(() -> {
+			started.countDown();
+			awaitQuietly(release);
+		});
+		assertTrue(started.await(5, TimeUnit.SECONDS));
+		subject.execute(() -> { });
+
+		// when:
+		subject.execute(() -> {
+			runner.set(Thread.currentThread());
+			sawShedding.set(subject.isShedding());
+			sawSaturated.set(subject.isSaturated());
+		});
+
+		// then:
+		assertSame(Thread.currentThread(), runner.get());
+		assertTrue(sawShedding.get());
+		assertTrue(sawSaturated.get());
+		assertFalse(subject.isShedding());
+		assertEquals(1, subject.backlog());
+		verify(stats, never()).updateHandlerBacklog(2);
+
+		// cleanup:
+		release.countDown();
+	}
+
+	@Test
+	public void shedsRejectedTaskAndRestoresBacklog() {
+		// setup:
+		AtomicReference<Boolean> sawShedding = new AtomicReference<>();
+
+		// given:
+		subject = HandlerExecutor.from("FIXED", 1, 8, stats);
+		subject.shutdown();
+
+		// when:
+		subject.execute(() -> sawShedding.set(subject.isShedding()));
+
+		// then:
+		assertTrue(sawShedding.get());
+		assertEquals(0, subject.backlog());
+		verify(stats).updateHandlerBacklog(1);
+		verify(stats).updateHandlerBacklog(0);
+	}
+
+	@Test
+	public void virtualUsesVirtualThreadsIfAvailable() throws InterruptedException {
+		// setup:
+		CountDownLatch done = new CountDownLatch(1);
+		boolean available = HandlerExecutor.virtualThreadPerTaskExecutor() != null;
+
+		// given:
+		subject = HandlerExecutor.from("virtual", 2, 8, stats);
+
+		// when:
+		subject.execute(done::countDown);
+
+		// then:
+		assertEquals(available ? VIRTUAL : FIXED, subject.mode());
+		assertTrue(done.await(5, TimeUnit.SECONDS));
+		verify(stats, timeout(5_000)).handlerTaskRan(anyLong(), anyLong());
+	}
+
+	private static void awaitQuietly(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException ignore) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
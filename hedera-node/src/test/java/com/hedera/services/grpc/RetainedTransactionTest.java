@@ -0,0 +1,132 @@
+package com.hedera.services.grpc;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2020 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.google.protobuf.ByteString;
+import com.hedera.services.legacy.utils.TransactionValidationUtils;
+import com.hederahashgraph.api.proto.java.Transaction;
+import com.swirlds.common.internal.SettingsCommon;
+import io.grpc.Context;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.runner.JUnitPlatform;
+import org.junit.runner.RunWith;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@RunWith(JUnitPlatform.class)
+class RetainedTransactionTest {
+	Transaction txn = Transaction.newBuilder()
+			.setBodyBytes(ByteString.copyFromUtf8("Not really a body"))
+			.build();
+	byte[] txnBytes = txn.toByteArray();
+
+	@Test
+	public void parsesOnlyOnce() {
+		// given:
+		RetainedTransaction subject = new RetainedTransaction(txnBytes);
+
+		// when:
+		Transaction parsed = subject.transaction();
+
+		// then:
+		assertEquals(txn, parsed);
+		assertSame(parsed, subject.transaction());
+		assertSame(txnBytes, subject.bytes());
+	}
+
+	@Test
+	public void failsAsInternalOnInvalidBytes() {
+		// given:
+		RetainedTransaction subject = new RetainedTransaction(new byte[] { (byte)0xff, (byte)0xff });
+
+		// when:
+		StatusRuntimeException e = assertThrows(StatusRuntimeException.class, subject::transaction);
+
+		// then:
+		assertEquals(Status.Code.INTERNAL, e.getStatus().getCode());
+	}
+
+	@Test
+	public void serializesWithoutRetainedRequestInScope() {
+		// when:
+		byte[] bytes = RetainedTransaction.bytesOf(txn);
+
+		// then:
+		assertArrayEquals(txnBytes, bytes);
+	}
+
+	@Test
+	public void reusesRetainedBytesOnlyForSameInstance() {
+		// setup:
+		RetainedTransaction subject = new RetainedTransaction(txnBytes);
+		Transaction parsed = subject.transaction();
+		Transaction equalButDistinct = txn.toBuilder().build();
+		byte[][] seen = new byte[2][];
+
+		// when:
+		Context.current().withValue(RetainedTransaction.CURRENT, subject).run(() -> {
+			seen[0] = RetainedTransaction.bytesOf(parsed);
+			seen[1] = RetainedTransaction.bytesOf(equalButDistinct);
+		});
+
+		// then:
+		assertSame(txnBytes, seen[0]);
+		assertNotSame(txnBytes, seen[1]);
+		assertArrayEquals(txnBytes, seen[1]);
+	}
+
+	@Test
+	public void sizeValidationJudgesReceivedBytes() throws Exception {
+		// setup:
+		int maxBytes = SettingsCommon.transactionMaxBytes;
+		/* A repeated singular field parses to the same txn, but re-encodes in half the bytes. */
+		byte[] twice = new byte[2 * txnBytes.length];
+		System.arraycopy(txnBytes, 0, twice, 0, txnBytes.length);
+		System.arraycopy(txnBytes, 0, twice, txnBytes.length, txnBytes.length);
+		RetainedTransaction subject = new RetainedTransaction(twice);
+		Transaction parsed = subject.transaction();
+
+		try {
+			// given:
+			SettingsCommon.transactionMaxBytes = txnBytes.length;
+
+			// when:
+			boolean validAlone = TransactionValidationUtils.validateTxSize(parsed);
+			boolean validAsReceived = Context.current().withValue(RetainedTransaction.CURRENT, subject)
+					.call(() -> TransactionValidationUtils.validateTxSize(parsed));
+
+			// then:
+			assertEquals(txn, parsed);
+			assertTrue(validAlone);
+			assertFalse(validAsReceived);
+		} finally {
+			SettingsCommon.transactionMaxBytes = maxBytes;
+		}
+	}
+}
@@ -0,0 +1,180 @@
+package com.hedera.services.grpc;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2020 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.google.protobuf.ByteString;
+import com.hederahashgraph.api.proto.java.Query;
+import com.hederahashgraph.api.proto.java.Response;
+import com.hederahashgraph.api.proto.java.Transaction;
+import com.hederahashgraph.api.proto.java.TransactionResponse;
+import com.hederahashgraph.service.proto.java.CryptoServiceGrpc;
+import io.grpc.KnownLength;
+import io.grpc.ManagedChannel;
+import io.grpc.MethodDescriptor;
+import io.grpc.Server;
+import io.grpc.ServerServiceDefinition;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.runner.JUnitPlatform;
+import org.junit.runner.RunWith;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.OK;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@RunWith(JUnitPlatform.class)
+class RetainingServiceDefinitionsTest {
+	Transaction txn = Transaction.newBuilder()
+			.setBodyBytes(ByteString.copyFromUtf8("Not really a body"))
+			.build();
+
+	Server server;
+	ManagedChannel channel;
+
+	@AfterEach
+	private void cleanup() throws InterruptedException {
+		if (channel != null) {
+			channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+		}
+		if (server != null) {
+			server.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+		}
+	}
+
+	@Test
+	public void rewritesOnlyTransactionMethods() {
+		// given:
+		ServerServiceDefinition original = new CryptoServiceGrpc.CryptoServiceImplBase() { }.bindService();
+
+		// when:
+		ServerServiceDefinition subject = RetainingServiceDefinitions.retaining(original);
+
+		// then:
+		assertEquals(original.getServiceDescriptor().getName(), subject.getServiceDescriptor().getName());
+		assertEquals(original.getMethods().size(), subject.getMethods().size());
+		assertSame(
+				RetainingServiceDefinitions.TRANSACTION_MARSHALLER,
+				requestMarshallerOf(subject, CryptoServiceGrpc.getCreateAccountMethod()));
+		assertSame(
+				requestMarshallerOf(original, CryptoServiceGrpc.getGetAccountInfoMethod()),
+				requestMarshallerOf(subject, CryptoServiceGrpc.getGetAccountInfoMethod()));
+		assertTrue(RetainingServiceDefinitions.takesTransaction(CryptoServiceGrpc.getCryptoTransferMethod()));
+		assertFalse(RetainingServiceDefinitions.takesTransaction(CryptoServiceGrpc.getCryptoGetBalanceMethod()));
+	}
+
+	@Test
+	public void handlersSeeRetainedBytesForTheirRequest() throws IOException {
+		// setup:
+		AtomicReference<byte[]> first = new AtomicReference<>();
+		AtomicReference<byte[]> second = new AtomicReference<>();
+		AtomicReference<Transaction> received = new AtomicReference<>();
+		String name = InProcessServerBuilder.generateName();
+
+		// given:
+		server = InProcessServerBuilder.forName(name)
+				.directExecutor()
+				.addService(RetainingServiceDefinitions.retaining(new CryptoServiceGrpc.CryptoServiceImplBase() {
+					@Override
+					public void createAccount(Transaction request, StreamObserver<TransactionResponse> observer) {
+						received.set(request);
+						first.set(RetainedTransaction.bytesOf(request));
+						second.set(RetainedTransaction.bytesOf(request));
+						observer.onNext(TransactionResponse.newBuilder().setNodeTransactionPrecheckCode(OK).build());
+						observer.onCompleted();
+					}
+
+					@Override
+					public void getAccountInfo(Query request, StreamObserver<Response> observer) {
+						observer.onNext(Response.getDefaultInstance());
+						observer.onCompleted();
+					}
+				}))
+				.build()
+				.start();
+		channel = InProcessChannelBuilder.forName(name).directExecutor().build();
+		CryptoServiceGrpc.CryptoServiceBlockingStub stub = CryptoServiceGrpc.newBlockingStub(channel);
+
+		// when:
+		TransactionResponse response = stub.createAccount(txn);
+		Response answer = stub.getAccountInfo(Query.getDefaultInstance());
+
+		// then:
+		assertEquals(OK, response.getNodeTransactionPrecheckCode());
+		assertEquals(Response.getDefaultInstance(), answer);
+		assertEquals(txn, received.get());
+		assertArrayEquals(txn.toByteArray(), first.get());
+		assertSame(first.get(), second.get());
+	}
+
+	@Test
+	public void readsKnownLengthStreamsExactly() throws IOException {
+		// setup:
+		byte[] bytes = txn.toByteArray();
+
+		// expect:
+		assertArrayEquals(bytes, RetainingServiceDefinitions.readFully(new KnownLengthStream(bytes)));
+		assertArrayEquals(bytes, RetainingServiceDefinitions.readFully(new ByteArrayInputStream(bytes)));
+		assertArrayEquals(bytes, RetainingServiceDefinitions.readFully(new TruncatedStream(bytes, 5)));
+	}
+
+	private static MethodDescriptor.Marshaller<?> requestMarshallerOf(
+			ServerServiceDefinition definition,
+			MethodDescriptor<?, ?> method
+	) {
+		return definition.getMethod(method.getFullMethodName()).getMethodDescriptor().getRequestMarshaller();
+	}
+
+	private static class KnownLengthStream extends ByteArrayInputStream implements KnownLength {
+		KnownLengthStream(byte[] bytes) {
+			super(bytes);
+		}
+
+		@Override
+		public synchronized int read(byte[] b, int off, int len) {
+			return super.read(b, off, Math.min(len, 3));
+		}
+	}
+
+	private static class TruncatedStream extends KnownLengthStream {
+		private final int extra;
+
+		TruncatedStream(byte[] bytes, int extra) {
+			super(bytes);
+			this.extra = extra;
+		}
+
+		@Override
+		public synchronized int available() {
+			return super.available() + extra;
+		}
+	}
+}
@@ -0,0 +1,155 @@
+package com.hedera.services.grpc;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2020 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.legacy.services.stats.HederaNodeStats;
+import com.hederahashgraph.api.proto.java.Query;
+import com.hederahashgraph.api.proto.java.Response;
+import com.hederahashgraph.api.proto.java.Transaction;
+import com.hederahashgraph.api.proto.java.TransactionResponse;
+import com.hederahashgraph.service.proto.java.SmartContractServiceGrpc;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.ServerInterceptors;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.runner.JUnitPlatform;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.BUSY;
+import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.OK;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.mock;
+import static org.mockito.BDDMockito.never;
+import static org.mockito.BDDMockito.times;
+import static org.mockito.BDDMockito.verify;
+
+@RunWith(JUnitPlatform.class)
+class SheddingInterceptorTest {
+	HederaNodeStats stats;
+	HandlerExecutor handlers;
+	AtomicInteger handled = new AtomicInteger();
+
+	Server server;
+	ManagedChannel channel;
+	SmartContractServiceGrpc.SmartContractServiceBlockingStub stub;
+
+	@BeforeEach
+	private void setup() throws IOException {
+		stats = mock(HederaNodeStats.class);
+		handlers = mock(HandlerExecutor.class);
+
+		String name = InProcessServerBuilder.generateName();
+		server = InProcessServerBuilder.forName(name)
+				.directExecutor()
+				.addService(ServerInterceptors.intercept(
+						new SmartContractServiceGrpc.SmartContractServiceImplBase() {
+							@Override
+							public void createContract(Transaction request, StreamObserver<TransactionResponse> observer) {
+								handled.incrementAndGet();
+								observer.onNext(TransactionResponse.newBuilder().setNodeTransactionPrecheckCode(OK).build());
+								observer.onCompleted();
+							}
+
+							@Override
+							public void getContractInfo(Query request, StreamObserver<Response> observer) {
+								handled.incrementAndGet();
+								observer.onNext(Response.getDefaultInstance());
+								observer.onCompleted();
+							}
+						},
+						new SheddingInterceptor(handlers, stats)))
+				.build()
+				.start();
+		channel = InProcessChannelBuilder.forName(name).directExecutor().build();
+		stub = SmartContractServiceGrpc.newBlockingStub(channel);
+	}
+
+	@AfterEach
+	private void cleanup() throws InterruptedException {
+		channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+		server.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+	}
+
+	@Test
+	public void handlesAsUsualUnlessShedding() {
+		// when:
+		TransactionResponse response = stub.createContract(Transaction.getDefaultInstance());
+		Response answer = stub.getContractInfo(Query.getDefaultInstance());
+
+		// then:
+		assertEquals(OK, response.getNodeTransactionPrecheckCode());
+		assertEquals(Response.getDefaultInstance(), answer);
+		assertEquals(2, handled.get());
+		verify(stats, never()).handlerBusy();
+	}
+
+	@Test
+	public void answersBusyWhenShedAsCallStarts() {
+		given(handlers.isShedding()).willReturn(true);
+
+		// when:
+		TransactionResponse response = stub.createContract(Transaction.getDefaultInstance());
+		StatusRuntimeException e = assertThrows(
+				StatusRuntimeException.class,
+				() -> stub.getContractInfo(Query.getDefaultInstance()));
+
+		// then:
+		assertEquals(BUSY, response.getNodeTransactionPrecheckCode());
+		assertEquals(Status.Code.RESOURCE_EXHAUSTED, e.getStatus().getCode());
+		assertEquals(0, handled.get());
+		verify(stats, times(2)).handlerBusy();
+	}
+
+	@Test
+	public void answersBusyWhenShedOnceRequestIsComplete() {
+		given(handlers.isShedding()).willReturn(false, true);
+
+		// when:
+		TransactionResponse response = stub.createContract(Transaction.getDefaultInstance());
+
+		// then:
+		assertEquals(BUSY, response.getNodeTransactionPrecheckCode());
+		assertEquals(0, handled.get());
+		verify(stats).handlerBusy();
+	}
+
+	@Test
+	public void recognizesTxnResponseMethods() {
+		// expect:
+		assertTrue(SheddingInterceptor.answersWithTxnResponse(SmartContractServiceGrpc.getCreateContractMethod()));
+		assertFalse(SheddingInterceptor.answersWithTxnResponse(SmartContractServiceGrpc.getGetContractInfoMethod()));
+	}
+}
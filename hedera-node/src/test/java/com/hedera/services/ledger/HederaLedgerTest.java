@@ -67,6 +67,8 @@ import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.BDDMockito.*;
@@ -435,6 +437,51 @@ public class HederaLedgerTest {
 		assertEquals(2L, subject.netTransfersInTxn().getAccountAmountsList().size());
 	}
 
+	@Test
+	public void reusesNetTransfersUntilBalancesChange() {
+		setupWithLiveLedger();
+
+		// given:
+		subject.begin();
+		AccountID a = subject.create(genesis, 1_000L, new HederaAccountCustomizer().memo("a"));
+
+		// when:
+		var first = subject.netTransfersInTxn();
+		var second = subject.netTransfersInTxn();
+		subject.adjustBalance(a, 0L);
+		var third = subject.netTransfersInTxn();
+		subject.doTransfer(a, genesis, 500L);
+		var fourth = subject.netTransfersInTxn();
+
+		// then:
+		assertSame(first, second);
+		assertSame(first, third);
+		assertNotSame(first, fourth);
+		assertEquals(2, fourth.getAccountAmountsCount());
+		assertTrue(fourth.getAccountAmountsList().contains(
+				AccountAmount.newBuilder().setAccountID(a).setAmount(500L).build()));
+		assertTrue(fourth.getAccountAmountsList().contains(
+				AccountAmount.newBuilder().setAccountID(genesis).setAmount(-500L).build()));
+	}
+
+	@Test
+	public void omitsDestroyedAccountsFromNetTransfers() {
+		setupWithLiveLedger();
+
+		// given:
+		subject.begin();
+		AccountID a = asAccount("1.2.3");
+		subject.spawn(a, 1_000L, new HederaAccountCustomizer().memo("a"));
+		var withA = subject.netTransfersInTxn();
+
+		// when:
+		subject.destroy(a);
+
+		// then:
+		assertEquals(1, withA.getAccountAmountsCount());
+		assertEquals(0, subject.netTransfersInTxn().getAccountAmountsCount());
+	}
+
 	@Test
 	public void returnsNetTransfersInBalancedTxn() {
 		setupWithLiveLedger();
@@ -0,0 +1,175 @@
+package com.hedera.services.ledger;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2020 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hederahashgraph.api.proto.java.AccountAmount;
+import com.hederahashgraph.api.proto.java.AccountID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.runner.JUnitPlatform;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static com.hedera.test.utils.IdUtils.asAccount;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@RunWith(JUnitPlatform.class)
+class NetAdjustmentsTest {
+	AccountID a = asAccount("0.0.2");
+	AccountID b = asAccount("0.0.3");
+	AccountID c = asAccount("1.0.3");
+	AccountID d = asAccount("0.0.1001");
+
+	NetAdjustments subject;
+
+	@BeforeEach
+	private void setup() {
+		subject = new NetAdjustments();
+	}
+
+	@Test
+	public void keepsAccountsInComparatorOrder() {
+		// when:
+		set(d, 100L, 50L);
+		set(c, 100L, 150L);
+		set(a, 100L, 125L);
+		set(b, 100L, 75L);
+
+		// then:
+		assertEquals(List.of(a, b, c, d), idsIn());
+		assertEquals(List.of(25L, -25L, 50L, -50L), amountsIn());
+	}
+
+	@Test
+	public void accumulatesRepeatedChanges() {
+		// given:
+		set(a, 100L, 50L);
+
+		// when:
+		set(a, 100L, 80L);
+
+		// then:
+		assertEquals(1, subject.numTracked());
+		assertEquals(List.of(-20L), amountsIn());
+	}
+
+	@Test
+	public void omitsZeroAdjustments() {
+		// when:
+		set(a, 100L, 50L);
+		set(b, 100L, 100L);
+		set(a, 100L, 100L);
+
+		// then:
+		assertEquals(2, subject.numTracked());
+		assertEquals(0, subject.netTransfers().getAccountAmountsCount());
+	}
+
+	@Test
+	public void cachesTransfersUntilChange() {
+		// given:
+		set(a, 100L, 50L);
+		var first = subject.netTransfers();
+
+		// when:
+		set(a, 100L, 50L);
+		var second = subject.netTransfers();
+		set(b, 100L, 150L);
+		var third = subject.netTransfers();
+
+		// then:
+		assertSame(first, second);
+		assertNotSame(second, third);
+	}
+
+	@Test
+	public void growsPastInitialCapacity() {
+		// when:
+		for (int i = 2 * NetAdjustments.INITIAL_CAPACITY; i > 0; i--) {
+			set(asAccount("0.0." + i), 0L, i);
+		}
+
+		// then:
+		var amounts = amountsIn();
+		assertEquals(2 * NetAdjustments.INITIAL_CAPACITY, amounts.size());
+		for (int i = 0; i < amounts.size(); i++) {
+			assertEquals(i + 1, amounts.get(i));
+		}
+	}
+
+	@Test
+	public void forgetsAccounts() {
+		// given:
+		set(a, 100L, 50L);
+		set(b, 100L, 150L);
+		set(c, 100L, 175L);
+		var before = subject.netTransfers();
+
+		// when:
+		subject.forget(b);
+		subject.forget(d);
+
+		// then:
+		assertTrue(before.getAccountAmountsCount() == 3);
+		assertEquals(List.of(a, c), idsIn());
+		assertEquals(List.of(-50L, 75L), amountsIn());
+	}
+
+	@Test
+	public void clearsEverything() {
+		// given:
+		set(a, 100L, 50L);
+		subject.netTransfers();
+
+		// when:
+		subject.clear();
+
+		// then:
+		assertEquals(0, subject.numTracked());
+		assertEquals(0, subject.netTransfers().getAccountAmountsCount());
+		assertTrue(subject.slotOf(a) < 0);
+	}
+
+	private void set(AccountID id, long priorBalance, long balance) {
+		int slot = subject.slotOf(id);
+		if (slot < 0) {
+			slot = subject.track(slot, id, priorBalance);
+		}
+		subject.setBalance(slot, balance);
+	}
+
+	private List<AccountID> idsIn() {
+		return subject.netTransfers().getAccountAmountsList().stream()
+				.map(AccountAmount::getAccountID)
+				.collect(Collectors.toList());
+	}
+
+	private List<Long> amountsIn() {
+		return subject.netTransfers().getAccountAmountsList().stream()
+				.map(AccountAmount::getAmount)
+				.collect(Collectors.toList());
+	}
+}
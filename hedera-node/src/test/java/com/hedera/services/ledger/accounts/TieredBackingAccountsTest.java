@@ -0,0 +1,262 @@
+package com.hedera.services.ledger.accounts;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2020 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.legacy.services.stats.HederaNodeStats;
+import com.hedera.services.state.merkle.MerkleAccount;
+import com.hedera.services.state.merkle.MerkleAccountState;
+import com.hedera.services.state.merkle.MerkleEntityId;
+import com.hedera.services.state.tiering.MappedColdAccountStore;
+import com.hederahashgraph.api.proto.java.AccountID;
+import com.swirlds.fcmap.FCMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.runner.JUnitPlatform;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+import static com.hedera.services.state.tiering.MappedColdAccountStore.NO_LOCATION;
+import static com.hedera.test.utils.IdUtils.asAccount;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.BDDMockito.*;
+
+@RunWith(JUnitPlatform.class)
+class TieredBackingAccountsTest {
+	private final AccountID a = asAccount("0.0.1001");
+	private final AccountID b = asAccount("0.0.1002");
+	private final AccountID c = asAccount("0.0.1003");
+	private final MerkleEntityId aKey = MerkleEntityId.fromPojoAccountId(a);
+	private final MerkleEntityId bKey = MerkleEntityId.fromPojoAccountId(b);
+	private final MerkleEntityId cKey = MerkleEntityId.fromPojoAccountId(c);
+
+	MerkleAccount aAccount, bAccount, cAccount;
+	MerkleAccountState aState, bState, cState;
+	FCMap<MerkleEntityId, MerkleAccount> accounts;
+	MappedColdAccountStore coldStore;
+	HederaNodeStats stats;
+
+	TieredBackingAccounts subject;
+
+	@BeforeEach
+	private void setup() {
+		aState = mock(MerkleAccountState.class);
+		bState = mock(MerkleAccountState.class);
+		cState = mock(MerkleAccountState.class);
+		aAccount = mock(MerkleAccount.class);
+		bAccount = mock(MerkleAccount.class);
+		cAccount = mock(MerkleAccount.class);
+		given(aAccount.state()).willReturn(aState);
+		given(bAccount.state()).willReturn(bState);
+		given(cAccount.state()).willReturn(cState);
+
+		accounts = mock(FCMap.class);
+		given(accounts.get(aKey)).willReturn(aAccount);
+		given(accounts.get(bKey)).willReturn(bAccount);
+		given(accounts.get(cKey)).willReturn(cAccount);
+		given(accounts.getForModify(aKey)).willReturn(aAccount);
+
+		coldStore = mock(MappedColdAccountStore.class);
+		stats = mock(HederaNodeStats.class);
+
+		subject = new TieredBackingAccounts(accounts, coldStore, 2, stats);
+	}
+
+	@Test
+	public void countsHotHit() {
+		// when:
+		var account = subject.getUnsafeRef(a);
+
+		// then:
+		assertSame(aAccount, account);
+		verify(aState).promote();
+		verify(stats).hotAccountHit();
+		assertEquals(1, subject.hotCount());
+	}
+
+	@Test
+	public void promotesColdAccountOnMutableAccess() {
+		given(aState.promote()).willReturn(true);
+
+		// when:
+		var account = subject.getMutableRef(a);
+
+		// then:
+		assertSame(aAccount, account);
+		verify(stats).coldAccountPromoted(longThat(nanos -> nanos >= 0L));
+		verify(stats, never()).hotAccountHit();
+	}
+
+	@Test
+	public void ignoresMissingAccounts() {
+		// when:
+		var account = subject.getUnsafeRef(asAccount("0.0.666"));
+
+		// then:
+		assertNull(account);
+		assertEquals(0, subject.hotCount());
+		verifyNoInteractions(stats);
+	}
+
+	@Test
+	public void demotesLeastRecentlyUsedBeyondLimit() {
+		// given:
+		subject.getUnsafeRef(a);
+		subject.getUnsafeRef(b);
+		subject.getUnsafeRef(a);
+
+		// when:
+		subject.getUnsafeRef(c);
+
+		// then:
+		verify(bState).demoteTo(coldStore);
+		verify(aState, never()).demoteTo(any());
+		verify(cState, never()).demoteTo(any());
+		assertEquals(2, subject.hotCount());
+	}
+
+	@Test
+	public void toleratesEvictingRemovedAccount() {
+		// given:
+		subject.getUnsafeRef(a);
+		subject.getUnsafeRef(b);
+		given(accounts.get(aKey)).willReturn(null);
+
+		// when:
+		subject.getUnsafeRef(c);
+
+		// then:
+		verify(aState, never()).demoteTo(any());
+		assertEquals(2, subject.hotCount());
+	}
+
+	@Test
+	public void replacedAccountsAreHot() {
+		// when:
+		subject.replace(a, aAccount);
+
+		// then:
+		verify(accounts).put(aKey, aAccount);
+		assertEquals(1, subject.hotCount());
+	}
+
+	@Test
+	public void removedAccountsLeaveHotTier() {
+		// given:
+		subject.getUnsafeRef(a);
+
+		// when:
+		subject.remove(a);
+
+		// then:
+		verify(accounts).remove(aKey);
+		assertEquals(0, subject.hotCount());
+	}
+
+	@Test
+	public void usesDelegateContains() {
+		given(accounts.containsKey(aKey)).willReturn(true);
+
+		// expect:
+		assertTrue(subject.contains(a));
+		assertFalse(subject.contains(b));
+	}
+
+	@Test
+	public void demoteAllDemotesEveryAccount() {
+		given(accounts.values()).willReturn(List.of(aAccount, bAccount));
+		given(aState.demoteTo(coldStore)).willReturn(true);
+		// and:
+		subject.getUnsafeRef(a);
+
+		// when:
+		subject.demoteAll();
+
+		// then:
+		verify(aState).demoteTo(coldStore);
+		verify(bState).demoteTo(coldStore);
+		verify(stats, times(1)).coldAccountTooLarge();
+		assertEquals(0, subject.hotCount());
+	}
+
+	@Test
+	public void countsAccountsTooLargeToDemote() {
+		given(aState.demoteTo(coldStore)).willReturn(false);
+		// and:
+		subject.getUnsafeRef(a);
+		subject.getUnsafeRef(b);
+
+		// when:
+		subject.getUnsafeRef(c);
+
+		// then:
+		verify(stats).coldAccountTooLarge();
+	}
+
+	@Test
+	public void sweepsStoreWithLiveLocationsWhenDue() {
+		// setup:
+		var reported = new ArrayList<Long>();
+
+		given(coldStore.isDueForSweep()).willReturn(true);
+		given(coldStore.sweep(any())).willAnswer(invocation -> {
+			Consumer<LongConsumer> liveLocations = invocation.getArgument(0);
+			liveLocations.accept(reported::add);
+			return 1;
+		});
+		given(accounts.values()).willReturn(List.of(aAccount, bAccount, cAccount));
+		given(aState.coldLocation()).willReturn(5L);
+		given(bState.coldLocation()).willReturn(NO_LOCATION);
+		given(cState.coldLocation()).willReturn(7L);
+		given(aState.demoteTo(coldStore)).willReturn(true);
+		// and:
+		subject.getUnsafeRef(a);
+		subject.getUnsafeRef(b);
+
+		// when:
+		subject.getUnsafeRef(c);
+
+		// then:
+		assertEquals(List.of(5L, NO_LOCATION, 7L), reported);
+		verify(aState).demoteTo(coldStore);
+		verify(stats, never()).coldAccountTooLarge();
+	}
+
+	@Test
+	public void doesntSweepUntilDue() {
+		// given:
+		subject.getUnsafeRef(a);
+		subject.getUnsafeRef(b);
+
+		// when:
+		subject.getUnsafeRef(c);
+
+		// then:
+		verify(coldStore, never()).sweep(any());
+	}
+}
@@ -1,10 +1,15 @@
 package com.hedera.services.legacy.initialization;
 
+import com.hedera.services.legacy.core.jproto.JKey;
 import com.hedera.services.state.merkle.MerkleAccount;
 import com.hedera.services.state.merkle.MerkleEntityId;
 import com.hedera.services.utils.EntityIdUtils;
+import com.hedera.test.factories.accounts.MapValueFactory;
+import com.hedera.test.factories.keys.KeyTree;
 import com.swirlds.common.io.SerializableDataInputStream;
 import com.swirlds.fcmap.FCMap;
+import org.apache.commons.codec.binary.Hex;
+import org.json.simple.JSONObject;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -13,8 +18,17 @@ import org.junit.runner.RunWith;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.StringWriter;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.hedera.services.utils.EntityIdUtils.accountParsedFromString;
+import static com.hedera.test.factories.keys.NodeFactory.ed25519;
+import static org.mockito.BDDMockito.any;
+import static org.mockito.BDDMockito.mock;
+import static org.mockito.BDDMockito.willThrow;
 
 @RunWith(JUnitPlatform.class)
 class ExportExistingAccountsTest {
@@ -76,6 +90,151 @@ class ExportExistingAccountsTest {
 		Assertions.assertEquals(expected, actual);
 	}
 
+	@Test
+	public void streamedJsonMatchesArrayEncoding() throws Exception {
+		// setup:
+		var out = new StringWriter();
+		// and:
+		var accounts = someAccounts();
+
+		// given:
+		String expected = ExportExistingAccounts.asJsonArray(accounts).toJSONString();
+
+		// when:
+		ExportExistingAccounts.writeJson(ExportExistingAccounts.snapshotOf(accounts), out);
+
+		// then:
+		Assertions.assertEquals(expected, out.toString());
+	}
+
+	@Test
+	public void reportsProgressWithoutChangingOutput() throws Exception {
+		// setup:
+		var out = new StringWriter();
+		var accounts = someAccounts();
+		int oldInterval = ExportExistingAccounts.PROGRESS_REPORT_INTERVAL;
+		ExportExistingAccounts.PROGRESS_REPORT_INTERVAL = 1;
+
+		// given:
+		String expected = ExportExistingAccounts.asJsonArray(accounts).toJSONString();
+
+		// when:
+		ExportExistingAccounts.writeJson(ExportExistingAccounts.snapshotOf(accounts), out);
+
+		// then:
+		Assertions.assertEquals(expected, out.toString());
+
+		// cleanup:
+		ExportExistingAccounts.PROGRESS_REPORT_INTERVAL = oldInterval;
+	}
+
+	@Test
+	public void backgroundExportCapturesAccountsOnExecutorAndRenamesWhenDone() throws Exception {
+		// setup:
+		List<Runnable> pending = new ArrayList<>();
+		var accounts = someAccounts();
+		var target = Paths.get(TMP_EXPORT_LOC);
+		Files.deleteIfExists(target);
+
+		// given:
+		String expected = ExportExistingAccounts.asJsonArray(accounts).toJSONString();
+
+		// when:
+		var snapshotTaken = ExportExistingAccounts.exportAccountsInBackground(TMP_EXPORT_LOC, accounts, pending::add);
+
+		// then:
+		Assertions.assertEquals(1, pending.size());
+		Assertions.assertEquals(1, snapshotTaken.getCount());
+		Assertions.assertFalse(Files.exists(target));
+
+		// and when:
+		pending.get(0).run();
+
+		// then:
+		Assertions.assertEquals(0, snapshotTaken.getCount());
+		Assertions.assertEquals(expected, Files.readString(target));
+		Assertions.assertFalse(Files.exists(ExportExistingAccounts.tmpPathFor(TMP_EXPORT_LOC)));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void backgroundExportFailureLeavesNoFileAndReleasesSnapshot() throws Exception {
+		// setup:
+		List<Runnable> pending = new ArrayList<>();
+		FCMap<MerkleEntityId, MerkleAccount> accounts = mock(FCMap.class);
+		willThrow(IllegalStateException.class).given(accounts).forEach(any());
+		var target = Paths.get(TMP_EXPORT_LOC);
+		Files.deleteIfExists(target);
+
+		// given:
+		var snapshotTaken = ExportExistingAccounts.exportAccountsInBackground(TMP_EXPORT_LOC, accounts, pending::add);
+
+		// when:
+		Assertions.assertDoesNotThrow(() -> pending.get(0).run());
+
+		// then:
+		Assertions.assertEquals(0, snapshotTaken.getCount());
+		Assertions.assertFalse(Files.exists(target));
+		Assertions.assertFalse(Files.exists(ExportExistingAccounts.tmpPathFor(TMP_EXPORT_LOC)));
+	}
+
+	@Test
+	public void exportsProtobufEncodingOfKey() throws Exception {
+		// setup:
+		var accounts = someAccounts();
+		var id = MerkleEntityId.fromPojoAccountId(accountParsedFromString("0.0.2"));
+
+		// given:
+		var expected = Hex.encodeHexString(JKey.mapJKey(accounts.get(id).getKey()).toByteArray());
+
+		// when:
+		var exported = ExportExistingAccounts.asJsonArray(accounts).stream()
+				.map(JSONObject.class::cast)
+				.filter(account -> ((Long) ((JSONObject) account).get("accountNum")) == 2L)
+				.findAny()
+				.get();
+
+		// then:
+		Assertions.assertEquals(expected, ((JSONObject) exported).get("key"));
+	}
+
+	@Test
+	public void backgroundExportThrowsOnInvalidLocImmediately() {
+		// setup:
+		List<Runnable> pending = new ArrayList<>();
+
+		// expect:
+		Assertions.assertThrows(IOException.class, () ->
+				ExportExistingAccounts.exportAccountsInBackground(
+						"not/a/location",
+						new FCMap<>(new MerkleEntityId.Provider(), MerkleAccount.LEGACY_PROVIDER),
+						pending::add));
+		// and:
+		Assertions.assertTrue(pending.isEmpty());
+	}
+
+	private FCMap<MerkleEntityId, MerkleAccount> someAccounts() throws Exception {
+		FCMap<MerkleEntityId, MerkleAccount> accounts = new FCMap<>(
+				new MerkleEntityId.Provider(),
+				MerkleAccount.LEGACY_PROVIDER);
+		accounts.put(
+				MerkleEntityId.fromPojoAccountId(accountParsedFromString("0.0.2")),
+				MapValueFactory.newAccount()
+						.balance(1_234L)
+						.accountKeys(KeyTree.withRoot(ed25519()).asJKey())
+						.receiverSigRequired(true)
+						.autoRenewPeriod(7776000L)
+						.get());
+		accounts.put(
+				MerkleEntityId.fromPojoAccountId(accountParsedFromString("0.0.3")),
+				MapValueFactory.newAccount()
+						.balance(5_678L)
+						.proxy(accountParsedFromString("0.0.2"))
+						.accountKeys(KeyTree.withRoot(ed25519()).asJKey())
+						.get());
+		return accounts;
+	}
+
 	@AfterAll
 	public static void cleanup() {
 		var f = new File(TMP_EXPORT_LOC);
@@ -0,0 +1,485 @@
+package com.hedera.services.legacy.services.state;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2020 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.context.AwareTransactionContext;
+import com.hedera.services.context.ServicesContext;
+import com.hedera.services.context.domain.trackers.IssEventInfo;
+import com.hedera.services.context.properties.GlobalDynamicProperties;
+import com.hedera.services.context.properties.PropertySource;
+import com.hedera.services.fees.FeeExemptions;
+import com.hedera.services.fees.HbarCentExchange;
+import com.hedera.services.fees.calculation.AwareFcfsUsagePrices;
+import com.hedera.services.fees.calculation.UsageBasedFeeCalculator;
+import com.hedera.services.fees.calculation.crypto.txns.CryptoDeleteResourceUsage;
+import com.hedera.services.fees.calculation.crypto.txns.CryptoTransferResourceUsage;
+import com.hedera.services.fees.charging.ItemizableFeeCharging;
+import com.hedera.services.fees.charging.TxnFeeChargingPolicy;
+import com.hedera.services.ledger.HederaLedger;
+import com.hedera.services.ledger.TransactionalLedger;
+import com.hedera.services.ledger.accounts.HashMapBackingAccounts;
+import com.hedera.services.ledger.properties.AccountProperty;
+import com.hedera.services.ledger.properties.ChangeSummaryManager;
+import com.hedera.services.legacy.core.jproto.JKeyList;
+import com.hedera.services.legacy.services.stats.HandleStageAllocations;
+import com.hedera.services.legacy.services.stats.HandleStageLatencies;
+import com.hedera.services.legacy.services.stats.HederaNodeStats;
+import com.hedera.services.records.AccountRecordsHistorian;
+import com.hedera.services.sigs.order.HederaSigningOrder;
+import com.hedera.services.sigs.order.SigningOrderResult;
+import com.hedera.services.sigs.verification.SyncVerifier;
+import com.hedera.services.state.merkle.MerkleAccount;
+import com.hedera.services.state.merkle.MerkleEntityId;
+import com.hedera.services.state.submerkle.ExpirableTxnRecord;
+import com.hedera.services.txns.TransitionLogicLookup;
+import com.hedera.services.txns.TxnPreparation;
+import com.hedera.services.txns.crypto.CryptoTransferTransitionLogic;
+import com.hedera.services.txns.crypto.ParallelTransferExecutor;
+import com.hedera.services.txns.diligence.ScopedDuplicateClassifier;
+import com.hedera.services.txns.validation.OptionValidator;
+import com.hederahashgraph.api.proto.java.AccountAmount;
+import com.hederahashgraph.api.proto.java.AccountID;
+import com.hederahashgraph.api.proto.java.CryptoDeleteTransactionBody;
+import com.hederahashgraph.api.proto.java.CryptoTransferTransactionBody;
+import com.hederahashgraph.api.proto.java.CurrentAndNextFeeSchedule;
+import com.hederahashgraph.api.proto.java.Duration;
+import com.hederahashgraph.api.proto.java.ExchangeRate;
+import com.hederahashgraph.api.proto.java.ExchangeRateSet;
+import com.hederahashgraph.api.proto.java.FeeComponents;
+import com.hederahashgraph.api.proto.java.FeeData;
+import com.hederahashgraph.api.proto.java.FeeSchedule;
+import com.hederahashgraph.api.proto.java.HederaFunctionality;
+import com.hederahashgraph.api.proto.java.Timestamp;
+import com.hederahashgraph.api.proto.java.Transaction;
+import com.hederahashgraph.api.proto.java.TimestampSeconds;
+import com.hederahashgraph.api.proto.java.TransactionBody;
+import com.hederahashgraph.api.proto.java.TransactionFeeSchedule;
+import com.hederahashgraph.api.proto.java.TransactionID;
+import com.hederahashgraph.api.proto.java.TransactionRecord;
+import com.hederahashgraph.api.proto.java.TransferList;
+import com.hederahashgraph.fee.CryptoFeeBuilder;
+import com.swirlds.common.Address;
+import com.swirlds.common.AddressBook;
+import com.swirlds.fcmap.FCMap;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.runner.JUnitPlatform;
+import org.junit.runner.RunWith;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static com.hederahashgraph.api.proto.java.HederaFunctionality.CryptoDelete;
+import static com.hederahashgraph.api.proto.java.HederaFunctionality.CryptoTransfer;
+import static com.hedera.services.txns.diligence.DuplicateClassification.BELIEVED_UNIQUE;
+import static com.hedera.services.txns.diligence.DuplicateClassification.DUPLICATE;
+import static com.hedera.test.utils.IdUtils.asAccount;
+import static com.hedera.test.utils.TxnUtils.withAdjustments;
+import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.DUPLICATE_TRANSACTION;
+import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.INSUFFICIENT_ACCOUNT_BALANCE;
+import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.INSUFFICIENT_PAYER_BALANCE;
+import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.OK;
+import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.SUCCESS;
+import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.TRANSFER_LIST_SIZE_LIMIT_EXCEEDED;
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.BDDMockito.any;
+import static org.mockito.BDDMockito.anyLong;
+import static org.mockito.BDDMockito.atMost;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.mock;
+import static org.mockito.BDDMockito.spy;
+import static org.mockito.BDDMockito.verify;
+import static org.mockito.BDDMockito.willAnswer;
+
+/**
+ * Checks that {@link AwareProcessLogic} handles random runs of CryptoTransfers
+ * (including duplicates, transfers that fail their syntax check after being charged,
+ * and payers that cannot afford their transfers or fees) with exactly the same records
+ * and final balances when it defers them for a {@link ParallelTransferExecutor}, as
+ * when it handles each one as soon as it reaches consensus.
+ *
+ * Fees come from a real {@link UsageBasedFeeCalculator}, whose prices and exchange rate
+ * depend on each txn's function and valid start; these change between successive txns.
+ */
+@RunWith(JUnitPlatform.class)
+class AwareProcessLogicTest {
+	static final int NUM_ACCOUNTS = 32;
+	static final long FIRST_ACCOUNT = 1_001L;
+	static final long MISSING_ACCOUNT = FIRST_ACCOUNT + NUM_ACCOUNTS;
+	static final long SCHEDULE_AND_RATE_CHANGE = 1_234_566L;
+	static final String DUPLICATE_MEMO = "Seen before";
+	static final Instant START = Instant.ofEpochSecond(1_234_567L);
+
+	static final ExchangeRateSet RATES = ExchangeRateSet.newBuilder()
+			.setCurrentRate(rate(1, 1))
+			.setNextRate(rate(3, 2))
+			.build();
+	static final CurrentAndNextFeeSchedule SCHEDULES = CurrentAndNextFeeSchedule.newBuilder()
+			.setCurrentFeeSchedule(schedule(SCHEDULE_AND_RATE_CHANGE, 10, 40))
+			.setNextFeeSchedule(schedule(Long.MAX_VALUE, 13, 70))
+			.build();
+
+	AccountID node = asAccount("0.0.3");
+	AccountID funding = asAccount("0.0.98");
+
+	ExecutorService workers;
+
+	@BeforeEach
+	private void setup() {
+		workers = Executors.newFixedThreadPool(4);
+	}
+
+	@AfterEach
+	private void cleanup() {
+		workers.shutdownNow();
+	}
+
+	@Test
+	public void deferredTransfersMatchImmediatelyHandledTransfers() throws Exception {
+		for (long seed = 1; seed <= 5; seed++) {
+			// given:
+			var immediate = new Node(seed, false);
+			var deferring = new Node(seed, true);
+			// and:
+			var txns = randomTxns(new Random(seed), 300);
+
+			// when:
+			for (int i = 0; i < txns.size(); i++) {
+				immediate.handle(txns.get(i), i);
+				deferring.handle(txns.get(i), i);
+				if (i % 97 == 96) {
+					deferring.subject.flush();
+				}
+			}
+			deferring.subject.flush();
+
+			// then:
+			assertEquals(txns.size(), immediate.records.size());
+			assertEquals(immediate.records, deferring.records, "Records differ with seed " + seed);
+			assertEquals(immediate.balances(), deferring.balances(), "Balances differ with seed " + seed);
+			// and:
+			verify(deferring.chargingPolicy, atMost(txns.size() / 2)).apply(any(), any());
+		}
+	}
+
+	@Test
+	public void everyTxnHasItsRecordOnceFlushedAfterIt() throws Exception {
+		// given:
+		var immediate = new Node(1L, false);
+		var deferring = new Node(1L, true);
+		var txns = randomTxns(new Random(1L), 100);
+
+		for (int i = 0; i < txns.size(); i++) {
+			// when:
+			immediate.handle(txns.get(i), i);
+			deferring.handle(txns.get(i), i);
+			deferring.subject.flush();
+
+			// then:
+			assertEquals(i + 1, deferring.records.size());
+			assertEquals(immediate.records.get(i), deferring.records.get(i));
+		}
+	}
+
+	@Test
+	public void randomTxnsCoverInterestingOutcomes() throws Exception {
+		// given:
+		var deferring = new Node(1L, true);
+		var txns = randomTxns(new Random(1L), 300);
+
+		// when:
+		for (int i = 0; i < txns.size(); i++) {
+			deferring.handle(txns.get(i), i);
+		}
+		deferring.subject.flush();
+
+		// then:
+		var statuses = deferring.records.stream().map(record -> record.getReceipt().getStatus()).collect(toList());
+		assertTrue(statuses.containsAll(List.of(
+				SUCCESS,
+				DUPLICATE_TRANSACTION,
+				TRANSFER_LIST_SIZE_LIMIT_EXCEEDED,
+				INSUFFICIENT_ACCOUNT_BALANCE,
+				INSUFFICIENT_PAYER_BALANCE)));
+	}
+
+	@Test
+	public void otherTxnsAreHandledOnlyAfterDeferredTransfers() throws Exception {
+		// setup:
+		AccountID a = asAccount("0.0.1001"), b = asAccount("0.0.1002");
+
+		// given:
+		var deferring = new Node(1L, true);
+		var transfer = signedTxn(a, 0, "", withAdjustments(a, -1L, b, 1L));
+		var delete = signedTxn(b, 1, "", null);
+
+		// when:
+		deferring.handle(transfer, 0);
+		// then:
+		assertTrue(deferring.records.isEmpty());
+
+		// and when:
+		deferring.handle(delete, 1);
+		// then:
+		assertEquals(2, deferring.records.size());
+		assertEquals(a, deferring.records.get(0).getTransactionID().getAccountID());
+		assertEquals(b, deferring.records.get(1).getTransactionID().getAccountID());
+	}
+
+	private List<Transaction> randomTxns(Random r, int n) {
+		List<Transaction> txns = new ArrayList<>();
+		for (int i = 0; i < n; i++) {
+			AccountID payer = account(r);
+			AccountID from = r.nextInt(4) == 0 ? account(r) : payer;
+			AccountID to = r.nextInt(30) == 0 ? asAccount("0.0." + MISSING_ACCOUNT) : account(r);
+			if (to.equals(from)) {
+				to = funding;
+			}
+			long amount = 1 + r.nextInt(r.nextInt(10) == 0 ? 1_000_000 : 10_000);
+			TransferList transfers = (r.nextInt(20) == 0)
+					? withAdjustments(from, -2 * amount, to, amount, node, amount)
+					: withAdjustments(from, -amount, to, amount);
+			String memo = (r.nextInt(20) == 0) ? DUPLICATE_MEMO : "";
+			txns.add(signedTxn(payer, i, memo, transfers));
+		}
+		return txns;
+	}
+
+	private AccountID account(Random r) {
+		return asAccount("0.0." + (FIRST_ACCOUNT + r.nextInt(NUM_ACCOUNTS)));
+	}
+
+	private Transaction signedTxn(AccountID payer, int nanos, String memo, TransferList transfers) {
+		var body = TransactionBody.newBuilder()
+				.setTransactionID(TransactionID.newBuilder()
+						.setAccountID(payer)
+						.setTransactionValidStart(Timestamp.newBuilder()
+								.setSeconds(SCHEDULE_AND_RATE_CHANGE - nanos % 2)
+								.setNanos(nanos)))
+				.setNodeAccountID(node)
+				.setTransactionFee(1_000L)
+				.setTransactionValidDuration(Duration.newBuilder().setSeconds(120L))
+				.setMemo(memo);
+		if (transfers != null) {
+			body.setCryptoTransfer(CryptoTransferTransactionBody.newBuilder().setTransfers(transfers));
+		} else {
+			body.setCryptoDelete(CryptoDeleteTransactionBody.getDefaultInstance());
+		}
+		return Transaction.newBuilder().setBodyBytes(body.build().toByteString()).build();
+	}
+
+	/**
+	 * Just enough of a node to handle CryptoTransfers through {@link AwareProcessLogic}, with
+	 * the real ledger, transaction context, fee charging, and transition logic.
+	 */
+	private class Node {
+		final List<TransactionRecord> records = new ArrayList<>();
+		final HashMapBackingAccounts backingAccounts = new HashMapBackingAccounts();
+		final TxnFeeChargingPolicy chargingPolicy = spy(new TxnFeeChargingPolicy());
+		final ServicesContext ctx = mock(ServicesContext.class);
+		final AwareProcessLogic subject;
+
+		Node(long seed, boolean isDeferring) throws Exception {
+			var r = new Random(-seed);
+			backingAccounts.replace(node, accountWith(1_000L));
+			backingAccounts.replace(funding, accountWith(1_000_000L));
+			for (long num = FIRST_ACCOUNT; num < MISSING_ACCOUNT; num++) {
+				backingAccounts.replace(
+						asAccount("0.0." + num),
+						accountWith(r.nextInt(3) == 0 ? r.nextInt(200) : r.nextInt(1_000_000)));
+			}
+
+			var properties = mock(PropertySource.class);
+			given(properties.getAccountProperty("ledger.funding.account")).willReturn(funding);
+			given(properties.getBooleanProperty("ledger.transfers.parallel.enabled")).willReturn(isDeferring);
+			given(properties.getIntProperty("ledger.transfers.parallel.maxBatchSize")).willReturn(64);
+			var exemptions = mock(FeeExemptions.class);
+
+			FCMap<MerkleEntityId, MerkleAccount> accounts = mock(FCMap.class);
+			given(accounts.get(any())).willAnswer(invocation ->
+					backingAccounts.getUnsafeRef(idOf(invocation.getArgument(0))));
+			given(accounts.containsKey(any())).willAnswer(invocation ->
+					backingAccounts.contains(idOf(invocation.getArgument(0))));
+
+			var historian = mock(AccountRecordsHistorian.class);
+			var txnCtx = new AwareTransactionContext(ctx);
+			willRecordFrom(historian, txnCtx);
+			var ledger = new HederaLedger(null, historian, mock(ScopedDuplicateClassifier.class), ledgerOver());
+			var charging = new ItemizableFeeCharging(exemptions, properties);
+			charging.setLedger(ledger);
+
+			var duplicates = mock(ScopedDuplicateClassifier.class);
+			given(duplicates.duplicityOfActiveTxn()).willAnswer(invocation ->
+					DUPLICATE_MEMO.equals(txnCtx.accessor().getTxn().getMemo()) ? DUPLICATE : BELIEVED_UNIQUE);
+			var validator = mock(OptionValidator.class);
+			given(validator.isValidTxnDuration(anyLong())).willReturn(true);
+			given(validator.chronologyStatus(any(), any())).willReturn(OK);
+			given(validator.isAcceptableLength(any())).willAnswer(invocation ->
+					((TransferList) invocation.getArgument(0)).getAccountAmountsCount() <= 2);
+			var lookup = mock(TransitionLogicLookup.class);
+			given(lookup.lookupFor(any())).willReturn(Optional.of(
+					new CryptoTransferTransitionLogic(ledger, validator, txnCtx)));
+			var keyOrder = mock(HederaSigningOrder.class);
+			given(keyOrder.keysForPayer(any(), any())).willReturn(new SigningOrderResult<>(List.of(new JKeyList())));
+			given(keyOrder.keysForOtherParties(any(), any())).willReturn(new SigningOrderResult<>(List.of()));
+			var address = mock(Address.class);
+			given(address.getMemo()).willReturn("0.0.3");
+			var book = mock(AddressBook.class);
+			given(book.getAddress(anyLong())).willReturn(address);
+			var exchange = mock(HbarCentExchange.class);
+			given(exchange.activeRates()).willReturn(RATES);
+			given(exchange.rate(any())).willAnswer(invocation -> rateAt(invocation.getArgument(0)));
+			given(exchange.activeRate()).willAnswer(invocation ->
+					rateAt(txnCtx.accessor().getTxn().getTransactionID().getTransactionValidStart()));
+			var usagePrices = new AwareFcfsUsagePrices(null, null, txnCtx);
+			usagePrices.setFeeSchedules(SCHEDULES);
+			var cryptoFees = new CryptoFeeBuilder();
+			var fees = new UsageBasedFeeCalculator(
+					mock(GlobalDynamicProperties.class),
+					exchange,
+					usagePrices,
+					List.of(new CryptoTransferResourceUsage(cryptoFees), new CryptoDeleteResourceUsage(cryptoFees)),
+					List.of());
+			var preparation = new TxnPreparation(lookup, mock(GlobalDynamicProperties.class), 0);
+			var parallelTransfers = new ParallelTransferExecutor(
+					ParallelTransferExecutor.Mode.PARALLEL, workers, exemptions, properties, new TxnFeeChargingPolicy());
+			var stats = mock(HederaNodeStats.class);
+			var allocations = new HandleStageAllocations();
+			given(stats.handleAllocations()).willReturn(allocations);
+			given(stats.handleLatencies()).willReturn(new HandleStageLatencies(allocations));
+
+			given(ctx.properties()).willReturn(properties);
+			given(ctx.accounts()).willReturn(accounts);
+			given(ctx.backingAccounts()).willReturn(backingAccounts);
+			given(ctx.txnCtx()).willReturn(txnCtx);
+			given(ctx.ledger()).willReturn(ledger);
+			given(ctx.charging()).willReturn(charging);
+			given(ctx.txnChargingPolicy()).willReturn(chargingPolicy);
+			given(ctx.fees()).willReturn(fees);
+			given(ctx.recordsHistorian()).willReturn(historian);
+			given(ctx.duplicateClassifier()).willReturn(duplicates);
+			given(ctx.issEventInfo()).willReturn(mock(IssEventInfo.class));
+			given(ctx.syncVerifier()).willReturn(mock(SyncVerifier.class));
+			given(ctx.keyOrder()).willReturn(keyOrder);
+			given(ctx.validator()).willReturn(validator);
+			given(ctx.transitionLogic()).willReturn(lookup);
+			given(ctx.addressBook()).willReturn(book);
+			given(ctx.exchange()).willReturn(exchange);
+			given(ctx.stats()).willReturn(stats);
+			given(ctx.txnPreparation()).willReturn(preparation);
+			given(ctx.parallelTransfers()).willReturn(parallelTransfers);
+
+			subject = new AwareProcessLogic(ctx);
+		}
+
+		void handle(Transaction signedTxn, int i) throws Exception {
+			var platformTxn = mock(com.swirlds.common.Transaction.class);
+			given(platformTxn.getContents()).willReturn(signedTxn.toByteArray());
+			subject.incorporateConsensusTxn(platformTxn, START.plusNanos(i), 0L);
+		}
+
+		List<Long> balances() {
+			List<Long> balances = new ArrayList<>(List.of(
+					backingAccounts.getUnsafeRef(node).getBalance(),
+					backingAccounts.getUnsafeRef(funding).getBalance()));
+			for (long num = FIRST_ACCOUNT; num < MISSING_ACCOUNT; num++) {
+				balances.add(backingAccounts.getUnsafeRef(asAccount("0.0." + num)).getBalance());
+			}
+			return balances;
+		}
+
+		private void willRecordFrom(AccountRecordsHistorian historian, AwareTransactionContext txnCtx) {
+			willAnswer(invocation -> {
+				records.add(txnCtx.recordSoFar());
+				return null;
+			}).given(historian).addNewRecords();
+			given(historian.lastCreatedRecord()).willReturn(Optional.of(mock(ExpirableTxnRecord.class)));
+		}
+
+		private TransactionalLedger<AccountID, AccountProperty, MerkleAccount> ledgerOver() {
+			return new TransactionalLedger<>(
+					AccountProperty.class,
+					MerkleAccount::new,
+					backingAccounts,
+					new ChangeSummaryManager<>());
+		}
+	}
+
+	private static AccountID idOf(MerkleEntityId key) {
+		return AccountID.newBuilder()
+				.setShardNum(key.getShard())
+				.setRealmNum(key.getRealm())
+				.setAccountNum(key.getNum())
+				.build();
+	}
+
+	private static MerkleAccount accountWith(long balance) throws Exception {
+		var account = new MerkleAccount();
+		account.setBalance(balance);
+		account.setKey(new JKeyList());
+		return account;
+	}
+
+	private static ExchangeRate rateAt(Timestamp at) {
+		return at.getSeconds() < SCHEDULE_AND_RATE_CHANGE ? RATES.getCurrentRate() : RATES.getNextRate();
+	}
+
+	private static ExchangeRate rate(int hbarEquiv, int centEquiv) {
+		return ExchangeRate.newBuilder()
+				.setHbarEquiv(hbarEquiv)
+				.setCentEquiv(centEquiv)
+				.setExpirationTime(TimestampSeconds.newBuilder().setSeconds(SCHEDULE_AND_RATE_CHANGE))
+				.build();
+	}
+
+	private static FeeSchedule schedule(long expiry, long transferTinyCents, long deleteTinyCents) {
+		return FeeSchedule.newBuilder()
+				.setExpiryTime(TimestampSeconds.newBuilder().setSeconds(expiry))
+				.addTransactionFeeSchedule(pricesFor(CryptoTransfer, transferTinyCents))
+				.addTransactionFeeSchedule(pricesFor(CryptoDelete, deleteTinyCents))
+				.build();
+	}
+
+	private static TransactionFeeSchedule pricesFor(HederaFunctionality function, long tinyCents) {
+		return TransactionFeeSchedule.newBuilder()
+				.setHederaFunctionality(function)
+				.setFeeData(FeeData.newBuilder()
+						.setNodedata(constantPrice(tinyCents))
+						.setNetworkdata(constantPrice(2 * tinyCents))
+						.setServicedata(constantPrice(3 * tinyCents)))
+				.build();
+	}
+
+	private static FeeComponents constantPrice(long tinyCents) {
+		return FeeComponents.newBuilder()
+				.setConstant(tinyCents * 1_000)
+				.setMax(Long.MAX_VALUE)
+				.build();
+	}
+}
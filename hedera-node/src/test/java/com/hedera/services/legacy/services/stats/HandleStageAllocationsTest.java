@@ -0,0 +1,154 @@
+package com.hedera.services.legacy.services.stats;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2020 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.swirlds.common.Platform;
+import com.swirlds.common.StatEntry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.runner.JUnitPlatform;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.hedera.services.legacy.services.stats.HandleStageLatencies.Stage.COMMIT;
+import static com.hedera.services.legacy.services.stats.HandleStageLatencies.Stage.FEE_COMPUTATION;
+import static com.hedera.services.legacy.services.stats.HandleStageLatencies.Stage.PREPARATION;
+import static com.hederahashgraph.api.proto.java.HederaFunctionality.ConsensusSubmitMessage;
+import static com.hederahashgraph.api.proto.java.HederaFunctionality.CryptoTransfer;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.BDDMockito.any;
+import static org.mockito.BDDMockito.mock;
+import static org.mockito.BDDMockito.times;
+import static org.mockito.BDDMockito.verify;
+
+@RunWith(JUnitPlatform.class)
+class HandleStageAllocationsTest {
+	AtomicLong allocated;
+	HandleStageAllocations subject;
+
+	@BeforeEach
+	private void setup() {
+		allocated = new AtomicLong();
+		subject = new HandleStageAllocations();
+	}
+
+	@Test
+	public void ignoresEverythingUntilEnabled() {
+		// when:
+		subject.startTxn();
+		subject.endStage(CryptoTransfer, PREPARATION);
+		subject.endTxn(CryptoTransfer);
+
+		// then:
+		assertFalse(subject.isEnabled());
+		assertEquals(0.0, subject.meanBytesPerTxn(CryptoTransfer));
+		assertEquals("", subject.summary());
+	}
+
+	@Test
+	public void attributesBytesToStagesAndTxns() {
+		// setup:
+		subject.enableWith(allocated::get);
+
+		// when:
+		subject.startTxn();
+		allocated.addAndGet(100);
+		subject.endStage(CryptoTransfer, PREPARATION);
+		allocated.addAndGet(300);
+		subject.endStage(CryptoTransfer, FEE_COMPUTATION);
+		allocated.addAndGet(1_000);
+		subject.startStage();
+		allocated.addAndGet(50);
+		subject.endStage(CryptoTransfer, COMMIT);
+		subject.endTxn(CryptoTransfer);
+		// and:
+		subject.startTxn();
+		allocated.addAndGet(200);
+		subject.endStage(CryptoTransfer, PREPARATION);
+		subject.endTxn(CryptoTransfer);
+
+		// then:
+		assertEquals(150.0, subject.meanBytesIn(CryptoTransfer, PREPARATION));
+		assertEquals(300.0, subject.meanBytesIn(CryptoTransfer, FEE_COMPUTATION));
+		assertEquals(50.0, subject.meanBytesIn(CryptoTransfer, COMMIT));
+		assertEquals(825.0, subject.meanBytesPerTxn(CryptoTransfer));
+		assertEquals(0.0, subject.meanBytesPerTxn(ConsensusSubmitMessage));
+	}
+
+	@Test
+	public void summarizesObservedFunctionalities() {
+		// setup:
+		subject.enableWith(allocated::get);
+
+		// given:
+		subject.startTxn();
+		allocated.addAndGet(1_234);
+		subject.endStage(CryptoTransfer, COMMIT);
+		subject.endTxn(CryptoTransfer);
+
+		// when:
+		var summary = subject.summary();
+
+		// then:
+		assertTrue(summary.contains("CryptoTransfer"));
+		assertTrue(summary.contains("perTxn=1234"));
+		assertTrue(summary.contains("COMMIT"));
+		assertFalse(summary.contains("PREPARATION"));
+		assertFalse(summary.contains("ConsensusSubmitMessage"));
+	}
+
+	@Test
+	public void enablesWithJvmCountersWhereSupported() {
+		// expect:
+		assertEquals(subject.enable(), subject.isEnabled());
+	}
+
+	@Test
+	public void latenciesDelimitAllocationStages() {
+		// setup:
+		subject.enableWith(allocated::get);
+		var latencies = new HandleStageLatencies(subject);
+
+		// when:
+		long start = latencies.start();
+		allocated.addAndGet(64);
+		latencies.record(CryptoTransfer, FEE_COMPUTATION, start);
+
+		// then:
+		assertEquals(64.0, subject.meanBytesIn(CryptoTransfer, FEE_COMPUTATION));
+	}
+
+	@Test
+	public void registersOneEntryPerStagePlusTxn() {
+		// setup:
+		var platform = mock(Platform.class);
+
+		// when:
+		subject.registerStatEntries(platform);
+
+		// then:
+		verify(platform, times(1 + HandleStageLatencies.Stage.values().length))
+				.addAppStatEntry(any(StatEntry.class));
+	}
+}
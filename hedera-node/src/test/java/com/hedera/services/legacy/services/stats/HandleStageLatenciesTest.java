@@ -0,0 +1,155 @@
+package com.hedera.services.legacy.services.stats;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2020 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.swirlds.common.Platform;
+import com.swirlds.common.StatEntry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.runner.JUnitPlatform;
+import org.junit.runner.RunWith;
+
+import static com.hedera.services.legacy.services.stats.HandleStageLatencies.Stage.COMMIT;
+import static com.hedera.services.legacy.services.stats.HandleStageLatencies.Stage.FEE_COMPUTATION;
+import static com.hedera.services.legacy.services.stats.HandleStageLatencies.bucketOf;
+import static com.hedera.services.legacy.services.stats.HandleStageLatencies.quantileOf;
+import static com.hedera.services.legacy.services.stats.HandleStageLatencies.upperBoundOf;
+import static com.hederahashgraph.api.proto.java.HederaFunctionality.ConsensusSubmitMessage;
+import static com.hederahashgraph.api.proto.java.HederaFunctionality.CryptoTransfer;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.BDDMockito.any;
+import static org.mockito.BDDMockito.mock;
+import static org.mockito.BDDMockito.times;
+import static org.mockito.BDDMockito.verify;
+
+@RunWith(JUnitPlatform.class)
+class HandleStageLatenciesTest {
+	HandleStageLatencies subject;
+
+	@BeforeEach
+	private void setup() {
+		subject = new HandleStageLatencies();
+	}
+
+	@Test
+	public void bucketsAreContiguousAndBoundValuesWithinAQuarter() {
+		// expect:
+		for (int i = 0; i < 4; i++) {
+			assertEquals(i, bucketOf(i));
+			assertEquals(i, upperBoundOf(i));
+		}
+		for (int bucket = 4; bucket < 247; bucket++) {
+			assertEquals(upperBoundOf(bucket - 1) + 1, lowerBoundOf(bucket));
+			assertEquals(bucket, bucketOf(lowerBoundOf(bucket)));
+			assertEquals(bucket, bucketOf(upperBoundOf(bucket)));
+			assertTrue(upperBoundOf(bucket) <= 1.25 * lowerBoundOf(bucket));
+		}
+		// and:
+		assertTrue(bucketOf(Long.MAX_VALUE) < HandleStageLatencies.NUM_BUCKETS);
+	}
+
+	private long lowerBoundOf(int bucket) {
+		return upperBoundOf(bucket - 1) + 1;
+	}
+
+	@Test
+	public void quantilesUseUpperBucketBounds() {
+		// setup:
+		long[] counts = new long[HandleStageLatencies.NUM_BUCKETS];
+		counts[bucketOf(1_000)] = 98;
+		counts[bucketOf(100_000)] = 2;
+
+		// expect:
+		assertEquals(upperBoundOf(bucketOf(1_000)), quantileOf(counts, 0.50));
+		assertEquals(upperBoundOf(bucketOf(1_000)), quantileOf(counts, 0.98));
+		assertEquals(upperBoundOf(bucketOf(100_000)), quantileOf(counts, 0.99));
+		assertEquals(0L, quantileOf(new long[HandleStageLatencies.NUM_BUCKETS], 0.99));
+	}
+
+	@Test
+	public void recordReturnsEndOfStage() {
+		// given:
+		long start = System.nanoTime();
+
+		// when:
+		long end = subject.record(CryptoTransfer, FEE_COMPUTATION, start);
+
+		// then:
+		assertTrue(end >= start);
+		assertTrue(end <= System.nanoTime());
+	}
+
+	@Test
+	public void rollsIntervalQuantilesAcrossFunctionalities() {
+		// setup:
+		long now = System.nanoTime();
+
+		// given:
+		subject.record(CryptoTransfer, COMMIT, now - 10_000_000L);
+		subject.record(ConsensusSubmitMessage, COMMIT, now - 10_000_000L);
+
+		// when:
+		subject.rollInterval();
+
+		// then:
+		assertTrue(subject.getIntervalP50Micros(COMMIT) >= 10_000.0);
+		assertTrue(subject.getIntervalP99Micros(COMMIT) <= 1.25 * (10_000.0 + (System.nanoTime() - now) / 1_000.0));
+		assertEquals(0.0, subject.getIntervalP50Micros(FEE_COMPUTATION));
+
+		// and when:
+		subject.rollInterval();
+
+		// then:
+		assertEquals(0.0, subject.getIntervalP50Micros(COMMIT));
+		assertEquals(0.0, subject.getIntervalP99Micros(COMMIT));
+	}
+
+	@Test
+	public void summarizesOnlyObservedFunctionalitiesAndStages() {
+		// given:
+		subject.record(CryptoTransfer, COMMIT, System.nanoTime());
+		subject.record(CryptoTransfer, COMMIT, System.nanoTime());
+
+		// when:
+		var summary = subject.summary();
+
+		// then:
+		assertTrue(summary.contains("CryptoTransfer"));
+		assertTrue(summary.contains("COMMIT"));
+		assertTrue(summary.contains("n=2 "));
+		assertFalse(summary.contains("ConsensusSubmitMessage"));
+		assertFalse(summary.contains("FEE_COMPUTATION"));
+	}
+
+	@Test
+	public void registersTwoEntriesPerStage() {
+		// setup:
+		var platform = mock(Platform.class);
+
+		// when:
+		subject.registerStatEntries(platform);
+
+		// then:
+		verify(platform, times(2 * HandleStageLatencies.Stage.values().length)).addAppStatEntry(any(StatEntry.class));
+	}
+}
@@ -26,6 +26,7 @@ import com.hedera.services.grpc.controllers.FileController;
 import com.hedera.test.utils.TxnUtils;
 import com.hederahashgraph.api.proto.java.ConsensusSubmitMessageTransactionBody;
 import com.hederahashgraph.api.proto.java.CryptoTransferTransactionBody;
+import com.hederahashgraph.api.proto.java.HederaFunctionality;
 import com.hederahashgraph.api.proto.java.TransactionBody;
 import com.swirlds.common.Platform;
 import com.swirlds.common.StatEntry;
@@ -59,7 +60,7 @@ public class HederaNodeStatsTest {
 	public void setUp() {
 		MockitoAnnotations.initMocks(this);
 		stats = new HederaNodeStats(platform, 0, log);
-		verify(platform, times(209)).addAppStatEntry(any(StatEntry.class));
+		verify(platform, times(246)).addAppStatEntry(any(StatEntry.class));
 		verify(platform, times(1)).appStatInit();
 	}
 
@@ -223,6 +224,36 @@ public class HederaNodeStatsTest {
 		}
 	}
 
+	@Test
+	public void shouldIncreaseTransactionHandledByFunctionality() {
+		var cryptoTransferTxnBody = CryptoTransferTransactionBody.newBuilder().build();
+		var transaction = TransactionBody.newBuilder().setCryptoTransfer(cryptoTransferTxnBody).build();
+		String statToTest = CryptoController.CRYPTO_TRANSFER_METRIC;
+		assertEquals(0, stats.getCountStat(statToTest, HederaNodeStats.HANDLED_SUFFIX));
+		for (int i = 1; i <= 10; i++) {
+			stats.transactionHandled(HederaFunctionality.CryptoTransfer, transaction);
+			assertEquals(i, stats.getCountStat(statToTest, HederaNodeStats.HANDLED_SUFFIX));
+			assertEquals(0.0, stats.getAvgHdlSubMsgSize());
+		}
+	}
+
+	@Test
+	public void shouldRecordSubMsgSizeWhenHandledByFunctionality() {
+		var subMsgTxnBody = ConsensusSubmitMessageTransactionBody.newBuilder().setMessage(
+				TxnUtils.randomUtf8ByteString(5120)
+		).build();
+		var transaction = TransactionBody.newBuilder().setConsensusSubmitMessage(subMsgTxnBody).build();
+		stats.transactionHandled(HederaFunctionality.ConsensusSubmitMessage, transaction);
+		assertEquals(1, stats.getCountStat(ConsensusController.SUBMIT_MESSAGE_METRIC, HederaNodeStats.HANDLED_SUFFIX));
+		assertEquals(5127.0, stats.getAvgHdlSubMsgSize());
+	}
+
+	@Test
+	public void shouldLogAnErrorOnHandlingUnmappedFunctionality() {
+		stats.transactionHandled(HederaFunctionality.Freeze, TransactionBody.getDefaultInstance());
+		verify(log, times(1)).debug("Stat for {} is not supported", HederaFunctionality.Freeze);
+	}
+
 	@Test
 	public void shouldThrowAnExceptionOnGettingUnsupportedSpeedometerStat() {
 		try {
@@ -315,6 +346,104 @@ public class HederaNodeStatsTest {
 		}
 	}
 
+	@Test
+	public void shouldUpdatePlatformSubmitQueueDepth() {
+		assertEquals(0, stats.getPlatformSubmitQueueDepth());
+		stats.updatePlatformSubmitQueueDepth(123);
+		assertEquals(123, stats.getPlatformSubmitQueueDepth());
+	}
+
+	@Test
+	public void shouldUpdatePlatformSubmitBusyPerSecond() {
+		assertEquals(0.0, stats.getPlatformSubmitBusyPerSecond());
+		for (int i = 1; i <= 25; i++) {
+			stats.platformSubmitBusy();
+			assertTrue(stats.getPlatformSubmitBusyPerSecond() > 0.0);
+		}
+	}
+
+	@Test
+	public void shouldUpdateAvgPlatformSubmitMicros() {
+		assertEquals(0.0, stats.getAvgPlatformSubmitMicros());
+		for (int i = 1; i <= 25; i++) {
+			stats.platformSubmitted(i * 1_000L);
+			assertTrue(stats.getAvgPlatformSubmitMicros() > 0.0);
+		}
+	}
+
+	@Test
+	public void shouldUpdateHandlerBacklog() {
+		assertEquals(0, stats.getHandlerBacklog());
+		stats.updateHandlerBacklog(42);
+		assertEquals(42, stats.getHandlerBacklog());
+	}
+
+	@Test
+	public void shouldUpdateHandlerBusyPerSecond() {
+		assertEquals(0.0, stats.getHandlerBusyPerSecond());
+		for (int i = 1; i <= 25; i++) {
+			stats.handlerBusy();
+			assertTrue(stats.getHandlerBusyPerSecond() > 0.0);
+		}
+	}
+
+	@Test
+	public void shouldUpdateAvgHandlerWaitAndExecMicros() {
+		assertEquals(0.0, stats.getAvgHandlerWaitMicros());
+		assertEquals(0.0, stats.getAvgHandlerExecMicros());
+		for (int i = 1; i <= 25; i++) {
+			stats.handlerTaskRan(i * 1_000L, i * 2_000L);
+			assertTrue(stats.getAvgHandlerWaitMicros() > 0.0);
+			assertTrue(stats.getAvgHandlerExecMicros() > stats.getAvgHandlerWaitMicros());
+		}
+	}
+
+	@Test
+	public void shouldUpdateHotAcctHitsPerSecond() {
+		assertEquals(0.0, stats.getHotAcctHitsPerSecond());
+		for (int i = 1; i <= 25; i++) {
+			stats.hotAccountHit();
+			assertTrue(stats.getHotAcctHitsPerSecond() > 0.0);
+		}
+	}
+
+	@Test
+	public void shouldUpdateColdAcctPromotionStats() {
+		assertEquals(0.0, stats.getColdAcctPromotionsPerSecond());
+		assertEquals(0.0, stats.getAvgColdAcctPromotionMicros());
+		for (int i = 1; i <= 25; i++) {
+			stats.coldAccountPromoted(5_000L);
+			assertTrue(stats.getColdAcctPromotionsPerSecond() > 0.0);
+			assertTrue(stats.getAvgColdAcctPromotionMicros() > 0.0);
+		}
+	}
+
+	@Test
+	public void countsColdAcctsTooLarge() {
+		// when:
+		stats.coldAccountTooLarge();
+		stats.coldAccountTooLarge();
+
+		// then:
+		assertEquals(2L, stats.getColdAcctsTooLarge());
+	}
+
+	@Test
+	public void hotAcctHitRatioIsOneWithoutAccesses() {
+		assertEquals(1.0, stats.getHotAcctHitRatio());
+	}
+
+	@Test
+	public void hotAcctHitRatioReflectsPromotions() {
+		for (int i = 1; i <= 25; i++) {
+			stats.hotAccountHit();
+			stats.coldAccountPromoted(5_000L);
+		}
+
+		// expect:
+		assertTrue(stats.getHotAcctHitRatio() < 1.0);
+	}
+
 	@Test
 	public void dumpHederaNodeStatsShouldNotBeEmptyTest() throws Exception {
 		assertNotNull(stats.dumpHederaNodeStats());
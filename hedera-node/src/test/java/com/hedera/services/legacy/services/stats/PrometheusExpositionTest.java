@@ -0,0 +1,158 @@
+package com.hedera.services.legacy.services.stats;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2020 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+
+import com.hedera.services.grpc.controllers.CryptoController;
+import com.hedera.services.throttling.BucketThrottling;
+import com.hedera.services.throttling.bucket.BucketThrottle;
+import com.hedera.services.throttling.bucket.CapacityTest;
+import com.swirlds.common.Platform;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.runner.JUnitPlatform;
+import org.junit.runner.RunWith;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import static com.hederahashgraph.api.proto.java.HederaFunctionality.CryptoTransfer;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.mock;
+
+@RunWith(JUnitPlatform.class)
+class PrometheusExpositionTest {
+	HederaNodeStats stats;
+	BucketThrottling throttling;
+
+	PrometheusExposition subject;
+
+	@BeforeEach
+	private void setup() {
+		stats = new HederaNodeStats(mock(Platform.class), 0, mock(Logger.class));
+		throttling = mock(BucketThrottling.class);
+		given(throttling.capacities()).willReturn(Map.of());
+
+		subject = new PrometheusExposition(stats, throttling);
+	}
+
+	@Test
+	public void rendersAppStatsWithSanitizedNames() {
+		// given:
+		stats.cryptoTransactionReceived(CryptoController.CRYPTO_TRANSFER_METRIC);
+		stats.cryptoTransactionReceived(CryptoController.CRYPTO_TRANSFER_METRIC);
+		stats.updateRecordStreamQueueSize(123);
+
+		// when:
+		var exposition = subject.render();
+
+		// then:
+		assertTrue(exposition.contains("# TYPE hedera_cryptoTransferRcv gauge\nhedera_cryptoTransferRcv 2\n"));
+		assertTrue(exposition.contains("\nhedera_cryptoTransferRcv_per_sec 0\n"));
+		assertTrue(exposition.contains("# HELP hedera_recordStreamQueueSize size of the queue"));
+		assertTrue(exposition.contains("\nhedera_recordStreamQueueSize 123\n"));
+	}
+
+	@Test
+	public void skipsStatsNotYetInitializedByPlatform() {
+		// when:
+		var exposition = subject.render();
+
+		// then:
+		assertFalse(exposition.contains("hedera_sigVerifyAsync_per_sec"));
+	}
+
+	@Test
+	public void rendersHandleLatencyQuantiles() {
+		// when:
+		var exposition = subject.render();
+
+		// then:
+		assertTrue(exposition.contains("\nhedera_handleStageMicros{stage=\"Prep\",quantile=\"0.5\"} 0\n"));
+		assertTrue(exposition.contains("\nhedera_handleStageMicros{stage=\"Stream\",quantile=\"0.99\"} 0\n"));
+	}
+
+	@Test
+	public void rendersThrottleCapacities() {
+		// setup:
+		var bucket = mock(BucketThrottle.class);
+		var capacities = new EnumMap<>(Map.of(CryptoTransfer, new CapacityTest(2.5, bucket)));
+
+		given(bucket.name()).willReturn("txn\"Bucket");
+		given(bucket.tps()).willReturn(100.0);
+		given(bucket.burstPeriod()).willReturn(1.5);
+		given(throttling.capacities()).willReturn(capacities);
+
+		// when:
+		var exposition = subject.render();
+
+		// then:
+		assertTrue(exposition.contains(
+				"\nhedera_throttleCapacityRequired{function=\"CryptoTransfer\",bucket=\"txn\\\"Bucket\"} 2.5\n"));
+		assertTrue(exposition.contains(
+				"\nhedera_throttleBucketTps{function=\"CryptoTransfer\",bucket=\"txn\\\"Bucket\"} 100\n"));
+		assertTrue(exposition.contains(
+				"\nhedera_throttleBucketBurstPeriod{function=\"CryptoTransfer\",bucket=\"txn\\\"Bucket\"} 1.5\n"));
+	}
+
+	@Test
+	public void rendersJvmFigures() {
+		// when:
+		var exposition = subject.render();
+
+		// then:
+		assertTrue(exposition.contains("\nhedera_jvmHeapUsedBytes "));
+		assertTrue(exposition.contains("\nhedera_jvmLiveThreads "));
+		assertTrue(exposition.contains("# TYPE hedera_jvmGcCollections gauge\n"));
+	}
+
+	@Test
+	public void reusesBufferAcrossRenders() throws Exception {
+		// setup:
+		byte[][] seen = new byte[2][];
+
+		// when:
+		subject.renderTo((bytes, len) -> seen[0] = bytes);
+		subject.renderTo((bytes, len) -> seen[1] = bytes);
+
+		// then:
+		assertTrue(seen[0] == seen[1]);
+		assertTrue(seen[0].length >= PrometheusExposition.INITIAL_CAPACITY);
+	}
+
+	@Test
+	public void everySampleLineIsWellFormed() {
+		// when:
+		var lines = subject.render().split("\n");
+
+		// then:
+		for (String line : lines) {
+			if (!line.startsWith("#")) {
+				assertTrue(
+						line.matches("hedera_[a-zA-Z0-9_:]+(\\{.*})? (-?[0-9.E-]+|NaN|[+-]Inf)"),
+						"Malformed sample '" + line + "'");
+			}
+		}
+	}
+}
@@ -0,0 +1,127 @@
+package com.hedera.services.legacy.services.stats;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2020 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.runner.JUnitPlatform;
+import org.junit.runner.RunWith;
+
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+
+import static com.hedera.services.legacy.services.stats.PrometheusExposition.CONTENT_TYPE;
+import static com.hedera.services.legacy.services.stats.PrometheusStatsServer.METRICS_PATH;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.BDDMockito.any;
+import static org.mockito.BDDMockito.mock;
+import static org.mockito.BDDMockito.willAnswer;
+
+@RunWith(JUnitPlatform.class)
+class PrometheusStatsServerTest {
+	static final String EXPOSITION = "hedera_cryptoTransferRcv 2\n";
+
+	PrometheusExposition exposition;
+
+	PrometheusStatsServer subject;
+
+	@BeforeEach
+	private void setup() throws Exception {
+		exposition = mock(PrometheusExposition.class);
+		willAnswer(invocation -> {
+			var bytes = EXPOSITION.getBytes(StandardCharsets.US_ASCII);
+			invocation.getArgument(0, PrometheusExposition.ExpositionSink.class).accept(bytes, bytes.length);
+			return null;
+		}).given(exposition).renderTo(any());
+
+		subject = new PrometheusStatsServer(exposition);
+	}
+
+	@AfterEach
+	private void cleanup() {
+		subject.stop();
+	}
+
+	@Test
+	public void servesExpositionOnGet() throws Exception {
+		// given:
+		subject.start("127.0.0.1", 0, "prometheus_stats_test");
+
+		// when:
+		var connection = connectionTo(METRICS_PATH);
+		var body = new String(connection.getInputStream().readAllBytes(), StandardCharsets.US_ASCII);
+
+		// then:
+		assertEquals(200, connection.getResponseCode());
+		assertEquals(CONTENT_TYPE, connection.getContentType());
+		assertEquals(EXPOSITION, body);
+	}
+
+	@Test
+	public void rejectsOtherMethods() throws Exception {
+		// given:
+		subject.start("127.0.0.1", 0, "prometheus_stats_test");
+
+		// when:
+		var connection = connectionTo(METRICS_PATH);
+		connection.setRequestMethod("DELETE");
+
+		// then:
+		assertEquals(405, connection.getResponseCode());
+	}
+
+	@Test
+	public void cannotStartTwice() throws Exception {
+		// given:
+		subject.start("127.0.0.1", 0, "prometheus_stats_test");
+
+		// expect:
+		assertThrows(IllegalStateException.class, () -> subject.start("127.0.0.1", 0, "again"));
+	}
+
+	@Test
+	public void hasNoPortUntilStarted() {
+		// expect:
+		assertThrows(IllegalStateException.class, subject::port);
+	}
+
+	@Test
+	public void stopIsIdempotent() throws Exception {
+		// given:
+		subject.start("127.0.0.1", 0, "prometheus_stats_test");
+
+		// when:
+		subject.stop();
+		subject.stop();
+
+		// then:
+		assertThrows(IllegalStateException.class, subject::port);
+	}
+
+	private HttpURLConnection connectionTo(String path) throws Exception {
+		var url = new URL("http", "127.0.0.1", subject.port(), path);
+		return (HttpURLConnection) url.openConnection();
+	}
+}
@@ -0,0 +1,123 @@
+package com.hedera.services.legacy.services.stats;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2020 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.runner.JUnitPlatform;
+import org.junit.runner.RunWith;
+
+import static com.hedera.services.legacy.services.stats.RequestCounters.Phase.HANDLED;
+import static com.hedera.services.legacy.services.stats.RequestCounters.Phase.RECEIVED;
+import static com.hedera.services.legacy.services.stats.RequestCounters.Phase.SUBMITTED;
+import static com.hederahashgraph.api.proto.java.HederaFunctionality.CryptoDelete;
+import static com.hederahashgraph.api.proto.java.HederaFunctionality.CryptoTransfer;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@RunWith(JUnitPlatform.class)
+class RequestCountersTest {
+	RequestCounters subject;
+
+	@BeforeEach
+	private void setup() {
+		subject = new RequestCounters();
+		subject.register("cryptoTransfer", RECEIVED, 10.0);
+		subject.register("cryptoTransfer", HANDLED, 10.0);
+		subject.register("thresholdRecInState", null);
+	}
+
+	@Test
+	public void registersUnderStatName() {
+		// expect:
+		assertSame(
+				subject.counterFor("cryptoTransferRcv"),
+				subject.countersByStat().get("cryptoTransferRcv"));
+		assertEquals(3, subject.countersByStat().size());
+		assertNull(subject.counterFor("cryptoTransferSub"));
+		assertNull(subject.counterFor("thresholdRecInState").speedometer());
+	}
+
+	@Test
+	public void incrementsByRequestAndPhase() {
+		// when:
+		var counted = subject.increment("cryptoTransfer", RECEIVED);
+		subject.increment("cryptoTransfer", RECEIVED);
+
+		// then:
+		assertTrue(counted);
+		assertEquals(2, subject.counterFor("cryptoTransferRcv").get());
+		assertEquals(0, subject.counterFor("cryptoTransferHdl").get());
+	}
+
+	@Test
+	public void incrementsByMappedFunction() {
+		// setup:
+		subject.mapFunction(CryptoTransfer, "cryptoTransfer");
+
+		// when:
+		var counted = subject.increment(CryptoTransfer, HANDLED);
+
+		// then:
+		assertTrue(counted);
+		assertEquals(1, subject.counterFor("cryptoTransferHdl").get());
+	}
+
+	@Test
+	public void rejectsUnregisteredCounters() {
+		// setup:
+		subject.mapFunction(CryptoTransfer, "cryptoTransfer");
+
+		// expect:
+		assertFalse(subject.increment("cryptoDelete", RECEIVED));
+		assertFalse(subject.increment("cryptoTransfer", SUBMITTED));
+		assertFalse(subject.increment(CryptoDelete, HANDLED));
+		assertFalse(subject.increment(CryptoTransfer, SUBMITTED));
+	}
+
+	@Test
+	public void cannotMapFunctionToUnregisteredRequest() {
+		// expect:
+		assertThrows(IllegalArgumentException.class, () -> subject.mapFunction(CryptoDelete, "cryptoDelete"));
+	}
+
+	@Test
+	public void speedometersSeeOnlyNewIncrements() {
+		// given:
+		var counter = subject.counterFor("cryptoTransferRcv");
+		var speedometer = counter.speedometer();
+
+		// when:
+		counter.increment();
+		subject.updateSpeedometers();
+		var firstRate = speedometer.getCyclesPerSecond();
+		subject.updateSpeedometers();
+
+		// then:
+		assertTrue(firstRate > 0.0);
+		assertEquals(1, counter.get());
+	}
+}
@@ -0,0 +1,152 @@
+package com.hedera.services.legacy.stream;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2020 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hederahashgraph.api.proto.java.Timestamp;
+import com.hederahashgraph.api.proto.java.Transaction;
+import com.hederahashgraph.api.proto.java.TransactionRecord;
+import com.hederahashgraph.api.proto.java.TransactionID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.platform.runner.JUnitPlatform;
+import org.junit.runner.RunWith;
+
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+
+import static com.hedera.services.legacy.stream.RecordStream.HAPI_VERSION;
+import static com.hedera.services.legacy.stream.RecordStream.RECORD_FORMAT_VERSION;
+import static com.hedera.services.legacy.stream.RecordStream.TYPE_PREV_HASH;
+import static com.hedera.services.legacy.stream.RecordStream.TYPE_RECORD;
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@RunWith(JUnitPlatform.class)
+class RecordStreamReaderTest {
+	@TempDir
+	Path dir;
+
+	@Test
+	public void readsEntriesAsWrittenInOrder() throws IOException {
+		// setup:
+		var early = nameFor(Instant.parse("2020-06-01T00:00:00Z"));
+		var late = nameFor(Instant.parse("2020-06-01T00:00:00.5Z"));
+
+		// given:
+		writeRecordFile(dir.resolve(late), 3, 2);
+		writeRecordFile(dir.resolve(early), 1, 2);
+		Files.createFile(dir.resolve(early + "_sig"));
+
+		// when:
+		var files = RecordStreamReader.recordFilesIn(dir);
+		List<RecordStreamReader.Entry> entries = RecordStreamReader.entriesIn(files).collect(toList());
+
+		// then:
+		assertEquals(List.of(dir.resolve(early), dir.resolve(late)), files);
+		assertEquals(4, entries.size());
+		for (int i = 0; i < 4; i++) {
+			assertEquals(txnWithSeqNo(i + 1), entries.get(i).signedTxn());
+			assertArrayEquals(txnWithSeqNo(i + 1).toByteArray(), entries.get(i).signedTxnBytes());
+			assertEquals(recordWithSeqNo(i + 1), entries.get(i).record());
+		}
+	}
+
+	@Test
+	public void rejectsUnknownFormatVersion() throws IOException {
+		// setup:
+		var file = dir.resolve("bad.rcd");
+
+		// given:
+		try (var out = new DataOutputStream(new FileOutputStream(file.toFile()))) {
+			out.writeInt(RECORD_FORMAT_VERSION + 1);
+		}
+
+		// expect:
+		assertThrows(IllegalArgumentException.class, () -> RecordStreamReader.entriesOf(file));
+	}
+
+	@Test
+	public void rejectsUnknownEntryType() throws IOException {
+		// setup:
+		var file = dir.resolve("bad.rcd");
+
+		// given:
+		try (var out = new DataOutputStream(new FileOutputStream(file.toFile()))) {
+			writeHeader(out);
+			out.write(TYPE_PREV_HASH);
+		}
+
+		// expect:
+		var e = assertThrows(IllegalArgumentException.class,
+				() -> RecordStreamReader.entriesOf(file).collect(toList()));
+		assertTrue(e.getMessage().contains("unexpected type"));
+	}
+
+	private String nameFor(Instant consensusTime) {
+		return consensusTime.toString().replace(":", "_") + ".rcd";
+	}
+
+	private void writeRecordFile(Path path, int firstSeqNo, int n) throws IOException {
+		try (var out = new DataOutputStream(new FileOutputStream(path.toFile()))) {
+			writeHeader(out);
+			for (int seqNo = firstSeqNo; seqNo < firstSeqNo + n; seqNo++) {
+				out.write(TYPE_RECORD);
+				byte[] bytes = txnWithSeqNo(seqNo).toByteArray();
+				out.writeInt(bytes.length);
+				out.write(bytes);
+				bytes = recordWithSeqNo(seqNo).toByteArray();
+				out.writeInt(bytes.length);
+				out.write(bytes);
+			}
+		}
+	}
+
+	private void writeHeader(DataOutputStream out) throws IOException {
+		out.writeInt(RECORD_FORMAT_VERSION);
+		out.writeInt(HAPI_VERSION);
+		out.write(TYPE_PREV_HASH);
+		out.write(new byte[48]);
+	}
+
+	private Transaction txnWithSeqNo(int seqNo) {
+		return Transaction.newBuilder()
+				.setBodyBytes(TransactionID.newBuilder()
+						.setTransactionValidStart(Timestamp.newBuilder().setSeconds(seqNo))
+						.build()
+						.toByteString())
+				.build();
+	}
+
+	private TransactionRecord recordWithSeqNo(int seqNo) {
+		return TransactionRecord.newBuilder()
+				.setConsensusTimestamp(Timestamp.newBuilder().setSeconds(seqNo))
+				.setMemo("#" + seqNo)
+				.build();
+	}
+}
@@ -0,0 +1,188 @@
+package com.hedera.services.legacy.stream;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2020 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.ServicesState;
+import com.hedera.services.records.AccountRecordsHistorian;
+import com.hedera.services.state.submerkle.ExpirableTxnRecord;
+import com.hedera.services.txns.ProcessLogic;
+import com.hederahashgraph.api.proto.java.CryptoTransferTransactionBody;
+import com.hederahashgraph.api.proto.java.FileAppendTransactionBody;
+import com.hederahashgraph.api.proto.java.Timestamp;
+import com.hederahashgraph.api.proto.java.Transaction;
+import com.hederahashgraph.api.proto.java.TransactionBody;
+import com.hederahashgraph.api.proto.java.TransactionRecord;
+import com.swirlds.common.Address;
+import com.swirlds.common.AddressBook;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.runner.JUnitPlatform;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static com.hedera.test.utils.IdUtils.asAccount;
+import static com.hederahashgraph.api.proto.java.HederaFunctionality.CryptoTransfer;
+import static com.hederahashgraph.api.proto.java.HederaFunctionality.FileAppend;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.BDDMockito.any;
+import static org.mockito.BDDMockito.anyLong;
+import static org.mockito.BDDMockito.argThat;
+import static org.mockito.BDDMockito.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.inOrder;
+import static org.mockito.BDDMockito.mock;
+import static org.mockito.BDDMockito.verify;
+import static org.mockito.BDDMockito.willThrow;
+
+@RunWith(JUnitPlatform.class)
+class RecordStreamReplayTest {
+	Instant consensusTime = Instant.ofEpochSecond(1_234_567L, 890);
+	TransactionRecord expected = TransactionRecord.newBuilder()
+			.setConsensusTimestamp(Timestamp.newBuilder()
+					.setSeconds(consensusTime.getEpochSecond())
+					.setNanos(consensusTime.getNano()))
+			.setMemo("Original")
+			.build();
+
+	ProcessLogic logic;
+	ServicesState state;
+	AddressBook book;
+	ExpirableTxnRecord produced;
+	AccountRecordsHistorian historian;
+
+	RecordStreamReplay subject;
+
+	@BeforeEach
+	private void setup() {
+		logic = mock(ProcessLogic.class);
+		state = mock(ServicesState.class);
+		produced = mock(ExpirableTxnRecord.class);
+		historian = mock(AccountRecordsHistorian.class);
+		given(historian.lastCreatedRecord()).willReturn(Optional.of(produced));
+
+		var zero = mock(Address.class);
+		given(zero.getMemo()).willReturn("0.0.3");
+		var one = mock(Address.class);
+		given(one.getMemo()).willReturn("0.0.4");
+		book = mock(AddressBook.class);
+		given(book.getSize()).willReturn(2);
+		given(book.getAddress(0)).willReturn(zero);
+		given(book.getAddress(1)).willReturn(one);
+
+		subject = new RecordStreamReplay(logic, state, historian, book);
+	}
+
+	@Test
+	public void handlesAtRecordedTimeAsDesignatedMember() {
+		given(produced.asGrpc()).willReturn(expected);
+
+		// when:
+		var summary = subject.replay(Stream.of(new RecordStreamReader.Entry(transferVia("0.0.4"), expected)));
+
+		// then:
+		verify(logic).incorporateConsensusTxn(any(), eq(consensusTime), eq(1L));
+		// and:
+		assertEquals(1L, summary.numHandled());
+		assertEquals(1L, summary.numHandled(CryptoTransfer));
+		assertEquals(0L, summary.numMismatched());
+		assertTrue(summary.tps() > 0.0);
+		assertTrue(summary.toString().contains("CryptoTransfer"));
+	}
+
+	@Test
+	public void expandsSigsOfStreamedTxnBeforeHandling() {
+		// setup:
+		ArgumentCaptor<com.swirlds.common.Transaction> expanded =
+				ArgumentCaptor.forClass(com.swirlds.common.Transaction.class);
+		InOrder inOrder = inOrder(state, logic);
+
+		// when:
+		subject.replay(Stream.of(new RecordStreamReader.Entry(transferVia("0.0.3"), expected)));
+
+		// then:
+		inOrder.verify(state).expandSignatures(expanded.capture());
+		inOrder.verify(logic).incorporateConsensusTxn(
+				argThat(expanded.getValue()::equals), eq(consensusTime), eq(0L));
+	}
+
+	@Test
+	public void countsMismatchedRecordsByFunction() {
+		given(produced.asGrpc()).willReturn(expected.toBuilder().setMemo("Different").build());
+
+		// when:
+		var summary = subject.logUpToMismatches(0).replay(Stream.of(
+				new RecordStreamReader.Entry(transferVia("0.0.3"), expected),
+				new RecordStreamReader.Entry(appendVia("0.0.3"), expected)));
+
+		// then:
+		assertEquals(2L, summary.numHandled());
+		assertEquals(2L, summary.numMismatched());
+		assertEquals(1L, summary.numMismatched(CryptoTransfer));
+		assertEquals(1L, summary.numMismatched(FileAppend));
+	}
+
+	@Test
+	public void countsMissingRecordAsMismatch() {
+		given(historian.lastCreatedRecord()).willReturn(Optional.empty());
+
+		// when:
+		var summary = subject.replay(Stream.of(new RecordStreamReader.Entry(transferVia("0.0.3"), expected)));
+
+		// then:
+		assertEquals(1L, summary.numMismatched());
+	}
+
+	@Test
+	public void survivesFailedHandle() {
+		willThrow(IllegalStateException.class).given(logic).incorporateConsensusTxn(any(), any(), anyLong());
+
+		// when:
+		var summary = subject.replay(Stream.of(new RecordStreamReader.Entry(transferVia("0.0.3"), expected)));
+
+		// then:
+		assertEquals(0L, summary.numHandled());
+		assertEquals(1L, summary.numMismatched(CryptoTransfer));
+	}
+
+	private Transaction transferVia(String node) {
+		return signedTxnWith(TransactionBody.newBuilder()
+				.setNodeAccountID(asAccount(node))
+				.setCryptoTransfer(CryptoTransferTransactionBody.getDefaultInstance())
+				.build());
+	}
+
+	private Transaction appendVia(String node) {
+		return signedTxnWith(TransactionBody.newBuilder()
+				.setNodeAccountID(asAccount(node))
+				.setFileAppend(FileAppendTransactionBody.getDefaultInstance())
+				.build());
+	}
+
+	private Transaction signedTxnWith(TransactionBody body) {
+		return Transaction.newBuilder().setBodyBytes(body.toByteString()).build();
+	}
+}
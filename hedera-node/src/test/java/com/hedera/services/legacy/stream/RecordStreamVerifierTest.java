@@ -0,0 +1,230 @@
+package com.hedera.services.legacy.stream;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2020 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import org.apache.commons.codec.binary.Hex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.platform.runner.JUnitPlatform;
+import org.junit.runner.RunWith;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.MessageDigest;
+import java.security.Signature;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static com.hedera.services.legacy.stream.RecordStream.HAPI_VERSION;
+import static com.hedera.services.legacy.stream.RecordStream.RECORD_FORMAT_VERSION;
+import static com.hedera.services.legacy.stream.RecordStream.TYPE_PREV_HASH;
+import static com.hedera.services.legacy.stream.RecordStream.TYPE_RECORD;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@RunWith(JUnitPlatform.class)
+class RecordStreamVerifierTest {
+	@TempDir
+	Path dir;
+
+	KeyPair keyPair;
+	List<Path> files;
+	List<byte[]> hashes;
+
+	RecordStreamVerifier subject;
+
+	@BeforeEach
+	private void setup() throws GeneralSecurityException {
+		var keyGen = KeyPairGenerator.getInstance("RSA");
+		keyGen.initialize(2048);
+		keyPair = keyGen.generateKeyPair();
+
+		files = new ArrayList<>();
+		hashes = new ArrayList<>();
+
+		subject = new RecordStreamVerifier(2, Optional.of(keyPair.getPublic()));
+	}
+
+	@Test
+	public void hashesAsRecordStreamDoes() throws Exception {
+		// given:
+		byte[] prevHash = new byte[48];
+		Arrays.fill(prevHash, (byte)7);
+		byte[] contents = fileWith(prevHash, 3);
+		var file = dir.resolve("a.rcd");
+		Files.write(file, contents);
+
+		// when:
+		var fileHashes = RecordStreamVerifier.hashesOf(file);
+
+		// then:
+		assertArrayEquals(prevHash, fileHashes.prevHash());
+		assertArrayEquals(expectedHashOf(contents), fileHashes.hash());
+		assertEquals(contents.length, fileHashes.size());
+	}
+
+	@Test
+	public void rejectsTruncatedFile() throws IOException {
+		// given:
+		var file = dir.resolve("a.rcd");
+		Files.write(file, new byte[12]);
+
+		// expect:
+		assertThrows(IllegalArgumentException.class, () -> RecordStreamVerifier.hashesOf(file));
+	}
+
+	@Test
+	public void acceptsSignedUnbrokenChain() throws Exception {
+		// given:
+		writeChain(4);
+		signAll();
+
+		// when:
+		var report = subject.verify(files);
+
+		// then:
+		assertTrue(report.isValid(), report.problems().toString());
+		assertEquals(4, report.numFiles());
+		assertEquals(4, report.numSigFiles());
+		assertTrue(report.toString().contains("VALID"));
+	}
+
+	@Test
+	public void detectsBrokenAndEmptyLinks() throws Exception {
+		// given:
+		writeChain(2);
+		appendFile(new byte[48]);
+		byte[] wrongPrev = hashes.get(0);
+		appendFile(wrongPrev);
+
+		// when:
+		var report = subject.verify(files);
+
+		// then:
+		assertFalse(report.isValid());
+		assertEquals(2, report.problems().size());
+		assertTrue(report.problems().get(0).contains("EMPTY"));
+		assertTrue(report.problems().get(1).contains("does not chain"));
+	}
+
+	@Test
+	public void detectsSigFileForWrongHash() throws Exception {
+		// given:
+		writeChain(2);
+		RecordStream.generateSigFile(files.get(1).toString(), signed(hashes.get(0)), hashes.get(0));
+
+		// when:
+		var report = subject.verify(files);
+
+		// then:
+		assertEquals(1, report.problems().size());
+		assertTrue(report.problems().get(0).contains("is for hash"));
+	}
+
+	@Test
+	public void detectsInvalidSignatureOnlyIfKeyKnown() throws Exception {
+		// given:
+		writeChain(1);
+		RecordStream.generateSigFile(files.get(0).toString(), new byte[256], hashes.get(0));
+
+		// when:
+		var report = subject.verify(files);
+		var keylessReport = new RecordStreamVerifier(1, Optional.empty()).verify(files);
+
+		// then:
+		assertTrue(report.problems().get(0).contains("invalid signature"));
+		assertTrue(keylessReport.isValid());
+	}
+
+	@Test
+	public void parsesHexEncodedKey() throws Exception {
+		// given:
+		var hex = Hex.encodeHexString(keyPair.getPublic().getEncoded());
+
+		// expect:
+		assertEquals(keyPair.getPublic(), RecordStreamVerifier.rsaKeyFromHex(hex));
+	}
+
+	private void writeChain(int n) throws Exception {
+		for (int i = 0; i < n; i++) {
+			appendFile(hashes.isEmpty() ? new byte[48] : hashes.get(hashes.size() - 1));
+		}
+	}
+
+	private void signAll() throws Exception {
+		for (int i = 0; i < files.size(); i++) {
+			RecordStream.generateSigFile(files.get(i).toString(), signed(hashes.get(i)), hashes.get(i));
+		}
+	}
+
+	private void appendFile(byte[] prevHash) throws Exception {
+		byte[] contents = fileWith(prevHash, files.size() + 1);
+		var file = dir.resolve(String.format("2020-06-01T00_00_%02dZ.rcd", files.size()));
+		Files.write(file, contents);
+		files.add(file);
+		hashes.add(expectedHashOf(contents));
+	}
+
+	private byte[] signed(byte[] hash) throws GeneralSecurityException {
+		var signer = Signature.getInstance(RecordStreamVerifier.SIG_ALGORITHM);
+		signer.initSign(keyPair.getPrivate());
+		signer.update(hash);
+		return signer.sign();
+	}
+
+	private byte[] fileWith(byte[] prevHash, int numEntries) throws IOException {
+		var bytes = new ByteArrayOutputStream();
+		var out = new DataOutputStream(bytes);
+		out.writeInt(RECORD_FORMAT_VERSION);
+		out.writeInt(HAPI_VERSION);
+		out.write(TYPE_PREV_HASH);
+		out.write(prevHash);
+		for (int i = 0; i < numEntries; i++) {
+			out.write(TYPE_RECORD);
+			out.writeInt(i + 1);
+			out.write(new byte[i + 1]);
+			out.writeInt(1);
+			out.write(i);
+		}
+		out.flush();
+		return bytes.toByteArray();
+	}
+
+	private byte[] expectedHashOf(byte[] contents) throws GeneralSecurityException {
+		var content = MessageDigest.getInstance("SHA-384");
+		var file = MessageDigest.getInstance("SHA-384");
+		file.update(Arrays.copyOfRange(contents, 0, 57));
+		file.update(content.digest(Arrays.copyOfRange(contents, 57, contents.length)));
+		return file.digest();
+	}
+}
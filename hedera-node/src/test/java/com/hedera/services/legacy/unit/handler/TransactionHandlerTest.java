@@ -33,6 +33,7 @@ import com.hedera.services.state.merkle.MerkleAccount;
 import com.hedera.services.state.merkle.MerkleEntityId;
 import com.hedera.services.throttling.FunctionalityThrottling;
 import com.hedera.services.throttling.TransactionThrottling;
+import com.hedera.services.txns.submission.PlatformSubmissionQueue;
 import com.hedera.services.txns.validation.BasicPrecheck;
 import com.hederahashgraph.api.proto.java.AccountID;
 import com.hederahashgraph.api.proto.java.Transaction;
@@ -47,9 +48,13 @@ import org.junit.runner.RunWith;
 
 import java.util.function.Supplier;
 
+import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.BUSY;
+import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.OK;
+import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.PLATFORM_TRANSACTION_NOT_CREATED;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -134,4 +139,50 @@ public class TransactionHandlerTest {
 		verify(recordCache, times(0)).addPreConsensus(any());
 		verify(stats).platformTxnNotCreated();
 	}
+
+	@Test
+	public void trySubmitReportsPlatformRefusal() {
+		given(request.toByteArray()).willReturn(new byte[1]);
+		given(platform.createTransaction(any())).willReturn(false);
+
+		// expect:
+		Assert.assertEquals(PLATFORM_TRANSACTION_NOT_CREATED, subject.trySubmit(platform, request, txnId));
+	}
+
+	@Test
+	public void enqueuesInsteadOfCreatingIfQueueConfigured() {
+		// setup:
+		PlatformSubmissionQueue queue = mock(PlatformSubmissionQueue.class);
+		subject.setSubmissionQueue(queue);
+
+		given(request.toByteArray()).willReturn(new byte[1]);
+		given(queue.offer(any())).willReturn(true);
+
+		// when:
+		var status = subject.trySubmit(platform, request, txnId);
+
+		// then:
+		Assert.assertEquals(OK, status);
+		verify(platform, never()).createTransaction(any());
+		verify(recordCache).addPreConsensus(txnId);
+	}
+
+	@Test
+	public void answersBusyIfQueueFull() {
+		// setup:
+		PlatformSubmissionQueue queue = mock(PlatformSubmissionQueue.class);
+		subject.setSubmissionQueue(queue);
+
+		given(request.toByteArray()).willReturn(new byte[1]);
+		given(queue.offer(any())).willReturn(false);
+
+		// when:
+		var status = subject.trySubmit(platform, request, txnId);
+
+		// then:
+		Assert.assertEquals(BUSY, status);
+		Assert.assertFalse(subject.submitTransaction(platform, request, txnId));
+		verify(recordCache, never()).addPreConsensus(any());
+		verify(stats, times(2)).platformSubmitBusy();
+	}
 }
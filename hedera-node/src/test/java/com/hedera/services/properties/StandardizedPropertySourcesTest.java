@@ -150,6 +150,9 @@ public class StandardizedPropertySourcesTest {
 		PropertySource properties = subject.asResolvingSource();
 
 		// then:
+		assertTrue(properties.containsProperty("accounts.coldTier.enabled"));
+		assertTrue(properties.containsProperty("accounts.coldTier.maxHotAccounts"));
+		assertTrue(properties.containsProperty("accounts.coldTier.dir"));
 		assertTrue(properties.containsProperty("bootstrap.customKeystore.masterKey"));
 		assertTrue(properties.containsProperty("bootstrap.customKeystore.path"));
 		assertTrue(properties.containsProperty("bootstrap.feeSchedulesJson.resource"));
@@ -166,6 +169,7 @@ public class StandardizedPropertySourcesTest {
 		assertTrue(properties.containsProperty("contracts.defaultSendThreshold"));
 		assertTrue(properties.containsProperty("contracts.defaultReceiveThreshold"));
 		assertTrue(properties.containsProperty("contracts.maxStorageKb"));
+		assertTrue(properties.containsProperty("contracts.speculativeSigs.maxPerTxn"));
 		assertTrue(properties.containsProperty("dev.defaultListeningNodeAccount"));
 		assertTrue(properties.containsProperty("dev.onlyDefaultNodeListens"));
 		assertTrue(properties.containsProperty("exchangeRates.intradayChange.limitPercent"));
@@ -213,6 +217,20 @@ public class StandardizedPropertySourcesTest {
 		assertTrue(properties.containsProperty("ledger.records.addCacheRecordToState"));
 		assertTrue(properties.containsProperty("ledger.records.ttl"));
 		assertTrue(properties.containsProperty("ledger.transfers.maxLen"));
+		assertTrue(properties.containsProperty("platform.submission.batching.enabled"));
+		assertTrue(properties.containsProperty("platform.submission.queueCapacity"));
+		assertTrue(properties.containsProperty("platform.submission.maxBatchSize"));
+		assertTrue(properties.containsProperty("grpc.handlers.executor"));
+		assertTrue(properties.containsProperty("grpc.handlers.threads"));
+		assertTrue(properties.containsProperty("grpc.handlers.maxBacklog"));
+		assertTrue(properties.containsProperty("txns.preparation.maxPending"));
+		assertTrue(properties.containsProperty("ledger.transfers.parallel.enabled"));
+		assertTrue(properties.containsProperty("ledger.transfers.parallel.threads"));
+		assertTrue(properties.containsProperty("ledger.transfers.parallel.maxBatchSize"));
+		assertTrue(properties.containsProperty("metrics.prometheus.enabled"));
+		assertTrue(properties.containsProperty("metrics.prometheus.bindAddress"));
+		assertTrue(properties.containsProperty("metrics.prometheus.port"));
+		assertTrue(properties.containsProperty("stats.handleAllocations.enabled"));
 		assertTrue(properties.containsProperty("throttling.hcs.createTopic.tps"));
 		assertTrue(properties.containsProperty("throttling.hcs.createTopic.burstPeriod"));
 		assertTrue(properties.containsProperty("throttling.hcs.updateTopic.tps"));
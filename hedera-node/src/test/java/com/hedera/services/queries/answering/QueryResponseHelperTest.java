@@ -21,6 +21,7 @@ package com.hedera.services.queries.answering;
  */
 
 import com.hedera.services.context.primitives.StateView;
+import com.hedera.services.grpc.HandlerExecutor;
 import com.hedera.services.queries.AnswerFlow;
 import com.hedera.services.queries.AnswerService;
 import com.hederahashgraph.api.proto.java.Query;
@@ -33,6 +34,7 @@ import org.junit.platform.runner.JUnitPlatform;
 import org.junit.runner.RunWith;
 import org.mockito.InOrder;
 
+import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.BUSY;
 import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.FAIL_INVALID;
 import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.INVALID_TRANSACTION_START;
 import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.OK;
@@ -51,6 +53,7 @@ class QueryResponseHelperTest {
 	AnswerFlow answerFlow;
 	AnswerService answer;
 	HederaNodeStats stats;
+	HandlerExecutor handlers;
 	StreamObserver<Response> observer;
 
 	QueryResponseHelper subject;
@@ -59,12 +62,13 @@ class QueryResponseHelperTest {
 	private void setup() {
 		answerFlow = mock(AnswerFlow.class);
 		stats = mock(HederaNodeStats.class);
+		handlers = mock(HandlerExecutor.class);
 		answer = mock(AnswerService.class);
 		observer = mock(StreamObserver.class);
 		okResponse = mock(Response.class);
 		notOkResponse = mock(Response.class);
 
-		subject = new QueryResponseHelper(answerFlow, stats);
+		subject = new QueryResponseHelper(answerFlow, stats, handlers);
 	}
 
 	@Test
@@ -181,4 +185,26 @@ class QueryResponseHelperTest {
 		inOrder.verify(observer).onCompleted();
 		inOrder.verify(stats).networkQueryAnswered(metric);
 	}
+
+	@Test
+	public void answersBusyWithoutSatisfyingWhenHandlersSaturated() {
+		// setup:
+		InOrder inOrder = inOrder(answerFlow, stats, observer);
+		Response busyResponse = mock(Response.class);
+
+		given(handlers.isSaturated()).willReturn(true);
+		given(answer.responseGiven(query, StateView.EMPTY_VIEW, BUSY, 0L)).willReturn(busyResponse);
+		given(answer.extractValidityFrom(busyResponse)).willReturn(BUSY);
+
+		// when:
+		subject.respondToCrypto(query, observer, answer, metric);
+
+		// then:
+		inOrder.verify(stats).cryptoQueryReceived(metric);
+		inOrder.verify(stats).handlerBusy();
+		inOrder.verify(observer).onNext(busyResponse);
+		inOrder.verify(observer).onCompleted();
+		verify(answerFlow, never()).satisfyUsing(any(), any());
+		verify(stats, never()).cryptoQuerySubmitted(metric);
+	}
 }
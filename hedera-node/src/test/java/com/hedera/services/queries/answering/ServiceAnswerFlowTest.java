@@ -241,7 +241,7 @@ class ServiceAnswerFlowTest {
 		// then:
 		assertEquals(response, actual);
 		verify(service, times(2)).requiresNodePayment(query);
-		verify(legacyHandler, never()).submitTransaction(platform, userTxn, userTxnId);
+		verify(legacyHandler, never()).trySubmit(platform, userTxn, userTxnId);
 	}
 
 	@Test
@@ -287,7 +287,7 @@ class ServiceAnswerFlowTest {
 		// then:
 		assertEquals(response, actual);
 		verify(service, times(2)).requiresNodePayment(query);
-		verify(legacyHandler, never()).submitTransaction(platform, userTxn, userTxnId);
+		verify(legacyHandler, never()).trySubmit(platform, userTxn, userTxnId);
 	}
 
 	@Test
@@ -304,7 +304,7 @@ class ServiceAnswerFlowTest {
 				.willReturn(new TxnValidityAndFeeReq(OK));
 		given(legacyHandler.nodePaymentValidity(userTxn, 6)).willReturn(OK);
 		given(service.responseGiven(query, view, OK, 6)).willReturn(response);
-		given(legacyHandler.submitTransaction(platform, userTxn, userTxnId)).willReturn(true);
+		given(legacyHandler.trySubmit(platform, userTxn, userTxnId)).willReturn(OK);
 
 		// when:
 		Response actual = subject.satisfyUsing(service, query);
@@ -327,7 +327,7 @@ class ServiceAnswerFlowTest {
 		given(legacyHandler.validateTransactionPreConsensus(userTxn, true))
 				.willReturn(new TxnValidityAndFeeReq(OK));
 		given(legacyHandler.nodePaymentValidity(userTxn, 6)).willReturn(OK);
-		given(legacyHandler.submitTransaction(platform, userTxn, userTxnId)).willReturn(false);
+		given(legacyHandler.trySubmit(platform, userTxn, userTxnId)).willReturn(PLATFORM_TRANSACTION_NOT_CREATED);
 		given(service.responseGiven(query, view, PLATFORM_TRANSACTION_NOT_CREATED, 6)).willReturn(response);
 
 		// when:
@@ -336,6 +336,29 @@ class ServiceAnswerFlowTest {
 		// then:
 		assertEquals(response, actual);
 		verify(service, times(2)).requiresNodePayment(query);
-		verify(legacyHandler).submitTransaction(platform, userTxn, userTxnId);
+		verify(legacyHandler).trySubmit(platform, userTxn, userTxnId);
+	}
+
+	@Test
+	public void answersBusyWhenPaymentCannotBeQueued() throws Exception {
+		given(legacyHandler.validateQuery(query, true)).willReturn(OK);
+		given(service.checkValidity(query, view)).willReturn(OK);
+		given(service.extractPaymentFrom(query)).willReturn(Optional.of(userAccessor));
+		given(service.canonicalFunction()).willReturn(CryptoGetStakers);
+		given(resourceCosts.pricesGiven(CryptoGetStakers, at)).willReturn(usagePrices);
+		given(service.requiresNodePayment(query)).willReturn(true);
+		given(fees.computePayment(query, usagePrices, view, at)).willReturn(costs);
+		given(legacyHandler.validateTransactionPreConsensus(userTxn, true))
+				.willReturn(new TxnValidityAndFeeReq(OK));
+		given(legacyHandler.nodePaymentValidity(userTxn, 6)).willReturn(OK);
+		given(legacyHandler.trySubmit(platform, userTxn, userTxnId)).willReturn(BUSY);
+		given(service.responseGiven(query, view, BUSY, 6)).willReturn(response);
+
+		// when:
+		Response actual = subject.satisfyUsing(service, query);
+
+		// then:
+		assertEquals(response, actual);
+		verify(service, never()).needsAnswerOnlyCost(query);
 	}
 }
@@ -21,6 +21,7 @@ package com.hedera.services.records;
  */
 
 import com.hedera.services.context.TransactionContext;
+import com.hedera.services.context.properties.GlobalDynamicProperties;
 import com.hedera.services.context.properties.PropertySource;
 import com.hedera.services.fees.FeeCalculator;
 import com.hedera.services.fees.FeeExemptions;
@@ -144,6 +145,7 @@ public class FeePayingRecordsHistorianTest {
 	private FeeCalculator fees;
 	private FeeExemptions exemptions;
 	private PropertySource properties;
+	private GlobalDynamicProperties dynamicProperties;
 	private TransactionContext txnCtx;
 	private ItemizableFeeCharging itemizableFeeCharging;
 	private FCMap<MerkleEntityId, MerkleAccount> accounts;
@@ -299,7 +301,7 @@ public class FeePayingRecordsHistorianTest {
 		verify(ledger, never()).doTransfer(c, funding, recordFee);
 		verify(ledger).doTransfer(d, funding, recordFee);
 		// and:
-		verify(properties).getIntProperty("ledger.records.ttl");
+		verify(dynamicProperties).ledgerRecordsTtl();
 		verify(txnCtx, times(1)).consensusTime();
 		verify(ledger).addRecord(b, jFinalRecord);
 		verify(expirations).offer(new EarliestRecordExpiry(expiry, b));
@@ -442,7 +444,8 @@ public class FeePayingRecordsHistorianTest {
 
 		properties = mock(PropertySource.class);
 		given(properties.getAccountProperty("ledger.funding.account")).willReturn(funding);
-		given(properties.getIntProperty("ledger.records.ttl")).willReturn(accountRecordTtl);
+		dynamicProperties = mock(GlobalDynamicProperties.class);
+		given(dynamicProperties.ledgerRecordsTtl()).willReturn(accountRecordTtl);
 
 		TransactionBody txn = mock(TransactionBody.class);
 		PlatformTxnAccessor accessor = mock(PlatformTxnAccessor.class);
@@ -472,7 +475,7 @@ public class FeePayingRecordsHistorianTest {
 		subject = new FeePayingRecordsHistorian(
 				recordCache,
 				fees,
-				properties,
+				dynamicProperties,
 				txnCtx,
 				itemizableFeeCharging,
 				accounts,
@@ -501,7 +504,7 @@ public class FeePayingRecordsHistorianTest {
 		subject = new FeePayingRecordsHistorian(
 				recordCache,
 				fees,
-				properties,
+				dynamicProperties,
 				txnCtx,
 				itemizableFeeCharging,
 				accounts,
@@ -31,7 +31,10 @@ import com.hedera.services.utils.PlatformTxnAccessor;
 import com.hedera.test.factories.keys.KeyTree;
 import com.hedera.test.factories.txns.PlatformTxnFactory;
 import com.hedera.test.factories.txns.SignedTxnFactory;
+import com.google.protobuf.ByteString;
 import com.hederahashgraph.api.proto.java.ResponseCodeEnum;
+import com.hederahashgraph.api.proto.java.SignatureMap;
+import com.hederahashgraph.api.proto.java.SignaturePair;
 import com.hederahashgraph.api.proto.java.Transaction;
 import com.hedera.services.legacy.core.jproto.JKey;
 import com.hedera.services.legacy.crypto.SignatureStatus;
@@ -54,6 +57,7 @@ import static com.hedera.services.sigs.HederaToPlatformSigOps.*;
 import static com.hedera.test.factories.txns.SystemDeleteFactory.*;
 import static com.hedera.services.sigs.Rationalization.IN_HANDLE_SUMMARY_FACTORY;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.function.Predicate;
 
@@ -236,6 +240,33 @@ public class HederaToPlatformSigOpsTest {
 		assertEquals(sigCreationFailureStatus.toString(), status.toString());
 	}
 
+	@Test
+	public void stopImmediatelyOnSigMapPrefixLongerThanPayerKey() throws Exception {
+		given(keyOrdering.keysForPayer(platformTxn.getTxn(), IN_HANDLE_SUMMARY_FACTORY))
+				.willReturn(new SigningOrderResult<>(payerKey));
+		// and:
+		byte[] payerPubKey = payerKey.get(0).getEd25519();
+		byte[] overlongPrefix = Arrays.copyOf(payerPubKey, payerPubKey.length + 1);
+		payerSigBytes = PubKeyToSigBytes.from(SignatureMap.newBuilder()
+				.addSigPair(SignaturePair.newBuilder()
+						.setPubKeyPrefix(ByteString.copyFrom(overlongPrefix))
+						.setEd25519(ByteString.copyFromUtf8("1")))
+				.build());
+		// and:
+		SignatureStatus generalErrorStatus = new SignatureStatus(
+				SignatureStatusCode.GENERAL_ERROR, ResponseCodeEnum.INVALID_SIGNATURE,
+				true, platformTxn.getTxn().getTransactionID(),
+				null, null, null, null);
+
+		// when:
+		SignatureStatus status = rationalizeIn(platformTxn, ALWAYS_VALID, keyOrdering, sigBytesProvider);
+
+		// then:
+		assertEquals(generalErrorStatus.toString(), status.toString());
+		assertTrue(platformTxn.getPlatformTxn().getSignatures().isEmpty());
+		verify(keyOrdering, never()).keysForOtherParties(any(), any());
+	}
+
 	@Test
 	public void rationalizesOnlyMissingSigs() throws Exception {
 		// given:
@@ -303,6 +334,69 @@ public class HederaToPlatformSigOpsTest {
 				.allMatch(statusPred);
 	}
 
+	@Test
+	public void speculativelyExpandsOnlyNewWellFormedEd25519Pairs() {
+		// setup:
+		byte[] presentKey = bytesOf(32, 'A');
+		Signature presentSig = mock(Signature.class);
+		com.swirlds.common.Transaction swirldsTxn = mock(com.swirlds.common.Transaction.class);
+		PlatformTxnAccessor accessor = mock(PlatformTxnAccessor.class);
+		Transaction signedTxn = Transaction.newBuilder()
+				.setSigMap(SignatureMap.newBuilder()
+						.addSigPair(ed25519Pair(presentKey, bytesOf(64, 'a')))
+						.addSigPair(ed25519Pair(bytesOf(4, 'B'), bytesOf(64, 'b')))
+						.addSigPair(ed25519Pair(bytesOf(32, 'C'), bytesOf(63, 'c')))
+						.addSigPair(SignaturePair.newBuilder()
+								.setPubKeyPrefix(ByteString.copyFrom(bytesOf(32, 'D')))
+								.setRSA3072(ByteString.copyFrom(bytesOf(384, 'd'))))
+						.addSigPair(ed25519Pair(bytesOf(32, 'E'), bytesOf(64, 'e')))
+						.addSigPair(ed25519Pair(bytesOf(32, 'F'), bytesOf(64, 'f'))))
+				.build();
+
+		given(presentSig.getExpandedPublicKeyDirect()).willReturn(presentKey);
+		given(swirldsTxn.getSignatures()).willReturn(List.of(presentSig));
+		given(accessor.getSignedTxn()).willReturn(signedTxn);
+		given(accessor.getPlatformTxn()).willReturn(swirldsTxn);
+		given(accessor.getTxnBytes()).willReturn("body".getBytes());
+
+		// when:
+		int added = expandSpeculativelyIn(accessor, 1);
+
+		// then:
+		assertEquals(1, added);
+		verify(swirldsTxn).addAll(any(Signature.class));
+	}
+
+	@Test
+	public void speculativeExpansionCanBeDisabled() {
+		// setup:
+		PlatformTxnAccessor accessor = mock(PlatformTxnAccessor.class);
+		com.swirlds.common.Transaction swirldsTxn = mock(com.swirlds.common.Transaction.class);
+		Transaction signedTxn = Transaction.newBuilder()
+				.setSigMap(SignatureMap.newBuilder()
+						.addSigPair(ed25519Pair(bytesOf(32, 'A'), bytesOf(64, 'a'))))
+				.build();
+
+		given(accessor.getSignedTxn()).willReturn(signedTxn);
+		given(accessor.getPlatformTxn()).willReturn(swirldsTxn);
+
+		// expect:
+		assertEquals(0, expandSpeculativelyIn(accessor, 0));
+		verify(swirldsTxn, never()).addAll(any());
+	}
+
+	private SignaturePair ed25519Pair(byte[] prefix, byte[] sig) {
+		return SignaturePair.newBuilder()
+				.setPubKeyPrefix(ByteString.copyFrom(prefix))
+				.setEd25519(ByteString.copyFrom(sig))
+				.build();
+	}
+	private byte[] bytesOf(int n, char c) {
+		byte[] bytes = new byte[n];
+		Arrays.fill(bytes, (byte)c);
+		return bytes;
+	}
+
 	private List<Signature> expectedSigsWithNoErrors() {
 		return List.of(
 				dummyFor(payerKey.get(0), "1"),
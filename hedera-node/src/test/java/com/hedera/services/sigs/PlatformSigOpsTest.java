@@ -25,6 +25,8 @@ import com.hedera.services.sigs.factories.TxnScopedPlatformSigFactory;
 import com.hedera.services.sigs.sourcing.PubKeyToSigBytes;
 import com.hedera.test.factories.keys.KeyTree;
 import com.hederahashgraph.api.proto.java.ResponseCodeEnum;
+import com.hederahashgraph.api.proto.java.SignatureMap;
+import com.hederahashgraph.api.proto.java.SignaturePair;
 import com.hederahashgraph.api.proto.java.TransactionID;
 import com.hedera.services.legacy.core.jproto.JKey;
 import com.hedera.services.legacy.crypto.SignatureStatus;
@@ -47,6 +49,7 @@ import static org.mockito.Mockito.verify;
 import static com.hedera.services.sigs.PlatformSigOps.createEd25519PlatformSigsFrom;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -136,6 +139,32 @@ public class PlatformSigOpsTest {
 		Assertions.assertTrue(result.hasFailed());
 	}
 
+	@Test
+	public void failsOnSigMapPrefixLongerThanKey() throws Throwable {
+		// setup:
+		byte[] pubKey = pubKeys.get(0).getEd25519();
+		byte[] overlongPrefix = Arrays.copyOf(pubKey, pubKey.length + 1);
+		// and:
+		sigBytes = PubKeyToSigBytes.from(SignatureMap.newBuilder()
+				.addSigPair(SignaturePair.newBuilder()
+						.setPubKeyPrefix(ByteString.copyFrom(overlongPrefix))
+						.setEd25519(ByteString.copyFrom(MOCK_SIG)))
+				.build());
+		// and:
+		TransactionID txnId = TransactionID.getDefaultInstance();
+		SignatureStatus expectedStatus = new SignatureStatus(
+				SignatureStatusCode.GENERAL_ERROR, ResponseCodeEnum.INVALID_SIGNATURE,
+				true, txnId, null, null, null, null);
+
+		// when:
+		PlatformSigsCreationResult result = createEd25519PlatformSigsFrom(pubKeys.subList(0, 1), sigBytes, sigFactory);
+
+		// then:
+		Assertions.assertTrue(result.hasFailed());
+		assertEquals(0, result.getPlatformSigs().size());
+		assertEquals(expectedStatus.toLogMessage(), result.asSignatureStatus(true, txnId).toLogMessage());
+	}
+
 	@Test
 	public void returnsSuccessSigStatusByDefault() {
 		// given:
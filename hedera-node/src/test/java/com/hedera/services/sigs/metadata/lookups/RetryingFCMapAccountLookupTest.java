@@ -20,7 +20,7 @@ package com.hedera.services.sigs.metadata.lookups;
  * ‍
  */
 
-import com.hedera.services.context.properties.PropertySource;
+import com.hedera.services.context.properties.GlobalDynamicProperties;
 import com.hedera.services.sigs.metadata.AccountSigningMetadata;
 import com.hedera.services.utils.Pause;
 import com.hedera.services.utils.SleepingPause;
@@ -50,7 +50,7 @@ import static com.hedera.test.factories.accounts.MapValueFactory.*;
 
 @RunWith(JUnitPlatform.class)
 public class RetryingFCMapAccountLookupTest {
-	private PropertySource properties;
+	private GlobalDynamicProperties properties;
 	private HederaNodeStats stats;
 	private FCMap<MerkleEntityId, MerkleAccount> accounts;
 	private RetryingFCMapAccountLookup subject;
@@ -72,10 +72,10 @@ public class RetryingFCMapAccountLookupTest {
 		stats = mock(HederaNodeStats.class);
 		pause = mock(Pause.class);
 		accounts = (FCMap<MerkleEntityId, MerkleAccount>)mock(FCMap.class);
-		properties = mock(PropertySource.class);
-		given(properties.getIntProperty("validation.preConsensus.accountKey.maxLookupRetries"))
+		properties = mock(GlobalDynamicProperties.class);
+		given(properties.maxAccountLookupRetries())
 				.willReturn(2);
-		given(properties.getIntProperty("validation.preConsensus.accountKey.retryBackoffIncrementMs"))
+		given(properties.accountLookupRetryBackoffIncrementMs())
 				.willReturn(RETRY_WAIT_MS);
 	}
 
@@ -0,0 +1,258 @@
+package com.hedera.services.sigs.sourcing;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2020 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.google.protobuf.ByteString;
+import com.hedera.services.legacy.exception.KeyPrefixMismatchException;
+import com.hederahashgraph.api.proto.java.SignatureMap;
+import com.hederahashgraph.api.proto.java.SignaturePair;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.runner.JUnitPlatform;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static com.hedera.services.sigs.sourcing.SigMapPrefixIndex.NO_PAIR;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@RunWith(JUnitPlatform.class)
+class SigMapPrefixIndexTest {
+	byte[] ed25519Sig = "ed25519Sig".getBytes();
+	byte[] ecdsaSig = "ecdsaSig".getBytes();
+	byte[] rsaSig = "rsaSig".getBytes();
+
+	@Test
+	public void findsUniqueMatchAmongSiblings() throws Exception {
+		// given:
+		var subject = new SigMapPrefixIndex(mapOf(
+				ed25519Pair(bytes(1, 2)),
+				ecdsaPair(bytes(1, 3)),
+				rsaPair(bytes(2))));
+
+		// expect:
+		assertEquals(0, subject.pairIndexFor(bytes(1, 2, 9, 9)));
+		assertEquals(1, subject.pairIndexFor(bytes(1, 3, 9, 9)));
+		assertEquals(2, subject.pairIndexFor(bytes(2, 9, 9, 9)));
+		// and:
+		assertArrayEquals(ed25519Sig, subject.sigBytesAt(0));
+		assertArrayEquals(ecdsaSig, subject.sigBytesAt(1));
+		assertArrayEquals(rsaSig, subject.sigBytesAt(2));
+	}
+
+	@Test
+	public void findsNothingForUnmatchedKeys() throws Exception {
+		// given:
+		var subject = new SigMapPrefixIndex(mapOf(ed25519Pair(bytes(1, 2, 3))));
+
+		// expect:
+		assertEquals(NO_PAIR, subject.pairIndexFor(bytes(1, 2, 4)));
+		assertEquals(NO_PAIR, subject.pairIndexFor(bytes(2, 2, 3, 4)));
+		assertEquals(NO_PAIR, new SigMapPrefixIndex(SignatureMap.getDefaultInstance()).pairIndexFor(bytes(1)));
+	}
+
+	@Test
+	public void emptyPrefixMatchesEveryKey() throws Exception {
+		// given:
+		var subject = new SigMapPrefixIndex(mapOf(ed25519Pair(bytes())));
+
+		// expect:
+		assertEquals(0, subject.pairIndexFor(bytes(7, 7)));
+		assertEquals(0, subject.pairIndexFor(bytes()));
+	}
+
+	@Test
+	public void rejectsKeysShorterThanAnyPrefix() {
+		// given:
+		var subject = new SigMapPrefixIndex(mapOf(ed25519Pair(bytes(1)), ed25519Pair(bytes(2, 2, 3))));
+
+		// expect:
+		assertThrows(ArrayIndexOutOfBoundsException.class, () -> subject.pairIndexFor(bytes(1, 2)));
+		assertThrows(ArrayIndexOutOfBoundsException.class, () -> subject.pairIndexFor(bytes(3)));
+		assertThrows(ArrayIndexOutOfBoundsException.class, () -> subject.pairIndexFor(bytes()));
+	}
+
+	@Test
+	public void rejectsNestedPrefixes() {
+		// given:
+		var subject = new SigMapPrefixIndex(mapOf(ed25519Pair(bytes(1)), ed25519Pair(bytes(1, 2))));
+
+		// expect:
+		assertThrows(KeyPrefixMismatchException.class, () -> subject.pairIndexFor(bytes(1, 2, 3)));
+	}
+
+	@Test
+	public void rejectsRepeatedPrefixes() throws Exception {
+		// given:
+		var subject = new SigMapPrefixIndex(mapOf(ed25519Pair(bytes(1, 2)), rsaPair(bytes(1, 2))));
+
+		// expect:
+		assertThrows(KeyPrefixMismatchException.class, () -> subject.pairIndexFor(bytes(1, 2, 3)));
+		assertEquals(NO_PAIR, subject.pairIndexFor(bytes(1, 3)));
+	}
+
+	@Test
+	public void handlesWideFanOut() throws Exception {
+		// setup:
+		var sigMap = SignatureMap.newBuilder();
+		for (int i = 0; i < 256; i++) {
+			sigMap.addSigPair(ed25519Pair(bytes(0, i)));
+		}
+
+		// given:
+		var subject = new SigMapPrefixIndex(sigMap.build());
+
+		// expect:
+		for (int i = 0; i < 256; i++) {
+			assertEquals(i, subject.pairIndexFor(bytes(0, i, 9)));
+		}
+		assertEquals(NO_PAIR, subject.pairIndexFor(bytes(1, 0, 9)));
+	}
+
+	@Test
+	public void handsOutFreshCopyOfSigBytes() {
+		// given:
+		var subject = new SigMapPrefixIndex(mapOf(ed25519Pair(bytes(1))));
+
+		// when:
+		byte[] first = subject.sigBytesAt(0);
+		first[0] = 0;
+
+		// then:
+		assertNotSame(first, subject.sigBytesAt(0));
+		assertArrayEquals(ed25519Sig, subject.sigBytesAt(0));
+	}
+
+	@Test
+	public void splitsCompressedEdgesWhereLongPrefixesDiverge() throws Exception {
+		// given:
+		var subject = new SigMapPrefixIndex(mapOf(
+				ed25519Pair(bytes(1, 2, 3, 4, 5, 6)),
+				ecdsaPair(bytes(1, 2, 3, 7)),
+				rsaPair(bytes(1, 2, 3, 4, 8))));
+
+		// expect:
+		assertEquals(0, subject.pairIndexFor(bytes(1, 2, 3, 4, 5, 6, 9)));
+		assertEquals(1, subject.pairIndexFor(bytes(1, 2, 3, 7, 9, 9)));
+		assertEquals(2, subject.pairIndexFor(bytes(1, 2, 3, 4, 8, 9)));
+		// and:
+		assertEquals(NO_PAIR, subject.pairIndexFor(bytes(1, 2, 3, 4, 5, 9)));
+		assertEquals(NO_PAIR, subject.pairIndexFor(bytes(1, 2, 3, 9, 9, 9)));
+		assertEquals(NO_PAIR, subject.pairIndexFor(bytes(1, 2, 9, 9, 9, 9)));
+	}
+
+	@Test
+	public void rejectsPrefixEndingInsideCompressedEdge() {
+		// given:
+		var subject = new SigMapPrefixIndex(mapOf(ed25519Pair(bytes(1, 2, 3, 4)), ed25519Pair(bytes(1, 2))));
+
+		// expect:
+		assertThrows(KeyPrefixMismatchException.class, () -> subject.pairIndexFor(bytes(1, 2, 3, 4, 5)));
+	}
+
+	@Test
+	public void matchesLinearScanForRandomFullLengthPrefixes() throws Exception {
+		// setup:
+		var r = new Random(41L);
+		var sigMap = SignatureMap.newBuilder();
+		List<byte[]> keys = new ArrayList<>();
+		for (int i = 0; i < 200; i++) {
+			byte[] key = new byte[32];
+			r.nextBytes(key);
+			/* Make many keys share long runs of leading bytes. */
+			key[0] = (byte) r.nextInt(3);
+			if (r.nextBoolean()) {
+				Arrays.fill(key, 1, 1 + r.nextInt(20), (byte) 7);
+			}
+			keys.add(key);
+			int prefixLen = r.nextInt(10) == 0 ? 1 + r.nextInt(4) : 32;
+			sigMap.addSigPair(ed25519Pair(Arrays.copyOf(key, prefixLen)));
+		}
+
+		// given:
+		var map = sigMap.build();
+		var subject = new SigMapPrefixIndex(map);
+
+		// expect:
+		for (byte[] key : keys) {
+			int expected = linearScanFor(map, key);
+			if (expected == AMBIGUOUS_SCAN) {
+				assertThrows(KeyPrefixMismatchException.class, () -> subject.pairIndexFor(key));
+			} else {
+				assertEquals(expected, subject.pairIndexFor(key));
+			}
+		}
+	}
+
+	private static final int AMBIGUOUS_SCAN = -2;
+
+	private static int linearScanFor(SignatureMap map, byte[] key) {
+		int match = NO_PAIR;
+		for (int i = 0; i < map.getSigPairCount(); i++) {
+			byte[] prefix = map.getSigPair(i).getPubKeyPrefix().toByteArray();
+			if (prefix.length <= key.length && Arrays.equals(prefix, Arrays.copyOf(key, prefix.length))) {
+				if (match != NO_PAIR) {
+					return AMBIGUOUS_SCAN;
+				}
+				match = i;
+			}
+		}
+		return match;
+	}
+
+	private SignatureMap mapOf(SignaturePair... pairs) {
+		return SignatureMap.newBuilder().addAllSigPair(List.of(pairs)).build();
+	}
+
+	private SignaturePair ed25519Pair(byte[] prefix) {
+		return SignaturePair.newBuilder()
+				.setPubKeyPrefix(ByteString.copyFrom(prefix))
+				.setEd25519(ByteString.copyFrom(ed25519Sig))
+				.build();
+	}
+
+	private SignaturePair ecdsaPair(byte[] prefix) {
+		return SignaturePair.newBuilder()
+				.setPubKeyPrefix(ByteString.copyFrom(prefix))
+				.setECDSA384(ByteString.copyFrom(ecdsaSig))
+				.build();
+	}
+
+	private SignaturePair rsaPair(byte[] prefix) {
+		return SignaturePair.newBuilder()
+				.setPubKeyPrefix(ByteString.copyFrom(prefix))
+				.setRSA3072(ByteString.copyFrom(rsaSig))
+				.build();
+	}
+
+	private static byte[] bytes(int... values) {
+		byte[] bytes = new byte[values.length];
+		for (int i = 0; i < values.length; i++) {
+			bytes[i] = (byte)values[i];
+		}
+		return bytes;
+	}
+}
@@ -42,6 +42,8 @@ import static com.hedera.test.factories.keys.NodeFactory.*;
 import static com.hedera.test.factories.txns.SystemDeleteFactory.*;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.collection.IsIterableContainingInOrder.contains;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @RunWith(JUnitPlatform.class)
@@ -95,6 +97,37 @@ public class SigMapPubKeyToSigBytesTest {
 		lookupsMatch(otherKt, defaultFactory, signedTxn.getBodyBytes().toByteArray(), subject);
 	}
 
+	@Test
+	public void sharesOneIndexPerSigMapOnEachThread() throws Throwable {
+		// setup:
+		AtomicReference<PubKeyToSigBytes> fromOtherThread = new AtomicReference<>();
+
+		// given:
+		Transaction signedTxn = newSignedSystemDelete()
+				.payerKt(payerKt)
+				.nonPayerKts(otherKt)
+				.get();
+		Transaction otherSignedTxn = newSignedSystemDelete()
+				.payerKt(otherKt)
+				.get();
+
+		// when:
+		PubKeyToSigBytes forPayer = PubKeyToSigBytes.forPayer(signedTxn);
+		PubKeyToSigBytes forOthers = PubKeyToSigBytes.forOtherParties(signedTxn);
+		PubKeyToSigBytes forAll = PubKeyToSigBytes.forAllParties(signedTxn);
+		// and:
+		Thread other = new Thread(() -> fromOtherThread.set(PubKeyToSigBytes.forPayer(signedTxn)));
+		other.start();
+		other.join();
+
+		// then:
+		assertSame(forPayer, forOthers);
+		assertSame(forPayer, forAll);
+		assertNotSame(forPayer, fromOtherThread.get());
+		assertNotSame(forPayer, PubKeyToSigBytes.forPayer(otherSignedTxn));
+		lookupsMatch(payerKt, defaultFactory, signedTxn.getBodyBytes().toByteArray(), forAll);
+	}
+
 	@Test
 	public void rejectsNonUniqueSigBytes() throws Throwable {
 		// given:
@@ -0,0 +1,150 @@
+package com.hedera.services.sigs.verification;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2020 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.swirlds.common.crypto.Signature;
+import net.i2p.crypto.eddsa.EdDSAEngine;
+import net.i2p.crypto.eddsa.EdDSAPrivateKey;
+import net.i2p.crypto.eddsa.spec.EdDSANamedCurveTable;
+import net.i2p.crypto.eddsa.spec.EdDSAParameterSpec;
+import net.i2p.crypto.eddsa.spec.EdDSAPrivateKeySpec;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.runner.JUnitPlatform;
+import org.junit.runner.RunWith;
+
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.swirlds.common.crypto.SignatureType.ED25519;
+import static com.swirlds.common.crypto.SignatureType.RSA;
+import static com.swirlds.common.crypto.VerificationStatus.INVALID;
+import static com.swirlds.common.crypto.VerificationStatus.VALID;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.BDDMockito.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.mock;
+import static org.mockito.BDDMockito.never;
+import static org.mockito.BDDMockito.verify;
+import static org.mockito.BDDMockito.willAnswer;
+
+@RunWith(JUnitPlatform.class)
+class CachingEd25519SyncVerifierTest {
+	static final EdDSAParameterSpec SPEC = EdDSANamedCurveTable.getByName(EdDSANamedCurveTable.ED_25519);
+
+	byte[] data = "Not really a txn body".getBytes();
+	EdDSAPrivateKey signer;
+
+	SyncVerifier fallback;
+	CachingEd25519SyncVerifier subject;
+
+	@BeforeEach
+	private void setup() {
+		signer = new EdDSAPrivateKey(new EdDSAPrivateKeySpec(new byte[32], SPEC));
+		fallback = mock(SyncVerifier.class);
+
+		subject = new CachingEd25519SyncVerifier(fallback);
+	}
+
+	@Test
+	public void resolvesEd25519SigsWithoutFallback() throws Exception {
+		// setup:
+		byte[] sig = sign(data);
+		byte[] tampered = sig.clone();
+		tampered[1] ^= 1;
+		List<Signature> sigs = new ArrayList<>(List.of(
+				ed25519Sig(signer.getAbyte(), sig, data),
+				ed25519Sig(signer.getAbyte(), tampered, data)));
+
+		// when:
+		subject.verifySync(sigs);
+
+		// then:
+		assertEquals(VALID, sigs.get(0).getSignatureStatus());
+		assertEquals(INVALID, sigs.get(1).getSignatureStatus());
+		verify(fallback, never()).verifySync(any());
+	}
+
+	@Test
+	public void treatsMalformedSigAsInvalid() throws Exception {
+		// setup:
+		List<Signature> sigs = new ArrayList<>(List.of(ed25519Sig(new byte[3], sign(data), data)));
+
+		// when:
+		subject.verifySync(sigs);
+
+		// then:
+		assertEquals(INVALID, sigs.get(0).getSignatureStatus());
+	}
+
+	@Test
+	public void leavesOtherSigsToFallbackInPlace() throws Exception {
+		// setup:
+		Signature rsaSig = mock(Signature.class);
+		given(rsaSig.getSignatureType()).willReturn(RSA);
+		Signature verifiedRsaSig = mock(Signature.class);
+		given(verifiedRsaSig.getSignatureType()).willReturn(RSA);
+		List<Signature> sigs = new ArrayList<>(List.of(
+				rsaSig,
+				ed25519Sig(signer.getAbyte(), sign(data), data)));
+
+		willAnswer(invocation -> {
+			List<Signature> others = invocation.getArgument(0);
+			assertEquals(List.of(rsaSig), others);
+			others.set(0, verifiedRsaSig);
+			return null;
+		}).given(fallback).verifySync(any());
+
+		// when:
+		subject.verifySync(sigs);
+
+		// then:
+		assertSame(verifiedRsaSig, sigs.get(0));
+		assertEquals(VALID, sigs.get(1).getSignatureStatus());
+	}
+
+	private Signature ed25519Sig(byte[] pk, byte[] sig, byte[] data) {
+		byte[] contents = new byte[sig.length + data.length];
+		System.arraycopy(sig, 0, contents, 0, sig.length);
+		System.arraycopy(data, 0, contents, sig.length, data.length);
+
+		Signature platformSig = mock(Signature.class);
+		given(platformSig.getSignatureType()).willReturn(ED25519);
+		given(platformSig.getContentsDirect()).willReturn(contents);
+		given(platformSig.getExpandedPublicKeyDirect()).willReturn(pk);
+		given(platformSig.getPublicKeyOffset()).willReturn(0);
+		given(platformSig.getPublicKeyLength()).willReturn(pk.length);
+		given(platformSig.getSignatureOffset()).willReturn(0);
+		given(platformSig.getSignatureLength()).willReturn(sig.length);
+		given(platformSig.getMessageOffset()).willReturn(sig.length);
+		given(platformSig.getMessageLength()).willReturn(data.length);
+		return platformSig;
+	}
+
+	private byte[] sign(byte[] data) throws Exception {
+		EdDSAEngine engine = new EdDSAEngine(MessageDigest.getInstance(SPEC.getHashAlgorithm()));
+		engine.initSign(signer);
+		engine.update(data);
+		return engine.sign();
+	}
+}
@@ -26,6 +26,7 @@ import com.google.protobuf.ByteString;
 import com.hedera.services.context.properties.PropertySource;
 import com.hedera.services.files.TieredHederaFs;
 import com.hedera.services.files.interceptors.MockFileNumbers;
+import com.hedera.services.files.store.AppendableBytesStore;
 import com.hedera.services.utils.EntityIdUtils;
 import com.hedera.services.utils.MiscUtils;
 import com.hedera.test.factories.scenarios.TxnHandlingScenario;
@@ -93,7 +94,7 @@ class HfsSystemFilesManagerTest {
 	int curHbarEquiv = 12;
 	int nxtCentEquiv = 2;
 	int nxtHbarEquiv = 31;
-	Map<FileID, byte[]> data;
+	AppendableBytesStore<FileID> data;
 	Map<FileID, JFileInfo> metadata;
 	JKey masterKey;
 	byte[] aIpv4, bIpv4;
@@ -148,7 +149,7 @@ class HfsSystemFilesManagerTest {
 		given(currentBook.getAddress(1L)).willReturn(addressB);
 		given(currentBook.getSize()).willReturn(2);
 
-		data = mock(Map.class);
+		data = mock(AppendableBytesStore.class);
 		metadata = mock(Map.class);
 		hfs = mock(TieredHederaFs.class);
 		given(hfs.getData()).willReturn(data);
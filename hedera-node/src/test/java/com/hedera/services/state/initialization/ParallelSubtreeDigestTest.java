@@ -0,0 +1,143 @@
+package com.hedera.services.state.initialization;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2020 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.swirlds.common.crypto.Hash;
+import com.swirlds.common.merkle.MerkleInternal;
+import com.swirlds.common.merkle.MerkleNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.runner.JUnitPlatform;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.mock;
+import static org.mockito.BDDMockito.never;
+import static org.mockito.BDDMockito.verify;
+import static org.mockito.BDDMockito.willThrow;
+
+@RunWith(JUnitPlatform.class)
+class ParallelSubtreeDigestTest {
+	MerkleNode a, b, hashed;
+	Consumer<MerkleNode> digest;
+
+	ParallelSubtreeDigest subject;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	private void setup() {
+		a = mock(MerkleNode.class);
+		b = mock(MerkleNode.class);
+		hashed = mock(MerkleNode.class);
+		given(hashed.getHash()).willReturn(mock(Hash.class));
+		digest = (Consumer<MerkleNode>) mock(Consumer.class);
+
+		subject = new ParallelSubtreeDigest(new ForkJoinPool(2));
+	}
+
+	@Test
+	public void digestsEveryUnhashedSubtree() {
+		// when:
+		subject.digestAll(Map.of("a", a, "b", b, "hashed", hashed), digest);
+
+		// then:
+		verify(digest).accept(a);
+		verify(digest).accept(b);
+		verify(digest, never()).accept(hashed);
+	}
+
+	@Test
+	public void propagatesDigestFailure() {
+		willThrow(IllegalStateException.class).given(digest).accept(b);
+
+		// expect:
+		assertThrows(IllegalStateException.class, () -> subject.digestAll(Map.of("a", a, "b", b), digest));
+	}
+
+	@Test
+	public void digestsPartsOfLargeSubtreeBeforeItsRoot() {
+		// setup:
+		var leaf = leaf();
+		var left = internal(leaf(), leaf());
+		var right = internal(leaf(), hashed);
+		var root = internal(left, right, leaf, null);
+
+		// when:
+		subject.digestAll(Map.of("root", root), digest);
+
+		// then:
+		verify(digest).accept(left.getChild(0));
+		verify(digest).accept(left.getChild(1));
+		verify(digest).accept(right.getChild(0));
+		verify(digest).accept(leaf);
+		verify(digest).accept(root);
+		verify(digest, never()).accept(hashed);
+	}
+
+	@Test
+	public void splitsBreadthFirstUntilTargetReached() {
+		// setup:
+		var l0 = leaf();
+		var l1 = leaf();
+		var left = internal(l0, l1);
+		var right = internal(leaf(), leaf());
+		var root = internal(left, right);
+
+		// expect:
+		assertEquals(List.of(root), ParallelSubtreeDigest.partsOf(root, 1));
+		assertEquals(List.of(left, right), ParallelSubtreeDigest.partsOf(root, 2));
+		assertEquals(List.of(right, l0, l1), ParallelSubtreeDigest.partsOf(root, 3));
+	}
+
+	@Test
+	public void stopsSplittingAtLeaves() {
+		// setup:
+		var l0 = leaf();
+		var l1 = leaf();
+		var root = internal(l0, l1);
+
+		// expect:
+		assertEquals(List.of(l0, l1), ParallelSubtreeDigest.partsOf(root, 100));
+		assertEquals(List.of(a), ParallelSubtreeDigest.partsOf(a, 100));
+	}
+
+	private MerkleNode leaf() {
+		var leaf = mock(MerkleNode.class);
+		given(leaf.isLeaf()).willReturn(true);
+		return leaf;
+	}
+
+	private MerkleInternal internal(MerkleNode... children) {
+		var internal = mock(MerkleInternal.class);
+		given(internal.getNumberOfChildren()).willReturn(children.length);
+		for (int i = 0; i < children.length; i++) {
+			given(internal.getChild(i)).willReturn(children[i]);
+		}
+		return internal;
+	}
+}
@@ -4,6 +4,7 @@ import com.hedera.services.state.serdes.DomainSerdes;
 import com.hedera.services.state.serdes.IoReadingFunction;
 import com.hedera.services.state.serdes.IoWritingConsumer;
 import com.hedera.services.state.submerkle.EntityId;
+import com.hedera.services.state.tiering.MappedColdAccountStore;
 import com.hedera.services.legacy.core.jproto.JEd25519Key;
 import com.hedera.services.legacy.core.jproto.JKey;
 import com.hedera.services.utils.MiscUtils;
@@ -12,11 +13,13 @@ import com.swirlds.common.io.SerializableDataOutputStream;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.platform.runner.JUnitPlatform;
 import org.junit.runner.RunWith;
 import org.mockito.InOrder;
 
 import java.io.IOException;
+import java.nio.file.Path;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -58,6 +61,10 @@ class MerkleAccountStateTest {
 	MerkleAccountState subject;
 	MerkleAccountState otherSubject;
 
+	@TempDir
+	Path tmp;
+	MappedColdAccountStore store;
+
 	@BeforeEach
 	public void setup() {
 		key = new JEd25519Key("abcdefghijklmnopqrstuvwxyz012345".getBytes());
@@ -75,11 +82,14 @@ class MerkleAccountStateTest {
 
 		serdes = mock(DomainSerdes.class);
 		MerkleAccountState.serdes = serdes;
+
+		store = new MappedColdAccountStore(tmp.resolve("accounts.mmap"));
 	}
 
 	@AfterEach
 	public void cleanup() {
 		MerkleAccountState.serdes = new DomainSerdes();
+		store.close();
 	}
 
 	@Test
@@ -322,6 +332,135 @@ class MerkleAccountStateTest {
 		assertNotEquals(subject, otherSubject);
 	}
 
+	@Test
+	public void demotedFieldsReadTransparently() {
+		// setup:
+		var identicalSubject = subject.copy();
+		MerkleAccountState.serdes = new DomainSerdes();
+
+		// when:
+		var demoted = subject.demoteTo(store);
+
+		// then:
+		assertTrue(demoted);
+		assertTrue(subject.isCold());
+		assertTrue(store.owns(subject.coldLocation()));
+		// and:
+		assertEquals(memo, subject.memo());
+		assertEquals(proxy, subject.proxy());
+		assertTrue(JKey.equalUpToDecodability(key, subject.key()));
+		assertEquals(identicalSubject, subject);
+		assertTrue(subject.isCold());
+	}
+
+	@Test
+	public void promoteRestoresHotFields() {
+		// setup:
+		MerkleAccountState.serdes = new DomainSerdes();
+
+		// given:
+		subject.demoteTo(store);
+
+		// when:
+		var promoted = subject.promote();
+
+		// then:
+		assertTrue(promoted);
+		assertFalse(subject.isCold());
+		assertEquals(memo, subject.memo());
+		assertFalse(subject.promote());
+	}
+
+	@Test
+	public void reusesLocationIfDemotedUnchanged() {
+		// setup:
+		MerkleAccountState.serdes = new DomainSerdes();
+
+		// given:
+		subject.demoteTo(store);
+		var location = subject.coldLocation();
+
+		// when:
+		subject.promote();
+		subject.demoteTo(store);
+
+		// then:
+		assertEquals(location, subject.coldLocation());
+		assertEquals(1L, store.recordsInUse());
+		assertTrue(subject.isCold());
+	}
+
+	@Test
+	public void copiesShareColdLocation() {
+		// setup:
+		MerkleAccountState.serdes = new DomainSerdes();
+
+		// given:
+		subject.demoteTo(store);
+
+		// when:
+		var copy = subject.copy();
+
+		// then:
+		assertTrue(copy.isCold());
+		assertEquals(subject.coldLocation(), copy.coldLocation());
+		assertEquals(subject, copy);
+	}
+
+	@Test
+	public void appendsAgainIfChangedSincePromotion() {
+		// setup:
+		MerkleAccountState.serdes = new DomainSerdes();
+
+		// when:
+		subject.demoteTo(store);
+		subject.promote();
+		subject.setMemo(otherMemo);
+		// then:
+		assertEquals(MappedColdAccountStore.NO_LOCATION, subject.coldLocation());
+
+		// and when:
+		subject.demoteTo(store);
+
+		// then:
+		assertEquals(2L, store.recordsInUse());
+		assertEquals(otherMemo, subject.memo());
+	}
+
+	@Test
+	public void settersOnColdAccountKeepOtherFields() {
+		// setup:
+		MerkleAccountState.serdes = new DomainSerdes();
+
+		// given:
+		subject.demoteTo(store);
+
+		// when:
+		subject.setProxy(otherProxy);
+
+		// then:
+		assertFalse(subject.isCold());
+		assertEquals(MappedColdAccountStore.NO_LOCATION, subject.coldLocation());
+		assertEquals(otherProxy, subject.proxy());
+		assertEquals(memo, subject.memo());
+		assertTrue(JKey.equalUpToDecodability(key, subject.key()));
+	}
+
+	@Test
+	public void staysHotIfFieldsDontFitInStore() {
+		// setup:
+		MerkleAccountState.serdes = new DomainSerdes();
+		subject.setMemo("m".repeat(MappedColdAccountStore.MAX_PAYLOAD_BYTES));
+
+		// when:
+		var demoted = subject.demoteTo(store);
+
+		// then:
+		assertFalse(demoted);
+		assertFalse(subject.isCold());
+		assertEquals(0L, store.recordsInUse());
+	}
+
 	@Test
 	public void merkleMethodsWork() {
 		// expect;
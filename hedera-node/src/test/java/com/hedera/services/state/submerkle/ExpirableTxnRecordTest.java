@@ -172,6 +172,29 @@ class ExpirableTxnRecordTest {
 		assertEquals(subject, ExpirableTxnRecord.fromGprc(subject.asGrpc()));
 	}
 
+	@Test
+	public void reusesBuiltGrpc() {
+		// when:
+		var first = subject.asGrpc();
+		var second = subject.asGrpc();
+
+		// then:
+		assertSame(first, second);
+		assertEquals(subjectRecord().asGrpc(), first);
+	}
+
+	@Test
+	public void expiryChangeDoesntAffectCachedGrpc() {
+		// given:
+		var before = subject.asGrpc();
+
+		// when:
+		subject.setExpiry(subject.getExpiry() + 1);
+
+		// then:
+		assertSame(before, subject.asGrpc());
+	}
+
 	@Test
 	public void objectContractWorks() {
 		// given:
@@ -0,0 +1,285 @@
+package com.hedera.services.state.tiering;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2020 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.platform.runner.JUnitPlatform;
+import org.junit.runner.RunWith;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static com.hedera.services.state.tiering.MappedColdAccountStore.MAX_PAYLOAD_BYTES;
+import static com.hedera.services.state.tiering.MappedColdAccountStore.NO_LOCATION;
+import static com.hedera.services.state.tiering.MappedColdAccountStore.RECORDS_PER_SEGMENT;
+import static com.hedera.services.state.tiering.MappedColdAccountStore.SEGMENT_BYTES;
+import static com.hedera.services.state.tiering.MappedColdAccountStore.read;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@RunWith(JUnitPlatform.class)
+class MappedColdAccountStoreTest {
+	@TempDir
+	Path tmp;
+
+	Path path;
+	MappedColdAccountStore subject;
+
+	@BeforeEach
+	private void setup() {
+		path = tmp.resolve("cold/node0/accounts.mmap");
+		subject = new MappedColdAccountStore(path);
+	}
+
+	@AfterEach
+	public void cleanup() {
+		subject.close();
+	}
+
+	@Test
+	public void readsWhatWasAppended() {
+		// given:
+		var a = "abc".getBytes();
+		var b = new byte[0];
+
+		// when:
+		var aLocation = subject.append(a);
+		var bLocation = subject.append(b);
+
+		// then:
+		assertTrue(subject.owns(aLocation));
+		assertTrue(subject.owns(bLocation));
+		assertEquals(2L, subject.recordsInUse());
+		assertArrayEquals(a, read(aLocation));
+		assertArrayEquals(b, read(bLocation));
+	}
+
+	@Test
+	public void locationsNameTheirStore() {
+		// given:
+		var other = new MappedColdAccountStore(tmp.resolve("cold/node1/accounts.mmap"));
+
+		// when:
+		var location = subject.append("abc".getBytes());
+		var otherLocation = other.append("def".getBytes());
+
+		// then:
+		assertNotEquals(location, otherLocation);
+		assertFalse(other.owns(location));
+		assertFalse(subject.owns(otherLocation));
+		assertFalse(subject.owns(NO_LOCATION));
+		assertArrayEquals("abc".getBytes(), read(location));
+		assertArrayEquals("def".getBytes(), read(otherLocation));
+
+		// and when:
+		other.close();
+
+		// then:
+		assertThrows(IllegalArgumentException.class, () -> read(otherLocation));
+	}
+
+	@Test
+	public void acceptsPayloadThatExactlyFits() {
+		// given:
+		var payload = new byte[MAX_PAYLOAD_BYTES];
+		payload[MAX_PAYLOAD_BYTES - 1] = 42;
+
+		// when:
+		var location = subject.append(payload);
+
+		// then:
+		assertArrayEquals(payload, read(location));
+	}
+
+	@Test
+	public void rejectsOversizePayload() {
+		// expect:
+		assertEquals(NO_LOCATION, subject.append(new byte[MAX_PAYLOAD_BYTES + 1]));
+		assertEquals(0L, subject.recordsInUse());
+	}
+
+	@Test
+	public void mapsNewSegmentsAsNeeded() {
+		// given:
+		long last = NO_LOCATION;
+		for (int i = 0; i < RECORDS_PER_SEGMENT; i++) {
+			last = subject.append(new byte[] { (byte)i });
+		}
+
+		// when:
+		var location = subject.append("next".getBytes());
+
+		// then:
+		assertEquals(2, subject.segmentsMapped());
+		assertEquals(last + 1, location);
+		assertArrayEquals("next".getBytes(), read(location));
+		assertArrayEquals(new byte[] { (byte)(RECORDS_PER_SEGMENT - 1) }, read(last));
+	}
+
+	@Test
+	public void rejectsUnusedLocations() {
+		// given:
+		var location = subject.append("abc".getBytes());
+
+		// expect:
+		assertThrows(IllegalArgumentException.class, () -> read(NO_LOCATION));
+		assertThrows(IllegalArgumentException.class, () -> read(location + 1));
+	}
+
+	@Test
+	public void reusesSweptSlotsOnceNoEpochCanReadThem() {
+		// given:
+		var live = subject.append("live".getBytes());
+		var dead = subject.append("dead".getBytes());
+		// and:
+		var epoch = subject.openEpoch();
+
+		// when:
+		var retired = subject.sweep(liveLocations -> liveLocations.accept(live));
+
+		// then:
+		assertEquals(1, retired);
+		assertArrayEquals("dead".getBytes(), read(dead));
+		assertEquals(dead + 1, subject.append("new".getBytes()));
+
+		// and when:
+		subject.closeEpoch(epoch);
+
+		// then:
+		assertEquals(dead, subject.append("reused".getBytes()));
+		assertArrayEquals("reused".getBytes(), read(dead));
+		assertArrayEquals("live".getBytes(), read(live));
+	}
+
+	@Test
+	public void sweepsEachRecordOnlyOnce() {
+		// given:
+		subject.append("dead".getBytes());
+		subject.openEpoch();
+
+		// expect:
+		assertEquals(1, subject.sweep(ignore -> {}));
+		assertEquals(0, subject.sweep(ignore -> {}));
+	}
+
+	@Test
+	public void epochsOpenedAfterSweepDontDelayReuse() {
+		// given:
+		var dead = subject.append("dead".getBytes());
+		subject.append("live".getBytes());
+		var early = subject.openEpoch();
+		subject.sweep(liveLocations -> liveLocations.accept(dead + 1));
+		var late = subject.openEpoch();
+
+		// when:
+		subject.closeEpoch(early);
+
+		// then:
+		assertEquals(dead, subject.append("reused".getBytes()));
+		// and:
+		subject.closeEpoch(late);
+	}
+
+	@Test
+	public void unmapsAndTruncatesEmptyTrailingSegments() throws Exception {
+		// given:
+		var keep = subject.append("keep".getBytes());
+		for (int i = 1; i <= RECORDS_PER_SEGMENT; i++) {
+			subject.append(new byte[] { (byte)i });
+		}
+		assertEquals(2, subject.segmentsMapped());
+
+		// when:
+		subject.sweep(liveLocations -> liveLocations.accept(keep));
+
+		// then:
+		assertEquals(1, subject.segmentsMapped());
+		assertEquals(SEGMENT_BYTES, Files.size(path));
+		assertEquals(1L, subject.recordsInUse());
+		assertArrayEquals("keep".getBytes(), read(keep));
+		assertThrows(IllegalArgumentException.class, () -> read(keep + RECORDS_PER_SEGMENT));
+	}
+
+	@Test
+	public void sweepIsDueOnlyAfterEnoughAppends() {
+		// given:
+		for (int i = 0; i < RECORDS_PER_SEGMENT - 1; i++) {
+			subject.append(new byte[0]);
+		}
+
+		// expect:
+		assertFalse(subject.isDueForSweep());
+
+		// and when:
+		subject.append(new byte[0]);
+
+		// then:
+		assertTrue(subject.isDueForSweep());
+	}
+
+	@Test
+	public void ignoresForeignLocationsWhenSweeping() {
+		// given:
+		var dead = subject.append("dead".getBytes());
+
+		// when:
+		var retired = subject.sweep(liveLocations -> {
+			liveLocations.accept(NO_LOCATION);
+			liveLocations.accept(dead + (1L << MappedColdAccountStore.SLOT_BITS));
+		});
+
+		// then:
+		assertEquals(1, retired);
+	}
+
+	@Test
+	public void reopensExistingFileWithoutTruncating() throws Exception {
+		// given:
+		subject.append("abc".getBytes());
+		subject.close();
+
+		// when:
+		subject = new MappedColdAccountStore(path);
+
+		// then:
+		assertEquals(SEGMENT_BYTES, Files.size(path));
+		assertEquals(0L, subject.recordsInUse());
+	}
+
+	@Test
+	public void refusesToShareFile() {
+		// expect:
+		assertThrows(IllegalStateException.class, () -> new MappedColdAccountStore(path));
+	}
+
+	@Test
+	public void throwsIseOnUnusableLocation() {
+		// expect:
+		assertThrows(IllegalStateException.class, () -> new MappedColdAccountStore(tmp));
+	}
+}
@@ -0,0 +1,231 @@
+package com.hedera.services.txns;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2020 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+
+import com.hedera.services.context.properties.GlobalDynamicProperties;
+import com.hedera.services.context.properties.PropertySource;
+import com.hedera.services.utils.PlatformTxnAccessor;
+import com.hederahashgraph.api.proto.java.CryptoTransferTransactionBody;
+import com.hederahashgraph.api.proto.java.ResponseCodeEnum;
+import com.hederahashgraph.api.proto.java.Transaction;
+import com.hederahashgraph.api.proto.java.TransactionBody;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.runner.JUnitPlatform;
+import org.junit.runner.RunWith;
+
+import java.util.Optional;
+import java.util.function.Function;
+
+import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.INVALID_ACCOUNT_AMOUNTS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.BDDMockito.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.mock;
+import static org.mockito.BDDMockito.never;
+import static org.mockito.BDDMockito.times;
+import static org.mockito.BDDMockito.verify;
+
+@RunWith(JUnitPlatform.class)
+class TxnPreparationTest {
+	Transaction signedTxn = Transaction.newBuilder()
+			.setBodyBytes(TransactionBody.newBuilder()
+					.setCryptoTransfer(CryptoTransferTransactionBody.getDefaultInstance())
+					.build()
+					.toByteString())
+			.build();
+	com.swirlds.common.Transaction platformTxn;
+
+	TransitionLogic logic;
+	Function<TransactionBody, ResponseCodeEnum> syntaxCheck;
+	TransitionLogicLookup lookup;
+	GlobalDynamicProperties dynamicProperties;
+
+	TxnPreparation subject;
+
+	@BeforeEach
+	private void setup() {
+		platformTxn = platformTxnOf(signedTxn);
+
+		syntaxCheck = mock(Function.class);
+		given(syntaxCheck.apply(any())).willReturn(INVALID_ACCOUNT_AMOUNTS);
+		logic = mock(TransitionLogic.class);
+		given(logic.syntaxCheck()).willReturn(syntaxCheck);
+		given(logic.hasStateIndependentSyntaxCheck()).willReturn(true);
+		lookup = mock(TransitionLogicLookup.class);
+		given(lookup.lookupFor(any())).willReturn(Optional.of(logic));
+		dynamicProperties = new GlobalDynamicProperties(mock(PropertySource.class));
+
+		subject = new TxnPreparation(lookup, dynamicProperties, 2);
+	}
+
+	@Test
+	public void takesWhatWasPrepared() throws Exception {
+		// setup:
+		PlatformTxnAccessor accessor = new PlatformTxnAccessor(platformTxn);
+
+		// given:
+		subject.prepare(accessor);
+
+		// when:
+		PreparedTxn prepared = subject.take(platformTxn);
+
+		// then:
+		assertTrue(prepared.isPrepared());
+		assertSame(accessor, prepared.accessor());
+		assertEquals(Optional.of(logic), prepared.transitionLogicOr(null));
+		assertEquals(
+				Optional.of(INVALID_ACCOUNT_AMOUNTS),
+				prepared.syntaxStatusAsOf(subject.propertiesGeneration()));
+		// and:
+		assertEquals(0, subject.numPending());
+	}
+
+	@Test
+	public void fallsBackToNewAccessorIfNotPrepared() throws Exception {
+		// when:
+		PreparedTxn prepared = subject.take(platformTxn);
+
+		// then:
+		assertFalse(prepared.isPrepared());
+		assertSame(platformTxn, prepared.accessor().getPlatformTxn());
+		assertEquals(Optional.empty(), prepared.syntaxStatusAsOf(subject.propertiesGeneration()));
+		// and:
+		assertEquals(Optional.of(logic), prepared.transitionLogicOr(lookup));
+	}
+
+	@Test
+	public void keysByIdentityOfPlatformTxn() throws Exception {
+		// setup:
+		com.swirlds.common.Transaction equalPlatformTxn = platformTxnOf(signedTxn);
+
+		// given:
+		subject.prepare(new PlatformTxnAccessor(platformTxn));
+
+		// expect:
+		assertFalse(subject.take(equalPlatformTxn).isPrepared());
+		assertTrue(subject.take(platformTxn).isPrepared());
+	}
+
+	@Test
+	public void skipsSyntaxCheckThatDependsOnState() throws Exception {
+		given(logic.hasStateIndependentSyntaxCheck()).willReturn(false);
+
+		// when:
+		subject.prepare(new PlatformTxnAccessor(platformTxn));
+
+		// then:
+		verify(syntaxCheck, never()).apply(any());
+		// and:
+		PreparedTxn prepared = subject.take(platformTxn);
+		assertTrue(prepared.isPrepared());
+		assertEquals(Optional.empty(), prepared.syntaxStatusAsOf(subject.propertiesGeneration()));
+	}
+
+	@Test
+	public void invalidatesSyntaxStatusOnPropertiesReload() throws Exception {
+		// given:
+		subject.prepare(new PlatformTxnAccessor(platformTxn));
+
+		// when:
+		dynamicProperties.reload();
+
+		// then:
+		PreparedTxn prepared = subject.take(platformTxn);
+		assertTrue(prepared.isPrepared());
+		assertEquals(Optional.empty(), prepared.syntaxStatusAsOf(subject.propertiesGeneration()));
+	}
+
+	@Test
+	public void dropsOldestPendingWhenFull() throws Exception {
+		// setup:
+		com.swirlds.common.Transaction first = platformTxnOf(signedTxn);
+		com.swirlds.common.Transaction second = platformTxnOf(signedTxn);
+		com.swirlds.common.Transaction third = platformTxnOf(signedTxn);
+
+		// when:
+		subject.prepare(new PlatformTxnAccessor(first));
+		subject.prepare(new PlatformTxnAccessor(second));
+		// and:
+		subject.prepare(new PlatformTxnAccessor(third));
+
+		// then:
+		assertEquals(2, subject.numPending());
+		assertFalse(subject.take(first).isPrepared());
+		assertTrue(subject.take(second).isPrepared());
+		assertTrue(subject.take(third).isPrepared());
+	}
+
+	@Test
+	public void leavesUnpreparedIfLookupFails() throws Exception {
+		given(lookup.lookupFor(any())).willThrow(IllegalStateException.class);
+
+		// when:
+		subject.prepare(new PlatformTxnAccessor(platformTxn));
+
+		// then:
+		assertEquals(0, subject.numPending());
+		assertFalse(subject.take(platformTxn).isPrepared());
+	}
+
+	@Test
+	public void doesNothingIfDisabled() throws Exception {
+		// setup:
+		PlatformTxnAccessor accessor = new PlatformTxnAccessor(platformTxn);
+
+		// given:
+		subject = new TxnPreparation(lookup, dynamicProperties, 0);
+
+		// when:
+		subject.prepare(accessor);
+		PreparedTxn prepared = subject.take(platformTxn);
+
+		// then:
+		verify(lookup, never()).lookupFor(any());
+		assertFalse(prepared.isPrepared());
+		assertNotSame(accessor, prepared.accessor());
+	}
+
+	@Test
+	public void memoizesHashAndFunction() throws Exception {
+		// setup:
+		PlatformTxnAccessor accessor = new PlatformTxnAccessor(platformTxn);
+
+		// when:
+		subject.prepare(accessor);
+
+		// then:
+		assertSame(accessor.getHash(), accessor.getHash());
+		assertSame(accessor.getFunction(), accessor.getFunction());
+		verify(syntaxCheck, times(1)).apply(any());
+	}
+
+	private com.swirlds.common.Transaction platformTxnOf(Transaction signedTxn) {
+		com.swirlds.common.Transaction platformTxn = mock(com.swirlds.common.Transaction.class);
+		given(platformTxn.getContents()).willReturn(signedTxn.toByteArray());
+		return platformTxn;
+	}
+}
@@ -0,0 +1,404 @@
+package com.hedera.services.txns.crypto;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2020 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+
+import com.hedera.services.context.properties.PropertySource;
+import com.hedera.services.fees.FeeExemptions;
+import com.hedera.services.fees.charging.ItemizableFeeCharging;
+import com.hedera.services.fees.charging.TxnFeeChargingPolicy;
+import com.hedera.services.ledger.HederaLedger;
+import com.hedera.services.ledger.TransactionalLedger;
+import com.hedera.services.ledger.accounts.BackingAccounts;
+import com.hedera.services.ledger.accounts.HashMapBackingAccounts;
+import com.hedera.services.ledger.properties.AccountProperty;
+import com.hedera.services.ledger.properties.ChangeSummaryManager;
+import com.hedera.services.state.merkle.MerkleAccount;
+import com.hederahashgraph.api.proto.java.AccountAmount;
+import com.hederahashgraph.api.proto.java.AccountID;
+import com.hederahashgraph.api.proto.java.ResponseCodeEnum;
+import com.hederahashgraph.api.proto.java.TransferList;
+import com.hederahashgraph.fee.FeeObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.runner.JUnitPlatform;
+import org.junit.runner.RunWith;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+import static com.hedera.services.ledger.HederaLedger.ACCOUNT_ID_COMPARATOR;
+import static com.hedera.services.ledger.ids.ExceptionalEntityIdSource.NOOP_ID_SOURCE;
+import static com.hedera.services.records.NoopRecordsHistorian.NOOP_RECORDS_HISTORIAN;
+import static com.hedera.services.txns.crypto.CryptoTransferTransitionLogic.transferIn;
+import static com.hedera.services.txns.diligence.NoopDuplicateClassifier.NOOP_DUPLICATE_CLASSIFIER;
+import static com.hedera.services.txns.crypto.ParallelTransferExecutor.Mode.PARALLEL;
+import static com.hedera.services.txns.crypto.ParallelTransferExecutor.Mode.SERIAL;
+import static com.hedera.services.txns.crypto.TransferFootprintTest.accessorOf;
+import static com.hedera.test.utils.IdUtils.asAccount;
+import static com.hedera.test.utils.TxnUtils.withAdjustments;
+import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.ACCOUNT_DELETED;
+import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.ACCOUNT_ID_DOES_NOT_EXIST;
+import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.INSUFFICIENT_ACCOUNT_BALANCE;
+import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.INSUFFICIENT_PAYER_BALANCE;
+import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.INSUFFICIENT_TX_FEE;
+import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.OK;
+import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.SUCCESS;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.BDDMockito.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.mock;
+import static org.mockito.BDDMockito.never;
+import static org.mockito.BDDMockito.verify;
+
+/**
+ * Checks that {@link ParallelTransferExecutor} gives exactly the same evaluations in
+ * {@link ParallelTransferExecutor.Mode#PARALLEL} mode as in {@link ParallelTransferExecutor.Mode#SERIAL}
+ * mode, without touching the live accounts; and that using those evaluations in
+ * consensus order leaves exactly the same accounts (compared by a hash over every
+ * account's balance and deleted flag) as charging and transferring one transfer at
+ * a time, for batches of random transfers that include hot accounts, deleted and
+ * missing accounts, and payers who cannot afford their transfers or fees.
+ */
+@RunWith(JUnitPlatform.class)
+class ParallelTransferExecutorTest {
+	static final int NUM_ACCOUNTS = 64;
+	static final long FIRST_ACCOUNT = 1_001L;
+	static final long MISSING_ACCOUNT = FIRST_ACCOUNT + NUM_ACCOUNTS;
+	static final long DELETED_ACCOUNT = FIRST_ACCOUNT + NUM_ACCOUNTS - 1;
+	static final FeeObject FEE = new FeeObject(10L, 20L, 30L);
+
+	AccountID node = asAccount("0.0.3");
+	AccountID funding = asAccount("0.0.98");
+
+	ExecutorService workers;
+	FeeExemptions exemptions;
+	PropertySource properties;
+
+	@BeforeEach
+	private void setup() {
+		workers = Executors.newFixedThreadPool(4);
+		exemptions = mock(FeeExemptions.class);
+		given(exemptions.isExemptFromFees(any())).willReturn(false);
+		properties = mock(PropertySource.class);
+		given(properties.getAccountProperty("ledger.funding.account")).willReturn(funding);
+	}
+
+	@AfterEach
+	private void cleanup() {
+		workers.shutdownNow();
+	}
+
+	@Test
+	public void parallelMatchesSerialForRandomBatches() throws Exception {
+		for (long seed = 1; seed <= 25; seed++) {
+			// given:
+			var r = new Random(seed);
+			var serialBatch = randomBatch(r, 200, 1 + r.nextInt(NUM_ACCOUNTS / 2));
+			var parallelBatch = copyOf(serialBatch);
+			var serialAccounts = initialAccounts(seed);
+			var parallelAccounts = initialAccounts(seed);
+			// and:
+			var initialHash = hashOf(initialAccounts(seed));
+
+			// when:
+			executor(SERIAL).evaluate(serialBatch, serialAccounts);
+			executor(PARALLEL).evaluate(parallelBatch, parallelAccounts);
+
+			// then:
+			assertEquals(statusesOf(serialBatch), statusesOf(parallelBatch), "Statuses differ with seed " + seed);
+			assertEquals(netTransfersOf(serialBatch), netTransfersOf(parallelBatch));
+			assertEquals(
+					serialBatch.stream().map(PendingTransfer::feesChargedToPayer).collect(Collectors.toList()),
+					parallelBatch.stream().map(PendingTransfer::feesChargedToPayer).collect(Collectors.toList()));
+			// and:
+			assertArrayEquals(initialHash, hashOf(serialAccounts));
+			assertArrayEquals(initialHash, hashOf(parallelAccounts), "Accounts changed with seed " + seed);
+		}
+	}
+
+	@Test
+	public void usingEvaluationsMatchesChargingAndTransferringOneByOne() throws Exception {
+		for (long seed = 1; seed <= 25; seed++) {
+			// given:
+			var r = new Random(seed);
+			var batch = randomBatch(r, 200, 1 + r.nextInt(NUM_ACCOUNTS / 2));
+			var expectedAccounts = initialAccounts(seed);
+			var actualAccounts = initialAccounts(seed);
+			// and:
+			var expectedLedger = ledgerOver(expectedAccounts);
+			var actualLedger = ledgerOver(actualAccounts);
+
+			// when:
+			executor(PARALLEL).evaluate(batch, actualAccounts);
+			// and:
+			List<ResponseCodeEnum> expectedStatuses = new ArrayList<>();
+			List<ResponseCodeEnum> actualStatuses = new ArrayList<>();
+			for (PendingTransfer transfer : batch) {
+				expectedLedger.begin();
+				expectedStatuses.add(chargeAndTransfer(transfer, expectedLedger));
+				expectedLedger.commit();
+
+				actualLedger.begin();
+				if (staysInFootprint(transfer)) {
+					assertTrue(transfer.isExactFor(actualLedger), "Inexact evaluation with seed " + seed);
+				}
+				if (transfer.isExactFor(actualLedger)) {
+					actualLedger.doTransfers(transfer.netTransfers());
+					actualStatuses.add(transfer.status());
+				} else {
+					actualStatuses.add(chargeAndTransfer(transfer, actualLedger));
+				}
+				actualLedger.commit();
+			}
+
+			// then:
+			assertEquals(expectedStatuses, actualStatuses, "Statuses differ with seed " + seed);
+			assertArrayEquals(hashOf(expectedAccounts), hashOf(actualAccounts), "State differs with seed " + seed);
+		}
+	}
+
+	@Test
+	public void randomBatchesCoverInterestingOutcomes() throws Exception {
+		// setup:
+		List<ResponseCodeEnum> statuses = new ArrayList<>();
+
+		for (long seed = 1; seed <= 25; seed++) {
+			// given:
+			var r = new Random(seed);
+			var batch = randomBatch(r, 200, 1 + r.nextInt(NUM_ACCOUNTS / 2));
+
+			// when:
+			executor(PARALLEL).evaluate(batch, initialAccounts(seed));
+
+			// then:
+			statuses.addAll(statusesOf(batch));
+		}
+
+		// expect:
+		assertTrue(statuses.containsAll(List.of(
+				SUCCESS,
+				ACCOUNT_DELETED,
+				ACCOUNT_ID_DOES_NOT_EXIST,
+				INSUFFICIENT_ACCOUNT_BALANCE,
+				INSUFFICIENT_PAYER_BALANCE,
+				INSUFFICIENT_TX_FEE)));
+	}
+
+	@Test
+	public void reevaluatesTransferOutsideItsFootprintAfterItsWave() throws Exception {
+		// setup:
+		AccountID a = asAccount("0.0.1001"), b = asAccount("0.0.1002"), c = asAccount("0.0.1003");
+		var accounts = initialAccounts(0L);
+		var ledger = ledgerOver(accounts);
+
+		// given:
+		var unwilling = new PendingTransfer(accessorOf(a, withAdjustments(a, -1L, b, 1L), 0L), FEE);
+		var willing = new PendingTransfer(accessorOf(c, withAdjustments(c, -1L, b, 1L), 1_000L), FEE);
+
+		// when:
+		executor(PARALLEL).evaluate(List.of(unwilling, willing), accounts);
+
+		// then:
+		assertEquals(INSUFFICIENT_TX_FEE, unwilling.status());
+		assertFalse(unwilling.wasCharged());
+		assertEquals(
+				withAdjustments(node, -FEE.getNetworkFee(), funding, FEE.getNetworkFee()),
+				unwilling.netTransfers());
+		// and:
+		assertEquals(SUCCESS, willing.status());
+		assertTrue(willing.wasCharged());
+		assertEquals(FEE.getNodeFee() + FEE.getNetworkFee() + FEE.getServiceFee(), willing.feesChargedToPayer());
+		// and:
+		ledger.begin();
+		assertFalse(unwilling.isExactFor(ledger));
+		ledger.doTransfer(c, node, FEE.getNodeFee());
+		assertTrue(unwilling.isExactFor(ledger));
+	}
+
+	@Test
+	public void evaluationIsExactOnlyWhileDebitedBalancesAreUnchanged() throws Exception {
+		// setup:
+		AccountID a = asAccount("0.0.1001"), b = asAccount("0.0.1002"), c = asAccount("0.0.1003");
+		var accounts = initialAccounts(0L);
+		var ledger = ledgerOver(accounts);
+
+		// given:
+		var transfer = new PendingTransfer(accessorOf(a, withAdjustments(b, -1L, c, 1L), 1_000L), FEE);
+		executor(SERIAL).evaluate(List.of(transfer), accounts);
+		// and:
+		ledger.begin();
+
+		// expect:
+		assertTrue(transfer.isExactFor(ledger));
+		// and when:
+		ledger.doTransfer(c, funding, 1L);
+		// then:
+		assertTrue(transfer.isExactFor(ledger));
+		// and when:
+		ledger.doTransfer(b, funding, 1L);
+		// then:
+		assertFalse(transfer.isExactFor(ledger));
+	}
+
+	@Test
+	public void readsLiveAccountsOnlyFromCallingThread() throws Exception {
+		// setup:
+		var caller = Thread.currentThread();
+		var live = initialAccounts(1L);
+		BackingAccounts<AccountID, MerkleAccount> accounts = mock(BackingAccounts.class);
+		given(accounts.contains(any())).willAnswer(invocation -> {
+			assertSame(caller, Thread.currentThread());
+			return live.contains(invocation.getArgument(0));
+		});
+		given(accounts.getUnsafeRef(any())).willAnswer(invocation -> {
+			assertSame(caller, Thread.currentThread());
+			return live.getUnsafeRef(invocation.getArgument(0));
+		});
+
+		// given:
+		var batch = randomBatch(new Random(1L), 200, NUM_ACCOUNTS);
+		var expected = copyOf(batch);
+
+		// when:
+		executor(PARALLEL).evaluate(batch, accounts);
+		executor(PARALLEL).evaluate(expected, live);
+
+		// then:
+		assertEquals(statusesOf(expected), statusesOf(batch));
+		assertEquals(netTransfersOf(expected), netTransfersOf(batch));
+		verify(accounts, never()).getMutableRef(any());
+		verify(accounts, never()).replace(any(), any());
+		verify(accounts, never()).remove(any());
+	}
+
+	private ParallelTransferExecutor executor(ParallelTransferExecutor.Mode mode) {
+		return new ParallelTransferExecutor(mode, workers, exemptions, properties, new TxnFeeChargingPolicy());
+	}
+
+	private boolean staysInFootprint(PendingTransfer transfer) {
+		return transfer.isEvaluated() && TransferFootprint.of(transfer.accessor(), funding)
+				.permits(transfer.netTransfers().getAccountAmountsList());
+	}
+
+	private ResponseCodeEnum chargeAndTransfer(PendingTransfer transfer, HederaLedger ledger) {
+		var charging = new ItemizableFeeCharging(exemptions, properties);
+		charging.setLedger(ledger);
+		charging.resetFor(transfer.accessor());
+		var chargingStatus = new TxnFeeChargingPolicy().apply(charging, transfer.fee());
+		return (chargingStatus == OK)
+				? transferIn(ledger, transfer.accessor().getTxn().getCryptoTransfer().getTransfers())
+				: chargingStatus;
+	}
+
+	private HederaLedger ledgerOver(BackingAccounts<AccountID, MerkleAccount> accounts) {
+		var delegate = new TransactionalLedger<>(
+				AccountProperty.class,
+				MerkleAccount::new,
+				accounts,
+				new ChangeSummaryManager<>());
+		delegate.setKeyComparator(ACCOUNT_ID_COMPARATOR);
+		return new HederaLedger(NOOP_ID_SOURCE, NOOP_RECORDS_HISTORIAN, NOOP_DUPLICATE_CLASSIFIER, delegate);
+	}
+
+	private List<PendingTransfer> randomBatch(Random r, int n, int numHot) throws Exception {
+		List<PendingTransfer> batch = new ArrayList<>();
+		for (int i = 0; i < n; i++) {
+			AccountID payer = account(r, numHot);
+			AccountID from = r.nextInt(4) == 0 ? account(r, NUM_ACCOUNTS) : payer;
+			AccountID to = r.nextInt(20) == 0
+					? asAccount("0.0." + (r.nextBoolean() ? MISSING_ACCOUNT : DELETED_ACCOUNT))
+					: account(r, NUM_ACCOUNTS);
+			if (to.equals(from)) {
+				to = funding;
+			}
+			long amount = 1 + r.nextInt(r.nextInt(10) == 0 ? 1_000_000 : 10_000);
+			long maxFee = r.nextInt(20) == 0 ? 40L : 1_000L;
+			batch.add(new PendingTransfer(accessorOf(payer, withAdjustments(from, -amount, to, amount), maxFee), FEE));
+		}
+		return batch;
+	}
+
+	private AccountID account(Random r, int bound) {
+		return asAccount("0.0." + (FIRST_ACCOUNT + r.nextInt(bound)));
+	}
+
+	private List<PendingTransfer> copyOf(List<PendingTransfer> batch) {
+		return batch.stream()
+				.map(transfer -> new PendingTransfer(transfer.accessor(), transfer.fee()))
+				.collect(Collectors.toList());
+	}
+
+	private HashMapBackingAccounts initialAccounts(long seed) throws Exception {
+		var r = new Random(-seed);
+		var accounts = new HashMapBackingAccounts();
+		accounts.replace(node, accountWith(1_000L));
+		accounts.replace(funding, accountWith(1_000_000L));
+		for (long num = FIRST_ACCOUNT; num < MISSING_ACCOUNT; num++) {
+			var account = accountWith(r.nextInt(3) == 0 ? r.nextInt(100) : r.nextInt(1_000_000));
+			account.setDeleted(num == DELETED_ACCOUNT);
+			accounts.replace(asAccount("0.0." + num), account);
+		}
+		return accounts;
+	}
+
+	private MerkleAccount accountWith(long balance) throws Exception {
+		var account = new MerkleAccount();
+		account.setBalance(balance);
+		return account;
+	}
+
+	private List<ResponseCodeEnum> statusesOf(List<PendingTransfer> batch) {
+		return batch.stream().map(PendingTransfer::status).collect(Collectors.toList());
+	}
+
+	private List<TransferList> netTransfersOf(List<PendingTransfer> batch) {
+		return batch.stream().map(PendingTransfer::netTransfers).collect(Collectors.toList());
+	}
+
+	private byte[] hashOf(BackingAccounts<AccountID, MerkleAccount> accounts) throws Exception {
+		var digest = MessageDigest.getInstance("SHA-384");
+		List<AccountID> ids = new ArrayList<>(List.of(node, funding));
+		for (long num = FIRST_ACCOUNT; num <= MISSING_ACCOUNT; num++) {
+			ids.add(asAccount("0.0." + num));
+		}
+		for (AccountID id : ids) {
+			var buffer = ByteBuffer.allocate(Long.BYTES * 2 + 1).putLong(id.getAccountNum());
+			if (accounts.contains(id)) {
+				var account = accounts.getUnsafeRef(id);
+				buffer.putLong(account.getBalance()).put((byte) (account.isDeleted() ? 1 : 0));
+			}
+			digest.update(buffer.array());
+		}
+		return digest.digest();
+	}
+}
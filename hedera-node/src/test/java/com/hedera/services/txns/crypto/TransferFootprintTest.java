@@ -0,0 +1,120 @@
+package com.hedera.services.txns.crypto;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2020 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+
+import com.hederahashgraph.api.proto.java.AccountID;
+import com.hederahashgraph.api.proto.java.CryptoTransferTransactionBody;
+import com.hederahashgraph.api.proto.java.Transaction;
+import com.hederahashgraph.api.proto.java.TransactionBody;
+import com.hederahashgraph.api.proto.java.TransactionID;
+import com.hederahashgraph.api.proto.java.TransferList;
+import com.hedera.services.utils.SignedTxnAccessor;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.runner.JUnitPlatform;
+import org.junit.runner.RunWith;
+
+import java.util.Set;
+
+import static com.hedera.test.utils.IdUtils.asAccount;
+import static com.hedera.test.utils.TxnUtils.withAdjustments;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@RunWith(JUnitPlatform.class)
+class TransferFootprintTest {
+	AccountID node = asAccount("0.0.3");
+	AccountID funding = asAccount("0.0.98");
+	AccountID payer = asAccount("0.0.1001");
+	AccountID a = asAccount("0.0.1002");
+	AccountID b = asAccount("0.0.1003");
+	AccountID c = asAccount("0.0.1004");
+
+	@Test
+	public void classifiesDebitsAndCredits() throws Exception {
+		// given:
+		var subject = TransferFootprint.of(accessorOf(payer, withAdjustments(a, -2L, b, 1L, c, 1L)), funding);
+
+		// expect:
+		assertEquals(Set.of(payer, a), subject.debited());
+		assertEquals(Set.of(node, funding, b, c), subject.credited());
+	}
+
+	@Test
+	public void payerCreditedInTransferListIsStillDebited() throws Exception {
+		// given:
+		var subject = TransferFootprint.of(accessorOf(payer, withAdjustments(a, -2L, payer, 1L, c, 1L)), funding);
+
+		// expect:
+		assertEquals(Set.of(payer, a), subject.debited());
+		assertEquals(Set.of(node, funding, c), subject.credited());
+	}
+
+	@Test
+	public void onlyDebitsOfTouchedAccountsConflict() throws Exception {
+		// setup:
+		AccountID otherPayer = asAccount("0.0.1005");
+
+		// given:
+		var subject = TransferFootprint.of(accessorOf(payer, withAdjustments(a, -2L, b, 1L, c, 1L)), funding);
+		var sharingCredits = TransferFootprint.of(accessorOf(otherPayer, withAdjustments(otherPayer, -2L, b, 1L, c, 1L)), funding);
+		var debitingCredited = TransferFootprint.of(accessorOf(otherPayer, withAdjustments(b, -2L, otherPayer, 1L, c, 1L)), funding);
+		var creditingDebited = TransferFootprint.of(accessorOf(otherPayer, withAdjustments(otherPayer, -2L, a, 1L, c, 1L)), funding);
+		var samePayer = TransferFootprint.of(accessorOf(payer, withAdjustments(payer, -2L, b, 1L, c, 1L)), funding);
+
+		// expect:
+		assertFalse(subject.conflictsWith(sharingCredits));
+		assertTrue(subject.conflictsWith(debitingCredited));
+		assertTrue(debitingCredited.conflictsWith(subject));
+		assertTrue(subject.conflictsWith(creditingDebited));
+		assertTrue(subject.conflictsWith(samePayer));
+	}
+
+	@Test
+	public void permitsOnlyAdjustmentsWithinFootprint() throws Exception {
+		// given:
+		var subject = TransferFootprint.of(accessorOf(payer, withAdjustments(a, -2L, b, 1L, c, 1L)), funding);
+
+		// expect:
+		assertTrue(subject.permits(withAdjustments(payer, -3L, a, -2L, funding, 4L, b, 1L)
+				.getAccountAmountsList()));
+		assertFalse(subject.permits(withAdjustments(node, -1L, funding, 1L, b, 0L).getAccountAmountsList()));
+		assertFalse(subject.permits(withAdjustments(payer, -1L, asAccount("0.0.1005"), 1L, b, 0L)
+				.getAccountAmountsList()));
+	}
+
+	static SignedTxnAccessor accessorOf(AccountID payer, TransferList transfers) throws Exception {
+		return accessorOf(payer, transfers, 1_000L);
+	}
+
+	static SignedTxnAccessor accessorOf(AccountID payer, TransferList transfers, long maxFee) throws Exception {
+		return new SignedTxnAccessor(Transaction.newBuilder()
+				.setBodyBytes(TransactionBody.newBuilder()
+						.setTransactionID(TransactionID.newBuilder().setAccountID(payer))
+						.setNodeAccountID(asAccount("0.0.3"))
+						.setTransactionFee(maxFee)
+						.setCryptoTransfer(CryptoTransferTransactionBody.newBuilder().setTransfers(transfers))
+						.build()
+						.toByteString())
+				.build());
+	}
+}
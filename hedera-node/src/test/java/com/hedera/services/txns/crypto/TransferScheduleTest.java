@@ -0,0 +1,87 @@
+package com.hedera.services.txns.crypto;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2020 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+
+import com.hederahashgraph.api.proto.java.AccountAmount;
+import com.hederahashgraph.api.proto.java.AccountID;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.runner.JUnitPlatform;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+
+import static com.hedera.test.utils.IdUtils.asAccount;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@RunWith(JUnitPlatform.class)
+class TransferScheduleTest {
+	AccountID node = asAccount("0.0.3");
+	AccountID funding = asAccount("0.0.98");
+	AccountID a = asAccount("0.0.1001");
+	AccountID b = asAccount("0.0.1002");
+	AccountID c = asAccount("0.0.1003");
+	AccountID d = asAccount("0.0.1004");
+
+	@Test
+	public void putsEachTransferInFirstWaveAfterItsConflicts() {
+		// given:
+		List<TransferFootprint> footprints = List.of(
+				/* a pays b; b pays c */
+				footprint(a, b),
+				footprint(b, c),
+				/* c pays d; a pays c */
+				footprint(c, d),
+				footprint(d, c),
+				footprint(a, c));
+
+		// when:
+		var waves = TransferSchedule.wavesOf(footprints);
+
+		// then:
+		assertEquals(List.of(List.of(0), List.of(1), List.of(2), List.of(3, 4)), waves);
+	}
+
+	@Test
+	public void nonConflictingTransfersShareFirstWave() {
+		// given:
+		List<TransferFootprint> footprints = List.of(
+				footprint(a, c),
+				footprint(b, c),
+				footprint(d, c));
+
+		// expect:
+		assertEquals(List.of(List.of(0, 1, 2)), TransferSchedule.wavesOf(footprints));
+	}
+
+	@Test
+	public void emptyBatchHasNoWaves() {
+		// expect:
+		assertTrue(TransferSchedule.wavesOf(List.of()).isEmpty());
+	}
+
+	private TransferFootprint footprint(AccountID from, AccountID to) {
+		return new TransferFootprint(from, node, funding, List.of(
+				AccountAmount.newBuilder().setAccountID(from).setAmount(-1L).build(),
+				AccountAmount.newBuilder().setAccountID(to).setAmount(1L).build()));
+	}
+}
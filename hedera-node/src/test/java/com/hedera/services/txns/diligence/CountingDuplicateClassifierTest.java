@@ -22,7 +22,7 @@ package com.hedera.services.txns.diligence;
 
 import static org.junit.jupiter.api.Assertions.*;
 
-import com.hedera.services.context.properties.PropertySource;
+import com.hedera.services.context.properties.GlobalDynamicProperties;
 import com.hederahashgraph.api.proto.java.AccountID;
 import com.hederahashgraph.api.proto.java.TransactionID;
 import org.junit.jupiter.api.BeforeEach;
@@ -49,7 +49,7 @@ class CountingDuplicateClassifierTest {
 
 	int cacheTtl = 180;
 	long at = 1_234_567L;
-	PropertySource properties;
+	GlobalDynamicProperties properties;
 	Map<TransactionID, Integer>	observedCounts;
 	BlockingQueue<DuplicateIdHorizon> horizons;
 
@@ -58,10 +58,10 @@ class CountingDuplicateClassifierTest {
 	@BeforeEach
 	private void setup() {
 		horizons = mock(BlockingQueue.class);
-		properties = mock(PropertySource.class);
+		properties = mock(GlobalDynamicProperties.class);
 		observedCounts = new HashMap<>();
 
-		given(properties.getIntProperty("cache.records.ttl"))	.willReturn(cacheTtl);
+		given(properties.cacheRecordsTtl()).willReturn(cacheTtl);
 
 		subject = new CountingDuplicateClassifier(properties, observedCounts, horizons);
 	}
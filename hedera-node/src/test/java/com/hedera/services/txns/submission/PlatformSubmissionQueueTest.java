@@ -0,0 +1,253 @@
+package com.hedera.services.txns.submission;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2020 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.legacy.services.stats.HederaNodeStats;
+import com.swirlds.common.Platform;
+import com.swirlds.common.Transaction;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.runner.JUnitPlatform;
+import org.junit.runner.RunWith;
+import org.mockito.InOrder;
+
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.BDDMockito.any;
+import static org.mockito.BDDMockito.anyLong;
+import static org.mockito.BDDMockito.atLeastOnce;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.inOrder;
+import static org.mockito.BDDMockito.mock;
+import static org.mockito.BDDMockito.never;
+import static org.mockito.BDDMockito.timeout;
+import static org.mockito.BDDMockito.times;
+import static org.mockito.BDDMockito.verify;
+
+@RunWith(JUnitPlatform.class)
+class PlatformSubmissionQueueTest {
+	int capacity = 3;
+	int maxBatchSize = 2;
+	Transaction a = new Transaction(new byte[] { (byte)1 });
+	Transaction b = new Transaction(new byte[] { (byte)2 });
+	Transaction c = new Transaction(new byte[] { (byte)3 });
+
+	Platform platform;
+	HederaNodeStats stats;
+
+	PlatformSubmissionQueue subject;
+
+	@BeforeEach
+	private void setup() {
+		platform = mock(Platform.class);
+		stats = mock(HederaNodeStats.class);
+
+		subject = new PlatformSubmissionQueue(platform, stats, capacity, maxBatchSize);
+	}
+
+	@AfterEach
+	private void cleanup() {
+		subject.stop();
+	}
+
+	@Test
+	public void rejectsNonsenseSizes() {
+		// expect:
+		assertThrows(IllegalArgumentException.class,
+				() -> new PlatformSubmissionQueue(platform, stats, 0, maxBatchSize));
+		assertThrows(IllegalArgumentException.class,
+				() -> new PlatformSubmissionQueue(platform, stats, capacity, 0));
+	}
+
+	@Test
+	public void refusesOffersBeyondCapacity() {
+		// when:
+		assertTrue(subject.offer(a));
+		assertTrue(subject.offer(b));
+		assertTrue(subject.offer(c));
+
+		// then:
+		assertFalse(subject.offer(a));
+		assertEquals(capacity, subject.depth());
+		// and:
+		verify(stats).updatePlatformSubmitQueueDepth(1);
+		verify(stats).updatePlatformSubmitQueueDepth(2);
+		verify(stats).updatePlatformSubmitQueueDepth(3);
+		assertEquals(capacity, subject.capacity());
+		verify(platform, never()).createTransaction(any());
+	}
+
+	@Test
+	public void drainsInBatchesInArrivalOrder() {
+		given(platform.createTransaction(any())).willReturn(true);
+		// and:
+		subject.offer(a);
+		subject.offer(b);
+		subject.offer(c);
+
+		// when:
+		int first = subject.drainBatch();
+		int second = subject.drainBatch();
+		int third = subject.drainBatch();
+
+		// then:
+		assertEquals(2, first);
+		assertEquals(1, second);
+		assertEquals(0, third);
+		assertEquals(0, subject.depth());
+		// and:
+		InOrder inOrder = inOrder(platform, stats);
+		inOrder.verify(stats).updatePlatformSubmitQueueDepth(3);
+		inOrder.verify(platform).createTransaction(a);
+		inOrder.verify(platform).createTransaction(b);
+		inOrder.verify(stats).updatePlatformSubmitQueueDepth(1);
+		inOrder.verify(platform).createTransaction(c);
+		inOrder.verify(stats).updatePlatformSubmitQueueDepth(0);
+		verify(stats, times(3)).platformSubmitted(anyLong());
+	}
+
+	@Test
+	public void freesCapacityOnlyOnceSubmitted() {
+		given(platform.createTransaction(any())).willReturn(true);
+		// and:
+		subject.offer(a);
+		subject.offer(b);
+		subject.offer(c);
+
+		// when:
+		subject.drainBatch();
+
+		// then:
+		assertTrue(subject.offer(a));
+		assertTrue(subject.offer(b));
+		assertFalse(subject.offer(c));
+	}
+
+	@Test
+	public void dropsRefusedTxnIfNotRunning() {
+		given(platform.createTransaction(any())).willReturn(false);
+		// and:
+		subject.offer(a);
+
+		// when:
+		int drained = subject.drainBatch();
+
+		// then:
+		assertEquals(1, drained);
+		verify(stats).platformTxnNotCreated();
+		verify(stats, never()).platformSubmitted(anyLong());
+	}
+
+	@Test
+	public void submitterRetriesUntilPlatformAccepts() {
+		given(platform.createTransaction(any())).willReturn(false, false, true);
+
+		// when:
+		subject.start("test_submitter");
+		subject.start("ignored_duplicate_start");
+		subject.offer(a);
+
+		// then:
+		verify(platform, timeout(1_000).times(3)).createTransaction(a);
+		verify(stats, timeout(1_000).times(2)).platformTxnNotCreated();
+		verify(stats, timeout(1_000)).platformSubmitted(anyLong());
+		verify(stats, timeout(1_000)).updatePlatformSubmitQueueDepth(0);
+	}
+
+	@Test
+	public void refusesOffersOnceStopped() {
+		// when:
+		subject.stop();
+
+		// then:
+		assertFalse(subject.offer(a));
+		assertEquals(0, subject.depth());
+	}
+
+	@Test
+	public void drainsAcceptedTxnsBeforeStopping() throws InterruptedException {
+		// setup:
+		var gate = new CountDownLatch(1);
+
+		given(platform.createTransaction(any())).will(invocation -> {
+			gate.await();
+			return true;
+		});
+		// and:
+		subject.start("test_submitter");
+		subject.offer(a);
+		subject.offer(b);
+		subject.offer(c);
+
+		// when:
+		subject.stop();
+		gate.countDown();
+		boolean drained = subject.stopAndAwaitDrained(1_000L);
+
+		// then:
+		assertTrue(drained);
+		assertEquals(0, subject.depth());
+		verify(platform).createTransaction(a);
+		verify(platform).createTransaction(b);
+		verify(platform).createTransaction(c);
+		// and:
+		assertFalse(subject.offer(a));
+	}
+
+	@Test
+	public void submitterDropsTxnStillRefusedAfterStop() throws InterruptedException {
+		given(platform.createTransaction(any())).willReturn(false);
+		// and:
+		subject.start("test_submitter");
+		subject.offer(a);
+		subject.offer(b);
+		verify(platform, timeout(1_000).atLeastOnce()).createTransaction(a);
+
+		// when:
+		boolean drained = subject.stopAndAwaitDrained(1_000L);
+
+		// then:
+		assertTrue(drained);
+		assertEquals(0, subject.depth());
+		verify(platform, atLeastOnce()).createTransaction(b);
+		verify(stats, never()).platformSubmitted(anyLong());
+	}
+
+	@Test
+	public void drainReportsFailureIfNeverStarted() throws InterruptedException {
+		// given:
+		subject.offer(a);
+
+		// expect:
+		assertFalse(subject.stopAndAwaitDrained(1L));
+	}
+
+	@Test
+	public void stopIsSafeBeforeStart() {
+		// expect:
+		subject.stop();
+	}
+}
@@ -20,6 +20,7 @@ package com.hedera.services.txns.submission;
  * ‍
  */
 
+import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.BUSY;
 import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.INSUFFICIENT_PAYER_BALANCE;
 import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.INVALID_ACCOUNT_ID;
 import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.INVALID_TRANSACTION_BODY;
@@ -136,7 +137,7 @@ class TxnHandlerSubmissionFlowTest {
 	public void catchesPlatformCreateEx() throws Exception {
 		given(txnHandler.validateTransactionPreConsensus(signedTxn, false)).willReturn(okMeta);
 		given(syntaxCheck.apply(any())).willReturn(OK);
-		given(txnHandler.submitTransaction(platform, signedTxn, txnId)).willReturn(false);
+		given(txnHandler.trySubmit(platform, signedTxn, txnId)).willReturn(PLATFORM_TRANSACTION_NOT_CREATED);
 
 		// when:
 		TransactionResponse response = subject.submit(signedTxn);
@@ -145,11 +146,24 @@ class TxnHandlerSubmissionFlowTest {
 		assertEquals(PLATFORM_TRANSACTION_NOT_CREATED, response.getNodeTransactionPrecheckCode());
 	}
 
+	@Test
+	public void propagatesBusyFromFullIngressQueue() throws Exception {
+		given(txnHandler.validateTransactionPreConsensus(signedTxn, false)).willReturn(okMeta);
+		given(syntaxCheck.apply(any())).willReturn(OK);
+		given(txnHandler.trySubmit(platform, signedTxn, txnId)).willReturn(BUSY);
+
+		// when:
+		TransactionResponse response = subject.submit(signedTxn);
+
+		// then:
+		assertEquals(BUSY, response.getNodeTransactionPrecheckCode());
+	}
+
 	@Test
 	public void followsHappyPathToOk() throws Exception {
 		given(txnHandler.validateTransactionPreConsensus(signedTxn, false)).willReturn(okMeta);
 		given(syntaxCheck.apply(any())).willReturn(OK);
-		given(txnHandler.submitTransaction(platform, signedTxn, txnId)).willReturn(true);
+		given(txnHandler.trySubmit(platform, signedTxn, txnId)).willReturn(OK);
 
 		// when:
 		TransactionResponse response = subject.submit(signedTxn);
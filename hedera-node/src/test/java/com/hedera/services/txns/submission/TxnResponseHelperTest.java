@@ -22,6 +22,7 @@ package com.hedera.services.txns.submission;
 
 import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.OK;
 
+import com.hedera.services.grpc.HandlerExecutor;
 import com.hedera.services.txns.SubmissionFlow;
 import com.hederahashgraph.api.proto.java.Transaction;
 import com.hederahashgraph.api.proto.java.TransactionResponse;
@@ -43,6 +44,7 @@ class TxnResponseHelperTest {
 
 	SubmissionFlow submissionFlow;
 	HederaNodeStats stats;
+	HandlerExecutor handlers;
 	StreamObserver<TransactionResponse> observer;
 	TxnResponseHelper subject;
 
@@ -50,12 +52,13 @@ class TxnResponseHelperTest {
 	private void setup() {
 		submissionFlow = mock(SubmissionFlow.class);
 		stats = mock(HederaNodeStats.class);
+		handlers = mock(HandlerExecutor.class);
 		observer = mock(StreamObserver.class);
 		okResponse = mock(TransactionResponse.class);
 		given(okResponse.getNodeTransactionPrecheckCode()).willReturn(OK);
 		notOkResponse = mock(TransactionResponse.class);
 
-		subject = new TxnResponseHelper(submissionFlow, stats);
+		subject = new TxnResponseHelper(submissionFlow, stats, handlers);
 	}
 
 	@Test
@@ -147,4 +150,23 @@ class TxnResponseHelperTest {
 		inOrder.verify(observer).onCompleted();
 		inOrder.verify(stats, never()).cryptoQuerySubmitted(metric);
 	}
+
+	@Test
+	public void answersBusyWithoutSubmittingWhenHandlersSaturated() {
+		// setup:
+		InOrder inOrder = inOrder(submissionFlow, stats, observer);
+
+		given(handlers.isSaturated()).willReturn(true);
+
+		// when:
+		subject.respondToCrypto(txn, observer, metric);
+
+		// then:
+		inOrder.verify(stats).cryptoTransactionReceived(metric);
+		inOrder.verify(stats).handlerBusy();
+		inOrder.verify(observer).onNext(TxnResponseHelper.BUSY_RESPONSE);
+		inOrder.verify(observer).onCompleted();
+		verify(submissionFlow, never()).submit(any());
+		verify(stats, never()).cryptoTransactionSubmitted(metric);
+	}
 }
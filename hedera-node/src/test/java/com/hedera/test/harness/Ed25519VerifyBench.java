@@ -0,0 +1,110 @@
+package com.hedera.test.harness;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2020 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+
+import com.hedera.services.legacy.proto.utils.Ed25519KeyCache;
+import net.i2p.crypto.eddsa.EdDSAEngine;
+import net.i2p.crypto.eddsa.EdDSAPrivateKey;
+import net.i2p.crypto.eddsa.EdDSAPublicKey;
+import net.i2p.crypto.eddsa.KeyPairGenerator;
+import net.i2p.crypto.eddsa.spec.EdDSANamedCurveTable;
+import net.i2p.crypto.eddsa.spec.EdDSAParameterSpec;
+import net.i2p.crypto.eddsa.spec.EdDSAPublicKeySpec;
+
+import java.security.MessageDigest;
+import java.util.Random;
+
+/**
+ * Compares the cost of verifying an Ed25519 signature when the public key is
+ * decoded (and a new engine built) on every call, as the legacy verification
+ * paths did, against verifying through an {@link Ed25519KeyCache}. The keys
+ * are drawn round-robin from a small pool, mimicking a workload dominated by a
+ * few payer accounts.
+ *
+ * Usage: {@code Ed25519VerifyBench [numKeys] [numVerifies]}
+ */
+public class Ed25519VerifyBench {
+	private static final int MSG_LEN = 256;
+	private static final int NUM_WARMUP_VERIFIES = 20_000;
+
+	public static void main(String... args) throws Exception {
+		int numKeys = args.length > 0 ? Integer.parseInt(args[0]) : 16;
+		int numVerifies = args.length > 1 ? Integer.parseInt(args[1]) : 50_000;
+
+		var r = new Random(1_234L);
+		var pubKeys = new byte[numKeys][];
+		var msgs = new byte[numKeys][];
+		var sigs = new byte[numKeys][];
+		var generator = new KeyPairGenerator();
+		for (int i = 0; i < numKeys; i++) {
+			var kp = generator.generateKeyPair();
+			pubKeys[i] = ((EdDSAPublicKey) kp.getPublic()).getAbyte();
+			msgs[i] = new byte[MSG_LEN];
+			r.nextBytes(msgs[i]);
+			var signer = new EdDSAEngine(MessageDigest.getInstance("SHA-512"));
+			signer.initSign((EdDSAPrivateKey) kp.getPrivate());
+			sigs[i] = signer.signOneShot(msgs[i]);
+		}
+
+		var cache = new Ed25519KeyCache(numKeys);
+		run("uncached", NUM_WARMUP_VERIFIES, pubKeys, msgs, sigs, null);
+		run("cached", NUM_WARMUP_VERIFIES, pubKeys, msgs, sigs, cache);
+		report("uncached", run("uncached", numVerifies, pubKeys, msgs, sigs, null), numVerifies);
+		report("cached", run("cached", numVerifies, pubKeys, msgs, sigs, cache), numVerifies);
+	}
+
+	private static long run(
+			String name,
+			int n,
+			byte[][] pubKeys,
+			byte[][] msgs,
+			byte[][] sigs,
+			Ed25519KeyCache cache
+	) throws Exception {
+		long start = System.nanoTime();
+		for (int i = 0; i < n; i++) {
+			int k = i % pubKeys.length;
+			boolean valid = (cache == null)
+					? uncachedVerify(pubKeys[k], msgs[k], sigs[k])
+					: cache.verify(pubKeys[k], msgs[k], sigs[k]);
+			if (!valid) {
+				throw new IllegalStateException(String.format("Run '%s' rejected a valid signature!", name));
+			}
+		}
+		return System.nanoTime() - start;
+	}
+
+	private static boolean uncachedVerify(byte[] pubKey, byte[] msg, byte[] sig) throws Exception {
+		EdDSAParameterSpec spec = EdDSANamedCurveTable.getByName(EdDSANamedCurveTable.ED_25519);
+		var vKey = new EdDSAPublicKey(new EdDSAPublicKeySpec(pubKey, spec));
+		var verifier = new EdDSAEngine(MessageDigest.getInstance(spec.getHashAlgorithm()));
+		verifier.initVerify(vKey);
+		verifier.update(msg);
+		return verifier.verify(sig);
+	}
+
+	private static void report(String name, long nanos, int n) {
+		System.out.println(String.format(
+				"%-8s :: %d verifies in %.1fms (%.0f ns/verify)",
+				name, n, nanos / 1_000_000.0, (double) nanos / n));
+	}
+}
@@ -0,0 +1,114 @@
+package com.hedera.test.harness;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2020 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.ServicesMain;
+import com.hedera.services.ServicesState;
+import com.swirlds.common.Address;
+import com.swirlds.common.AddressBook;
+import com.swirlds.common.PlatformStatus;
+import com.swirlds.common.crypto.engine.CryptoEngine;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.mock;
+
+/**
+ * Boots a complete single-member Hedera node in this JVM on top of an
+ * {@link InProcessPlatform}, so that end-to-end throughput can be measured without
+ * a gossiping network. The node serves gRPC on the usual {@code grpc.port}, hence any
+ * of the test-clients suites can be pointed at it with {@code nodes=localhost}.
+ *
+ * Usage: {@code InProcessNode [maxPendingTxns] [statsPeriodSecs]}
+ */
+public class InProcessNode {
+	private static final Logger log = LogManager.getLogger(InProcessNode.class);
+
+	static final long NODE_ID = 0L;
+	static final String NODE_ACCOUNT = "0.0.3";
+	static final int DEFAULT_MAX_PENDING = 10_000;
+	static final int DEFAULT_STATS_PERIOD_SECS = 10;
+
+	public static void main(String... args) throws Exception {
+		int maxPending = (args.length > 0) ? Integer.parseInt(args[0]) : DEFAULT_MAX_PENDING;
+		int statsPeriodSecs = (args.length > 1) ? Integer.parseInt(args[1]) : DEFAULT_STATS_PERIOD_SECS;
+
+		var harness = new InProcessPlatform(NODE_ID, maxPending, new CryptoEngine());
+		var state = boot(harness);
+		harness.start(state);
+
+		long lastHandled = 0;
+		while (true) {
+			TimeUnit.SECONDS.sleep(statsPeriodSecs);
+			long handled = harness.numHandled();
+			log.info("Handled {} txns ({} TPS over last {}s), {} pending, latency mean {} ms / max {} ms",
+					handled,
+					String.format("%.1f", (handled - lastHandled) / (double) statsPeriodSecs),
+					statsPeriodSecs,
+					harness.numPending(),
+					String.format("%.3f", harness.meanLatencyMs()),
+					String.format("%.3f", harness.maxLatencyMs()));
+			lastHandled = handled;
+		}
+	}
+
+	/**
+	 * Initializes a genesis state and the node's services on the given platform,
+	 * leaving the node ACTIVE.
+	 *
+	 * @param harness the platform to run on
+	 * @return the initialized state
+	 */
+	static ServicesState boot(InProcessPlatform harness) throws NoSuchAlgorithmException {
+		var state = new ServicesState();
+		state.init(harness.platform(), singleNodeBook());
+		var app = new ServicesMain();
+		app.init(harness.platform(), harness.selfId());
+		app.platformStatusChange(PlatformStatus.ACTIVE);
+		log.info("In-process node {} is ACTIVE", NODE_ACCOUNT);
+		return state;
+	}
+
+	static AddressBook singleNodeBook() throws NoSuchAlgorithmException {
+		var keyGen = KeyPairGenerator.getInstance("RSA");
+		keyGen.initialize(3072);
+		var sigKey = keyGen.generateKeyPair().getPublic();
+
+		var address = mock(Address.class);
+		given(address.getId()).willReturn(NODE_ID);
+		given(address.getMemo()).willReturn(NODE_ACCOUNT);
+		given(address.getStake()).willReturn(1L);
+		given(address.getAddressExternalIpv4()).willReturn(new byte[] { 127, 0, 0, 1 });
+		given(address.getAddressInternalIpv4()).willReturn(new byte[] { 127, 0, 0, 1 });
+		given(address.getSigPublicKey()).willReturn(sigKey);
+
+		var book = mock(AddressBook.class);
+		given(book.getSize()).willReturn(1);
+		given(book.getAddress(NODE_ID)).willReturn(address);
+		given(book.copy()).willReturn(book);
+		return book;
+	}
+}
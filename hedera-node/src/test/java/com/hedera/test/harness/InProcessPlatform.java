@@ -0,0 +1,192 @@
+package com.hedera.test.harness;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2020 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.ServicesState;
+import com.swirlds.common.NodeId;
+import com.swirlds.common.Platform;
+import com.swirlds.common.Transaction;
+import com.swirlds.common.crypto.Cryptography;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.time.Instant;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.mockito.BDDMockito.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.mock;
+import static org.mockito.BDDMockito.withSettings;
+
+/**
+ * A single-member stand-in for the Swirlds {@link Platform}, which puts submitted
+ * transactions in consensus order as soon as they arrive. Each transaction is given
+ * a consensus timestamp strictly after its predecessor's, has its signatures expanded
+ * and verified as the platform would before consensus, and is then handled by the
+ * {@link ServicesState} passed to {@link #start(ServicesState)}.
+ *
+ * Besides the node's own stats, it tracks the number of transactions handled and the
+ * latency from {@code createTransaction} to the end of {@code handleTransaction}.
+ */
+public class InProcessPlatform {
+	private static final Logger log = LogManager.getLogger(InProcessPlatform.class);
+
+	private static final byte[] NO_SIGNATURE = new byte[0];
+
+	private final NodeId selfId;
+	private final Platform platform;
+	private final Cryptography cryptography;
+	private final BlockingQueue<Submission> pending;
+
+	private final LongAdder numHandled = new LongAdder();
+	private final LongAdder totalLatencyNanos = new LongAdder();
+	private final AtomicLong maxLatencyNanos = new AtomicLong();
+
+	private Instant lastConsensusTime = Instant.EPOCH;
+	private ServicesState state;
+	private Thread consensusThread;
+	private volatile boolean running;
+
+	public InProcessPlatform(long selfId, int maxPending, Cryptography cryptography) {
+		this.selfId = new NodeId(false, selfId);
+		this.cryptography = cryptography;
+		this.pending = new ArrayBlockingQueue<>(maxPending);
+
+		/* Stub-only, so that the mock does not record every submitted transaction. */
+		platform = mock(Platform.class, withSettings().stubOnly());
+		given(platform.getSelfId()).willReturn(this.selfId);
+		given(platform.getCryptography()).willReturn(cryptography);
+		given(platform.sign(any())).willReturn(NO_SIGNATURE);
+		given(platform.createTransaction(any())).willAnswer(invocation -> submit(invocation.getArgument(0)));
+	}
+
+	public Platform platform() {
+		return platform;
+	}
+
+	public NodeId selfId() {
+		return selfId;
+	}
+
+	/**
+	 * Starts handling submitted transactions against the given state on a dedicated thread.
+	 *
+	 * @param state the state to handle transactions
+	 */
+	public void start(ServicesState state) {
+		this.state = state;
+		running = true;
+		consensusThread = new Thread(this::reachConsensus, "in-process-consensus");
+		consensusThread.setDaemon(true);
+		consensusThread.start();
+	}
+
+	public void stop() throws InterruptedException {
+		running = false;
+		if (consensusThread != null) {
+			consensusThread.interrupt();
+			consensusThread.join();
+		}
+	}
+
+	/**
+	 * Accepts a transaction for consensus, or rejects it if too many are already
+	 * pending, as the platform does when its event queue is full.
+	 *
+	 * @param txn the transaction to order
+	 * @return whether the transaction was accepted
+	 */
+	boolean submit(Transaction txn) {
+		return pending.offer(new Submission(txn, Instant.now(), System.nanoTime()));
+	}
+
+	private void reachConsensus() {
+		while (running) {
+			try {
+				Submission next = pending.poll(100, TimeUnit.MILLISECONDS);
+				if (next != null) {
+					handle(next);
+				}
+			} catch (InterruptedException ignore) {
+				Thread.currentThread().interrupt();
+				return;
+			} catch (Exception unexpected) {
+				log.warn("Unhandled exception while handling in-process transaction", unexpected);
+			}
+		}
+	}
+
+	void handle(Submission submission) {
+		var txn = submission.txn;
+		state.expandSignatures(txn);
+		cryptography.verifySync(txn.getSignatures());
+
+		state.handleTransaction(selfId.getId(), true, submission.createdAt, nextConsensusTime(), txn, null);
+
+		long latency = System.nanoTime() - submission.submittedAtNanos;
+		numHandled.increment();
+		totalLatencyNanos.add(latency);
+		maxLatencyNanos.accumulateAndGet(latency, Math::max);
+	}
+
+	private Instant nextConsensusTime() {
+		var now = Instant.now();
+		lastConsensusTime = now.isAfter(lastConsensusTime) ? now : lastConsensusTime.plusNanos(1);
+		return lastConsensusTime;
+	}
+
+	Instant lastConsensusTime() {
+		return lastConsensusTime;
+	}
+
+	public long numHandled() {
+		return numHandled.sum();
+	}
+
+	public int numPending() {
+		return pending.size();
+	}
+
+	public double meanLatencyMs() {
+		long n = numHandled.sum();
+		return (n == 0) ? 0.0 : totalLatencyNanos.sum() / (n * 1_000_000.0);
+	}
+
+	public double maxLatencyMs() {
+		return maxLatencyNanos.get() / 1_000_000.0;
+	}
+
+	static class Submission {
+		private final Transaction txn;
+		private final Instant createdAt;
+		private final long submittedAtNanos;
+
+		Submission(Transaction txn, Instant createdAt, long submittedAtNanos) {
+			this.txn = txn;
+			this.createdAt = createdAt;
+			this.submittedAtNanos = submittedAtNanos;
+		}
+	}
+}
@@ -0,0 +1,145 @@
+package com.hedera.test.harness;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2020 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.ServicesState;
+import com.swirlds.common.Transaction;
+import com.swirlds.common.crypto.Cryptography;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.runner.JUnitPlatform;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.BDDMockito.any;
+import static org.mockito.BDDMockito.anyLong;
+import static org.mockito.BDDMockito.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.inOrder;
+import static org.mockito.BDDMockito.mock;
+import static org.mockito.BDDMockito.times;
+import static org.mockito.BDDMockito.verify;
+
+@RunWith(JUnitPlatform.class)
+class InProcessPlatformTest {
+	Transaction a, b;
+	ServicesState state;
+	Cryptography cryptography;
+
+	InProcessPlatform subject;
+
+	@BeforeEach
+	private void setup() {
+		a = mock(Transaction.class);
+		given(a.getSignatures()).willReturn(List.of());
+		b = mock(Transaction.class);
+		given(b.getSignatures()).willReturn(List.of());
+		state = mock(ServicesState.class);
+		cryptography = mock(Cryptography.class);
+
+		subject = new InProcessPlatform(0L, 1, cryptography);
+	}
+
+	@AfterEach
+	private void cleanup() throws InterruptedException {
+		subject.stop();
+	}
+
+	@Test
+	public void stubsPlatformAsExpected() {
+		// expect:
+		assertSame(cryptography, subject.platform().getCryptography());
+		assertEquals(0L, subject.platform().getSelfId().getId());
+		assertEquals(0, subject.platform().sign(new byte[] { 1 }).length);
+	}
+
+	@Test
+	public void rejectsSubmissionsBeyondCapacity() throws InterruptedException {
+		// expect:
+		assertTrue(subject.platform().createTransaction(a));
+		assertFalse(subject.platform().createTransaction(b));
+		assertEquals(1, subject.numPending());
+
+		// and when:
+		subject.start(state);
+
+		// and:
+		long deadline = System.currentTimeMillis() + 1_000L;
+		while (subject.numHandled() == 0 && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10L);
+		}
+
+		// then:
+		verify(state).handleTransaction(eq(0L), eq(true), any(), any(), eq(a), any());
+		assertEquals(1L, subject.numHandled());
+	}
+
+	@Test
+	public void expandsAndVerifiesBeforeHandlingInSubmissionOrder() throws InterruptedException {
+		// setup:
+		InOrder inOrder = inOrder(state, cryptography);
+		subject.start(state);
+		subject.stop();
+
+		// when:
+		subject.handle(new InProcessPlatform.Submission(a, Instant.now(), System.nanoTime()));
+		subject.handle(new InProcessPlatform.Submission(b, Instant.now(), System.nanoTime()));
+
+		// then:
+		inOrder.verify(state).expandSignatures(a);
+		inOrder.verify(cryptography).verifySync(List.of());
+		inOrder.verify(state).handleTransaction(eq(0L), eq(true), any(), any(), eq(a), any());
+		inOrder.verify(state).expandSignatures(b);
+		inOrder.verify(state).handleTransaction(eq(0L), eq(true), any(), any(), eq(b), any());
+		// and:
+		assertEquals(2L, subject.numHandled());
+		assertTrue(subject.maxLatencyMs() >= subject.meanLatencyMs());
+	}
+
+	@Test
+	public void assignsStrictlyIncreasingConsensusTimes() {
+		// setup:
+		ArgumentCaptor<Instant> captor = ArgumentCaptor.forClass(Instant.class);
+		subject.start(state);
+
+		// when:
+		for (int i = 0; i < 1_000; i++) {
+			subject.handle(new InProcessPlatform.Submission(a, Instant.now(), System.nanoTime()));
+		}
+
+		// then:
+		verify(state, times(1_000)).handleTransaction(anyLong(), eq(true), any(), captor.capture(), any(), any());
+		var times = captor.getAllValues();
+		for (int i = 1; i < times.size(); i++) {
+			assertTrue(times.get(i).isAfter(times.get(i - 1)));
+		}
+		assertEquals(times.get(times.size() - 1), subject.lastConsensusTime());
+	}
+}
@@ -0,0 +1,184 @@
+package com.hedera.test.harness;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2020 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.google.protobuf.ByteString;
+import com.hedera.services.grpc.RetainedTransaction;
+import com.hedera.services.grpc.RetainingServiceDefinitions;
+import com.hedera.services.legacy.utils.TransactionValidationUtils;
+import com.hedera.services.utils.SignedTxnAccessor;
+import com.hederahashgraph.api.proto.java.AccountAmount;
+import com.hederahashgraph.api.proto.java.AccountID;
+import com.hederahashgraph.api.proto.java.CryptoTransferTransactionBody;
+import com.hederahashgraph.api.proto.java.Duration;
+import com.hederahashgraph.api.proto.java.SignatureMap;
+import com.hederahashgraph.api.proto.java.SignaturePair;
+import com.hederahashgraph.api.proto.java.Timestamp;
+import com.hederahashgraph.api.proto.java.Transaction;
+import com.hederahashgraph.api.proto.java.TransactionBody;
+import com.hederahashgraph.api.proto.java.TransactionID;
+import com.hederahashgraph.api.proto.java.TransactionResponse;
+import com.hederahashgraph.api.proto.java.TransferList;
+import com.hederahashgraph.service.proto.java.CryptoServiceGrpc;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.ServerServiceDefinition;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.OK;
+
+/**
+ * Compares the bytes allocated per gRPC {@code cryptoTransfer} request when the
+ * request is decoded by the default protobuf marshaller and then re-serialized by
+ * precheck (as the size check, each {@link SignedTxnAccessor}, and the platform
+ * submission used to do), against decoding it with the marshaller installed by
+ * {@link RetainingServiceDefinitions}, whose retained bytes are reused instead.
+ *
+ * Both servers run in-process with direct executors, so every allocation of a
+ * request (client and transport included) is made on the calling thread.
+ *
+ * Usage: {@code IngestAllocationBench [numRequests]}
+ */
+public class IngestAllocationBench {
+	private static final int NUM_WARMUP_REQUESTS = 20_000;
+	private static final int NUM_ACCESSORS_PER_PRECHECK = 3;
+
+	private static final com.sun.management.ThreadMXBean threads =
+			(com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+	private static volatile long sink;
+
+	public static void main(String... args) throws Exception {
+		int numRequests = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+
+		Transaction txn = signedTransfer();
+		ServerServiceDefinition legacy = new LegacyPrecheck().bindService();
+		ServerServiceDefinition retaining = RetainingServiceDefinitions.retaining(new RetainingPrecheck());
+
+		run("legacy", legacy, txn, NUM_WARMUP_REQUESTS);
+		run("retaining", retaining, txn, NUM_WARMUP_REQUESTS);
+		run("legacy", legacy, txn, numRequests);
+		run("retaining", retaining, txn, numRequests);
+	}
+
+	private static void run(String name, ServerServiceDefinition service, Transaction txn, int n) throws Exception {
+		String serverName = InProcessServerBuilder.generateName();
+		Server server = InProcessServerBuilder.forName(serverName).directExecutor().addService(service).build().start();
+		ManagedChannel channel = InProcessChannelBuilder.forName(serverName).directExecutor().build();
+		try {
+			var stub = CryptoServiceGrpc.newBlockingStub(channel);
+			long id = Thread.currentThread().getId();
+			long allocatedBefore = threads.getThreadAllocatedBytes(id);
+			long start = System.nanoTime();
+			for (int i = 0; i < n; i++) {
+				if (stub.cryptoTransfer(txn).getNodeTransactionPrecheckCode() != OK) {
+					throw new IllegalStateException(String.format("Run '%s' failed a request!", name));
+				}
+			}
+			long nanos = System.nanoTime() - start;
+			long allocated = threads.getThreadAllocatedBytes(id) - allocatedBefore;
+			System.out.println(String.format(
+					"%-9s :: %d requests in %.1fms (%.0f ns/request, %d bytes allocated/request)",
+					name, n, nanos / 1_000_000.0, (double) nanos / n, allocated / n));
+		} finally {
+			channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+			server.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+		}
+	}
+
+	private static class LegacyPrecheck extends CryptoServiceGrpc.CryptoServiceImplBase {
+		@Override
+		public void cryptoTransfer(Transaction request, StreamObserver<TransactionResponse> observer) {
+			try {
+				long size = request.toByteArray().length;
+				for (int i = 0; i < NUM_ACCESSORS_PER_PRECHECK; i++) {
+					size += new SignedTxnAccessor(request.toByteArray()).getTxnBytes().length;
+				}
+				sink = size + request.toByteArray().length;
+			} catch (Exception e) {
+				observer.onError(e);
+				return;
+			}
+			respondOk(observer);
+		}
+	}
+
+	private static class RetainingPrecheck extends CryptoServiceGrpc.CryptoServiceImplBase {
+		@Override
+		public void cryptoTransfer(Transaction request, StreamObserver<TransactionResponse> observer) {
+			try {
+				long size = TransactionValidationUtils.validateTxSize(request) ? 1 : 0;
+				for (int i = 0; i < NUM_ACCESSORS_PER_PRECHECK; i++) {
+					size += new SignedTxnAccessor(request).getTxnBytes().length;
+				}
+				sink = size + RetainedTransaction.bytesOf(request).length;
+			} catch (Exception e) {
+				observer.onError(e);
+				return;
+			}
+			respondOk(observer);
+		}
+	}
+
+	private static void respondOk(StreamObserver<TransactionResponse> observer) {
+		observer.onNext(TransactionResponse.newBuilder().setNodeTransactionPrecheckCode(OK).build());
+		observer.onCompleted();
+	}
+
+	private static Transaction signedTransfer() {
+		var r = new Random(1_234L);
+		var payer = AccountID.newBuilder().setAccountNum(1_001L).build();
+		var body = TransactionBody.newBuilder()
+				.setTransactionID(TransactionID.newBuilder()
+						.setAccountID(payer)
+						.setTransactionValidStart(Timestamp.newBuilder().setSeconds(1_600_000_000L)))
+				.setNodeAccountID(AccountID.newBuilder().setAccountNum(3L))
+				.setTransactionFee(100_000_000L)
+				.setTransactionValidDuration(Duration.newBuilder().setSeconds(120L))
+				.setCryptoTransfer(CryptoTransferTransactionBody.newBuilder()
+						.setTransfers(TransferList.newBuilder()
+								.addAccountAmounts(AccountAmount.newBuilder().setAccountID(payer).setAmount(-1_000L))
+								.addAccountAmounts(AccountAmount.newBuilder()
+										.setAccountID(AccountID.newBuilder().setAccountNum(1_002L))
+										.setAmount(1_000L))))
+				.build();
+		var sigs = SignatureMap.newBuilder();
+		for (int i = 0; i < 2; i++) {
+			byte[] prefix = new byte[32];
+			byte[] sig = new byte[64];
+			r.nextBytes(prefix);
+			r.nextBytes(sig);
+			sigs.addSigPair(SignaturePair.newBuilder()
+					.setPubKeyPrefix(ByteString.copyFrom(prefix))
+					.setEd25519(ByteString.copyFrom(sig)));
+		}
+		return Transaction.newBuilder()
+				.setBodyBytes(body.toByteString())
+				.setSigMap(sigs)
+				.build();
+	}
+}
@@ -0,0 +1,67 @@
+package com.hedera.test.harness;
+
+/*-
+ * ‌
+ * Hedera Services Node
+ * ​
+ * Copyright (C) 2018 - 2020 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.legacy.stream.RecordStreamReader;
+import com.hedera.services.legacy.stream.RecordStreamReplay;
+import com.swirlds.common.crypto.engine.CryptoEngine;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.nio.file.Path;
+
+import static com.hedera.services.context.SingletonContextsManager.CONTEXTS;
+
+/**
+ * Replays a directory of {@code .rcd} record files through an in-process node,
+ * reporting the handle TPS, the per-functionality handle times, and any records that
+ * were not reproduced. The node starts from a genesis state, so the record files
+ * should be those of a network that also started from genesis with the same
+ * bootstrap configuration (for example, one driven by a test-clients suite).
+ *
+ * Usage: {@code ReplayRecordStreams <recordStreamDir> [maxMismatchesToLog]}
+ */
+public class ReplayRecordStreams {
+	private static final Logger log = LogManager.getLogger(ReplayRecordStreams.class);
+
+	public static void main(String... args) throws Exception {
+		if (args.length < 1) {
+			System.err.println("Usage: ReplayRecordStreams <recordStreamDir> [maxMismatchesToLog]");
+			System.exit(1);
+		}
+		var recordFiles = RecordStreamReader.recordFilesIn(Path.of(args[0]));
+		log.info("Replaying {} record files from {}", recordFiles.size(), args[0]);
+
+		var harness = new InProcessPlatform(InProcessNode.NODE_ID, 1, new CryptoEngine());
+		var state = InProcessNode.boot(harness);
+		var ctx = CONTEXTS.lookup(harness.selfId().getId());
+
+		var replay = new RecordStreamReplay(ctx.logic(), state, ctx.recordsHistorian(), ctx.addressBook());
+		if (args.length > 1) {
+			replay.logUpToMismatches(Integer.parseInt(args[1]));
+		}
+		var summary = replay.replay(RecordStreamReader.entriesIn(recordFiles));
+
+		log.info(summary);
+		log.info(ctx.stats().handleLatencies().summary());
+		System.exit(summary.numMismatched() == 0 ? 0 : 2);
+	}
+}
@@ -20,6 +20,7 @@ package com.hedera.test.mocks;
  * ‍
  */
 
+import com.hedera.services.context.properties.GlobalDynamicProperties;
 import com.hedera.services.context.properties.PropertySource;
 import com.hedera.services.context.properties.PropertySources;
 import com.hedera.services.context.properties.StandardizedPropertySources;
@@ -78,7 +79,7 @@ public enum TestFeesFactory {
 		RecordCache recordCache = new RecordCache(new RecordCacheFactory(properties).getRecordCache());
 
 		return new UsageBasedFeeCalculator(
-				properties,
+				new GlobalDynamicProperties(properties),
 				exchange,
 				TEST_USAGE_PRICES,
 				List.of(
@@ -39,6 +39,13 @@ public class TxnUtils {
 		return toReadableString(txn);
 	}
 
+	public static TransferList withAdjustments(AccountID a, long A, AccountID b, long B) {
+		return TransferList.newBuilder()
+				.addAccountAmounts(AccountAmount.newBuilder().setAccountID(a).setAmount(A).build())
+				.addAccountAmounts(AccountAmount.newBuilder().setAccountID(b).setAmount(B).build())
+				.build();
+	}
+
 	public static TransferList withAdjustments(AccountID a, long A, AccountID b, long B, AccountID c, long C) {
 		return TransferList.newBuilder()
 				.addAccountAmounts(AccountAmount.newBuilder().setAccountID(a).setAmount(A).build())
@@ -314,6 +314,9 @@ public class HapiSpecSetup {
 	public String startupAccountsPath() {
 		return props.get("startupAccounts.path");
 	}
+	public String statsExportDir() {
+		return props.get("stats.export.dir");
+	}
 	public boolean statusDeferredResolvesDoAsync() {
 		return props.getBoolean("status.deferredResolves.doAsync");
 	}
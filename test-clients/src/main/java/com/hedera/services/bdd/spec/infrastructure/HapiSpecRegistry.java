@@ -27,6 +27,7 @@ import com.hedera.services.bdd.spec.HapiSpecSetup;
 import com.hedera.services.bdd.spec.infrastructure.meta.ActionableContractCall;
 import com.hedera.services.bdd.spec.infrastructure.meta.ActionableContractCallLocal;
 import com.hedera.services.bdd.spec.infrastructure.meta.SupportedContract;
+import com.hedera.services.bdd.spec.stats.HapiStats;
 import com.hedera.services.bdd.spec.stats.OpObs;
 import com.hedera.services.bdd.spec.stats.ThroughputObs;
 import com.hedera.services.bdd.suites.HapiApiSuite;
@@ -64,7 +65,7 @@ public class HapiSpecRegistry {
 
 	Map<String, Object> registry = new HashMap<>();
 	private final HapiSpecSetup setup;
-	private final List<OpObs> obs = new ArrayList<>();
+	private final HapiStats stats;
 	private final List<ThroughputObs> throughputObs = new ArrayList<>();
 	private Map<Class, List<RegistryChangeListener>> listenersByType = new HashMap<>();
 
@@ -72,6 +73,7 @@ public class HapiSpecRegistry {
 
 	public HapiSpecRegistry(HapiSpecSetup setup) throws Exception {
 		this.setup = setup;
+		this.stats = new HapiStats(setup.measureConsensusLatency());
 		KeyPairObj genesisKp = firstStartupKp(setup);
 		Key genesisKey = asPublicKey(genesisKp.getPublicKeyAbyteStr());
 		saveKey(setup.genesisAccountName(), asKeyList(genesisKey));
@@ -142,12 +144,12 @@ public class HapiSpecRegistry {
 		listenersByType.computeIfAbsent(type, ignore -> new ArrayList<>()).add(listener);
 	}
 
-	synchronized public void record(OpObs stat) {
-		obs.add(stat);
+	public void record(OpObs stat) {
+		stats.observe(stat);
 	}
 
-	public List<OpObs> stats() {
-		return obs;
+	public HapiStats stats() {
+		return stats;
 	}
 
 	public void saveThroughputObs(ThroughputObs obs) {
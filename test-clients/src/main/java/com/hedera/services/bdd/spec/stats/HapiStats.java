@@ -20,85 +20,107 @@ package com.hedera.services.bdd.spec.stats;
  * ‍
  */
 
-import com.google.common.math.Stats;
 import com.hederahashgraph.api.proto.java.HederaFunctionality;
+import com.hederahashgraph.api.proto.java.ResponseType;
+import org.HdrHistogram.Histogram;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
 import java.util.Map;
 import java.util.Set;
-import java.util.function.Function;
-import java.util.function.Predicate;
-
-import static java.util.stream.Collectors.counting;
-import static java.util.stream.Collectors.groupingBy;
-import static java.util.stream.Collectors.toList;
-import static java.util.stream.Collectors.toSet;
 
+/**
+ * Aggregates {@link OpObs} as they are recorded into per-functionality HDR histograms
+ * of response (and, if measured, consensus) latency, so that memory use does not
+ * grow with the number of operations in a run.
+ *
+ * Besides the cumulative histograms, a second set covering only the observations since
+ * the last call to {@link #takeInterval()} is maintained for periodic progress reports.
+ */
 public class HapiStats {
+	private static final int SIGNIFICANT_VALUE_DIGITS = 3;
+
 	private final boolean hasConsensusLatencies;
-	private final List<OpObs> obs;
 
-	public HapiStats(boolean hasConsensusLatencies, List<OpObs> obs) {
+	private Histograms cumulative = new Histograms();
+	private Histograms interval = new Histograms();
+
+	public HapiStats(boolean hasConsensusLatencies) {
 		this.hasConsensusLatencies = hasConsensusLatencies;
-		this.obs = obs;
 	}
 
-	public Stats queryResponseLatencyStats() {
-		return Stats.of(queryObs().stream().map(QueryObs::getResponseLatency).collect(toList()));
+	private HapiStats(boolean hasConsensusLatencies, Histograms cumulative) {
+		this.hasConsensusLatencies = hasConsensusLatencies;
+		this.cumulative = cumulative;
 	}
 
-	public Stats txnResponseLatencyStats() {
-		return Stats.of(txnObs().stream().map(TxnObs::getResponseLatency).collect(toList()));
+	public synchronized void observe(OpObs obs) {
+		cumulative.observe(obs, hasConsensusLatencies);
+		interval.observe(obs, hasConsensusLatencies);
 	}
-	public Stats txnResponseLatencyStatsFor(HederaFunctionality txnType) {
-		return Stats.of(
-				txnObs()
-						.stream()
-						.filter(obs -> obs.functionality().equals(txnType))
-						.map(TxnObs::getResponseLatency)
-						.collect(toList())
-		);
+
+	/**
+	 * Adds all the cumulative observations of the given stats to these stats.
+	 *
+	 * @param other the stats to include
+	 */
+	public synchronized void include(HapiStats other) {
+		synchronized (other) {
+			cumulative.include(other.cumulative);
+		}
 	}
-	public <T extends OpObs> Stats statsProjectedFor(
-			Class<T> tClass,
-			Predicate<T> relevancy,
-			Function<T, Long> projection) {
-		return Stats.of(
-				(tClass.equals(TxnObs.class) ? txnObs() : queryObs())
-					.stream()
-					.filter(obs -> relevancy.test(tClass.cast(obs)))
-					.map(obs -> projection.apply(tClass.cast(obs)))
-					.collect(toList())
-		);
+
+	/**
+	 * Returns the observations made since the last call to this method (or since
+	 * creation), and starts a new interval.
+	 *
+	 * @return the stats for the just-completed interval
+	 */
+	public synchronized HapiStats takeInterval() {
+		var completed = new HapiStats(hasConsensusLatencies, interval);
+		interval = new Histograms();
+		return completed;
 	}
 
-	public Map<HederaFunctionality, Long> countDetails() {
-		return obs.stream().collect(groupingBy(OpObs::functionality, counting()));
+	public synchronized Latencies txnResponseLatency() {
+		return Latencies.over(cumulative.txnResponse);
 	}
 
-	public List<TxnObs> txnObs() {
-		return obs.stream().filter(op -> op instanceof TxnObs).map(op -> (TxnObs)op).collect(toList());
+	public synchronized Latencies txnResponseLatencyFor(HederaFunctionality txnType) {
+		var histogram = cumulative.txnResponse.get(txnType);
+		return (histogram == null) ? Latencies.NONE : Latencies.over(Map.of(txnType, histogram));
 	}
 
-	public Set<HederaFunctionality> queryTypes() {
-		return queryObs().stream().map(QueryObs::functionality).collect(toSet());
+	public synchronized Latencies txnConsensusLatency() {
+		assertLatencyWasMeasured();
+		return Latencies.over(cumulative.txnConsensus);
 	}
 
-	public Set<HederaFunctionality> txnTypes() {
-		return txnObs().stream().map(TxnObs::functionality).collect(toSet());
+	public synchronized Latencies queryResponseLatency() {
+		Map<HederaFunctionality, Histogram> all = new EnumMap<>(HederaFunctionality.class);
+		cumulative.queryResponse.forEach((queryType, byResponseType) ->
+				all.put(queryType, merged(byResponseType.values())));
+		return Latencies.over(all);
 	}
 
-	public List<TxnObs> acceptedTxnObs() {
-		return txnObs().stream().filter(TxnObs::wasAccepted).collect(toList());
+	public synchronized Latencies queryResponseLatencyFor(HederaFunctionality queryType, ResponseType type) {
+		var histogram = cumulative.queryResponse.getOrDefault(queryType, Map.of()).get(type);
+		return (histogram == null) ? Latencies.NONE : Latencies.over(Map.of(queryType, histogram));
 	}
 
-	public List<QueryObs> queryObs() {
-		return obs.stream().filter(op -> op instanceof QueryObs).map(op -> (QueryObs)op).collect(toList());
+	public synchronized Map<HederaFunctionality, Long> countDetails() {
+		return new EnumMap<>(cumulative.counts);
 	}
 
-	public Stats txnResponseLatencyStatsFor() {
-		assertLatencyWasMeasured();
-		return Stats.of(acceptedTxnObs().stream().map(TxnObs::getConsensusLatency).collect(toList()));
+	public synchronized Set<HederaFunctionality> queryTypes() {
+		return Set.copyOf(cumulative.queryResponse.keySet());
+	}
+
+	public synchronized Set<HederaFunctionality> txnTypes() {
+		return Set.copyOf(cumulative.txnResponse.keySet());
 	}
 
 	private void assertLatencyWasMeasured() {
@@ -107,15 +129,212 @@ public class HapiStats {
 		}
 	}
 
-	public int numTxns() {
-		return txnObs().size();
+	public synchronized int numTxns() {
+		return cumulative.numTxns;
+	}
+
+	public synchronized int numQueries() {
+		return cumulative.numQueries;
+	}
+
+	public synchronized int numOps() {
+		return cumulative.numTxns + cumulative.numQueries;
+	}
+
+	/**
+	 * Writes one CSV row per (operation, latency kind) with the count, mean,
+	 * reported percentiles, and max latency in milliseconds.
+	 *
+	 * @param out the destination
+	 * @throws IOException if the CSV cannot be written
+	 */
+	public synchronized void exportCsv(Writer out) throws IOException {
+		out.write("functionality,latency,count,mean,p50,p99,p99.9,max\n");
+		IOException[] failure = new IOException[1];
+		forEachHistogram((type, kind, latencies) -> {
+			try {
+				out.write(String.format("%s,%s,%d,%.3f,%d,%d,%d,%d\n",
+						type,
+						kind,
+						latencies.count(),
+						latencies.mean(),
+						latencies.p50(),
+						latencies.p99(),
+						latencies.p999(),
+						latencies.max()));
+			} catch (IOException e) {
+				failure[0] = e;
+			}
+		});
+		if (failure[0] != null) {
+			throw failure[0];
+		}
+	}
+
+	/**
+	 * Writes a JSON object with one member per (operation, latency kind), whose value
+	 * gives the count, mean, reported percentiles, and max latency in milliseconds.
+	 *
+	 * @param out the destination
+	 * @throws IOException if the JSON cannot be written
+	 */
+	public synchronized void exportJson(Writer out) throws IOException {
+		StringBuilder sb = new StringBuilder("{");
+		forEachHistogram((type, kind, latencies) -> {
+			if (sb.length() > 1) {
+				sb.append(',');
+			}
+			sb.append(String.format(
+					"\n  \"%s:%s\": {\"count\": %d, \"mean\": %.3f, \"p50\": %d, \"p99\": %d, \"p99.9\": %d, \"max\": %d}",
+					type,
+					kind,
+					latencies.count(),
+					latencies.mean(),
+					latencies.p50(),
+					latencies.p99(),
+					latencies.p999(),
+					latencies.max()));
+		});
+		out.write(sb.append("\n}\n").toString());
+	}
+
+	/**
+	 * Exports these stats as both CSV and JSON, to files named with the given
+	 * prefix in the given directory.
+	 *
+	 * @param dir the directory to export to
+	 * @param prefix the prefix for the exported file names
+	 * @throws IOException if either file cannot be written
+	 */
+	public void exportTo(String dir, String prefix) throws IOException {
+		Path base = Path.of(dir);
+		Files.createDirectories(base);
+		try (Writer out = Files.newBufferedWriter(base.resolve(prefix + "-latencies.csv"))) {
+			exportCsv(out);
+		}
+		try (Writer out = Files.newBufferedWriter(base.resolve(prefix + "-latencies.json"))) {
+			exportJson(out);
+		}
+	}
+
+	@FunctionalInterface
+	private interface LatenciesVisitor {
+		void visit(HederaFunctionality type, String kind, Latencies latencies);
+	}
+
+	private void forEachHistogram(LatenciesVisitor visitor) {
+		cumulative.txnResponse.forEach((type, histogram) ->
+				visitor.visit(type, "response", Latencies.over(Map.of(type, histogram))));
+		cumulative.txnConsensus.forEach((type, histogram) ->
+				visitor.visit(type, "consensus", Latencies.over(Map.of(type, histogram))));
+		cumulative.queryResponse.forEach((type, byResponseType) ->
+				byResponseType.forEach((responseType, histogram) ->
+						visitor.visit(type, "response_" + responseType, Latencies.over(Map.of(type, histogram)))));
+	}
+
+	private static Histogram newHistogram() {
+		return new Histogram(SIGNIFICANT_VALUE_DIGITS);
+	}
+
+	private static Histogram merged(Iterable<Histogram> histograms) {
+		var merged = newHistogram();
+		histograms.forEach(merged::add);
+		return merged;
 	}
 
-	public int numQueries() {
-		return queryObs().size();
+	private static void record(Histogram histogram, long latency) {
+		/* Client and consensus clocks may disagree slightly, but histograms don't accept negative values. */
+		histogram.recordValue(Math.max(0L, latency));
 	}
 
-	public int numOps() {
-		return obs.size();
+	private static class Histograms {
+		private int numTxns, numQueries;
+		private final Map<HederaFunctionality, Long> counts = new EnumMap<>(HederaFunctionality.class);
+		private final Map<HederaFunctionality, Histogram> txnResponse = new EnumMap<>(HederaFunctionality.class);
+		private final Map<HederaFunctionality, Histogram> txnConsensus = new EnumMap<>(HederaFunctionality.class);
+		private final Map<HederaFunctionality, Map<ResponseType, Histogram>> queryResponse =
+				new EnumMap<>(HederaFunctionality.class);
+
+		private void observe(OpObs obs, boolean hasConsensusLatencies) {
+			var type = obs.functionality();
+			counts.merge(type, 1L, Long::sum);
+			if (obs instanceof TxnObs) {
+				numTxns++;
+				var txnObs = (TxnObs) obs;
+				record(txnResponse.computeIfAbsent(type, ignore -> newHistogram()), txnObs.getResponseLatency());
+				if (hasConsensusLatencies && txnObs.wasAccepted()) {
+					record(txnConsensus.computeIfAbsent(type, ignore -> newHistogram()), txnObs.getConsensusLatency());
+				}
+			} else {
+				numQueries++;
+				var queryObs = (QueryObs) obs;
+				record(queryResponse
+						.computeIfAbsent(type, ignore -> new EnumMap<>(ResponseType.class))
+						.computeIfAbsent(queryObs.type(), ignore -> newHistogram()), queryObs.getResponseLatency());
+			}
+		}
+
+		private void include(Histograms other) {
+			numTxns += other.numTxns;
+			numQueries += other.numQueries;
+			other.counts.forEach((type, n) -> counts.merge(type, n, Long::sum));
+			includeAll(txnResponse, other.txnResponse);
+			includeAll(txnConsensus, other.txnConsensus);
+			other.queryResponse.forEach((type, byResponseType) ->
+					includeAll(queryResponse.computeIfAbsent(type, ignore -> new EnumMap<>(ResponseType.class)),
+							byResponseType));
+		}
+
+		private static <K> void includeAll(Map<K, Histogram> to, Map<K, Histogram> from) {
+			from.forEach((key, histogram) -> to.computeIfAbsent(key, ignore -> newHistogram()).add(histogram));
+		}
+	}
+
+	/**
+	 * Summarizes a latency distribution (in milliseconds) by its count, mean,
+	 * and the p50, p99, p99.9, and max values.
+	 */
+	public static class Latencies {
+		static final Latencies NONE = new Latencies(newHistogram());
+
+		private final Histogram histogram;
+
+		private Latencies(Histogram histogram) {
+			this.histogram = histogram;
+		}
+
+		static Latencies over(Map<HederaFunctionality, Histogram> histograms) {
+			return new Latencies(merged(histograms.values()));
+		}
+
+		public long count() {
+			return histogram.getTotalCount();
+		}
+
+		public double mean() {
+			return histogram.getMean();
+		}
+
+		public long p50() {
+			return histogram.getValueAtPercentile(50.0);
+		}
+
+		public long p99() {
+			return histogram.getValueAtPercentile(99.0);
+		}
+
+		public long p999() {
+			return histogram.getValueAtPercentile(99.9);
+		}
+
+		public long max() {
+			return histogram.getMaxValue();
+		}
+
+		@Override
+		public String toString() {
+			return String.format("[n=%d] p50=%dms, p99=%dms, p99.9=%dms, max=%dms (μ=%.2fms)",
+					count(), p50(), p99(), p999(), max(), mean());
+		}
 	}
 }
@@ -0,0 +1,244 @@
+package com.hedera.services.bdd.spec.utilops;
+
+/*-
+ * ‌
+ * Hedera Services Test Clients
+ * ​
+ * Copyright (C) 2018 - 2020 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.bdd.spec.HapiApiSpec;
+import com.hedera.services.bdd.spec.HapiSpecOperation;
+import com.hedera.services.bdd.spec.infrastructure.OpProvider;
+import com.hederahashgraph.api.proto.java.HederaFunctionality;
+import org.apache.logging.log4j.LogManager;
+import org.HdrHistogram.Histogram;
+import org.apache.logging.log4j.Logger;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static com.hedera.services.bdd.spec.utilops.CustomSpecAssert.allRunFor;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Runs the operations from an {@link OpProvider} at a fixed arrival rate, independent
+ * of how quickly the network responds (i.e., an "open-loop" load). Unlike {@link ProviderRun},
+ * the submitting thread never waits on an operation to resolve; each arrival is queued for
+ * a fixed-size pool of worker threads, and the number of outstanding operations is only tracked.
+ *
+ * Note that {@link HapiSpecOperation#execFor(HapiApiSpec)} blocks its worker until the
+ * operation resolves, so at most {@code maxInFlightOps} operations (one per worker) are
+ * ever in flight against the network; the rest of the outstanding operations wait in the
+ * queue, and are only shed once {@code maxOutstandingOps} are waiting or in flight.
+ *
+ * Latencies are measured from the <i>intended</i> start of each operation, so that time
+ * an operation spent queued behind slow predecessors is not omitted from the results.
+ * Shed arrivals have no latency to measure; they are reported separately, as a count
+ * and rate for each type of operation.
+ */
+public class OpenLoopProviderRun extends UtilOp {
+	private static final Logger log = LogManager.getLogger(OpenLoopProviderRun.class);
+
+	private static final int DEFAULT_OPS_PER_SEC = 500;
+	private static final int DEFAULT_MAX_OUTSTANDING_OPS = 10_000;
+	private static final int DEFAULT_MAX_IN_FLIGHT_OPS = 256;
+	private static final long DEFAULT_DURATION = 30;
+	private static final long DEFAULT_DRAIN_SECS = 60;
+	private static final TimeUnit DEFAULT_UNIT = TimeUnit.SECONDS;
+
+	private final Function<HapiApiSpec, OpProvider> providerFn;
+	private IntSupplier opsPerSecSupplier = () -> DEFAULT_OPS_PER_SEC;
+	private IntSupplier maxOutstandingOpsSupplier = () -> DEFAULT_MAX_OUTSTANDING_OPS;
+	private IntSupplier maxInFlightOpsSupplier = () -> DEFAULT_MAX_IN_FLIGHT_OPS;
+	private LongSupplier durationSupplier = () -> DEFAULT_DURATION;
+	private Supplier<TimeUnit> unitSupplier = () -> DEFAULT_UNIT;
+
+	private final AtomicInteger outstanding = new AtomicInteger();
+	private final AtomicInteger failed = new AtomicInteger();
+	private final Map<HederaFunctionality, Integer> shedByType = new EnumMap<>(HederaFunctionality.class);
+	private final Map<HederaFunctionality, Histogram> correctedLatencies = new EnumMap<>(HederaFunctionality.class);
+	private final Map<HederaFunctionality, Histogram> serviceTimes = new EnumMap<>(HederaFunctionality.class);
+
+	public OpenLoopProviderRun(Function<HapiApiSpec, OpProvider> providerFn) {
+		this.providerFn = providerFn;
+		Stream.of(HederaFunctionality.class.getEnumConstants()).forEach(type -> {
+			correctedLatencies.put(type, new Histogram(3));
+			serviceTimes.put(type, new Histogram(3));
+		});
+	}
+
+	public OpenLoopProviderRun lasting(LongSupplier durationSupplier, Supplier<TimeUnit> unitSupplier) {
+		this.unitSupplier = unitSupplier;
+		this.durationSupplier = durationSupplier;
+		return this;
+	}
+
+	public OpenLoopProviderRun opsPerSec(IntSupplier opsPerSecSupplier) {
+		this.opsPerSecSupplier = opsPerSecSupplier;
+		return this;
+	}
+
+	public OpenLoopProviderRun maxOutstandingOps(IntSupplier maxOutstandingOpsSupplier) {
+		this.maxOutstandingOpsSupplier = maxOutstandingOpsSupplier;
+		return this;
+	}
+
+	public OpenLoopProviderRun maxInFlightOps(IntSupplier maxInFlightOpsSupplier) {
+		this.maxInFlightOpsSupplier = maxInFlightOpsSupplier;
+		return this;
+	}
+
+	@Override
+	protected boolean submitOp(HapiApiSpec spec) {
+		int opsPerSec = opsPerSecSupplier.getAsInt();
+		int maxOutstanding = maxOutstandingOpsSupplier.getAsInt();
+		int maxInFlight = maxInFlightOpsSupplier.getAsInt();
+		long durationNanos = unitSupplier.get().toNanos(durationSupplier.getAsLong());
+		OpProvider provider = providerFn.apply(spec);
+
+		allRunFor(spec, provider.suggestedInitializers().toArray(new HapiSpecOperation[0]));
+		log.info("Finished initialization for open-loop provider run...");
+
+		var workers = new ThreadPoolExecutor(
+				maxInFlight, maxInFlight,
+				0L, MILLISECONDS,
+				new ArrayBlockingQueue<>(maxOutstanding),
+				task -> {
+					var worker = new Thread(task);
+					worker.setDaemon(true);
+					return worker;
+				});
+		long intervalNanos = SECONDS.toNanos(1) / opsPerSec;
+		long start = System.nanoTime();
+		long nextLogAt = start + SECONDS.toNanos(10);
+		int arrivals = 0, submitted = 0, shed = 0, shedAtLastLog = 0;
+		for (long intendedStart = start; intendedStart - start < durationNanos; intendedStart += intervalNanos) {
+			long now = System.nanoTime();
+			if (intendedStart - now > 0) {
+				LockSupport.parkNanos(intendedStart - now);
+			}
+			arrivals++;
+			if (now > nextLogAt) {
+				nextLogAt += SECONDS.toNanos(10);
+				log.info("{}s into open-loop run - {} arrivals, {} ops submitted, {} outstanding, {} shed ({}/sec lately)",
+						NANOSECONDS.toSeconds(now - start), arrivals, submitted, outstanding.get(), shed,
+						(shed - shedAtLastLog) / 10);
+				shedAtLastLog = shed;
+				ProviderRun.logIntervalLatencies(spec.registry().stats().takeInterval());
+			}
+			Optional<HapiSpecOperation> op = provider.get();
+			if (op.isEmpty()) {
+				continue;
+			}
+			if (outstanding.get() >= maxOutstanding) {
+				shed++;
+				recordShed(op.get());
+				continue;
+			}
+			outstanding.incrementAndGet();
+			final long opIntendedStart = intendedStart;
+			try {
+				workers.execute(() -> runTimed(op.get(), spec, opIntendedStart));
+				submitted++;
+			} catch (RejectedExecutionException unexpected) {
+				outstanding.decrementAndGet();
+				shed++;
+				recordShed(op.get());
+			}
+		}
+
+		workers.shutdown();
+		try {
+			if (!workers.awaitTermination(DEFAULT_DRAIN_SECS, SECONDS)) {
+				log.warn("{} ops still outstanding after {}s drain!", outstanding.get(), DEFAULT_DRAIN_SECS);
+			}
+		} catch (InterruptedException ignore) {
+			Thread.currentThread().interrupt();
+		}
+
+		double secs = Math.max(1.0, durationNanos / 1e9);
+		log.info("Open-loop run finished - {} arrivals at {} ops/sec, {} ops submitted, {} failed",
+				arrivals, opsPerSec, submitted, failed.get());
+		log.info("Shed {} arrivals ({}/sec, {}% of arrivals) for exceeding {} outstanding ops",
+				shed,
+				String.format("%.1f", shed / secs),
+				String.format("%.2f", arrivals > 0 ? 100.0 * shed / arrivals : 0.0),
+				maxOutstanding);
+		shedByType.forEach((type, n) ->
+				log.info("  - Shed {} {} arrivals ({}/sec)", n, type, String.format("%.1f", n / secs)));
+		logLatencies("Corrected latency", correctedLatencies);
+		logLatencies("Service time", serviceTimes);
+		log.info("Final breakdown of *resolved* statuses: " + spec.finalizedStatusCounts());
+
+		return false;
+	}
+
+	private void runTimed(HapiSpecOperation op, HapiApiSpec spec, long intendedStart) {
+		long actualStart = System.nanoTime();
+		try {
+			if (op.execFor(spec).isPresent()) {
+				failed.incrementAndGet();
+			}
+		} finally {
+			long end = System.nanoTime();
+			outstanding.decrementAndGet();
+			record(correctedLatencies.get(op.type()), NANOSECONDS.toMillis(end - intendedStart));
+			record(serviceTimes.get(op.type()), NANOSECONDS.toMillis(end - actualStart));
+		}
+	}
+
+	private void recordShed(HapiSpecOperation op) {
+		shedByType.merge(op.type(), 1, Integer::sum);
+	}
+
+	private void record(Histogram histogram, long latency) {
+		synchronized (histogram) {
+			histogram.recordValue(latency);
+		}
+	}
+
+	private void logLatencies(String desc, Map<HederaFunctionality, Histogram> latencies) {
+		latencies.forEach((type, histogram) -> {
+			synchronized (histogram) {
+				if (histogram.getTotalCount() > 0) {
+					log.info("{} for {} :: p50={}ms, p99={}ms, p99.9={}ms, max={}ms (n={})",
+							desc,
+							type,
+							histogram.getValueAtPercentile(50.0),
+							histogram.getValueAtPercentile(99.0),
+							histogram.getValueAtPercentile(99.9),
+							histogram.getMaxValue(),
+							histogram.getTotalCount());
+				}
+			}
+		});
+	}
+}
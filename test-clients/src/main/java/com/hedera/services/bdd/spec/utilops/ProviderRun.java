@@ -24,6 +24,7 @@ import com.google.common.base.Stopwatch;
 import com.hedera.services.bdd.spec.HapiApiSpec;
 import com.hedera.services.bdd.spec.HapiSpecOperation;
 import com.hedera.services.bdd.spec.infrastructure.OpProvider;
+import com.hedera.services.bdd.spec.stats.HapiStats;
 import com.hederahashgraph.api.proto.java.HederaFunctionality;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -131,6 +132,7 @@ public class ProviderRun extends UtilOp {
 							+ " pending).");
 					log.info("Precheck txn status counts :: " + spec.precheckStatusCounts());
 					log.info("Resolved txn status counts :: " + spec.finalizedStatusCounts());
+					logIntervalLatencies(spec.registry().stats().takeInterval());
 					log.info("\n------------------------------\n");
 					lastDeltaLogged = delta;
 				}
@@ -166,4 +168,13 @@ public class ProviderRun extends UtilOp {
 
 		return false;
 	}
+
+	static void logIntervalLatencies(HapiStats interval) {
+		if (interval.numTxns() > 0) {
+			log.info("Txn response latency over interval :: " + interval.txnResponseLatency());
+		}
+		if (interval.numQueries() > 0) {
+			log.info("Query response latency over interval :: " + interval.queryResponseLatency());
+		}
+	}
 }
@@ -183,6 +183,10 @@ public class UtilVerbs {
 		return new ProviderRun(provider);
 	}
 
+	public static OpenLoopProviderRun runOpenLoopWithProvider(Function<HapiApiSpec, OpProvider> provider) {
+		return new OpenLoopProviderRun(provider);
+	}
+
 	/* Stream validation. */
 	public static RecordStreamVerification verifyRecordStreams(Supplier<String> baseDir) {
 		return new RecordStreamVerification(baseDir);
@@ -84,8 +84,9 @@ public class RecordStreamVerification extends UtilOp {
 	}
 
 	private void checkOverallValidity(Map<String, List<File>> sigFilesAvail, NodeSignatureVerifier verifier) {
+		long start = System.nanoTime();
 		sigFilesAvail.entrySet()
-				.stream()
+				.parallelStream()
 				.filter(entry -> entry.getValue().size() > 0)
 				.forEach(entry -> checkSigValidity(entry.getKey(), entry.getValue(), verifier));
 
@@ -101,7 +102,7 @@ public class RecordStreamVerification extends UtilOp {
 		for (String account : verifier.nodes()) {
 			String recordsDir = recordsDirFor(account);
 			List<RecordFileParser.RecordFile> recordFiles = orderedRcdNames
-					.stream()
+					.parallelStream()
 					.map(name -> Path.of(recordsDir, name).toFile())
 					.map(RecordFileParser::parseFrom)
 					.collect(toList());
@@ -133,6 +134,13 @@ public class RecordStreamVerification extends UtilOp {
 				}
 			}
 		}
+		double secs = (System.nanoTime() - start) / 1_000_000_000.0;
+		log.info(
+				"Verified {} record files from {} nodes in {}s ({} files/s)",
+				orderedRcdNames.size(),
+				verifier.nodes().size(),
+				String.format("%.3f", secs),
+				String.format("%.1f", orderedRcdNames.size() * verifier.nodes().size() / secs));
 	}
 
 	private void checkSigValidity(String record, List<File> sigs, NodeSignatureVerifier verifier) {
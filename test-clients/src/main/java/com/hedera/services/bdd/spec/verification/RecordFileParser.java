@@ -22,7 +22,6 @@ package com.hedera.services.bdd.spec.verification;
 
 import com.hederahashgraph.api.proto.java.Transaction;
 import com.hederahashgraph.api.proto.java.TransactionRecord;
-import org.apache.commons.lang3.ArrayUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -32,9 +31,9 @@ import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.nio.ByteBuffer;
-import java.nio.file.Files;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 import java.security.MessageDigest;
-import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -44,12 +43,12 @@ public class RecordFileParser {
 	private static final byte TYPE_PREV_HASH = 1;
 	private static final byte TYPE_RECORD = 2;
 
-	private static final MessageDigest metaDigest;
-	private static final MessageDigest contentDigest;
-	static {
+	private static final int HASHED_PREFIX_LEN = 57;
+
+	/* Digests are not thread-safe, and files may be parsed concurrently. */
+	private static MessageDigest newDigest() {
 		try {
-			metaDigest = MessageDigest.getInstance("SHA-384");
-			contentDigest = MessageDigest.getInstance("SHA-384");
+			return MessageDigest.getInstance("SHA-384");
 		} catch (Exception fatal) {
 			throw new IllegalStateException("Cannot initialize digests!", fatal);
 		}
@@ -59,6 +58,8 @@ public class RecordFileParser {
 		FileInputStream stream = null;
 		List<TxnHistory> histories = new LinkedList<>();
 		byte[] prevHash = null;
+		MessageDigest metaDigest = newDigest();
+		MessageDigest contentDigest = newDigest();
 
 		if (!file.exists()) {
 			throw new IllegalArgumentException("No such file - " + file);
@@ -109,12 +110,14 @@ public class RecordFileParser {
 				}
 			}
 
-			metaDigest.reset();
-			contentDigest.reset();
-			byte[] everything = Files.readAllBytes(file.toPath());
-			byte[] preface = Arrays.copyOfRange(everything, 0, 57);
-			byte[] bodyHash = contentDigest.digest(Arrays.copyOfRange(everything, 57, everything.length));
-			metaDigest.update(ArrayUtils.addAll(preface, bodyHash));
+			try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+				ByteBuffer everything = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+				byte[] preface = new byte[HASHED_PREFIX_LEN];
+				everything.get(preface);
+				contentDigest.update(everything);
+				metaDigest.update(preface);
+				metaDigest.update(contentDigest.digest());
+			}
 		} catch (FileNotFoundException e) {
 			throw new IllegalStateException();
 		} catch (IOException e) {
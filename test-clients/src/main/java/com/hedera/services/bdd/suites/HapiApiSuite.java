@@ -20,14 +20,11 @@ package com.hedera.services.bdd.suites;
  * ‍
  */
 
-import com.google.common.math.Stats;
 import com.hedera.services.bdd.spec.HapiApiSpec;
 import com.hedera.services.bdd.spec.HapiSpecOperation;
 import com.hedera.services.bdd.spec.HapiSpecSetup;
 import com.hedera.services.bdd.spec.queries.HapiQueryOp;
 import com.hedera.services.bdd.spec.stats.HapiStats;
-import com.hedera.services.bdd.spec.stats.OpObs;
-import com.hedera.services.bdd.spec.stats.QueryObs;
 import com.hedera.services.bdd.spec.stats.ThroughputObs;
 import com.hederahashgraph.api.proto.java.HederaFunctionality;
 import com.hederahashgraph.api.proto.java.Key;
@@ -35,6 +32,7 @@ import com.hederahashgraph.api.proto.java.KeyList;
 import com.hederahashgraph.api.proto.java.ResponseType;
 import org.apache.logging.log4j.Logger;
 
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.EnumSet;
@@ -159,45 +157,42 @@ public abstract class HapiApiSuite {
 	private void reportStats(Logger log) {
 		List<HapiApiSpec> okSpecs = finalSpecs.stream().filter(HapiApiSpec::OK).collect(toList());
 		if (okSpecs.isEmpty()) { return; }
-		List<OpObs> opStats = okSpecs
-				.stream()
-				.filter(HapiApiSpec::OK)
-				.flatMap(spec -> spec.registry().stats().stream())
-				.collect(toList());
 		boolean consensusLatenciesAvailable = okSpecs.stream().allMatch(spec -> spec.setup().measureConsensusLatency());
-		HapiStats stats = new HapiStats(consensusLatenciesAvailable, opStats);
+		HapiStats stats = new HapiStats(consensusLatenciesAvailable);
+		okSpecs.forEach(spec -> stats.include(spec.registry().stats()));
 
 		log.info("-------------- STATS FOR SPECS IN " + name() + " SUITE --------------");
 		log.info("# of operations = " + stats.numOps()
 				+ " (" + stats.numTxns() + " txns, " + stats.numQueries() + " queries)");
 		log.info("  * " + stats.countDetails());
 
-		Stats txnResponseLatencyStats = stats.txnResponseLatencyStats();
-		log.info("Txn response latency " + asNormalApproximation(txnResponseLatencyStats));
+		log.info("Txn response latency " + stats.txnResponseLatency());
 		for (HederaFunctionality txnType : stats.txnTypes()) {
-			Stats detailLatencyStats = stats.txnResponseLatencyStatsFor(txnType);
-			log.info("  * " + txnType + "[n=" + detailLatencyStats.count() + "] "
-					+ asNormalApproximation(detailLatencyStats));
+			log.info("  * " + txnType + stats.txnResponseLatencyFor(txnType));
 		}
 		if (consensusLatenciesAvailable) {
-			Stats consensusLatencyStats = stats.txnResponseLatencyStatsFor();
-			log.info("Txn consensus latency " + asNormalApproximation(consensusLatencyStats));
+			log.info("Txn consensus latency " + stats.txnConsensusLatency());
 		}
-		Stats queryResponseLatencyStats = stats.queryResponseLatencyStats();
-		log.info("Query response latency " + asNormalApproximation(queryResponseLatencyStats));
+		log.info("Query response latency " + stats.queryResponseLatency());
 		for (HederaFunctionality queryType : stats.queryTypes()) {
 			for (ResponseType type : EnumSet.of(COST_ANSWER, ANSWER_ONLY)) {
-				Stats costAnswerLatency = stats.statsProjectedFor(
-						QueryObs.class,
-						(QueryObs obs) -> obs.functionality().equals(queryType) && obs.type().equals(type),
-						QueryObs::getResponseLatency);
-				if (costAnswerLatency.count() > 0L) {
-					log.info("  * " + queryType + ":" + type + "[n=" + costAnswerLatency.count() + "] "
-							+ asNormalApproximation(costAnswerLatency));
+				HapiStats.Latencies latencies = stats.queryResponseLatencyFor(queryType, type);
+				if (latencies.count() > 0L) {
+					log.info("  * " + queryType + ":" + type + latencies);
 				}
 			}
 		}
 
+		String exportDir = okSpecs.get(0).setup().statsExportDir();
+		if (!exportDir.isEmpty()) {
+			try {
+				stats.exportTo(exportDir, name());
+				log.info("Exported latency stats for " + name() + " to " + exportDir);
+			} catch (IOException e) {
+				log.warn("Unable to export latency stats to " + exportDir, e);
+			}
+		}
+
 		final AtomicBoolean headerPrinted = new AtomicBoolean(false);
 		okSpecs.stream().filter(spec -> !spec.registry().throughputObs().isEmpty()).forEach(spec -> {
 			if (!headerPrinted.get()) {
@@ -212,19 +207,6 @@ public abstract class HapiApiSuite {
 		});
 	}
 
-	private String asNormalApproximation(Stats stats) {
-		if (stats.count() > 1) {
-			return "~ \uD835\uDCA9(μ=" + rounded(stats.mean())
-					+ "ms, σ=" + rounded(stats.sampleStandardDeviation()) + "ms)";
-		} else {
-			return "= " + (long)stats.sum() + "ms";
-		}
-	}
-
-	private String rounded(double v) {
-		return String.format("%.2f", v);
-	}
-
 	private void runSync(Iterable<HapiApiSpec> specs) {
 		StreamSupport
 			.stream(specs.spliterator(), false)
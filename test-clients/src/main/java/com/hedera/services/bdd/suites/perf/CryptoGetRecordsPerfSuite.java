@@ -0,0 +1,116 @@
+package com.hedera.services.bdd.suites.perf;
+
+/*-
+ * ‌
+ * Hedera Services Test Clients
+ * ​
+ * Copyright (C) 2018 - 2020 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.bdd.spec.HapiApiSpec;
+import com.hedera.services.bdd.suites.HapiApiSuite;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.List;
+
+import static com.hedera.services.bdd.spec.HapiApiSpec.defaultHapiSpec;
+import static com.hedera.services.bdd.spec.queries.QueryVerbs.getAccountBalance;
+import static com.hedera.services.bdd.spec.queries.QueryVerbs.getAccountRecords;
+import static com.hedera.services.bdd.spec.transactions.TxnVerbs.cryptoCreate;
+import static com.hedera.services.bdd.spec.transactions.TxnVerbs.cryptoTransfer;
+import static com.hedera.services.bdd.spec.transactions.crypto.HapiCryptoTransfer.tinyBarsFromTo;
+import static com.hedera.services.bdd.spec.utilops.UtilVerbs.finishThroughputObs;
+import static com.hedera.services.bdd.spec.utilops.UtilVerbs.inParallel;
+import static com.hedera.services.bdd.spec.utilops.UtilVerbs.startThroughputObs;
+
+/**
+ * Measures {@code CryptoGetAccountRecords} latency for an account holding
+ * hundreds of threshold records, which is dominated by the work of turning
+ * each stored record into its gRPC form.
+ */
+public class CryptoGetRecordsPerfSuite extends HapiApiSuite {
+	private static final Logger log = LogManager.getLogger(CryptoGetRecordsPerfSuite.class);
+
+	public static void main(String... args) {
+		CryptoGetRecordsPerfSuite suite = new CryptoGetRecordsPerfSuite();
+		suite.setReportStats(true);
+		suite.runSuiteSync();
+	}
+
+	@Override
+	protected List<HapiApiSpec> getSpecsInSuite() {
+		return List.of(getRecordsPerf());
+	}
+
+	@Override
+	public boolean leaksState() {
+		return true;
+	}
+
+	@Override
+	public boolean hasInterestingStats() {
+		return true;
+	}
+
+	private HapiApiSpec getRecordsPerf() {
+		final int NUM_RECORDS = 500;
+		final int NUM_QUERIES = 1_000;
+		final long INIT_BALANCE = 100_000_000_000L;
+
+		return defaultHapiSpec("CryptoGetRecordsPerf")
+				.given(
+						cryptoCreate("hoarder")
+								.sendThreshold(1L)
+								.balance(INIT_BALANCE),
+						cryptoCreate("sink")
+								.balance(0L),
+						startThroughputObs("recordCreation")
+								.msToSaturateQueues(50L),
+						inParallel(
+								asOpArray(NUM_RECORDS, i ->
+										cryptoTransfer(
+												tinyBarsFromTo("hoarder", "sink", 1L)
+										).deferStatusResolution().hasAnyStatusAtAll()
+								)
+						),
+						finishThroughputObs("recordCreation").gatedByQuery(() ->
+								getAccountBalance("sink")
+										.hasTinyBars(NUM_RECORDS)
+										.noLogging()
+						).sleepMs(1_000L).expiryMs(300_000L)
+				).when(
+						startThroughputObs("getRecordsThroughput")
+								.msToSaturateQueues(50L),
+						inParallel(
+								asOpArray(NUM_QUERIES, i ->
+										getAccountRecords("hoarder").noLogging()
+								)
+						)
+				).then(
+						finishThroughputObs("getRecordsThroughput").gatedByQuery(() ->
+								getAccountRecords("hoarder")
+										.withLogging((log, records) ->
+												log.info(String.format("%d records!", records.size())))
+						).sleepMs(1_000L).expiryMs(300_000L)
+				);
+	}
+
+	@Override
+	protected Logger getResultsLogger() {
+		return log;
+	}
+}
@@ -0,0 +1,113 @@
+package com.hedera.services.bdd.suites.perf;
+
+/*-
+ * ‌
+ * Hedera Services Test Clients
+ * ​
+ * Copyright (C) 2018 - 2020 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hedera.services.bdd.spec.HapiApiSpec;
+import com.hedera.services.bdd.spec.HapiSpecOperation;
+import com.hedera.services.bdd.spec.infrastructure.OpProvider;
+import com.hedera.services.bdd.spec.utilops.LoadTest;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+import static com.hedera.services.bdd.spec.HapiApiSpec.defaultHapiSpec;
+import static com.hedera.services.bdd.spec.transactions.TxnVerbs.cryptoCreate;
+import static com.hedera.services.bdd.spec.transactions.TxnVerbs.cryptoTransfer;
+import static com.hedera.services.bdd.spec.transactions.crypto.HapiCryptoTransfer.tinyBarsFromTo;
+import static com.hedera.services.bdd.spec.utilops.UtilVerbs.logIt;
+import static com.hedera.services.bdd.spec.utilops.UtilVerbs.runOpenLoopWithProvider;
+import static com.hedera.services.bdd.spec.utilops.UtilVerbs.withOpContext;
+import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.BUSY;
+import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.DUPLICATE_TRANSACTION;
+import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.PLATFORM_TRANSACTION_NOT_CREATED;
+import static java.util.concurrent.TimeUnit.MINUTES;
+
+/**
+ * Offers crypto transfers at the configured TPS regardless of how fast the network
+ * responds, so the achieved throughput reflects node capacity rather than client latency.
+ */
+public class OpenLoopCryptoTransferLoadTest extends LoadTest {
+	private static final Logger log = LogManager.getLogger(OpenLoopCryptoTransferLoadTest.class);
+
+	public static void main(String... args) {
+		parseArgs(args);
+
+		OpenLoopCryptoTransferLoadTest suite = new OpenLoopCryptoTransferLoadTest();
+		suite.setReportStats(true);
+		suite.runSuiteSync();
+	}
+
+	@Override
+	protected List<HapiApiSpec> getSpecsInSuite() {
+		return List.of(runOpenLoopCryptoTransfers());
+	}
+
+	@Override
+	public boolean hasInterestingStats() {
+		return true;
+	}
+
+	private HapiApiSpec runOpenLoopCryptoTransfers() {
+		PerfTestLoadSettings settings = new PerfTestLoadSettings();
+
+		return defaultHapiSpec("RunOpenLoopCryptoTransfers")
+				.given(
+						withOpContext((spec, ignore) -> settings.setFrom(spec.setup().ciPropertiesMap())),
+						logIt(ignore -> settings.toString())
+				).when().then(
+						runOpenLoopWithProvider(transfersProvider())
+								.opsPerSec(() -> (int) targetTPS.orElse(settings.getTps()))
+								.lasting(() -> testDurationMinutes.orElse(settings.getMins()), () -> MINUTES)
+				);
+	}
+
+	private Function<HapiApiSpec, OpProvider> transfersProvider() {
+		return spec -> new OpProvider() {
+			@Override
+			public List<HapiSpecOperation> suggestedInitializers() {
+				return List.of(
+						cryptoCreate("sender").balance(initialBalance.getAsLong())
+								.withRecharging()
+								.rechargeWindow(3)
+								.hasRetryPrecheckFrom(BUSY, DUPLICATE_TRANSACTION, PLATFORM_TRANSACTION_NOT_CREATED),
+						cryptoCreate("receiver")
+								.hasRetryPrecheckFrom(BUSY, DUPLICATE_TRANSACTION, PLATFORM_TRANSACTION_NOT_CREATED));
+			}
+
+			@Override
+			public Optional<HapiSpecOperation> get() {
+				return Optional.of(cryptoTransfer(tinyBarsFromTo("sender", "receiver", 1L))
+						.noLogging()
+						.payingWith("sender")
+						.suppressStats(true)
+						.deferStatusResolution());
+			}
+		};
+	}
+
+	@Override
+	protected Logger getResultsLogger() {
+		return log;
+	}
+}
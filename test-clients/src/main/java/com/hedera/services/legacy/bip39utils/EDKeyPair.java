@@ -22,6 +22,7 @@ package com.hedera.services.legacy.bip39utils;
 
 
 
+import com.hedera.services.legacy.proto.utils.Ed25519KeyCache;
 import net.i2p.crypto.eddsa.EdDSAEngine;
 import net.i2p.crypto.eddsa.EdDSAPrivateKey;
 import net.i2p.crypto.eddsa.EdDSAPublicKey;
@@ -87,12 +88,8 @@ public class EDKeyPair implements KeyPair {
 
     @Override
     public boolean verifySignature( byte[] message, byte[] signature) {
-        EdDSAParameterSpec spec = EdDSANamedCurveTable.getByName(EdDSANamedCurveTable.ED_25519);
         try {
-            Signature sgr = new EdDSAEngine(MessageDigest.getInstance(spec.getHashAlgorithm()));
-            sgr.initVerify(publicKey);
-            sgr.update(message);
-            return sgr.verify(signature);
+            return Ed25519KeyCache.getDefaultInstance().verify(getPublicKey(), message, signature);
 
         } catch (Exception e) {
             e.printStackTrace();